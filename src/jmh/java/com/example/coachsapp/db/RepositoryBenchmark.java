@@ -0,0 +1,321 @@
+package com.example.coachsapp.db;
+
+import com.example.coachsapp.model.Club;
+import com.example.coachsapp.model.GamePlan;
+import com.example.coachsapp.model.Manager;
+import com.example.coachsapp.model.Player;
+import com.example.coachsapp.model.Position;
+import com.example.coachsapp.model.TransferRequest;
+import com.example.coachsapp.util.AppState;
+import com.example.coachsapp.util.Log;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Single-threaded latency of the db layer on a synthetic league.
+ * Seeds a throwaway database once per fork, then times the player queries, the
+ * transfer JOIN queries, game plan loading with and without hydration, the row
+ * mapper on its own and the AppState lookups the card views filter with.
+ *
+ * Run with the jmh profile; -rf json keeps results comparable over time:
+ * mvn -Pjmh test-compile exec:exec@jmh -Djmh.args="RepositoryBenchmark -rf json -rff repository-benchmark.json"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RepositoryBenchmark {
+
+    private static final Log LOG = Log.get(RepositoryBenchmark.class);
+
+    private static final String PLAYER_SCAN_SQL =
+            "SELECT " + PlayerRow.columns("p") + " FROM players p";
+
+    @Param("20")
+    public int clubs;
+
+    @Param("50")
+    public int playersPerClub;
+
+    @Param("5")
+    public int plansPerManager;
+
+    @Param({"wal", "rollback"})
+    public String storageMode;
+
+    private Path dbFile;
+    private DatabaseService db;
+    private League league;
+    private PlayerRepository players;
+    private TransferRequestRepository transfers;
+    private GamePlanRepository gamePlans;
+    private SearchRepository search;
+    private final Set<SearchResult.Kind> allKinds = EnumSet.allOf(SearchResult.Kind.class);
+
+    @Setup(Level.Trial)
+    public void seed() throws Exception {
+        // Each fork is a fresh JVM, so the connection is opened on this file in this mode
+        dbFile = Files.createTempFile("coachsapp-bench", ".db");
+        System.setProperty("coachsapp.db.url", "jdbc:sqlite:" + dbFile);
+        System.setProperty("coachsapp.db.mode", storageMode);
+
+        db = DatabaseService.getInstance();
+        league = seed(db, clubs, playersPerClub, plansPerManager);
+        players = db.getPlayerRepository();
+        transfers = db.getTransferRequestRepository();
+        gamePlans = db.getGamePlanRepository();
+        search = db.getSearchRepository();
+
+        // The card views filter the AppState lists; publish the league there
+        AppState.clubs.setAll(league.clubs);
+        AppState.players.setAll(league.players);
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        LOG.info("Pool: " + DatabaseConnection.getInstance().getPool().getMetrics());
+        db.close();
+        deleteQuietly(dbFile);
+    }
+
+    @Benchmark
+    public List<Player> playerFindAll() {
+        return players.findAll();
+    }
+
+    @Benchmark
+    public List<Player> playerFindByClubId() {
+        return players.findByClubId(randomClub().getId());
+    }
+
+    @Benchmark
+    public Object playerFindPageFirst() throws SQLException {
+        return players.findPage(null, Page.DEFAULT_SIZE);
+    }
+
+    @Benchmark
+    public Object playerFindPageDeep() throws SQLException {
+        Player from = randomPlayer();
+        return players.findPage(new Page.Cursor(from.getName(), from.getId()), Page.DEFAULT_SIZE);
+    }
+
+    // Time to the first row: the whole list versus a stream stopped after one row
+
+    @Benchmark
+    public List<Player> playerFindAllMatching() {
+        return players.find(new PlayerCriteria());
+    }
+
+    @Benchmark
+    public Player playerStreamFirstRow() {
+        try (Stream<Player> stream = players.stream(new PlayerCriteria())) {
+            return stream.findFirst().orElse(null);
+        }
+    }
+
+    @Benchmark
+    public List<TransferRequest> transferFindAll() {
+        return transfers.findAll();
+    }
+
+    @Benchmark
+    public List<TransferRequest> transferFindInMarket() {
+        return transfers.findInMarket();
+    }
+
+    @Benchmark
+    public List<TransferRequest> transferFindBySourceClubId() {
+        return transfers.findBySourceClubId(randomClub().getId());
+    }
+
+    @Benchmark
+    public List<GamePlan> gamePlanFindByManagerIdFull() {
+        return gamePlans.findByManagerId(randomManager().getId(), GamePlanRepository.Hydration.FULL);
+    }
+
+    @Benchmark
+    public List<GamePlan> gamePlanFindByManagerIdLazy() {
+        return gamePlans.findByManagerId(randomManager().getId(), GamePlanRepository.Hydration.LAZY);
+    }
+
+    // Counting players: COUNT(*) over the table versus the trigger-kept counter
+
+    @Benchmark
+    public long playerCount() {
+        return players.count();
+    }
+
+    @Benchmark
+    public LeagueStats leagueStats() {
+        return db.getStatsRepository().getLeagueStats();
+    }
+
+    @Benchmark
+    public List<SearchResult> searchPrefix() {
+        String name = randomPlayer().getName();
+        return search.search(name.substring(0, Math.min(3, name.length())), allKinds, 20);
+    }
+
+    @Benchmark
+    public List<SearchResult> searchName() {
+        return search.search(randomPlayer().getName(), allKinds, 20);
+    }
+
+    // Reading every player row with and without the mapper; the difference is the mapper's cost
+
+    @Benchmark
+    public void playerScanRows(Blackhole blackhole) throws Exception {
+        try (Connection conn = DatabaseConnection.getInstance().getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(PLAYER_SCAN_SQL);
+             ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                blackhole.consume(rs.getInt(1));
+            }
+        }
+    }
+
+    @Benchmark
+    public void playerRowRead(Blackhole blackhole) throws Exception {
+        try (Connection conn = DatabaseConnection.getInstance().getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(PLAYER_SCAN_SQL);
+             ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                blackhole.consume(PlayerRow.read(rs, 1));
+            }
+        }
+    }
+
+    @Benchmark
+    public List<Player> appStatePlayersByClub() {
+        return AppState.getPlayersByClub(randomClub().getId());
+    }
+
+    /**
+     * The player card filter: resolve each player's club name, then match club and position.
+     */
+    @Benchmark
+    public List<Player> appStateCardFilter() {
+        String clubName = randomClub().getClubName();
+        Position position = randomPosition();
+        return AppState.players.stream()
+                .filter(p -> {
+                    String playerClub = p.getClubView();
+                    if (playerClub == null || playerClub.isEmpty()) {
+                        playerClub = AppState.findClubName(p.getClubId());
+                    }
+                    return clubName.equals(playerClub);
+                })
+                .filter(p -> p.getPosition() == position)
+                .collect(Collectors.toList());
+    }
+
+    private static League seed(DatabaseService db, int clubCount, int playersPerClub, int plansPerManager)
+            throws Exception {
+        Position[] positions = Position.values();
+        long start = System.nanoTime();
+        League league = DatabaseConnection.getInstance().write(connection -> {
+            League created = new League();
+            for (int c = 0; c < clubCount; c++) {
+                Club club = db.getClubRepository().save(new Club("Bench Club " + c));
+                created.clubs.add(club);
+                List<Player> squad = new ArrayList<>();
+                for (int p = 0; p < playersPerClub; p++) {
+                    Player player = new Player("Player " + c + "-" + p, 18 + p % 20, p % 99 + 1,
+                            positions[p % positions.length]);
+                    player.setClubId(club.getId());
+                    squad.add(player);
+                }
+                db.getPlayerRepository().saveAll(squad);
+                created.players.addAll(squad);
+
+                Manager manager = db.getManagerRepository().save(new Manager("Manager " + c, 45, club));
+                created.managers.add(manager);
+                for (int g = 0; g < plansPerManager && squad.size() >= 6; g++) {
+                    GamePlan plan = new GamePlan(manager.getId(), club.getId(), "Plan " + c + "-" + g);
+                    plan.setGoalkeeperId(squad.get((g * 6) % squad.size()).getId());
+                    plan.setDefender1Id(squad.get((g * 6 + 1) % squad.size()).getId());
+                    plan.setDefender2Id(squad.get((g * 6 + 2) % squad.size()).getId());
+                    plan.setMidfielder1Id(squad.get((g * 6 + 3) % squad.size()).getId());
+                    plan.setMidfielder2Id(squad.get((g * 6 + 4) % squad.size()).getId());
+                    plan.setForwardId(squad.get((g * 6 + 5) % squad.size()).getId());
+                    db.getGamePlanRepository().save(plan);
+                }
+
+                // List every tenth player on the market
+                for (int p = 0; p < squad.size(); p += 10) {
+                    TransferRequest request = new TransferRequest(squad.get(p).getId(), club.getId(), null);
+                    request.setStatus(TransferRequest.TransferStatus.IN_MARKET);
+                    request.setTransferFee(1.0 + p);
+                    db.getTransferRequestRepository().save(request);
+                }
+            }
+            return created;
+        });
+        LOG.info("✓ Seeded " + league.clubs.size() + " clubs, " + league.players.size() + " players, " +
+                league.managers.size() + " managers in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        return league;
+    }
+
+    private Club randomClub() {
+        return league.clubs.get(ThreadLocalRandom.current().nextInt(league.clubs.size()));
+    }
+
+    private Player randomPlayer() {
+        return league.players.get(ThreadLocalRandom.current().nextInt(league.players.size()));
+    }
+
+    private Manager randomManager() {
+        return league.managers.get(ThreadLocalRandom.current().nextInt(league.managers.size()));
+    }
+
+    private static Position randomPosition() {
+        Position[] positions = Position.values();
+        return positions[ThreadLocalRandom.current().nextInt(positions.length)];
+    }
+
+    private static void deleteQuietly(Path dbFile) {
+        for (String suffix : new String[]{"", "-wal", "-shm", "-journal"}) {
+            try {
+                Files.deleteIfExists(Path.of(dbFile + suffix));
+            } catch (IOException ignored) {
+                // Temp file; the OS will clean it up
+            }
+        }
+    }
+
+    private static final class League {
+        final List<Club> clubs = new ArrayList<>();
+        final List<Player> players = new ArrayList<>();
+        final List<Manager> managers = new ArrayList<>();
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.coachsapp.db;
+
+import com.example.coachsapp.model.Club;
+import com.example.coachsapp.model.Player;
+import com.example.coachsapp.model.Position;
+import com.example.coachsapp.model.TransferRequest;
+import com.example.coachsapp.util.Log;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read throughput and latency while transfers are being written.
+ * Seeds a throwaway database once per fork, then runs four reader threads
+ * (two on players by club, one on clubs, one on the transfer market) against
+ * two writer threads that keep saving transfer requests, in each storage mode.
+ * Sample-time mode reports the latency percentiles of every operation.
+ *
+ * Run with the jmh profile:
+ * mvn -Pjmh test-compile exec:exec@jmh -Djmh.args="WalBenchmark -rf json -rff wal-benchmark.json"
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@State(Scope.Group)
+public class WalBenchmark {
+
+    private static final Log LOG = Log.get(WalBenchmark.class);
+    // Matches the reader threads in the group below, so readers never queue for a connection
+    private static final int READERS = 4;
+
+    @Param({"wal", "rollback"})
+    public String mode;
+
+    @Param("20")
+    public int clubs;
+
+    @Param("50")
+    public int playersPerClub;
+
+    private Path dbFile;
+    private DatabaseService db;
+    private List<Club> clubList;
+    private List<Player> players;
+
+    @Setup(Level.Trial)
+    public void seed() throws Exception {
+        // Each fork is a fresh JVM, so the connection is opened on this file in this mode
+        dbFile = Files.createTempFile("coachsapp-bench", ".db");
+        System.setProperty("coachsapp.db.url", "jdbc:sqlite:" + dbFile);
+        System.setProperty("coachsapp.db.mode", mode);
+        System.setProperty("coachsapp.db.readers", String.valueOf(READERS));
+
+        db = DatabaseService.getInstance();
+        clubList = seed(db, clubs, playersPerClub);
+        players = db.getPlayerRepository().findAll();
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        LOG.info("Pool: " + DatabaseConnection.getInstance().getPool().getMetrics());
+        WriteQueue queue = DatabaseConnection.getInstance().getWriteQueue();
+        if (queue != null) {
+            LOG.info(String.format("Queue: commits=%d, avgBatch=%.2f", queue.getCommits(), queue.getAverageBatchSize()));
+        }
+        db.close();
+        deleteQuietly(dbFile);
+    }
+
+    @Benchmark
+    @Group("readWhileWriting")
+    @GroupThreads(2)
+    public List<Player> readPlayersByClub() {
+        Club club = clubList.get(ThreadLocalRandom.current().nextInt(clubList.size()));
+        return db.getPlayerRepository().findByClubId(club.getId());
+    }
+
+    @Benchmark
+    @Group("readWhileWriting")
+    @GroupThreads(1)
+    public List<Club> readClubs() {
+        return db.getClubRepository().findAll();
+    }
+
+    @Benchmark
+    @Group("readWhileWriting")
+    @GroupThreads(1)
+    public List<TransferRequest> readMarket() {
+        return db.getTransferRequestRepository().findInMarket();
+    }
+
+    @Benchmark
+    @Group("readWhileWriting")
+    @GroupThreads(2)
+    public TransferRequest writeTransfer() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Player player = players.get(random.nextInt(players.size()));
+        TransferRequest request = new TransferRequest(player.getId(), player.getClubId(), null);
+        request.setStatus(TransferRequest.TransferStatus.IN_MARKET);
+        request.setTransferFee(random.nextDouble(1, 100));
+        return db.getTransferRequestRepository().save(request);
+    }
+
+    private static List<Club> seed(DatabaseService db, int clubCount, int playersPerClub) throws Exception {
+        Position[] positions = Position.values();
+        List<Club> clubs = DatabaseConnection.getInstance().write(connection -> {
+            List<Club> created = new ArrayList<>();
+            for (int c = 0; c < clubCount; c++) {
+                Club club = db.getClubRepository().save(new Club("Bench Club " + c));
+                created.add(club);
+                List<Player> squad = new ArrayList<>();
+                for (int p = 0; p < playersPerClub; p++) {
+                    Player player = new Player("Player " + c + "-" + p, 18 + p % 20, p % 99 + 1,
+                            positions[p % positions.length]);
+                    player.setClubId(club.getId());
+                    squad.add(player);
+                }
+                db.getPlayerRepository().saveAll(squad);
+            }
+            return created;
+        });
+        LOG.info("✓ Seeded " + clubs.size() + " clubs, " + (clubCount * playersPerClub) + " players");
+        return clubs;
+    }
+
+    private static void deleteQuietly(Path dbFile) {
+        for (String suffix : new String[]{"", "-wal", "-shm", "-journal"}) {
+            try {
+                Files.deleteIfExists(Path.of(dbFile + suffix));
+            } catch (IOException ignored) {
+                // Temp file; the OS will clean it up
+            }
+        }
+    }
+}
@@ -1,13 +1,17 @@
 package com.example.coachsapp.controller;
 
-import com.example.coachsapp.db.DatabaseService;
+import com.example.coachsapp.db.ClubStats;
 import com.example.coachsapp.model.Club;
 import com.example.coachsapp.model.Manager;
 import com.example.coachsapp.model.Player;
+import com.example.coachsapp.model.Position;
+import com.example.coachsapp.util.Log;
 import com.example.coachsapp.util.SceneSwitcher;
 import com.example.coachsapp.util.AppState;
+import com.example.coachsapp.util.FxTasks;
 import com.example.coachsapp.dialog.AddClubDialog;
 import javafx.fxml.FXML;
+import javafx.scene.control.Label;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
 import javafx.scene.control.ListView;
@@ -19,9 +23,13 @@ import javafx.beans.property.SimpleIntegerProperty;
 import javafx.collections.FXCollections;
 import javafx.util.Callback;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 public class ClubController {
-    
-    private DatabaseService dbService;
+
+    private static final Log LOG = Log.get(ClubController.class);
 
     @FXML
     private TableView<Club> clubTable;
@@ -57,17 +65,22 @@ public class ClubController {
     @FXML
     private TableColumn<Player, String> playerStatusColumn;
 
+    @FXML
+    private Label clubSummaryLabel;
+
+    // Counters from club_stats, keyed by club ID
+    private Map<Integer, ClubStats> clubStats = new HashMap<>();
+
     @FXML
     public void initialize() {
-        dbService = DatabaseService.getInstance();
-        
 
         idColumn.setCellValueFactory(cellData -> new SimpleIntegerProperty(cellData.getValue().getId()).asObject());
         nameColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getClubName()));
-        playerCountColumn.setCellValueFactory(cellData -> new SimpleIntegerProperty(cellData.getValue().getPlayers().size()).asObject());
+        playerCountColumn.setCellValueFactory(cellData -> new SimpleIntegerProperty(statsFor(cellData.getValue()).players()).asObject());
 
 
         clubTable.setItems(AppState.clubs);
+        loadClubStats();
 
 
         managerList.setCellFactory(new Callback<ListView<Manager>, ListCell<Manager>>() {
@@ -103,13 +116,29 @@ public class ClubController {
                 clearClubDetails();
             }
         });
+
+        // The table is AppState's club list, which follows committed changes by itself;
+        // the counters and the selected club's squad are redrawn here
+        FxTasks.onChange(Club.class, event -> clubTable.refresh());
+        FxTasks.onChange(Player.class, event -> {
+            loadClubStats();
+            showSelectedClub();
+        });
+        FxTasks.onChange(Manager.class, event -> showSelectedClub());
+    }
+
+    private void showSelectedClub() {
+        Club selected = clubTable.getSelectionModel().getSelectedItem();
+        if (selected != null) {
+            updateClubDetails(selected);
+        }
     }
 
     private void updateClubDetails(Club selectedClub) {
 
-        var managersForClub = AppState.managers.stream()
-            .filter(m -> m.getClub().getId() != null && m.getClub().getId().equals(selectedClub.getId()))
-            .toList();
+        var managersForClub = selectedClub.getId() != null
+            ? AppState.getManagersByClub(selectedClub.getId())
+            : List.<Manager>of();
 
         if (managersForClub.isEmpty()) {
             managerList.setItems(FXCollections.observableArrayList());
@@ -118,15 +147,57 @@ public class ClubController {
         }
 
         playersTable.setItems(FXCollections.observableArrayList(selectedClub.getPlayers()));
+        clubSummaryLabel.setText(summarize(statsFor(selectedClub)));
 
-        System.out.println("✓ Club Details Loaded: " + selectedClub.getClubName());
-        System.out.println("  Managers: " + managersForClub.size());
-        System.out.println("  Players: " + selectedClub.getPlayers().size());
+        LOG.debug(() -> "✓ Club Details Loaded: " + selectedClub.getClubName());
+        LOG.debug(() -> "  Managers: " + managersForClub.size());
+        LOG.debug(() -> "  Players: " + selectedClub.getPlayers().size());
     }
 
     private void clearClubDetails() {
         managerList.setItems(FXCollections.observableArrayList());
         playersTable.setItems(FXCollections.observableArrayList());
+        clubSummaryLabel.setText("");
+    }
+
+    /**
+     * Read every club's counters (one row each, kept by triggers) and redraw the table with them.
+     */
+    private void loadClubStats() {
+        FxTasks.load(db -> db.getStatsRepository().findAllClubStats(), stats -> {
+            clubStats = stats;
+            clubTable.refresh();
+            Club selected = clubTable.getSelectionModel().getSelectedItem();
+            if (selected != null) {
+                clubSummaryLabel.setText(summarize(statsFor(selected)));
+            }
+        });
+    }
+
+    private ClubStats statsFor(Club club) {
+        if (club.getId() == null) {
+            return ClubStats.empty(0);
+        }
+        return clubStats.getOrDefault(club.getId(), ClubStats.empty(club.getId()));
+    }
+
+    private static String summarize(ClubStats stats) {
+        StringBuilder summary = new StringBuilder();
+        summary.append(stats.players()).append(" players (");
+        for (Position position : Position.values()) {
+            if (position.ordinal() > 0) {
+                summary.append(", ");
+            }
+            summary.append(stats.playersAt(position)).append(" ").append(position.name().toLowerCase());
+        }
+        summary.append("), ").append(stats.injured()).append(" injured")
+               .append(" | ").append(stats.transfersInMarket()).append(" in market")
+               .append(" | transfers in/out: ").append(stats.transfersCompletedIn())
+               .append("/").append(stats.transfersCompletedOut());
+        if (stats.pendingRegistrations() > 0) {
+            summary.append(" | ").append(stats.pendingRegistrations()).append(" pending registrations");
+        }
+        return summary.toString();
     }
 
     @FXML
@@ -146,16 +217,15 @@ public class ClubController {
             }
             
 
-            Club savedClub = dbService.getClubRepository().save(newClub);
-            
-            if (savedClub != null) {
-                AppState.clubs.add(savedClub);
-                System.out.println("✓ Club added: " + savedClub.getClubName() + " (ID: " + savedClub.getId() + ")");
-                showAlert("Success", "Club added successfully: " + savedClub.getClubName());
-            } else {
-                System.err.println("✗ Failed to save club");
-                showAlert("Error", "Failed to save club.\n\nThis club name might already exist in the database.\nPlease try a different name.");
-            }
+            FxTasks.save(db -> db.getClubRepository().save(newClub), savedClub -> {
+                if (savedClub != null) {
+                    LOG.info("✓ Club added: " + savedClub.getClubName() + " (ID: " + savedClub.getId() + ")");
+                    showAlert("Success", "Club added successfully: " + savedClub.getClubName());
+                } else {
+                    LOG.error("✗ Failed to save club");
+                    showAlert("Error", "Failed to save club.\n\nThis club name might already exist in the database.\nPlease try a different name.");
+                }
+            });
         }
     }
     
@@ -172,13 +242,15 @@ public class ClubController {
         Club selected = clubTable.getSelectionModel().getSelectedItem();
         if (selected != null) {
 
-            dbService.getClubRepository().delete(selected.getId());
-
-            AppState.clubs.remove(selected);
-            clearClubDetails();
-            System.out.println("✓ Deleted club: " + selected.getClubName());
+            FxTasks.save(db -> db.getClubRepository().delete(selected.getId()), deleted -> {
+                if (deleted) {
+                    LOG.info("✓ Deleted club: " + selected.getClubName());
+                } else {
+                    LOG.error("✗ Failed to delete club: " + selected.getClubName());
+                }
+            });
         } else {
-            System.out.println("✗ Please select a club to delete");
+            LOG.warn("⚠ Please select a club to delete");
         }
     }
 
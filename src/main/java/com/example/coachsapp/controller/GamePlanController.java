@@ -1,12 +1,13 @@
 package com.example.coachsapp.controller;
 
 import com.example.coachsapp.db.GamePlanRepository;
-import com.example.coachsapp.db.PlayerRepository;
 import com.example.coachsapp.model.GamePlan;
 import com.example.coachsapp.model.Manager;
 import com.example.coachsapp.model.Player;
 import com.example.coachsapp.model.Position;
 import com.example.coachsapp.util.AppState;
+import com.example.coachsapp.util.FxTasks;
+import com.example.coachsapp.util.Log;
 import com.example.coachsapp.util.SceneSwitcher;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -26,6 +27,8 @@ import java.util.stream.Collectors;
  */
 public class GamePlanController {
 
+    private static final Log LOG = Log.get(GamePlanController.class);
+
     @FXML
     private ListView<GamePlan> gamePlanList;
 
@@ -91,17 +94,12 @@ public class GamePlanController {
     @FXML
     private Label fwdName;
 
-    private GamePlanRepository gamePlanRepository;
-    private PlayerRepository playerRepository;
     private Manager currentManager;
     private GamePlan currentGamePlan;
     private List<Player> clubPlayers;
 
     @FXML
     public void initialize() {
-        gamePlanRepository = new GamePlanRepository();
-        playerRepository = new PlayerRepository();
-
         // Get the current manager from AppState
         currentManager = AppState.getSelectedManager();
         
@@ -110,12 +108,9 @@ public class GamePlanController {
             return;
         }
 
-        // Load club players
+        // Load club players, then populate position-specific combo boxes
         loadClubPlayers();
 
-        // Populate position-specific combo boxes
-        populateComboBoxes();
-
         // Load existing game plans
         loadGamePlans();
 
@@ -146,17 +141,20 @@ public class GamePlanController {
      */
     private void loadClubPlayers() {
         if (currentManager.getClub().getId() != null) {
-            clubPlayers = playerRepository.findByClubId(currentManager.getClub().getId());
-            
-            // Filter out injured players for selection
-            clubPlayers = clubPlayers.stream()
-                    .filter(p -> !p.isInjured())
-                    .collect(Collectors.toList());
-            
-            System.out.println("✓ Loaded " + clubPlayers.size() + " available players from " + 
-                             currentManager.getClub().getClubName());
+            int clubId = currentManager.getClub().getId();
+            FxTasks.load(db -> db.getPlayerRepository().findByClubId(clubId), players -> {
+                // Filter out injured players for selection
+                clubPlayers = players.stream()
+                        .filter(p -> !p.isInjured())
+                        .collect(Collectors.toList());
+                populateComboBoxes();
+
+                LOG.debug(() -> "✓ Loaded " + clubPlayers.size() + " available players from " + 
+                                 currentManager.getClub().getClubName());
+            });
         } else {
             clubPlayers = FXCollections.observableArrayList();
+            populateComboBoxes();
             showError("Club has no ID - cannot load players");
         }
     }
@@ -234,9 +232,14 @@ public class GamePlanController {
      */
     private void loadGamePlans() {
         if (currentManager.getId() != null) {
-            List<GamePlan> gamePlans = gamePlanRepository.findByManagerId(currentManager.getId());
-            gamePlanList.setItems(FXCollections.observableArrayList(gamePlans));
-            System.out.println("✓ Loaded " + gamePlans.size() + " game plans");
+            int managerId = currentManager.getId();
+            gamePlanList.setPlaceholder(new ProgressIndicator());
+            FxTasks.load(db -> db.getGamePlanRepository().findByManagerId(managerId, GamePlanRepository.Hydration.LAZY),
+                    gamePlans -> {
+                        gamePlanList.setPlaceholder(new Label("No game plans yet"));
+                        gamePlanList.setItems(FXCollections.observableArrayList(gamePlans));
+                        LOG.debug(() -> "✓ Loaded " + gamePlans.size() + " game plans");
+                    });
         }
     }
 
@@ -290,15 +293,18 @@ public class GamePlanController {
         }
 
         // Save to database
-        GamePlan saved = gamePlanRepository.save(currentGamePlan);
-        if (saved != null) {
-            statusLabel.setText("✓ Game plan saved successfully!");
-            statusLabel.setStyle("-fx-text-fill: green;");
-            loadGamePlans();
-            currentGamePlan = saved;
-        } else {
-            showError("Failed to save game plan!");
-        }
+        GamePlan toSave = currentGamePlan;
+        statusLabel.setText("Saving...");
+        FxTasks.save(db -> db.getGamePlanRepository().save(toSave), saved -> {
+            if (saved != null) {
+                statusLabel.setText("✓ Game plan saved successfully!");
+                statusLabel.setStyle("-fx-text-fill: green;");
+                loadGamePlans();
+                currentGamePlan = saved;
+            } else {
+                showError("Failed to save game plan!");
+            }
+        });
     }
 
     /**
@@ -369,15 +375,16 @@ public class GamePlanController {
 
         Optional<ButtonType> result = alert.showAndWait();
         if (result.isPresent() && result.get() == ButtonType.OK) {
-            boolean deleted = gamePlanRepository.delete(selected.getId());
-            if (deleted) {
-                statusLabel.setText("✓ Game plan deleted!");
-                statusLabel.setStyle("-fx-text-fill: green;");
-                loadGamePlans();
-                clearForm();
-            } else {
-                showError("Failed to delete game plan!");
-            }
+            FxTasks.save(db -> db.getGamePlanRepository().delete(selected.getId()), deleted -> {
+                if (deleted) {
+                    statusLabel.setText("✓ Game plan deleted!");
+                    statusLabel.setStyle("-fx-text-fill: green;");
+                    loadGamePlans();
+                    clearForm();
+                } else {
+                    showError("Failed to delete game plan!");
+                }
+            });
         }
     }
 
@@ -385,6 +392,15 @@ public class GamePlanController {
      * Load a game plan into the form
      */
     private void loadGamePlanToForm(GamePlan gamePlan) {
+        // The list is loaded lazily; fetch this plan's players on first view
+        statusLabel.setText("Loading " + gamePlan.getName() + "...");
+        FxTasks.load(db -> {
+            db.getGamePlanRepository().hydrate(gamePlan);
+            return gamePlan;
+        }, this::showGamePlanInForm);
+    }
+
+    private void showGamePlanInForm(GamePlan gamePlan) {
         currentGamePlan = gamePlan;
         gamePlanNameField.setText(gamePlan.getName());
 
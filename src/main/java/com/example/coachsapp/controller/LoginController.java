@@ -1,7 +1,8 @@
 package com.example.coachsapp.controller;
 
-import com.example.coachsapp.db.DatabaseService;
 import com.example.coachsapp.model.User;
+import com.example.coachsapp.util.FxTasks;
+import com.example.coachsapp.util.Log;
 import com.example.coachsapp.util.AppState;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
@@ -11,6 +12,8 @@ import javafx.stage.Stage;
 
 public class LoginController {
 
+    private static final Log LOG = Log.get(LoginController.class);
+
     @FXML
     private TextField usernameField;
 
@@ -30,15 +33,18 @@ public class LoginController {
             return;
         }
 
-        DatabaseService dbService = DatabaseService.getInstance();
-        User user = dbService.getUserRepository().authenticate(username, password);
+        errorLabel.setText("Signing in...");
+        FxTasks.load(db -> db.getUserRepository().authenticate(username, password), this::completeLogin);
+    }
 
+    private void completeLogin(User user) {
         if (user != null) {
 
             AppState.currentUser = user;
             
 
             try {
+                FxTasks.cancelSceneTasks();
                 FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/example/coachsapp/main-view.fxml"));
                 Scene scene = new Scene(loader.load(), 800, 600);
                 Stage stage = (Stage) usernameField.getScene().getWindow();
@@ -46,7 +52,7 @@ public class LoginController {
                 stage.setTitle("Coaches App - " + user.getRole().getDisplayName());
             } catch (Exception e) {
                 errorLabel.setText("Error loading main view: " + e.getMessage());
-                e.printStackTrace();
+                LOG.error("✗ Error loading main view: " + e.getMessage(), e);
             }
         } else {
             errorLabel.setText("Invalid username or password");
@@ -57,6 +63,7 @@ public class LoginController {
     @FXML
     public void handleRegister() {
         try {
+            FxTasks.cancelSceneTasks();
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/example/coachsapp/registration-view.fxml"));
             Scene scene = new Scene(loader.load());
             Stage stage = (Stage) usernameField.getScene().getWindow();
@@ -64,7 +71,7 @@ public class LoginController {
             stage.setTitle("Coaches App - Registration");
         } catch (Exception e) {
             errorLabel.setText("Error loading registration screen: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("✗ Error loading registration screen: " + e.getMessage(), e);
         }
     }
 
@@ -1,17 +1,37 @@
 package com.example.coachsapp.controller;
 
+import com.example.coachsapp.db.SearchResult;
 import com.example.coachsapp.model.Role;
 import com.example.coachsapp.model.User;
 import com.example.coachsapp.util.AppState;
+import com.example.coachsapp.util.FxTasks;
+import com.example.coachsapp.util.Log;
 import com.example.coachsapp.util.SceneSwitcher;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.control.TextField;
 import javafx.scene.layout.VBox;
 
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
 public class MainController {
 
+    private static final Log LOG = Log.get(MainController.class);
+
+    private static final int SEARCH_LIMIT = 20;
+
+    @FXML
+    private TextField searchField;
+
+    @FXML
+    private ListView<SearchResult> searchResults;
+
     @FXML
     private Label welcomeLabel;
 
@@ -48,6 +68,9 @@ public class MainController {
     @FXML
     private Button logoutBtn;
 
+    private Set<SearchResult.Kind> searchKinds = EnumSet.noneOf(SearchResult.Kind.class);
+    private long searchGeneration;
+
     @FXML
     public void initialize() {
         User currentUser = AppState.currentUser;
@@ -56,6 +79,91 @@ public class MainController {
             roleLabel.setText("Role: " + currentUser.getRole().getDisplayName());
             
             setupUIForRole(currentUser.getRole());
+            searchKinds = searchKindsFor(currentUser.getRole());
+        }
+        setupSearch();
+    }
+
+    private void setupSearch() {
+        searchResults.setCellFactory(list -> new ListCell<>() {
+            @Override
+            protected void updateItem(SearchResult result, boolean empty) {
+                super.updateItem(result, empty);
+                if (empty || result == null) {
+                    setText(null);
+                } else if (result.snippet().replace("[", "").replace("]", "").equals(result.title())) {
+                    setText(result.kind().getDisplayName() + ": " + result.snippet());
+                } else {
+                    setText(result.kind().getDisplayName() + ": " + result.title() + " - " + result.snippet());
+                }
+            }
+        });
+        searchResults.setOnMouseClicked(event -> openSearchResult(searchResults.getSelectionModel().getSelectedItem()));
+        searchField.textProperty().addListener((obs, oldText, newText) -> search(newText));
+        searchField.setOnAction(event -> {
+            if (!searchResults.getItems().isEmpty()) {
+                openSearchResult(searchResults.getItems().get(0));
+            }
+        });
+    }
+
+    /**
+     * What each role may look up; registration requests are for the admin only.
+     */
+    private static Set<SearchResult.Kind> searchKindsFor(Role role) {
+        return switch (role) {
+            case SYSTEM_ADMIN -> EnumSet.allOf(SearchResult.Kind.class);
+            case CLUB_OWNER, CLUB_MANAGER -> EnumSet.of(SearchResult.Kind.PLAYER, SearchResult.Kind.CLUB,
+                    SearchResult.Kind.MANAGER, SearchResult.Kind.TRANSFER_REQUEST);
+            case PLAYER -> EnumSet.of(SearchResult.Kind.PLAYER, SearchResult.Kind.CLUB, SearchResult.Kind.MANAGER);
+        };
+    }
+
+    private void search(String text) {
+        long requested = ++searchGeneration;
+        if (text == null || text.isBlank()) {
+            showSearchResults(List.of());
+            return;
+        }
+        Set<SearchResult.Kind> kinds = searchKinds;
+        FxTasks.load(db -> db.getSearchRepository().search(text, kinds, SEARCH_LIMIT), results -> {
+            // Keystrokes arrive faster than searches; only the latest one counts
+            if (requested == searchGeneration) {
+                showSearchResults(results);
+            }
+        });
+    }
+
+    private void showSearchResults(List<SearchResult> results) {
+        searchResults.getItems().setAll(results);
+        searchResults.setVisible(!results.isEmpty());
+        searchResults.setManaged(!results.isEmpty());
+    }
+
+    /**
+     * Open the screen for a search hit: a profile for players and managers, the list screen otherwise.
+     */
+    private void openSearchResult(SearchResult result) {
+        if (result == null) {
+            return;
+        }
+        switch (result.kind()) {
+            case PLAYER -> FxTasks.load(db -> db.getPlayerRepository().findById(result.id()), player -> {
+                if (player != null) {
+                    AppState.setSelectedPlayer(player);
+                    SceneSwitcher.switchTo(null, searchResults.getScene(), "player-profile-view.fxml");
+                }
+            });
+            case MANAGER -> FxTasks.load(db -> db.getManagerRepository().findById(result.id()), manager -> {
+                if (manager != null) {
+                    AppState.setSelectedManager(manager);
+                    SceneSwitcher.switchTo(null, searchResults.getScene(), "manager-profile-view.fxml");
+                }
+            });
+            case CLUB -> SceneSwitcher.switchTo(null, searchResults.getScene(), "club-view.fxml");
+            case TRANSFER_REQUEST -> SceneSwitcher.switchTo(null, searchResults.getScene(), "transfer-request-view.fxml");
+            case REGISTRATION_REQUEST -> SceneSwitcher.switchTo(null, searchResults.getScene(),
+                    "registration-approval-view.fxml");
         }
     }
 
@@ -162,17 +270,16 @@ public class MainController {
         // Get the current user's manager based on their user record
         User currentUser = AppState.currentUser;
         if (currentUser != null && currentUser.getManagerId() != null) {
-            com.example.coachsapp.db.DatabaseService dbService = com.example.coachsapp.db.DatabaseService.getInstance();
-            com.example.coachsapp.model.Manager manager = dbService.getManagerRepository().findById(currentUser.getManagerId());
-            
-            if (manager != null) {
-                AppState.setSelectedManager(manager);
-                SceneSwitcher.switchTo(event, "gameplan-view.fxml");
-            } else {
-                System.err.println("Manager profile not found for ID: " + currentUser.getManagerId());
-            }
+            FxTasks.load(db -> db.getManagerRepository().findById(currentUser.getManagerId()), manager -> {
+                if (manager != null) {
+                    AppState.setSelectedManager(manager);
+                    SceneSwitcher.switchTo(event, "gameplan-view.fxml");
+                } else {
+                    LOG.error("Manager profile not found for ID: " + currentUser.getManagerId());
+                }
+            });
         } else {
-            System.err.println("No manager ID found for current user");
+            LOG.error("No manager ID found for current user");
         }
     }
 
@@ -185,15 +292,14 @@ public class MainController {
     public void goToMyProfile(ActionEvent event) {
         User currentUser = AppState.currentUser;
         if (currentUser != null && currentUser.getRole() == Role.PLAYER && currentUser.getPlayerId() != null) {
-            com.example.coachsapp.db.DatabaseService dbService = com.example.coachsapp.db.DatabaseService.getInstance();
-            com.example.coachsapp.model.Player player = dbService.getPlayerRepository().findById(currentUser.getPlayerId());
-            
-            if (player != null) {
-                AppState.setSelectedPlayer(player);
-                SceneSwitcher.switchTo(event, "player-profile-view.fxml");
-            } else {
-                System.err.println("Player profile not found for ID: " + currentUser.getPlayerId());
-            }
+            FxTasks.load(db -> db.getPlayerRepository().findById(currentUser.getPlayerId()), player -> {
+                if (player != null) {
+                    AppState.setSelectedPlayer(player);
+                    SceneSwitcher.switchTo(event, "player-profile-view.fxml");
+                } else {
+                    LOG.error("Player profile not found for ID: " + currentUser.getPlayerId());
+                }
+            });
         }
     }
 
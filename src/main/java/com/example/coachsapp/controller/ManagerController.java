@@ -1,28 +1,35 @@
 package com.example.coachsapp.controller;
 
+import com.example.coachsapp.db.ChangeEvent;
 import com.example.coachsapp.model.Manager;
 import com.example.coachsapp.model.Club;
+import com.example.coachsapp.util.FxTasks;
 import com.example.coachsapp.util.AppState;
+import com.example.coachsapp.util.Log;
 import com.example.coachsapp.util.SceneSwitcher;
 import com.example.coachsapp.dialog.AddManagerDialog;
-import com.example.coachsapp.db.ManagerRepository;
 import javafx.fxml.FXML;
 import javafx.scene.control.ListView;
 import javafx.scene.control.Button;
-import javafx.collections.FXCollections;
 import javafx.stage.Stage;
 import javafx.event.ActionEvent;
 
 public class ManagerController {
 
+    private static final Log LOG = Log.get(ManagerController.class);
+
     @FXML
     private ListView<Manager> managerList;
 
-    private ManagerRepository managerRepository = new ManagerRepository();
-
     @FXML
     public void initialize() {
-        refreshManagerList();
+        // The list is AppState's own, so committed inserts and deletes show up by themselves
+        managerList.setItems(AppState.managers);
+        FxTasks.onChange(Manager.class, event -> {
+            if (event.type() == ChangeEvent.Type.UPDATE) {
+                managerList.refresh();
+            }
+        });
 
         managerList.setOnMouseClicked(event -> {
             if (event.getClickCount() == 2) {
@@ -42,22 +49,14 @@ public class ManagerController {
         
         if (newManager != null) {
 
-            Manager saved = managerRepository.save(newManager);
-
-            if (saved != null) {
-
-                AppState.managers.add(saved);
-
-                Club club = saved.getClub();
-                if (club != null && !AppState.clubs.stream().anyMatch(c -> c.getId() != null && c.getId().equals(club.getId()))) {
-                    AppState.clubs.add(club);
+            FxTasks.save(db -> db.getManagerRepository().save(newManager), saved -> {
+                if (saved != null) {
+                    Club club = saved.getClub();
+                    LOG.info("✓ Manager saved and added: " + saved.getName() + " @ " + club.getClubName());
+                } else {
+                    LOG.error("✗ Failed to save manager to database: " + newManager.getName());
                 }
-
-                refreshManagerList();
-                System.out.println("✓ Manager saved and added: " + saved.getName() + " @ " + club.getClubName());
-            } else {
-                System.err.println("✗ Failed to save manager to database: " + newManager.getName());
-            }
+            });
         }
     }
 
@@ -65,20 +64,19 @@ public class ManagerController {
     public void deleteManager() {
         Manager selected = managerList.getSelectionModel().getSelectedItem();
         if (selected != null) {
-            AppState.managers.remove(selected);
-
             // Delete from database if the manager has an ID (was saved to database)
-            if (selected.getId() != null) {
-                boolean deleted = managerRepository.delete(selected.getId());
-                if (deleted) {
-                    System.out.println("✓ Manager deleted from database: " + selected.getName());
-                } else {
-                    System.out.println("✗ Failed to delete manager from database: " + selected.getName());
-                }
+            if (selected.getId() == null) {
+                AppState.managers.remove(selected);
+            } else {
+                FxTasks.save(db -> db.getManagerRepository().delete(selected.getId()), deleted -> {
+                    if (deleted) {
+                        LOG.info("✓ Manager deleted from database: " + selected.getName());
+                    } else {
+                        LOG.error("✗ Failed to delete manager from database: " + selected.getName());
+                    }
+                });
             }
-
-            refreshManagerList();
-            System.out.println("✓ Deleted from app: " + selected.getName());
+            LOG.info("✓ Deleted from app: " + selected.getName());
         }
     }
 
@@ -89,31 +87,31 @@ public class ManagerController {
         if (selected != null) {
             AppState.setSelectedManager(selected);
             try {
+                FxTasks.cancelSceneTasks();
                 javafx.fxml.FXMLLoader loader = new javafx.fxml.FXMLLoader(getClass().getResource("/com/example/coachsapp/manager-profile-view.fxml"));
                 javafx.scene.Scene scene = new javafx.scene.Scene(loader.load(), 1000, 700);
                 javafx.stage.Stage stage = (javafx.stage.Stage) managerList.getScene().getWindow();
                 stage.setScene(scene);
                 stage.show();
             } catch (Exception e) {
-                System.err.println("Error loading manager profile: " + e.getMessage());
-                e.printStackTrace();
+                LOG.error("Error loading manager profile: " + e.getMessage(), e);
             }
         } else {
-            System.err.println("Please select a manager to view profile");
+            LOG.warn("⚠ Please select a manager to view profile");
         }
     }
 
     private void viewManagerProfile(Manager manager) {
         AppState.setSelectedManager(manager);
         try {
+            FxTasks.cancelSceneTasks();
             javafx.fxml.FXMLLoader loader = new javafx.fxml.FXMLLoader(getClass().getResource("/com/example/coachsapp/manager-profile-view.fxml"));
             javafx.scene.Scene scene = new javafx.scene.Scene(loader.load(), 1000, 700);
             javafx.stage.Stage stage = (javafx.stage.Stage) managerList.getScene().getWindow();
             stage.setScene(scene);
             stage.show();
         } catch (Exception e) {
-            System.err.println("Error loading manager profile: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error loading manager profile: " + e.getMessage(), e);
         }
     }
 
@@ -129,7 +127,7 @@ public class ManagerController {
             AppState.setSelectedManager(selected);
             SceneSwitcher.switchTo(event, "gameplan-view.fxml");
         } else {
-            System.err.println("Please select a manager to manage game plans");
+            LOG.warn("⚠ Please select a manager to manage game plans");
         }
     }
 
@@ -137,9 +135,5 @@ public class ManagerController {
     public void goBack(ActionEvent event) {
         SceneSwitcher.switchTo(event, "main-view.fxml");
     }
-
-    private void refreshManagerList() {
-        managerList.setItems(FXCollections.observableArrayList(AppState.managers));
-    }
 }
 
@@ -4,43 +4,55 @@ import com.example.coachsapp.model.Manager;
 import com.example.coachsapp.model.User;
 import com.example.coachsapp.model.Role;
 import com.example.coachsapp.model.Club;
+import com.example.coachsapp.util.FxTasks;
+import com.example.coachsapp.util.Log;
 import com.example.coachsapp.util.SceneSwitcher;
 import com.example.coachsapp.util.AppState;
+import com.example.coachsapp.util.CardGrid;
+import com.example.coachsapp.util.PagedLoader;
 import com.example.coachsapp.dialog.AddManagerDialog;
-import com.example.coachsapp.db.ManagerRepository;
-import com.example.coachsapp.db.DatabaseService;
+import com.example.coachsapp.db.ChangeEvent;
+import com.example.coachsapp.db.ManagerCriteria;
+import com.example.coachsapp.db.Page;
 import javafx.fxml.FXML;
+import javafx.scene.Node;
 import javafx.scene.control.*;
 import javafx.scene.layout.*;
 import javafx.stage.Stage;
 import javafx.event.ActionEvent;
-import javafx.geometry.Pos;
-import javafx.geometry.Insets;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import java.util.List;
 import java.util.stream.Collectors;
 
 public class ManagerListController {
 
-    @FXML
-    private FlowPane managerCardsPane;
+    private static final Log LOG = Log.get(ManagerListController.class);
 
     @FXML
-    private ScrollPane scrollPane;
+    private StackPane managerCardsPane;
 
     @FXML
     private ComboBox<String> clubFilterCombo;
 
-    private DatabaseService dbService;
-    private java.util.List<Manager> baseManagerList;
+    private boolean managerAccess;
+    private long filterGeneration;
+    private PagedLoader<Manager> pager;
+    private final CardGrid<Manager> managerGrid = new CardGrid<>(240, 280, 20, ManagerCard::new);
 
     @FXML
     public void initialize() {
-        dbService = DatabaseService.getInstance();
-        System.out.println("✓ ManagerListController initialized with " + AppState.managers.size() + " managers");
+        LOG.debug(() -> "✓ ManagerListController initialized with " + AppState.managers.size() + " managers");
+        managerGrid.setPlaceholder(new Label("No managers to show"));
+        managerCardsPane.getChildren().add(managerGrid);
+        pager = new PagedLoader<>(managerGrid, Page.DEFAULT_SIZE,
+                (db, after, size) -> db.getManagerRepository().findPage(after, size),
+                managers -> createManagerCards(AppState.sharedManagers(managers)),
+                managers -> managerGrid.addCards(AppState.sharedManagers(managers)));
         setupFilters();
         loadBaseManagers();
         applyFilters();
+        FxTasks.onChange(Manager.class, this::onManagerChange);
     }
 
     private void setupFilters() {
@@ -49,16 +61,15 @@ public class ManagerListController {
 
     private void loadBaseManagers() {
         User currentUser = AppState.currentUser;
+        managerAccess = false;
         
         if (currentUser == null) {
-            baseManagerList = new java.util.ArrayList<>();
-            System.out.println("⚠ No user logged in");
+            LOG.warn("⚠ No user logged in");
             return;
         }
 
         // All roles see all managers (typically only admin accesses this)
-        baseManagerList = new java.util.ArrayList<>(AppState.managers);
-        System.out.println("✓ Card view: base list has " + baseManagerList.size() + " managers");
+        managerAccess = true;
         
         // Populate club filter with all clubs
         ObservableList<String> clubs = FXCollections.observableArrayList("All Clubs");
@@ -70,27 +81,87 @@ public class ManagerListController {
         clubFilterCombo.setValue("All Clubs");
     }
 
+    /**
+     * Query the managers matching the club filter.
+     */
     private void applyFilters() {
-        if (baseManagerList == null) {
+        long generation = ++filterGeneration;
+        if (!managerAccess) {
+            pager.stop();
+            createManagerCards(List.of());
             return;
         }
 
         String selectedClub = clubFilterCombo.getValue();
-        
-        java.util.List<Manager> filteredManagers = new java.util.ArrayList<>(baseManagerList);
+        if (selectedClub == null || selectedClub.equals("All Clubs")) {
+            // Every manager: page through them as the user scrolls
+            pager.reload();
+            LOG.debug("✓ Card filters cleared: paging through all managers");
+            return;
+        }
+        pager.stop();
+        ManagerCriteria criteria = new ManagerCriteria();
 
         // Apply club filter
-        if (selectedClub != null && !selectedClub.equals("All Clubs")) {
-            filteredManagers = filteredManagers.stream()
-                .filter(m -> {
-                    Club club = m.getClub();
-                    return club != null && club.getClubName().equals(selectedClub);
-                })
-                .collect(Collectors.toList());
+        Club club = AppState.findClubByName(selectedClub);
+        if (club == null) {
+            createManagerCards(List.of());
+            return;
+        }
+        criteria.club(club.getId());
+
+        FxTasks.load(db -> db.getManagerRepository().find(criteria), filteredManagers -> {
+            if (generation != filterGeneration) {
+                return; // A newer filter is on its way
+            }
+            createManagerCards(AppState.sharedManagers(filteredManagers));
+            LOG.debug(() -> "✓ Card filters applied: showing " + filteredManagers.size() + " manager cards (Club: " + selectedClub + ")");
+        });
+    }
+
+    /**
+     * Patch the cards for a committed manager change instead of querying again.
+     * AppState already holds the changed manager.
+     */
+    private void onManagerChange(ChangeEvent<Manager> event) {
+        Manager shown = null;
+        for (Manager card : managerGrid.getCards()) {
+            if (card.getId() != null && card.getId() == event.id()) {
+                shown = card;
+                break;
+            }
         }
+        Manager manager = AppState.findManager(event.id());
+        if (event.type() == ChangeEvent.Type.DELETE || manager == null || !matchesFilter(manager)) {
+            if (shown != null) {
+                managerGrid.removeCard(shown);
+            }
+        } else if (shown == manager) {
+            managerGrid.refreshCard(manager);
+        } else {
+            if (shown != null) {
+                managerGrid.removeCard(shown);
+            }
+            // While paging, a manager past the loaded pages turns up with its page
+            if (!pager.hasMore()) {
+                managerGrid.addCards(List.of(manager));
+            }
+        }
+    }
 
-        createManagerCards(filteredManagers);
-        System.out.println("✓ Card filters applied: showing " + filteredManagers.size() + " manager cards (Club: " + selectedClub + ")");
+    /**
+     * The club filter of {@link #applyFilters}, for one manager.
+     */
+    private boolean matchesFilter(Manager manager) {
+        if (!managerAccess) {
+            return false;
+        }
+        String selectedClub = clubFilterCombo.getValue();
+        if (selectedClub == null || selectedClub.equals("All Clubs")) {
+            return true;
+        }
+        Club club = AppState.findClubByName(selectedClub);
+        return club != null && manager.getClub() != null && club.getId().equals(manager.getClub().getId());
     }
 
     @FXML
@@ -99,103 +170,81 @@ public class ManagerListController {
         applyFilters();
     }
 
-    private void createManagerCards(java.util.List<Manager> managersToShow) {
-        managerCardsPane.getChildren().clear();
-        
-        for (Manager manager : managersToShow) {
-            VBox card = createManagerCard(manager);
-            managerCardsPane.getChildren().add(card);
-        }
+    private void createManagerCards(List<Manager> managersToShow) {
+        managerGrid.setCards(managersToShow);
     }
 
-    private VBox createManagerCard(Manager manager) {
-        VBox card = new VBox(10);
-        card.setPrefSize(240, 280);
-        card.setMaxSize(240, 280);
-        card.setAlignment(Pos.TOP_CENTER);
-        card.setPadding(new Insets(20));
-        
-        String cardStyle = "-fx-background-color: linear-gradient(to bottom, #1a1a1a 0%, #2d2d2d 100%);" +
-                          "-fx-border-color: #3498db;" +
-                          "-fx-border-width: 3;" +
-                          "-fx-border-radius: 10;" +
-                          "-fx-background-radius: 10;" +
-                          "-fx-effect: dropshadow(gaussian, rgba(0,0,0,0.6), 10, 0, 0, 4);";
-        card.setStyle(cardStyle);
-        
-        // Manager icon -        Label iconLabel = new Label("");
-  Label iconLabel = new Label("👔");
-        iconLabel.setStyle("-fx-font-size: 60px; -fx-text-fill: white;");
-        
-        // Manager name
-        Label nameLabel = new Label(manager.getName().toUpperCase());
-        nameLabel.setStyle("-fx-font-size: 16px; -fx-font-weight: bold; -fx-text-fill: white;");
-        nameLabel.setWrapText(true);
-        nameLabel.setMaxWidth(200);
-        nameLabel.setAlignment(Pos.CENTER);
-        
+    /**
+     * Reusable manager card; CardGrid rebinds it as the user scrolls and filters.
+     */
+    private class ManagerCard implements CardGrid.Card<Manager> {
+        private final VBox card = new VBox();
+        private final Label nameLabel = new Label();
+        private final Label idLabel = new Label();
+        private final Label ageLabel = new Label();
+        private final Label clubLabel = new Label();
+        private Manager manager;
 
-        VBox statsBox = new VBox(5);
-        statsBox.setAlignment(Pos.CENTER_LEFT);
-        statsBox.setPadding(new Insets(10));
-        statsBox.setStyle("-fx-background-color: rgba(0,0,0,0.3); -fx-padding: 10; -fx-background-radius: 5;");
+        ManagerCard() {
+            card.getStyleClass().addAll("roster-card", "manager-card");
 
-        Label idLabel = new Label("ID: " + (manager.getId() != null ? manager.getId() : "N/A"));
-        idLabel.setStyle("-fx-font-size: 12px; -fx-text-fill: #aaa;");
-        
+            Label iconLabel = new Label("👔");
+            iconLabel.getStyleClass().add("card-icon");
 
-        Label ageLabel = new Label("AGE: " + (manager.getAge() != null ? manager.getAge() : "N/A"));
-        ageLabel.setStyle("-fx-font-size: 12px; -fx-text-fill: #aaa;");
-        
+            nameLabel.getStyleClass().add("card-name");
+            nameLabel.setWrapText(true);
 
-        String clubName = manager.getClub() != null ? manager.getClub().getClubName() : "No Club";
-        Label clubLabel = new Label("CLUB: " + clubName);
-        clubLabel.setStyle("-fx-font-size: 12px; -fx-text-fill: #ffdd57; -fx-font-weight: bold;");
-        clubLabel.setWrapText(true);
-        clubLabel.setMaxWidth(180);
-        
-        statsBox.getChildren().addAll(idLabel, ageLabel, clubLabel);
-        
+            idLabel.getStyleClass().add("card-stat");
+            ageLabel.getStyleClass().add("card-stat");
+            clubLabel.getStyleClass().addAll("card-stat-highlight", "card-stat-club");
+            clubLabel.setWrapText(true);
 
-        HBox buttonBox = new HBox(8);
-        buttonBox.setAlignment(Pos.CENTER);
-        buttonBox.setPadding(new Insets(8, 0, 0, 0));
-        
-        Button viewBtn = new Button("View");
-        viewBtn.setStyle("-fx-background-color: #2196F3; -fx-text-fill: white; -fx-font-size: 11px; -fx-padding: 5 15;");
-        viewBtn.setOnAction(e -> viewManagerProfile(manager));
-        
-        Button deleteBtn = new Button("Delete");
-        deleteBtn.setStyle("-fx-background-color: #f44336; -fx-text-fill: white; -fx-font-size: 11px; -fx-padding: 5 15;");
-        deleteBtn.setOnAction(e -> deleteManager(manager));
-        
-        buttonBox.getChildren().addAll(viewBtn, deleteBtn);
-        
-        card.getChildren().addAll(iconLabel, nameLabel, statsBox, buttonBox);
-        
-        card.setOnMouseEntered(e -> {
-            card.setStyle(cardStyle + "-fx-cursor: hand; -fx-scale-x: 1.05; -fx-scale-y: 1.05;");
-        });
-        card.setOnMouseExited(e -> {
-            card.setStyle(cardStyle);
-        });
-        
-        return card;
+            VBox statsBox = new VBox(idLabel, ageLabel, clubLabel);
+            statsBox.getStyleClass().add("card-stats");
+
+            Button viewBtn = new Button("View");
+            viewBtn.getStyleClass().addAll("card-button", "card-button-view");
+            viewBtn.setOnAction(e -> viewManagerProfile(manager));
+
+            Button deleteBtn = new Button("Delete");
+            deleteBtn.getStyleClass().addAll("card-button", "card-button-delete");
+            deleteBtn.setOnAction(e -> deleteManager(manager));
+
+            HBox buttonBox = new HBox(viewBtn, deleteBtn);
+            buttonBox.getStyleClass().add("card-buttons");
+
+            card.getChildren().addAll(iconLabel, nameLabel, statsBox, buttonBox);
+        }
+
+        @Override
+        public Node getNode() {
+            return card;
+        }
+
+        @Override
+        public void update(Manager manager) {
+            this.manager = manager;
+            nameLabel.setText(manager.getName().toUpperCase());
+            idLabel.setText("ID: " + (manager.getId() != null ? manager.getId() : "N/A"));
+            ageLabel.setText("AGE: " + (manager.getAge() != null ? manager.getAge() : "N/A"));
+            String clubName = manager.getClub() != null ? manager.getClub().getClubName() : "No Club";
+            clubLabel.setText("CLUB: " + clubName);
+        }
     }
 
     private void viewManagerProfile(Manager manager) {
         AppState.setSelectedManager(manager);
         try {
+            FxTasks.cancelSceneTasks();
             javafx.fxml.FXMLLoader loader = new javafx.fxml.FXMLLoader(
                     getClass().getResource("/com/example/coachsapp/manager-profile-view.fxml"));
             javafx.scene.Scene scene = new javafx.scene.Scene(loader.load(), 800, 600);
             javafx.stage.Stage stage = (javafx.stage.Stage) managerCardsPane.getScene().getWindow();
             stage.setScene(scene);
             stage.show();
-            System.out.println("✓ Opening profile for: " + manager.getName());
+            LOG.debug(() -> "✓ Opening profile for: " + manager.getName());
         } catch (Exception e) {
-            System.err.println("Error loading manager profile: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error loading manager profile: " + e.getMessage(), e);
         }
     }
 
@@ -208,15 +257,13 @@ public class ManagerListController {
         confirm.showAndWait().ifPresent(response -> {
             if (response == ButtonType.OK) {
                 if (manager.getId() != null) {
-                    ManagerRepository managerRepo = dbService.getManagerRepository();
-                    boolean deleted = managerRepo.delete(manager.getId());
-                    if (deleted) {
-                        AppState.managers.remove(manager);
-                        applyFilters();
-                        System.out.println("✓ Manager deleted: " + manager.getName());
-                    } else {
-                        System.err.println("✗ Failed to delete manager: " + manager.getName());
-                    }
+                    FxTasks.save(db -> db.getManagerRepository().delete(manager.getId()), deleted -> {
+                        if (deleted) {
+                            LOG.info("✓ Manager deleted: " + manager.getName());
+                        } else {
+                            LOG.error("✗ Failed to delete manager: " + manager.getName());
+                        }
+                    });
                 }
             }
         });
@@ -229,21 +276,14 @@ public class ManagerListController {
         Manager newManager = dialog.showDialog(stage);
 
         if (newManager != null) {
-            ManagerRepository managerRepo = dbService.getManagerRepository();
-            Manager saved = managerRepo.save(newManager);
-            if (saved != null) {
-                AppState.managers.add(saved);
-                
-                Club club = saved.getClub();
-                if (club != null && !AppState.clubs.stream().anyMatch(c -> c.getId() != null && c.getId().equals(club.getId()))) {
-                    AppState.clubs.add(club);
+            FxTasks.save(db -> db.getManagerRepository().save(newManager), saved -> {
+                if (saved != null) {
+                    Club club = saved.getClub();
+                    LOG.info("✓ Manager added: " + saved.getName() + " @ " + club.getClubName());
+                } else {
+                    LOG.error("✗ Failed to save manager to database: " + newManager.getName());
                 }
-                
-                applyFilters();
-                System.out.println("✓ Manager added: " + saved.getName() + " @ " + club.getClubName());
-            } else {
-                System.err.println("✗ Failed to save manager to database: " + newManager.getName());
-            }
+            });
         }
     }
 
@@ -5,7 +5,6 @@ import com.example.coachsapp.model.Player;
 import com.example.coachsapp.model.Club;
 import com.example.coachsapp.util.AppState;
 import com.example.coachsapp.util.SceneSwitcher;
-import com.example.coachsapp.db.ManagerRepository;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.collections.FXCollections;
@@ -13,6 +12,8 @@ import javafx.event.ActionEvent;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.SimpleIntegerProperty;
 
+import java.util.List;
+
 public class ManagerProfileController {
 
     @FXML
@@ -46,7 +47,6 @@ public class ManagerProfileController {
     private TableColumn<Player, String> squadStatusColumn;
 
     private Manager currentManager;
-    private ManagerRepository managerRepository = new ManagerRepository();
 
     @FXML
     public void initialize() {
@@ -116,9 +116,9 @@ public class ManagerProfileController {
 
     private void loadSquadPlayers(Club club) {
 
-        var clubPlayers = AppState.players.stream()
-            .filter(p -> p.getClubId() != null && p.getClubId().equals(club.getId()))
-            .toList();
+        var clubPlayers = club.getId() != null
+            ? AppState.getPlayersByClub(club.getId())
+            : List.<Player>of();
         
         squadTable.setItems(FXCollections.observableArrayList(clubPlayers));
     }
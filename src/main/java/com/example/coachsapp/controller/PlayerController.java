@@ -5,10 +5,15 @@ import com.example.coachsapp.model.Player;
 import com.example.coachsapp.model.User;
 import com.example.coachsapp.model.Role;
 import com.example.coachsapp.model.Club;
+import com.example.coachsapp.util.FxTasks;
+import com.example.coachsapp.util.Log;
+import com.example.coachsapp.util.PagedLoader;
 import com.example.coachsapp.util.AppState;
 import com.example.coachsapp.util.SceneSwitcher;
 import com.example.coachsapp.dialog.AddPlayerDialog;
-import com.example.coachsapp.db.DatabaseService;
+import com.example.coachsapp.db.ChangeEvent;
+import com.example.coachsapp.db.Page;
+import com.example.coachsapp.db.PlayerCriteria;
 import javafx.fxml.FXML;
 import javafx.scene.control.TableView;
 import javafx.scene.control.TableColumn;
@@ -21,10 +26,13 @@ import javafx.event.ActionEvent;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.SimpleIntegerProperty;
 import javafx.stage.Stage;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 public class PlayerController {
 
+    private static final Log LOG = Log.get(PlayerController.class);
+
     @FXML
     private TableView<Player> playerTable;
 
@@ -52,16 +60,22 @@ public class PlayerController {
     @FXML
     private ComboBox<String> positionFilterCombo;
 
-    private DatabaseService dbService;
-    private ObservableList<Player> basePlayerList; // Players visible to current user
+    private boolean playerAccess; // Whether the current user may see players at all
+    private Integer managerClubId; // Set for managers, who only see their own club
+    private CompletableFuture<Integer> filterTask;
+    private PagedLoader<Player> pager;
 
     @FXML
     public void initialize() {
-        dbService = DatabaseService.getInstance();
         setupTableColumns();
+        pager = new PagedLoader<>(playerTable, Page.DEFAULT_SIZE,
+                (db, after, size) -> db.getPlayerRepository().findPage(after, size),
+                players -> playerTable.setItems(FXCollections.observableArrayList(AppState.sharedPlayers(players))),
+                players -> playerTable.getItems().addAll(AppState.sharedPlayers(players)));
         setupFilters();
         loadBasePlayers();
         applyFilters();
+        FxTasks.onChange(Player.class, this::onPlayerChange);
         
         playerTable.setOnMouseClicked(event -> {
             if (event.getClickCount() == 2) {
@@ -88,17 +102,18 @@ public class PlayerController {
 
     private void loadBasePlayers() {
         User currentUser = AppState.currentUser;
+        playerAccess = false;
+        managerClubId = null;
         
         if (currentUser == null) {
-            basePlayerList = FXCollections.observableArrayList();
-            System.out.println("⚠ No user logged in");
+            LOG.warn("⚠ No user logged in");
             return;
         }
 
         if (currentUser.getRole() == Role.SYSTEM_ADMIN) {
             // Admin sees all players
-            basePlayerList = FXCollections.observableArrayList(AppState.players);
-            System.out.println("✓ Admin view: base list has " + basePlayerList.size() + " players");
+            playerAccess = true;
+            LOG.debug("✓ Admin view: all players");
             
             // Populate club filter with all clubs
             ObservableList<String> clubs = FXCollections.observableArrayList("All Clubs");
@@ -110,69 +125,119 @@ public class PlayerController {
             clubFilterCombo.setValue("All Clubs");
         } else if (currentUser.getRole() == Role.CLUB_MANAGER && currentUser.getClubId() != null) {
             // Manager sees only their club's players
-            basePlayerList = FXCollections.observableArrayList(
-                AppState.players.stream()
-                    .filter(p -> p.getClubId() != null && p.getClubId().equals(currentUser.getClubId()))
-                    .collect(Collectors.toList())
-            );
-            System.out.println("✓ Manager view: base list has " + basePlayerList.size() + " players from club ID " + currentUser.getClubId());
+            playerAccess = true;
+            managerClubId = currentUser.getClubId();
+            LOG.debug(() -> "✓ Manager view: players from club ID " + managerClubId);
             
             // Manager's club filter is pre-filtered to their club only
-            String managerClub = AppState.clubs.stream()
-                .filter(c -> c.getId() != null && c.getId().equals(currentUser.getClubId()))
-                .map(Club::getClubName)
-                .findFirst()
-                .orElse("My Club");
+            String managerClub = AppState.findClubName(currentUser.getClubId());
+            if (managerClub == null) {
+                managerClub = "My Club";
+            }
             ObservableList<String> clubs = FXCollections.observableArrayList("All Players", managerClub);
             clubFilterCombo.setItems(clubs);
             clubFilterCombo.setValue("All Players");
         } else {
             // Other roles see no players
-            basePlayerList = FXCollections.observableArrayList();
-            System.out.println("⚠ User role " + currentUser.getRole() + " has no player access");
+            LOG.warn("⚠ User role " + currentUser.getRole() + " has no player access");
         }
     }
 
+    /**
+     * Query the players matching the filters; the club and position filters run in SQLite.
+     */
     private void applyFilters() {
-        if (basePlayerList == null) {
+        if (filterTask != null) {
+            filterTask.cancel(true); // Drop whatever the previous filter has not shown yet
+        }
+        if (!playerAccess) {
+            pager.stop();
+            playerTable.setItems(FXCollections.observableArrayList());
             return;
         }
 
         String selectedClub = clubFilterCombo.getValue();
         String selectedPosition = positionFilterCombo.getValue();
-        
-        ObservableList<Player> filteredPlayers = FXCollections.observableArrayList(basePlayerList);
+        if (managerClubId == null && "All Clubs".equals(selectedClub) && "All Positions".equals(selectedPosition)) {
+            // The whole league: page through it as the user scrolls
+            pager.reload();
+            LOG.debug("✓ Filters cleared: paging through all players");
+            return;
+        }
+        pager.stop();
+        PlayerCriteria criteria = new PlayerCriteria().club(managerClubId);
 
         // Apply club filter
-        if (selectedClub != null && !selectedClub.equals("All Clubs") && !selectedClub.equals("All Players")) {
-            filteredPlayers = FXCollections.observableArrayList(
-                filteredPlayers.stream()
-                    .filter(p -> {
-                        String playerClub = p.getClubView();
-                        if (playerClub == null || playerClub.isEmpty()) {
-                            playerClub = AppState.clubs.stream()
-                                .filter(c -> c.getId() != null && c.getId().equals(p.getClubId()))
-                                .map(Club::getClubName)
-                                .findFirst()
-                                .orElse("");
-                        }
-                        return playerClub.equals(selectedClub);
-                    })
-                    .collect(Collectors.toList())
-            );
+        if (managerClubId == null && selectedClub != null && !selectedClub.equals("All Clubs")) {
+            Club club = AppState.findClubByName(selectedClub);
+            if (club == null) {
+                playerTable.setItems(FXCollections.observableArrayList());
+                return;
+            }
+            criteria.club(club.getId());
         }
 
         // Apply position filter
         if (selectedPosition != null && !selectedPosition.equals("All Positions")) {
-            filteredPlayers = FXCollections.observableArrayList(
-                filteredPlayers.stream()
-                    .filter(p -> p.getPosition().toString().equals(selectedPosition))
-                    .collect(Collectors.toList())
-            );
+            criteria.position(Position.valueOf(selectedPosition));
         }
 
-        playerTable.setItems(filteredPlayers);
-        System.out.println("✓ Filters applied: showing " + filteredPlayers.size() + " players (Club: " + selectedClub + ", Position: " + selectedPosition + ")");
+        // Rows show up a chunk at a time while the rest are still being read
+        filterTask = FxTasks.stream(db -> db.getPlayerRepository().stream(criteria),
+            firstChunk -> playerTable.setItems(FXCollections.observableArrayList(AppState.sharedPlayers(firstChunk))),
+            nextChunk -> playerTable.getItems().addAll(AppState.sharedPlayers(nextChunk)));
+        filterTask.thenAccept(rows -> LOG.debug(() -> "✓ Filters applied: streamed " + rows + " players (Club: " + selectedClub + ", Position: " + selectedPosition + ")"));
+    }
+
+    /**
+     * Patch the table for a committed player change instead of querying again.
+     * AppState already holds the changed player.
+     */
+    private void onPlayerChange(ChangeEvent<Player> event) {
+        ObservableList<Player> rows = playerTable.getItems();
+        int index = -1;
+        for (int i = 0; i < rows.size(); i++) {
+            if (rows.get(i).getId() != null && rows.get(i).getId() == event.id()) {
+                index = i;
+                break;
+            }
+        }
+        Player player = AppState.findPlayer(event.id());
+        if (event.type() == ChangeEvent.Type.DELETE || player == null || !matchesFilters(player)) {
+            if (index >= 0) {
+                rows.remove(index);
+            }
+        } else if (index >= 0) {
+            // Setting the row redraws it even when it is the same instance
+            rows.set(index, player);
+        } else if (!pager.hasMore()) {
+            // While paging, a player past the loaded pages turns up with its page
+            rows.add(player);
+        }
+    }
+
+    /**
+     * The club and position filters of {@link #applyFilters}, for one player.
+     */
+    private boolean matchesFilters(Player player) {
+        if (!playerAccess) {
+            return false;
+        }
+        Integer clubId = managerClubId;
+        String selectedClub = clubFilterCombo.getValue();
+        if (managerClubId == null && selectedClub != null && !selectedClub.equals("All Clubs")) {
+            Club club = AppState.findClubByName(selectedClub);
+            if (club == null) {
+                return false;
+            }
+            clubId = club.getId();
+        }
+        if (clubId != null && !clubId.equals(player.getClubId())) {
+            return false;
+        }
+        String selectedPosition = positionFilterCombo.getValue();
+        return selectedPosition == null || selectedPosition.equals("All Positions")
+                || player.getPosition() == Position.valueOf(selectedPosition);
     }
 
     @FXML
@@ -210,11 +275,8 @@ public class PlayerController {
 
             Integer clubId = cellData.getValue().getClubId();
             if (clubId != null) {
-                return new SimpleStringProperty(AppState.clubs.stream()
-                    .filter(c -> c.getId() != null && c.getId().equals(clubId))
-                    .map(c -> c.getClubName())
-                    .findFirst()
-                    .orElse("Unknown Club"));
+                String clubName = AppState.findClubName(clubId);
+                return new SimpleStringProperty(clubName != null ? clubName : "Unknown Club");
             }
             return new SimpleStringProperty("No Club");
         });
@@ -228,25 +290,13 @@ public class PlayerController {
 
         if (newPlayer != null) {
          
-            Player savedPlayer = dbService.getPlayerRepository().save(newPlayer);
-
-            if (savedPlayer != null) {
-             
-                AppState.players.add(savedPlayer);
-
-               
-                if (savedPlayer.getClubId() != null) {
-                    AppState.clubs.stream()
-                        .filter(c -> c.getId() != null && c.getId().equals(savedPlayer.getClubId()))
-                        .findFirst()
-                        .ifPresent(club -> club.addPlayer(savedPlayer));
+            FxTasks.save(db -> db.getPlayerRepository().save(newPlayer), savedPlayer -> {
+                if (savedPlayer != null) {
+                    LOG.info("✓ Player added successfully: " + newPlayer.getName());
+                } else {
+                    showError("Failed to save player to database");
                 }
-
-                // No need to refresh - AppState.players is already bound
-                System.out.println("✓ Player added successfully: " + newPlayer.getName());
-            } else {
-                showError("Failed to save player to database");
-            }
+            });
         }
     }
 
@@ -254,36 +304,24 @@ public class PlayerController {
     public void deletePlayer() {
         Player selected = playerTable.getSelectionModel().getSelectedItem();
         if (selected != null) {
-            System.out.println("=== Attempting to delete player: " + selected.getName() + " (ID: " + selected.getId() + ") ===");
+            LOG.debug(() -> "Attempting to delete player: " + selected.getName() + " (ID: " + selected.getId() + ")");
     
             if (selected.getId() != null) {
-                boolean deleted = dbService.getPlayerRepository().delete(selected.getId());
-                if (deleted) {
-                    System.out.println("✓ Player deleted from database: " + selected.getName());
-                    
-           
-                    AppState.players.remove(selected);
-
-                  
-                    if (selected.getClubId() != null) {
-                        AppState.clubs.stream()
-                            .filter(c -> c.getId() != null && c.getId().equals(selected.getClubId()))
-                            .findFirst()
-                            .ifPresent(club -> club.removePlayer(selected));
+                FxTasks.save(db -> db.getPlayerRepository().delete(selected.getId()), deleted -> {
+                    if (deleted) {
+                        LOG.info("✓ Player deleted from database: " + selected.getName());
+                        LOG.info("✓ Player deleted successfully: " + selected.getName());
+                        showInfo("Player deleted successfully!");
+                    } else {
+                        LOG.error("✗ Failed to delete player from database");
+                        showError("Failed to delete player from database");
                     }
-
-
-                    System.out.println("✓ Player deleted successfully: " + selected.getName());
-                    showInfo("Player deleted successfully!");
-                } else {
-                    System.out.println("✗ Failed to delete player from database");
-                    showError("Failed to delete player from database");
-                }
+                });
             } else {
             
                 AppState.players.remove(selected);
-                refreshPlayerTable();
-                System.out.println("✓ Player removed (no database record)");
+                playerTable.getItems().remove(selected);
+                LOG.info("✓ Player removed (no database record)");
             }
         } else {
             showError("Please select a player to delete");
@@ -296,14 +334,14 @@ public class PlayerController {
         if (selected != null) {
             AppState.setSelectedPlayer(selected);
             try {
+                FxTasks.cancelSceneTasks();
                 javafx.fxml.FXMLLoader loader = new javafx.fxml.FXMLLoader(getClass().getResource("/com/example/coachsapp/player-profile-view.fxml"));
                 javafx.scene.Scene scene = new javafx.scene.Scene(loader.load(), 1000, 700);
                 javafx.stage.Stage stage = (javafx.stage.Stage) playerTable.getScene().getWindow();
                 stage.setScene(scene);
                 stage.show();
             } catch (Exception e) {
-                System.err.println("Error loading player profile: " + e.getMessage());
-                e.printStackTrace();
+                LOG.error("Error loading player profile: " + e.getMessage(), e);
             }
         } else {
             showError("Please select a player to view profile");
@@ -313,14 +351,14 @@ public class PlayerController {
     private void viewPlayerProfile(Player player) {
         AppState.setSelectedPlayer(player);
         try {
+            FxTasks.cancelSceneTasks();
             javafx.fxml.FXMLLoader loader = new javafx.fxml.FXMLLoader(getClass().getResource("/com/example/coachsapp/player-profile-view.fxml"));
             javafx.scene.Scene scene = new javafx.scene.Scene(loader.load(), 1000, 700);
             javafx.stage.Stage stage = (javafx.stage.Stage) playerTable.getScene().getWindow();
             stage.setScene(scene);
             stage.show();
         } catch (Exception e) {
-            System.err.println("Error loading player profile: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error loading player profile: " + e.getMessage(), e);
         }
     }
 
@@ -329,10 +367,6 @@ public class PlayerController {
         SceneSwitcher.switchTo(event, "main-view.fxml");
     }
 
-    private void refreshPlayerTable() {
-        playerTable.refresh();
-    }
-
     private void showError(String message) {
         Alert alert = new Alert(Alert.AlertType.WARNING);
         alert.setTitle("Validation Error");
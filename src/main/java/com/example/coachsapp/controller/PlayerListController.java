@@ -5,30 +5,39 @@ import com.example.coachsapp.model.Manager;
 import com.example.coachsapp.model.User;
 import com.example.coachsapp.model.Role;
 import com.example.coachsapp.model.Club;
+import com.example.coachsapp.model.Position;
+import com.example.coachsapp.util.FxTasks;
+import com.example.coachsapp.util.Log;
 import com.example.coachsapp.util.SceneSwitcher;
 import com.example.coachsapp.util.AppState;
+import com.example.coachsapp.util.CardGrid;
+import com.example.coachsapp.util.PagedLoader;
 import com.example.coachsapp.dialog.AddPlayerDialog;
 import com.example.coachsapp.dialog.EditPlayerDialog;
-import com.example.coachsapp.db.PlayerRepository;
-import com.example.coachsapp.db.DatabaseService;
+import com.example.coachsapp.db.ChangeEvent;
+import com.example.coachsapp.db.Page;
+import com.example.coachsapp.db.PlayerCriteria;
+import javafx.css.PseudoClass;
 import javafx.fxml.FXML;
+import javafx.scene.Node;
 import javafx.scene.control.*;
 import javafx.scene.layout.*;
 import javafx.stage.Stage;
 import javafx.event.ActionEvent;
-import javafx.geometry.Pos;
-import javafx.geometry.Insets;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 public class PlayerListController {
 
-    @FXML
-    private FlowPane playerCardsPane;
+    private static final Log LOG = Log.get(PlayerListController.class);
+
+    private static final PseudoClass INJURED = PseudoClass.getPseudoClass("injured");
 
     @FXML
-    private ScrollPane scrollPane;
+    private StackPane playerCardsPane;
 
     @FXML
     private ComboBox<String> clubFilterCombo;
@@ -36,16 +45,25 @@ public class PlayerListController {
     @FXML
     private ComboBox<String> positionFilterCombo;
 
-    private DatabaseService dbService;
-    private java.util.List<Player> basePlayerList; // Players visible to current user
+    private boolean playerAccess; // Whether the current user may see players at all
+    private Integer managerClubId; // Set for managers, who only see their own club
+    private CompletableFuture<Integer> filterTask;
+    private PagedLoader<Player> pager;
+    private final CardGrid<Player> playerGrid = new CardGrid<>(220, 320, 20, PlayerCard::new);
 
     @FXML
     public void initialize() {
-        dbService = DatabaseService.getInstance();
-        System.out.println("✓ PlayerListController initialized with " + AppState.players.size() + " players");
+        LOG.debug(() -> "✓ PlayerListController initialized with " + AppState.players.size() + " players");
+        playerGrid.setPlaceholder(new Label("No players to show"));
+        playerCardsPane.getChildren().add(playerGrid);
+        pager = new PagedLoader<>(playerGrid, Page.DEFAULT_SIZE,
+                (db, after, size) -> db.getPlayerRepository().findPage(after, size),
+                players -> createPlayerCards(AppState.sharedPlayers(players)),
+                players -> playerGrid.addCards(AppState.sharedPlayers(players)));
         setupFilters();
         loadBasePlayers();
         applyFilters();
+        FxTasks.onChange(Player.class, this::onPlayerChange);
     }
 
     private void setupFilters() {
@@ -63,17 +81,18 @@ public class PlayerListController {
 
     private void loadBasePlayers() {
         User currentUser = AppState.currentUser;
-        
+        playerAccess = false;
+        managerClubId = null;
+
         if (currentUser == null) {
-            basePlayerList = new java.util.ArrayList<>();
-            System.out.println("⚠ No user logged in");
+            LOG.warn("⚠ No user logged in");
             return;
         }
 
         if (currentUser.getRole() == Role.SYSTEM_ADMIN) {
             // Admin sees all players
-            basePlayerList = new java.util.ArrayList<>(AppState.players);
-            System.out.println("✓ Admin card view: base list has " + basePlayerList.size() + " players");
+            playerAccess = true;
+            LOG.debug("✓ Admin card view: all players");
             
             // Populate club filter with all clubs
             ObservableList<String> clubs = FXCollections.observableArrayList("All Clubs");
@@ -85,63 +104,122 @@ public class PlayerListController {
             clubFilterCombo.setValue("All Clubs");
         } else if (currentUser.getRole() == Role.CLUB_MANAGER && currentUser.getClubId() != null) {
             // Manager sees only their club's players
-            basePlayerList = AppState.players.stream()
-                .filter(p -> p.getClubId() != null && p.getClubId().equals(currentUser.getClubId()))
-                .collect(Collectors.toList());
-            System.out.println("✓ Manager card view: base list has " + basePlayerList.size() + " players from club ID " + currentUser.getClubId());
+            playerAccess = true;
+            managerClubId = currentUser.getClubId();
+            LOG.debug(() -> "✓ Manager card view: players from club ID " + managerClubId);
             
             // Manager's club filter is pre-filtered to their club only
-            String managerClub = AppState.clubs.stream()
-                .filter(c -> c.getId() != null && c.getId().equals(currentUser.getClubId()))
-                .map(Club::getClubName)
-                .findFirst()
-                .orElse("My Club");
+            String managerClub = AppState.findClubName(currentUser.getClubId());
+            if (managerClub == null) {
+                managerClub = "My Club";
+            }
             ObservableList<String> clubs = FXCollections.observableArrayList("All Players", managerClub);
             clubFilterCombo.setItems(clubs);
             clubFilterCombo.setValue("All Players");
         } else {
             // Other roles see no players
-            basePlayerList = new java.util.ArrayList<>();
-            System.out.println("⚠ User role " + currentUser.getRole() + " has no player access");
+            LOG.warn("⚠ User role " + currentUser.getRole() + " has no player access");
         }
     }
 
+    /**
+     * Query the players matching the filters; the club and position filters run in SQLite.
+     */
     private void applyFilters() {
-        if (basePlayerList == null) {
+        if (filterTask != null) {
+            filterTask.cancel(true); // Drop whatever the previous filter has not shown yet
+        }
+        if (!playerAccess) {
+            pager.stop();
+            createPlayerCards(List.of());
             return;
         }
 
         String selectedClub = clubFilterCombo.getValue();
         String selectedPosition = positionFilterCombo.getValue();
-        
-        java.util.List<Player> filteredPlayers = new java.util.ArrayList<>(basePlayerList);
+        if (managerClubId == null && "All Clubs".equals(selectedClub) && "All Positions".equals(selectedPosition)) {
+            // The whole league: page through it as the user scrolls
+            pager.reload();
+            LOG.debug("✓ Card filters cleared: paging through all players");
+            return;
+        }
+        pager.stop();
+        PlayerCriteria criteria = new PlayerCriteria().club(managerClubId);
 
         // Apply club filter
-        if (selectedClub != null && !selectedClub.equals("All Clubs") && !selectedClub.equals("All Players")) {
-            filteredPlayers = filteredPlayers.stream()
-                .filter(p -> {
-                    String playerClub = p.getClubView();
-                    if (playerClub == null || playerClub.isEmpty()) {
-                        playerClub = AppState.clubs.stream()
-                            .filter(c -> c.getId() != null && c.getId().equals(p.getClubId()))
-                            .map(Club::getClubName)
-                            .findFirst()
-                            .orElse("");
-                    }
-                    return playerClub.equals(selectedClub);
-                })
-                .collect(Collectors.toList());
+        if (managerClubId == null && selectedClub != null && !selectedClub.equals("All Clubs")) {
+            Club club = AppState.findClubByName(selectedClub);
+            if (club == null) {
+                createPlayerCards(List.of());
+                return;
+            }
+            criteria.club(club.getId());
         }
 
         // Apply position filter
         if (selectedPosition != null && !selectedPosition.equals("All Positions")) {
-            filteredPlayers = filteredPlayers.stream()
-                .filter(p -> p.getPosition().toString().equals(selectedPosition))
-                .collect(Collectors.toList());
+            criteria.position(Position.valueOf(selectedPosition));
         }
 
-        createPlayerCards(filteredPlayers);
-        System.out.println("✓ Card filters applied: showing " + filteredPlayers.size() + " player cards (Club: " + selectedClub + ", Position: " + selectedPosition + ")");
+        // Cards show up a chunk at a time while the rest are still being read
+        filterTask = FxTasks.stream(db -> db.getPlayerRepository().stream(criteria),
+            firstChunk -> createPlayerCards(AppState.sharedPlayers(firstChunk)),
+            nextChunk -> playerGrid.addCards(AppState.sharedPlayers(nextChunk)));
+        filterTask.thenAccept(rows -> LOG.debug(() -> "✓ Card filters applied: streamed " + rows + " player cards (Club: " + selectedClub + ", Position: " + selectedPosition + ")"));
+    }
+
+    /**
+     * Patch the cards for a committed player change instead of querying again.
+     * AppState already holds the changed player.
+     */
+    private void onPlayerChange(ChangeEvent<Player> event) {
+        Player shown = null;
+        for (Player card : playerGrid.getCards()) {
+            if (card.getId() != null && card.getId() == event.id()) {
+                shown = card;
+                break;
+            }
+        }
+        Player player = AppState.findPlayer(event.id());
+        if (event.type() == ChangeEvent.Type.DELETE || player == null || !matchesFilters(player)) {
+            if (shown != null) {
+                playerGrid.removeCard(shown);
+            }
+        } else if (shown == player) {
+            playerGrid.refreshCard(player);
+        } else {
+            if (shown != null) {
+                playerGrid.removeCard(shown);
+            }
+            // While paging, a player past the loaded pages turns up with its page
+            if (!pager.hasMore()) {
+                playerGrid.addCards(List.of(player));
+            }
+        }
+    }
+
+    /**
+     * The club and position filters of {@link #applyFilters}, for one player.
+     */
+    private boolean matchesFilters(Player player) {
+        if (!playerAccess) {
+            return false;
+        }
+        Integer clubId = managerClubId;
+        String selectedClub = clubFilterCombo.getValue();
+        if (managerClubId == null && selectedClub != null && !selectedClub.equals("All Clubs")) {
+            Club club = AppState.findClubByName(selectedClub);
+            if (club == null) {
+                return false;
+            }
+            clubId = club.getId();
+        }
+        if (clubId != null && !clubId.equals(player.getClubId())) {
+            return false;
+        }
+        String selectedPosition = positionFilterCombo.getValue();
+        return selectedPosition == null || selectedPosition.equals("All Positions")
+                || player.getPosition() == Position.valueOf(selectedPosition);
     }
 
     @FXML
@@ -151,119 +229,102 @@ public class PlayerListController {
         applyFilters();
     }
 
-    private void createPlayerCards(java.util.List<Player> playersToShow) {
-        playerCardsPane.getChildren().clear();
-        
-        for (Player player : playersToShow) {
-            VBox card = createPlayerCard(player);
-            playerCardsPane.getChildren().add(card);
-        }
+    private void createPlayerCards(List<Player> playersToShow) {
+        playerGrid.setCards(playersToShow);
     }
 
-    private VBox createPlayerCard(Player player) {
-        VBox card = new VBox(8);
-        card.setPrefSize(220, 320);
-        card.setMaxSize(220, 320);
-        card.setAlignment(Pos.TOP_CENTER);
-        card.setPadding(new Insets(15));
-        
-        String statusColor = player.isInjured() ? "#ff4444" : "#4CAF50";
-        String cardStyle = "-fx-background-color: linear-gradient(to bottom, #1a1a1a 0%, #2d2d2d 100%);" +
-                          "-fx-border-color: " + statusColor + ";" +
-                          "-fx-border-width: 3;" +
-                          "-fx-border-radius: 10;" +
-                          "-fx-background-radius: 10;" +
-                          "-fx-effect: dropshadow(gaussian, rgba(0,0,0,0.6), 10, 0, 0, 4);";
-        card.setStyle(cardStyle);
-        
-        // Player icon
-        Label playerIcon = new Label("⚽");
-        playerIcon.setStyle("-fx-font-size: 60px; -fx-text-fill: white;");
-        
-        Label nameLabel = new Label(player.getName().toUpperCase());
-        nameLabel.setStyle("-fx-font-size: 16px; -fx-font-weight: bold; -fx-text-fill: white;");
-        nameLabel.setWrapText(true);
-        nameLabel.setMaxWidth(190);
-        nameLabel.setAlignment(Pos.CENTER);
-        
-        String clubName = "No Club";
-        if (player.getClubView() != null && !player.getClubView().isEmpty()) {
-            clubName = player.getClubView();
-        } else if (player.getClubId() != null) {
-            clubName = AppState.clubs.stream()
-                .filter(c -> c.getId() != null && c.getId().equals(player.getClubId()))
-                .map(c -> c.getClubName())
-                .findFirst()
-                .orElse("Unknown Club");
+    /**
+     * Reusable player card; CardGrid rebinds it as the user scrolls and filters.
+     */
+    private class PlayerCard implements CardGrid.Card<Player> {
+        private final VBox card = new VBox();
+        private final Label nameLabel = new Label();
+        private final Label jerseyLabel = new Label();
+        private final Label posLabel = new Label();
+        private final Label ageLabel = new Label();
+        private final Label clubLabel = new Label();
+        private final Label statusLabel = new Label();
+        private Player player;
+
+        PlayerCard() {
+            card.getStyleClass().add("roster-card");
+
+            Label playerIcon = new Label("⚽");
+            playerIcon.getStyleClass().add("card-icon");
+
+            nameLabel.getStyleClass().add("card-name");
+            nameLabel.setWrapText(true);
+
+            jerseyLabel.getStyleClass().add("card-stat-status");
+            posLabel.getStyleClass().add("card-stat-highlight");
+            ageLabel.getStyleClass().add("card-stat");
+            clubLabel.getStyleClass().addAll("card-stat", "card-stat-club");
+            clubLabel.setWrapText(true);
+            statusLabel.getStyleClass().add("card-stat-status");
+
+            VBox statsBox = new VBox(jerseyLabel, posLabel, ageLabel, clubLabel, statusLabel);
+            statsBox.getStyleClass().add("card-stats");
+
+            Button viewBtn = new Button("View");
+            viewBtn.getStyleClass().addAll("card-button", "card-button-view");
+            viewBtn.setOnAction(e -> viewPlayerProfile(player));
+
+            Button editBtn = new Button("Edit");
+            editBtn.getStyleClass().addAll("card-button", "card-button-edit");
+            editBtn.setOnAction(e -> editPlayer(player));
+
+            Button deleteBtn = new Button("Delete");
+            deleteBtn.getStyleClass().addAll("card-button", "card-button-delete");
+            deleteBtn.setOnAction(e -> deletePlayer(player));
+
+            HBox buttonBox = new HBox(viewBtn, editBtn, deleteBtn);
+            buttonBox.getStyleClass().add("card-buttons");
+
+            card.getChildren().addAll(playerIcon, nameLabel, statsBox, buttonBox);
+        }
+
+        @Override
+        public Node getNode() {
+            return card;
+        }
+
+        @Override
+        public void update(Player player) {
+            this.player = player;
+
+            String clubName = "No Club";
+            if (player.getClubView() != null && !player.getClubView().isEmpty()) {
+                clubName = player.getClubView();
+            } else if (player.getClubId() != null) {
+                clubName = AppState.findClubName(player.getClubId());
+                if (clubName == null) {
+                    clubName = "Unknown Club";
+                }
+            }
+
+            card.pseudoClassStateChanged(INJURED, player.isInjured());
+            nameLabel.setText(player.getName().toUpperCase());
+            jerseyLabel.setText("JERSEY: #" + player.getJersey());
+            posLabel.setText("POS: " + player.getPosition().toString());
+            ageLabel.setText("AGE: " + player.getAge());
+            clubLabel.setText("CLUB: " + clubName);
+            statusLabel.setText(player.isInjured() ? "🚑 INJURED" : "✓ AVAILABLE");
         }
-        
-        VBox statsBox = new VBox(5);
-        statsBox.setAlignment(Pos.CENTER_LEFT);
-        statsBox.setPadding(new Insets(10, 0, 0, 0));
-        statsBox.setStyle("-fx-background-color: rgba(0,0,0,0.3); -fx-padding: 10; -fx-background-radius: 5;");
-        
-        Label jerseyLabel = new Label("JERSEY: #" + player.getJersey());
-        jerseyLabel.setStyle("-fx-font-size: 12px; -fx-text-fill: " + statusColor + "; -fx-font-weight: bold;");
-        
-        Label posLabel = new Label("POS: " + player.getPosition().toString());
-        posLabel.setStyle("-fx-font-size: 12px; -fx-text-fill: #ffdd57; -fx-font-weight: bold;");
-        
-        Label ageLabel = new Label("AGE: " + player.getAge());
-        ageLabel.setStyle("-fx-font-size: 12px; -fx-text-fill: #aaa;");
-        
-        Label clubLabel = new Label("CLUB: " + clubName);
-        clubLabel.setStyle("-fx-font-size: 11px; -fx-text-fill: #aaa;");
-        clubLabel.setWrapText(true);
-        clubLabel.setMaxWidth(180);
-        
-        Label statusLabel = new Label(player.isInjured() ? "🚑 INJURED" : "✓ AVAILABLE");
-        statusLabel.setStyle("-fx-font-size: 12px; -fx-text-fill: " + statusColor + "; -fx-font-weight: bold;");
-        
-        statsBox.getChildren().addAll(jerseyLabel, posLabel, ageLabel, clubLabel, statusLabel);
-        
-        HBox buttonBox = new HBox(8);
-        buttonBox.setAlignment(Pos.CENTER);
-        buttonBox.setPadding(new Insets(8, 0, 0, 0));
-        
-        Button viewBtn = new Button("View");
-        viewBtn.setStyle("-fx-background-color: #2196F3; -fx-text-fill: white; -fx-font-size: 11px; -fx-padding: 5 15;");
-        viewBtn.setOnAction(e -> viewPlayerProfile(player));
-        
-        Button editBtn = new Button("Edit");
-        editBtn.setStyle("-fx-background-color: #FF9800; -fx-text-fill: white; -fx-font-size: 11px; -fx-padding: 5 15;");
-        editBtn.setOnAction(e -> editPlayer(player));
-        
-        Button deleteBtn = new Button("Delete");
-        deleteBtn.setStyle("-fx-background-color: #f44336; -fx-text-fill: white; -fx-font-size: 11px; -fx-padding: 5 15;");
-        deleteBtn.setOnAction(e -> deletePlayer(player));
-        
-        buttonBox.getChildren().addAll(viewBtn, editBtn, deleteBtn);
-        
-        card.getChildren().addAll(playerIcon, nameLabel, statsBox, buttonBox);
-        
-        card.setOnMouseEntered(e -> {
-            card.setStyle(cardStyle + "-fx-cursor: hand; -fx-scale-x: 1.05; -fx-scale-y: 1.05;");
-        });
-        card.setOnMouseExited(e -> {
-            card.setStyle(cardStyle);
-        });
-        
-        return card;
     }
 
     private void viewPlayerProfile(Player player) {
         AppState.setSelectedPlayer(player);
         try {
+            FxTasks.cancelSceneTasks();
             javafx.fxml.FXMLLoader loader = new javafx.fxml.FXMLLoader(
                     getClass().getResource("/com/example/coachsapp/player-profile-view.fxml"));
             javafx.scene.Scene scene = new javafx.scene.Scene(loader.load(), 1000, 700);
             javafx.stage.Stage stage = (javafx.stage.Stage) playerCardsPane.getScene().getWindow();
             stage.setScene(scene);
             stage.show();
-            System.out.println("✓ Opening profile for: " + player.getName());
+            LOG.debug(() -> "✓ Opening profile for: " + player.getName());
         } catch (Exception e) {
-            System.err.println("Error loading player profile: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error loading player profile: " + e.getMessage(), e);
         }
     }
 
@@ -273,23 +334,11 @@ public class PlayerListController {
         Player updatedPlayer = dialog.showDialog(stage);
 
         if (updatedPlayer != null) {
-            boolean updated = dbService.getPlayerRepository().update(updatedPlayer);
-            if (updated) {
-                AppState.players.stream()
-                    .filter(p -> p.getId() != null && p.getId().equals(updatedPlayer.getId()))
-                    .findFirst()
-                    .ifPresent(p -> {
-                        p.setName(updatedPlayer.getName());
-                        p.setAge(updatedPlayer.getAge());
-                        p.setJersey(updatedPlayer.getJersey());
-                        p.setPosition(updatedPlayer.getPosition());
-                        p.setInjured(updatedPlayer.isInjured());
-                        p.setClubId(updatedPlayer.getClubId());
-                        p.setClubView(updatedPlayer.getClubView());
-                    });
-                applyFilters();
-                System.out.println("✓ Player updated: " + updatedPlayer.getName());
-            }
+            FxTasks.save(db -> db.getPlayerRepository().update(updatedPlayer), updated -> {
+                if (updated) {
+                    LOG.info("✓ Player updated: " + updatedPlayer.getName());
+                }
+            });
         }
     }
 
@@ -302,18 +351,11 @@ public class PlayerListController {
         confirm.showAndWait().ifPresent(response -> {
             if (response == ButtonType.OK) {
                 if (player.getId() != null) {
-                    boolean deleted = dbService.getPlayerRepository().delete(player.getId());
-                    if (deleted) {
-                        AppState.players.remove(player);
-                        if (player.getClubId() != null) {
-                            AppState.clubs.stream()
-                                .filter(c -> c.getId() != null && c.getId().equals(player.getClubId()))
-                                .findFirst()
-                                .ifPresent(club -> club.removePlayer(player));
+                    FxTasks.save(db -> db.getPlayerRepository().delete(player.getId()), deleted -> {
+                        if (deleted) {
+                            LOG.info("✓ Player deleted: " + player.getName());
                         }
-                        applyFilters();
-                        System.out.println("✓ Player deleted: " + player.getName());
-                    }
+                    });
                 }
             }
         });
@@ -326,20 +368,13 @@ public class PlayerListController {
         Player newPlayer = dialog.showDialog(stage);
 
         if (newPlayer != null) {
-            Player saved = dbService.getPlayerRepository().save(newPlayer);
-            if (saved != null) {
-                AppState.players.add(saved);
-                if (saved.getClubId() != null) {
-                    AppState.clubs.stream()
-                            .filter(c -> c.getId() != null && c.getId().equals(saved.getClubId()))
-                            .findFirst()
-                            .ifPresent(c -> c.addPlayer(saved));
+            FxTasks.save(db -> db.getPlayerRepository().save(newPlayer), saved -> {
+                if (saved != null) {
+                    LOG.info("✓ Player added: " + saved.getName());
+                } else {
+                    LOG.error("✗ Failed to save player to database: " + newPlayer.getName());
                 }
-                applyFilters();
-                System.out.println("✓ Player added: " + saved.getName());
-            } else {
-                System.err.println("✗ Failed to save player to database: " + newPlayer.getName());
-            }
+            });
         }
     }
 
@@ -4,9 +4,10 @@ import com.example.coachsapp.model.Player;
 import com.example.coachsapp.model.Role;
 import com.example.coachsapp.model.User;
 import com.example.coachsapp.util.AppState;
+import com.example.coachsapp.util.FxTasks;
+import com.example.coachsapp.util.Log;
 import com.example.coachsapp.util.SceneSwitcher;
 import com.example.coachsapp.db.PlayerRepository;
-import com.example.coachsapp.db.DatabaseService;
 import com.example.coachsapp.dialog.EditPlayerDialog;
 import javafx.fxml.FXML;
 import javafx.scene.control.Label;
@@ -17,6 +18,8 @@ import javafx.stage.Stage;
 
 public class PlayerProfileController {
 
+    private static final Log LOG = Log.get(PlayerProfileController.class);
+
     @FXML
     private Label playerNameLabel;
 
@@ -42,11 +45,9 @@ public class PlayerProfileController {
     private Button editPlayerBtn;
 
     private Player currentPlayer;
-    private DatabaseService dbService;
 
     @FXML
     public void initialize() {
-        dbService = DatabaseService.getInstance();
         currentPlayer = AppState.getSelectedPlayer();
         
         User currentUser = AppState.currentUser;
@@ -80,11 +81,8 @@ public class PlayerProfileController {
         if (clubView != null && !clubView.isEmpty()) {
             clubLabel.setText(clubView);
         } else if (currentPlayer.getClubId() != null) {
-            clubLabel.setText(AppState.clubs.stream()
-                .filter(c -> c.getId() != null && c.getId().equals(currentPlayer.getClubId()))
-                .map(c -> c.getClubName())
-                .findFirst()
-                .orElse("Unknown Club"));
+            String clubName = AppState.findClubName(currentPlayer.getClubId());
+            clubLabel.setText(clubName != null ? clubName : "Unknown Club");
         } else {
             clubLabel.setText("No Club");
         }
@@ -108,30 +106,17 @@ public class PlayerProfileController {
         Player updatedPlayer = dialog.showDialog(stage);
 
         if (updatedPlayer != null) {
-            boolean updated = dbService.getPlayerRepository().update(updatedPlayer);
-            
-            if (updated) {
-
-                AppState.players.stream()
-                    .filter(p -> p.getId() != null && p.getId().equals(updatedPlayer.getId()))
-                    .findFirst()
-                    .ifPresent(p -> {
-                        p.setName(updatedPlayer.getName());
-                        p.setAge(updatedPlayer.getAge());
-                        p.setJersey(updatedPlayer.getJersey());
-                        p.setPosition(updatedPlayer.getPosition());
-                        p.setClubId(updatedPlayer.getClubId());
-                        p.setInjured(updatedPlayer.isInjured());
-                    });
-                
-                currentPlayer = updatedPlayer;
-                loadPlayerProfile();
+            FxTasks.save(db -> db.getPlayerRepository().update(updatedPlayer), updated -> {
+                if (updated) {
+                    currentPlayer = updatedPlayer;
+                    loadPlayerProfile();
                 
-                showInfo("Player details updated successfully!");
-                System.out.println("✓ Player updated: " + updatedPlayer.getName());
-            } else {
-                showError("Failed to update player in database");
-            }
+                    showInfo("Player details updated successfully!");
+                    LOG.info("✓ Player updated: " + updatedPlayer.getName());
+                } else {
+                    showError("Failed to update player in database");
+                }
+            });
         }
     }
 
@@ -141,22 +126,18 @@ public class PlayerProfileController {
             boolean newStatus = !currentPlayer.isInjured();
             currentPlayer.setInjured(newStatus);
             
-            boolean updated = dbService.getPlayerRepository().update(currentPlayer);
-            if (updated) {
-
-                AppState.players.stream()
-                    .filter(p -> p.getId() != null && p.getId().equals(currentPlayer.getId()))
-                    .findFirst()
-                    .ifPresent(p -> p.setInjured(newStatus));
-                
-                loadPlayerProfile();
+            Player player = currentPlayer;
+            FxTasks.save(db -> db.getPlayerRepository().update(player), updated -> {
+                if (updated) {
+                    loadPlayerProfile();
                 
-                String statusMsg = newStatus ? "injured" : "available";
-                System.out.println("✓ Player status updated to: " + statusMsg);
-                showInfo("Player status updated to: " + statusMsg);
-            } else {
-                showError("Failed to update player status in database");
-            }
+                    String statusMsg = newStatus ? "injured" : "available";
+                    LOG.info("✓ Player status updated to: " + statusMsg);
+                    showInfo("Player status updated to: " + statusMsg);
+                } else {
+                    showError("Failed to update player status in database");
+                }
+            });
         }
     }
 
@@ -1,8 +1,12 @@
 package com.example.coachsapp.controller;
 
+import com.example.coachsapp.db.ChangeEvent;
 import com.example.coachsapp.db.DatabaseService;
+import com.example.coachsapp.db.Page;
+import com.example.coachsapp.util.FxTasks;
 import com.example.coachsapp.model.*;
-import com.example.coachsapp.util.AppState;
+import com.example.coachsapp.util.Log;
+import com.example.coachsapp.util.PagedLoader;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
@@ -11,12 +15,15 @@ import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.HBox;
 
+import java.sql.SQLException;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Optional;
 
 public class RegistrationApprovalController {
 
+    private static final Log LOG = Log.get(RegistrationApprovalController.class);
+
     @FXML
     private TableView<RegistrationRequest> requestsTable;
 
@@ -42,12 +49,10 @@ public class RegistrationApprovalController {
     private Label pendingCountLabel;
 
     private ObservableList<RegistrationRequest> requests = FXCollections.observableArrayList();
-    private DatabaseService dbService;
+    private PagedLoader<RegistrationRequest> pager;
 
     @FXML
     public void initialize() {
-        dbService = DatabaseService.getInstance();
-
         usernameCol.setCellValueFactory(cellData -> 
             new javafx.beans.property.SimpleStringProperty(cellData.getValue().getUsername()));
         roleCol.setCellValueFactory(cellData -> 
@@ -65,7 +70,15 @@ public class RegistrationApprovalController {
         setupActionColumn();
 
         requestsTable.setItems(requests);
+        pager = new PagedLoader<>(requestsTable, Page.DEFAULT_SIZE,
+                (db, after, size) -> db.getRegistrationRequestRepository().findPage(after, size),
+                firstPage -> {
+                    requestsTable.setPlaceholder(new Label("No registration requests"));
+                    requests.setAll(firstPage);
+                },
+                requests::addAll);
         loadRequests();
+        FxTasks.onChange(RegistrationRequest.class, this::onRequestChange);
     }
 
     private void setupActionColumn() {
@@ -95,15 +108,42 @@ public class RegistrationApprovalController {
     }
 
     private void loadRequests() {
-        List<RegistrationRequest> allRequests = dbService.getRegistrationRequestRepository().findAll();
-        requests.clear();
-        requests.addAll(allRequests);
+        requestsTable.setPlaceholder(new ProgressIndicator());
+        pager.reload();
+        loadPendingCount();
+    }
 
-        long pendingCount = allRequests.stream()
-            .filter(r -> r.getStatus() == RegistrationRequest.RequestStatus.PENDING)
-            .count();
-        
-        pendingCountLabel.setText("Pending Requests: " + pendingCount);
+    private void loadPendingCount() {
+        // The table holds only the pages scrolled to; the pending count is kept by triggers
+        FxTasks.load(db -> db.getStatsRepository().getLeagueStats().pendingRegistrations(),
+            pendingCount -> pendingCountLabel.setText("Pending Requests: " + pendingCount));
+    }
+
+    /**
+     * Patch the one row a committed change touched instead of reloading the table.
+     * The row is read back by id for the club name the event does not carry.
+     */
+    private void onRequestChange(ChangeEvent<RegistrationRequest> event) {
+        loadPendingCount();
+        if (event.type() == ChangeEvent.Type.DELETE) {
+            requests.removeIf(row -> row.getId() != null && row.getId() == event.id());
+            return;
+        }
+        FxTasks.load(db -> db.getRegistrationRequestRepository().findById(event.id()), stored -> {
+            if (stored == null) {
+                return;
+            }
+            for (int i = 0; i < requests.size(); i++) {
+                if (requests.get(i).getId() != null && requests.get(i).getId() == event.id()) {
+                    requests.set(i, stored);
+                    return;
+                }
+            }
+            if (event.type() == ChangeEvent.Type.INSERT) {
+                // Newest first, like the pages
+                requests.add(0, stored);
+            }
+        });
     }
 
     private void handleApprove(RegistrationRequest request) {
@@ -127,76 +167,94 @@ public class RegistrationApprovalController {
     }
 
     private void approveManager(RegistrationRequest request) {
-        Club club = dbService.getClubRepository().findById(request.getClubId());
-        if (club == null) {
-            showAlert("Error", "Club not found!");
-            return;
-        }
-
-        Manager newManager = new Manager(request.getUsername(), club);
-        if (request.getAge() != null) {
-            newManager.setAge(request.getAge());
-        }
-        Manager savedManager = dbService.getManagerRepository().save(newManager);
-        
-        if (savedManager != null) {
-            User newUser = new User(null, request.getUsername(), request.getPassword(), 
-                                   Role.CLUB_MANAGER, request.getClubId(), null, savedManager.getId());
-            dbService.getUserRepository().save(newUser);
-
-            request.setStatus(RegistrationRequest.RequestStatus.APPROVED);
-            request.setApprovedDate(java.time.LocalDateTime.now());
-            dbService.getRegistrationRequestRepository().save(request);
-
-            AppState.managers.add(savedManager);
+        FxTasks.load(db -> db.getClubRepository().findById(request.getClubId()), club -> {
+            if (club == null) {
+                showAlert("Error", "Club not found!");
+                return;
+            }
 
-            showAlert("Approved", "Manager registration approved!\nUsername: " + request.getUsername());
-            loadRequests();
-        } else {
-            showAlert("Error", "Failed to create manager profile!");
-        }
+            Manager newManager = new Manager(request.getUsername(), club);
+            if (request.getAge() != null) {
+                newManager.setAge(request.getAge());
+            }
+            // Profile, login and approval commit together
+            FxTasks.transaction(db -> {
+                Manager savedManager = db.getManagerRepository().save(newManager);
+                if (savedManager == null) {
+                    throw new SQLException("Manager profile was not created");
+                }
+                User newUser = new User(null, request.getUsername(), request.getPassword(), 
+                                       Role.CLUB_MANAGER, request.getClubId(), null, savedManager.getId());
+                if (db.getUserRepository().save(newUser) == null) {
+                    throw new SQLException("User account was not created");
+                }
+                markApproved(db, request);
+                return savedManager;
+            }, savedManager -> {
+                if (savedManager != null) {
+                    showAlert("Approved", "Manager registration approved!\nUsername: " + request.getUsername());
+                } else {
+                    showAlert("Error", "Failed to create manager profile!");
+                    // Nothing was committed; reload so the table shows the request as it is stored
+                    loadRequests();
+                }
+            });
+        });
     }
 
     private void approvePlayer(RegistrationRequest request) {
-        Club club = dbService.getClubRepository().findById(request.getClubId());
-        if (club == null) {
-            showAlert("Error", "Club not found!");
-            return;
-        }
+        FxTasks.load(db -> db.getClubRepository().findById(request.getClubId()), club -> {
+            if (club == null) {
+                showAlert("Error", "Club not found!");
+                return;
+            }
 
-        int age = request.getAge() != null ? request.getAge() : 25;
-        int defaultJersey = (int) (Math.random() * 99) + 1;
-        
-        Position position = Position.MIDFIELDER;
-        if (request.getPosition() != null && !request.getPosition().isEmpty()) {
-            try {
-                position = Position.valueOf(request.getPosition());
-            } catch (IllegalArgumentException e) {
-                System.err.println("Invalid position in request: " + request.getPosition() + ", using default MIDFIELDER");
+            int age = request.getAge() != null ? request.getAge() : 25;
+            int defaultJersey = (int) (Math.random() * 99) + 1;
+            
+            Position position = Position.MIDFIELDER;
+            if (request.getPosition() != null && !request.getPosition().isEmpty()) {
+                try {
+                    position = Position.valueOf(request.getPosition());
+                } catch (IllegalArgumentException e) {
+                    LOG.warn("⚠ Invalid position in request: " + request.getPosition() + ", using default MIDFIELDER");
+                }
             }
-        }
 
-        Player newPlayer = new Player(request.getUsername(), age, defaultJersey, position);
-        newPlayer.setClubId(club.getId());
-        Player savedPlayer = dbService.getPlayerRepository().save(newPlayer);
-        
-        if (savedPlayer != null) {
-            User newUser = new User(null, request.getUsername(), request.getPassword(), 
-                                   Role.PLAYER, request.getClubId(), savedPlayer.getId(), null);
-            dbService.getUserRepository().save(newUser);
-
-            request.setStatus(RegistrationRequest.RequestStatus.APPROVED);
-            request.setApprovedDate(java.time.LocalDateTime.now());
-            dbService.getRegistrationRequestRepository().save(request);
-
-            AppState.players.add(savedPlayer);
-
-            showAlert("Approved", "Player registration approved!\nUsername: " + request.getUsername() + 
-                                 "\nAge: " + age + "\nPosition: " + position +
-                                 "\n\nThe manager can edit jersey number and other details.");
-            loadRequests();
-        } else {
-            showAlert("Error", "Failed to create player profile!");
+            Player newPlayer = new Player(request.getUsername(), age, defaultJersey, position);
+            newPlayer.setClubId(club.getId());
+            // Profile, login and approval commit together
+            FxTasks.transaction(db -> {
+                Player savedPlayer = db.getPlayerRepository().save(newPlayer);
+                if (savedPlayer == null) {
+                    throw new SQLException("Player profile was not created");
+                }
+                User newUser = new User(null, request.getUsername(), request.getPassword(), 
+                                       Role.PLAYER, request.getClubId(), savedPlayer.getId(), null);
+                if (db.getUserRepository().save(newUser) == null) {
+                    throw new SQLException("User account was not created");
+                }
+                markApproved(db, request);
+                return savedPlayer;
+            }, savedPlayer -> {
+                if (savedPlayer != null) {
+                    showAlert("Approved", "Player registration approved!\nUsername: " + request.getUsername() + 
+                                         "\nAge: " + savedPlayer.getAge() + "\nPosition: " + savedPlayer.getPosition() +
+                                         "\n\nThe manager can edit jersey number and other details.");
+                } else {
+                    showAlert("Error", "Failed to create player profile!");
+                    // Nothing was committed; reload so the table shows the request as it is stored
+                    loadRequests();
+                }
+            });
+        });
+    }
+
+    private static void markApproved(DatabaseService db, RegistrationRequest request) throws SQLException {
+        request.setStatus(RegistrationRequest.RequestStatus.APPROVED);
+        request.setApprovedDate(java.time.LocalDateTime.now());
+        if (db.getRegistrationRequestRepository().save(request) == null) {
+            throw new SQLException("Registration request was not updated");
         }
     }
 
@@ -212,10 +270,14 @@ public class RegistrationApprovalController {
         result.ifPresent(reason -> {
             request.setStatus(RegistrationRequest.RequestStatus.REJECTED);
             request.setRemarks(reason);
-            dbService.getRegistrationRequestRepository().save(request);
-
-            showAlert("Rejected", "Registration has been rejected.");
-            loadRequests();
+            FxTasks.save(db -> db.getRegistrationRequestRepository().save(request), saved -> {
+                if (saved != null) {
+                    showAlert("Rejected", "Registration has been rejected.");
+                } else {
+                    showAlert("Error", "Failed to reject registration!");
+                    loadRequests();
+                }
+            });
         });
     }
 
@@ -1,6 +1,7 @@
 package com.example.coachsapp.controller;
 
-import com.example.coachsapp.db.DatabaseService;
+import com.example.coachsapp.util.FxTasks;
+import com.example.coachsapp.util.Log;
 import com.example.coachsapp.model.*;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
@@ -16,6 +17,8 @@ import java.util.List;
 
 public class RegistrationController {
 
+    private static final Log LOG = Log.get(RegistrationController.class);
+
     @FXML
     private TextField usernameField;
 
@@ -46,13 +49,10 @@ public class RegistrationController {
     @FXML
     private Label passwordStrengthLabel;
 
-    private DatabaseService dbService;
     private StringProperty passwordStrength = new SimpleStringProperty("Weak");
 
     @FXML
     public void initialize() {
-        dbService = DatabaseService.getInstance();
-        
         roleCombo.setItems(FXCollections.observableArrayList("Club Manager", "Player"));
         
         positionCombo.setItems(FXCollections.observableArrayList(Position.values()));
@@ -75,11 +75,15 @@ public class RegistrationController {
         List<Club> clubs = new java.util.ArrayList<>(com.example.coachsapp.util.AppState.clubs);
         
         if (clubs.isEmpty()) {
-            clubs = dbService.getClubRepository().findAll();
+            clubCombo.setPromptText("Loading clubs...");
+            FxTasks.load(db -> db.getClubRepository().findAll(), loaded -> {
+                clubCombo.setPromptText(null);
+                clubCombo.setItems(FXCollections.observableArrayList(loaded));
+            });
+        } else {
+            clubCombo.setItems(FXCollections.observableArrayList(clubs));
         }
         
-        clubCombo.setItems(FXCollections.observableArrayList(clubs));
-        
         errorLabel.setText("");
     }
 
@@ -184,18 +188,6 @@ public class RegistrationController {
             return;
         }
 
-        User existingUser = dbService.getUserRepository().findByUsername(username);
-        if (existingUser != null) {
-            errorLabel.setText("Username already exists");
-            return;
-        }
-
-        RegistrationRequest existingRequest = dbService.getRegistrationRequestRepository().findByUsername(username);
-        if (existingRequest != null) {
-            errorLabel.setText("Registration request already submitted");
-            return;
-        }
-        
         Role requestedRole = selectedRoleStr.equals("Club Manager") ? Role.CLUB_MANAGER : Role.PLAYER;
 
         RegistrationRequest request = new RegistrationRequest(
@@ -209,30 +201,47 @@ public class RegistrationController {
         if (selectedPosition != null) {
             request.setPosition(selectedPosition.toString());
         }
-        
-        dbService.getRegistrationRequestRepository().save(request);
 
-        Alert alert = new Alert(Alert.AlertType.INFORMATION);
-        alert.setTitle("Registration Request Submitted");
-        alert.setHeaderText(null);
-        alert.setContentText("Your registration request has been submitted successfully!\n\n" +
-                           "An admin will review your request and approve it.\n" +
-                           "You will be able to login once approved.");
-        alert.showAndWait();
+        errorLabel.setText("Submitting...");
+        FxTasks.save(db -> {
+            if (db.getUserRepository().findByUsername(username) != null) {
+                return "Username already exists";
+            }
+            if (db.getRegistrationRequestRepository().findByUsername(username) != null) {
+                return "Registration request already submitted";
+            }
+            db.getRegistrationRequestRepository().save(request);
+            return null;
+        }, error -> {
+            if (error != null) {
+                errorLabel.setText(error);
+                return;
+            }
+            errorLabel.setText("");
+
+            Alert alert = new Alert(Alert.AlertType.INFORMATION);
+            alert.setTitle("Registration Request Submitted");
+            alert.setHeaderText(null);
+            alert.setContentText("Your registration request has been submitted successfully!\n\n" +
+                               "An admin will review your request and approve it.\n" +
+                               "You will be able to login once approved.");
+            alert.showAndWait();
 
-        goBackToLogin();
+            goBackToLogin();
+        });
     }
 
     @FXML
     public void goBackToLogin() {
         try {
+            FxTasks.cancelSceneTasks();
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/example/coachsapp/login-view.fxml"));
             Scene scene = new Scene(loader.load());
             Stage stage = (Stage) usernameField.getScene().getWindow();
             stage.setScene(scene);
         } catch (Exception e) {
             errorLabel.setText("Error loading login screen: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("✗ Error loading login screen: " + e.getMessage(), e);
         }
     }
 }
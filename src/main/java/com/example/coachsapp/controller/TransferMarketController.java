@@ -1,25 +1,38 @@
 package com.example.coachsapp.controller;
 
-import com.example.coachsapp.db.DatabaseService;
+import com.example.coachsapp.db.ChangeEvent;
+import com.example.coachsapp.db.TransferRequestCriteria;
 import com.example.coachsapp.model.*;
 import com.example.coachsapp.util.AppState;
+import com.example.coachsapp.util.CardGrid;
+import com.example.coachsapp.util.FxTasks;
+import com.example.coachsapp.util.Log;
 import com.example.coachsapp.util.SceneSwitcher;
 import javafx.collections.FXCollections;
 import javafx.event.ActionEvent;
+import javafx.css.PseudoClass;
 import javafx.fxml.FXML;
-import javafx.geometry.Insets;
-import javafx.geometry.Pos;
+import javafx.scene.Node;
 import javafx.scene.control.*;
 import javafx.scene.layout.*;
-import javafx.scene.text.Font;
-import javafx.scene.text.FontWeight;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 public class TransferMarketController {
 
+    private static final Log LOG = Log.get(TransferMarketController.class);
+
+    private static final PseudoClass INJURED = PseudoClass.getPseudoClass("injured");
+    private static final List<String> POSITION_STYLES = Arrays.stream(Position.values())
+        .map(position -> position.name().toLowerCase())
+        .collect(Collectors.toList());
+
     @FXML
     private VBox root;
 
@@ -27,7 +40,7 @@ public class TransferMarketController {
     private ComboBox<String> positionFilter;
 
     @FXML
-    private FlowPane playersFlowPane;
+    private StackPane playersFlowPane;
 
     @FXML
     private Label resultCountLabel;
@@ -35,152 +48,200 @@ public class TransferMarketController {
     @FXML
     private Button backButton;
 
-    private DatabaseService dbService;
-    private List<TransferRequest> allMarketRequests;
+    private final List<TransferRequest> allMarketRequests = new ArrayList<>();
+    private CompletableFuture<Integer> marketTask;
+    private final CardGrid<TransferRequest> marketGrid = new CardGrid<>(220, 340, 20, MarketCard::new);
 
     @FXML
     public void initialize() {
-        dbService = DatabaseService.getInstance();
-
         positionFilter.setItems(FXCollections.observableArrayList(
             "All Positions", "GOALKEEPER", "DEFENDER", "MIDFIELDER", "FORWARD"
         ));
         positionFilter.setValue("All Positions");
+        playersFlowPane.getChildren().add(marketGrid);
         
         loadMarketPlayers();
+        FxTasks.onChange(TransferRequest.class, this::onListingChange);
+        FxTasks.onChange(Player.class, this::onPlayerChange);
     }
 
-    private void loadMarketPlayers() {
-        playersFlowPane.getChildren().clear();
-        
-
-        allMarketRequests = dbService.getTransferRequestRepository().findInMarket();
-        
-        updateResultCount(allMarketRequests.size());
-        
-        for (TransferRequest request : allMarketRequests) {
-            Player player = dbService.getPlayerRepository().findById(request.getPlayerId());
-            if (player != null) {
-                VBox card = createPlayerCard(player, request);
-                playersFlowPane.getChildren().add(card);
+    /**
+     * Add, redraw or drop the one listing a committed change touched instead of
+     * reading the market again. Listings are read back with their player attached.
+     */
+    private void onListingChange(ChangeEvent<TransferRequest> event) {
+        TransferRequest shown = findListing(event.id());
+        if (event.type() == ChangeEvent.Type.DELETE
+                || event.entity().getStatus() != TransferRequest.TransferStatus.IN_MARKET) {
+            if (shown != null) {
+                removeListing(shown);
             }
+            return;
         }
+        FxTasks.load(db -> {
+            TransferRequest listing = db.getTransferRequestRepository().findById(event.id());
+            if (listing != null) {
+                listing.setPlayer(db.getPlayerRepository().findById(listing.getPlayerId()));
+            }
+            return listing;
+        }, listing -> {
+            TransferRequest current = findListing(event.id());
+            if (current != null) {
+                removeListing(current);
+            }
+            if (listing == null || listing.getStatus() != TransferRequest.TransferStatus.IN_MARKET) {
+                return;
+            }
+            allMarketRequests.add(listing);
+            if (matchesPosition(listing)) {
+                marketGrid.addCards(List.of(listing));
+                updateResultCount(marketGrid.getCards().size());
+            }
+        });
     }
 
-    @FXML
-    public void filterByPosition(ActionEvent event) {
-        playersFlowPane.getChildren().clear();
-        
-        String selectedPosition = positionFilter.getValue();
-        List<TransferRequest> filteredRequests;
-        
-        if (selectedPosition == null || selectedPosition.equals("All Positions")) {
-            filteredRequests = allMarketRequests;
-        } else {
-            Position posFilter = Position.valueOf(selectedPosition);
-            filteredRequests = allMarketRequests.stream()
-                .filter(req -> {
-                    Player p = dbService.getPlayerRepository().findById(req.getPlayerId());
-                    return p != null && p.getPosition() == posFilter;
-                })
-                .collect(Collectors.toList());
+    /**
+     * Redraw the listing of a player whose details changed, e.g. an injury.
+     */
+    private void onPlayerChange(ChangeEvent<Player> event) {
+        Player player = AppState.findPlayer(event.id());
+        if (player == null) {
+            return;
         }
-        
-        updateResultCount(filteredRequests.size());
-        
-        for (TransferRequest request : filteredRequests) {
-            Player player = dbService.getPlayerRepository().findById(request.getPlayerId());
-            if (player != null) {
-                VBox card = createPlayerCard(player, request);
-                playersFlowPane.getChildren().add(card);
+        for (TransferRequest listing : allMarketRequests) {
+            if (listing.getPlayerId() != null && listing.getPlayerId() == event.id()) {
+                listing.setPlayer(player);
+                marketGrid.refreshCard(listing);
             }
         }
     }
 
-    private VBox createPlayerCard(Player player, TransferRequest request) {
-        VBox card = new VBox(10);
-        card.setPrefWidth(220);
-        card.setPrefHeight(340);
-        card.setAlignment(Pos.TOP_CENTER);
-        card.setPadding(new Insets(15));
-        card.getStyleClass().add("player-card");
-        
+    private TransferRequest findListing(int id) {
+        for (TransferRequest listing : allMarketRequests) {
+            if (listing.getId() != null && listing.getId() == id) {
+                return listing;
+            }
+        }
+        return null;
+    }
 
-        String gradient = switch (player.getPosition()) {
-            case GOALKEEPER -> "linear-gradient(to bottom, #FF6B6B, #8B0000)";
-            case DEFENDER -> "linear-gradient(to bottom, #4ECDC4, #006064)";
-            case MIDFIELDER -> "linear-gradient(to bottom, #95E1D3, #004D40)";
-            case FORWARD -> "linear-gradient(to bottom, #F38181, #B71C1C)";
-        };
-        card.setStyle("-fx-background-color: " + gradient + "; " +
-                     "-fx-background-radius: 15; " +
-                     "-fx-effect: dropshadow(gaussian, rgba(0,0,0,0.5), 10, 0, 0, 5);");
-        
+    private void removeListing(TransferRequest listing) {
+        allMarketRequests.remove(listing);
+        marketGrid.removeCard(listing);
+        updateResultCount(marketGrid.getCards().size());
+    }
 
-        Label jerseyLabel = new Label("#" + player.getJersey());
-        jerseyLabel.setFont(Font.font("Arial", FontWeight.BOLD, 48));
-        jerseyLabel.setStyle("-fx-text-fill: rgba(255,255,255,0.9);");
-        
+    private void loadMarketPlayers() {
+        // Listings come back with their players attached, so filtering needs no further queries.
+        // They are streamed, so the first cards show while the rest of the market is read.
+        if (marketTask != null) {
+            marketTask.cancel(true);
+        }
+        marketGrid.setPlaceholder(new ProgressIndicator());
+        marketGrid.setCards(List.of());
+        allMarketRequests.clear();
+        TransferRequestCriteria inMarket = new TransferRequestCriteria().status(TransferRequest.TransferStatus.IN_MARKET);
+        marketTask = FxTasks.stream(db -> db.getTransferRequestRepository().stream(inMarket),
+            firstChunk -> {
+                marketGrid.setPlaceholder(new Label("No players in the market"));
+                allMarketRequests.addAll(firstChunk);
+                filterByPosition(null);
+            },
+            nextChunk -> {
+                allMarketRequests.addAll(nextChunk);
+                marketGrid.addCards(nextChunk.stream().filter(this::matchesPosition).collect(Collectors.toList()));
+                updateResultCount(marketGrid.getCards().size());
+            });
+    }
 
-        Label nameLabel = new Label(player.getName());
-        nameLabel.setFont(Font.font("Arial", FontWeight.BOLD, 18));
-        nameLabel.setStyle("-fx-text-fill: white;");
-        nameLabel.setWrapText(true);
-        nameLabel.setMaxWidth(190);
-        nameLabel.setAlignment(Pos.CENTER);
-        
+    @FXML
+    public void filterByPosition(ActionEvent event) {
+        List<TransferRequest> filteredRequests = allMarketRequests.stream()
+            .filter(this::matchesPosition)
+            .collect(Collectors.toList());
+        updateResultCount(filteredRequests.size());
+        marketGrid.setCards(filteredRequests);
+    }
 
-        Label positionLabel = new Label(player.getPosition().name());
-        positionLabel.setFont(Font.font("Arial", FontWeight.BOLD, 14));
-        positionLabel.setStyle("-fx-text-fill: rgba(255,255,255,0.8);");
-        
+    private boolean matchesPosition(TransferRequest request) {
+        String selectedPosition = positionFilter.getValue();
+        if (request.getPlayer() == null) {
+            return false;
+        }
+        return selectedPosition == null || selectedPosition.equals("All Positions")
+            || request.getPlayer().getPosition() == Position.valueOf(selectedPosition);
+    }
 
-        Label ageLabel = new Label("Age: " + player.getAge());
-        ageLabel.setFont(Font.font("Arial", 12));
-        ageLabel.setStyle("-fx-text-fill: rgba(255,255,255,0.9);");
-        
+    /**
+     * Reusable market card; CardGrid rebinds it as the user scrolls and filters.
+     */
+    private class MarketCard implements CardGrid.Card<TransferRequest> {
+        private final VBox card = new VBox();
+        private final Label jerseyLabel = new Label();
+        private final Label nameLabel = new Label();
+        private final Label positionLabel = new Label();
+        private final Label ageLabel = new Label();
+        private final Label clubLabel = new Label();
+        private final Label feeLabel = new Label();
+        private final Label statusLabel = new Label();
+        private final Button purchaseBtn = new Button("Purchase Player");
+        private final Label ownPlayerLabel = new Label("Your Club Player");
+        private TransferRequest request;
+
+        MarketCard() {
+            card.getStyleClass().add("market-card");
+            jerseyLabel.getStyleClass().add("market-jersey");
+            nameLabel.getStyleClass().add("market-name");
+            nameLabel.setWrapText(true);
+            positionLabel.getStyleClass().add("market-position");
+            ageLabel.getStyleClass().add("market-age");
+            clubLabel.getStyleClass().add("market-club");
+            clubLabel.setWrapText(true);
+            feeLabel.getStyleClass().add("market-fee");
+            statusLabel.getStyleClass().add("market-status");
+            ownPlayerLabel.getStyleClass().add("market-own-player");
+
+            purchaseBtn.getStyleClass().addAll("btn", "btn-primary");
+            purchaseBtn.setPrefWidth(180);
+            purchaseBtn.setOnAction(e -> purchasePlayer(request.getPlayer(), request));
+
+            card.getChildren().addAll(jerseyLabel, nameLabel, positionLabel, ageLabel, clubLabel, feeLabel,
+                    statusLabel, purchaseBtn, ownPlayerLabel);
+        }
 
-        Label clubLabel = new Label(request.getSourceClubName());
-        clubLabel.setFont(Font.font("Arial", FontWeight.BOLD, 13));
-        clubLabel.setStyle("-fx-text-fill: rgba(255,255,255,0.9);");
-        clubLabel.setWrapText(true);
-        clubLabel.setMaxWidth(190);
-        clubLabel.setAlignment(Pos.CENTER);
-        
+        @Override
+        public Node getNode() {
+            return card;
+        }
 
-        Label feeLabel = new Label(String.format("Transfer Fee: $%.2fM", request.getTransferFee()));
-        feeLabel.setFont(Font.font("Arial", FontWeight.BOLD, 14));
-        feeLabel.setStyle("-fx-text-fill: #FFD700; -fx-background-color: rgba(0,0,0,0.3); " +
-                         "-fx-padding: 5 10; -fx-background-radius: 5;");
-
-        Label statusLabel = new Label(player.isInjured() ? "⚠ INJURED" : "✓ AVAILABLE");
-        statusLabel.setFont(Font.font("Arial", FontWeight.BOLD, 11));
-        statusLabel.setStyle(player.isInjured() ? 
-            "-fx-text-fill: #FF4444; -fx-background-color: rgba(255,68,68,0.2);" :
-            "-fx-text-fill: #44FF44; -fx-background-color: rgba(68,255,68,0.2);"
-        );
-        statusLabel.setPadding(new Insets(3, 8, 3, 8));
-        statusLabel.setStyle(statusLabel.getStyle() + " -fx-background-radius: 10;");
-        
-        card.getChildren().addAll(jerseyLabel, nameLabel, positionLabel, ageLabel, clubLabel, feeLabel, statusLabel);
-        
+        @Override
+        public void update(TransferRequest request) {
+            this.request = request;
+            Player player = request.getPlayer();
+
+            card.getStyleClass().removeAll(POSITION_STYLES);
+            card.getStyleClass().add(player.getPosition().name().toLowerCase());
+            card.pseudoClassStateChanged(INJURED, player.isInjured());
+
+            jerseyLabel.setText("#" + player.getJersey());
+            nameLabel.setText(player.getName());
+            positionLabel.setText(player.getPosition().name());
+            ageLabel.setText("Age: " + player.getAge());
+            clubLabel.setText(request.getSourceClubName());
+            feeLabel.setText(String.format("Transfer Fee: $%.2fM", request.getTransferFee()));
+            statusLabel.setText(player.isInjured() ? "⚠ INJURED" : "✓ AVAILABLE");
+
+            User currentUser = AppState.currentUser;
+            boolean manager = currentUser != null && currentUser.getRole() == Role.CLUB_MANAGER;
+            boolean ownPlayer = manager && request.getSourceClubId().equals(currentUser.getClubId());
+            show(purchaseBtn, manager && !ownPlayer);
+            show(ownPlayerLabel, ownPlayer);
+        }
 
-        User currentUser = AppState.currentUser;
-        if (currentUser != null && currentUser.getRole() == Role.CLUB_MANAGER) {
-            if (!request.getSourceClubId().equals(currentUser.getClubId())) {
-                Button purchaseBtn = new Button("Purchase Player");
-                purchaseBtn.getStyleClass().addAll("btn", "btn-primary");
-                purchaseBtn.setPrefWidth(180);
-                purchaseBtn.setOnAction(e -> purchasePlayer(player, request));
-                card.getChildren().add(purchaseBtn);
-            } else {
-                Label ownPlayerLabel = new Label("Your Club Player");
-                ownPlayerLabel.setStyle("-fx-text-fill: #FFA500; -fx-font-weight: bold;");
-                card.getChildren().add(ownPlayerLabel);
-            }
+        private void show(Node node, boolean visible) {
+            node.setVisible(visible);
+            node.setManaged(visible);
         }
-        
-        return card;
     }
 
     private void purchasePlayer(Player player, TransferRequest request) {
@@ -207,34 +268,52 @@ public class TransferMarketController {
             if (response == ButtonType.OK) {
 
                 Integer oldClubId = player.getClubId();
-                player.setClubId(currentUser.getClubId());
-                dbService.getPlayerRepository().update(player);
-                
-
+                Integer newClubId = currentUser.getClubId();
+                TransferRequest.TransferStatus oldStatus = request.getStatus();
+                Integer oldDestinationClubId = request.getDestinationClubId();
+                LocalDateTime oldCompletedDate = request.getCompletedDate();
+                player.setClubId(newClubId);
                 request.setStatus(TransferRequest.TransferStatus.COMPLETED);
-                request.setDestinationClubId(currentUser.getClubId());
+                request.setDestinationClubId(newClubId);
                 request.setCompletedDate(LocalDateTime.now());
-                dbService.getTransferRequestRepository().save(request);
 
-                User playerUser = dbService.getUserRepository().findByPlayerId(player.getId());
-                if (playerUser != null) {
-                    playerUser.setClubId(currentUser.getClubId());
-                    dbService.getUserRepository().save(playerUser);
-                    System.out.println("✓ Updated user club_id for player: " + player.getName() + " from club " + oldClubId + " to " + currentUser.getClubId());
-                    
+                // Player, listing and the player's login move together or not at all
+                FxTasks.transaction(db -> {
+                    if (!db.getPlayerRepository().update(player)) {
+                        throw new SQLException("Player " + player.getId() + " was not updated");
+                    }
+                    if (db.getTransferRequestRepository().save(request) == null) {
+                        throw new SQLException("Transfer request " + request.getId() + " was not updated");
+                    }
+
+                    User playerUser = db.getUserRepository().findByPlayerId(player.getId());
+                    if (playerUser != null) {
+                        playerUser.setClubId(newClubId);
+                        if (db.getUserRepository().save(playerUser) == null) {
+                            throw new SQLException("User for player " + player.getId() + " was not updated");
+                        }
+                        LOG.info("✓ Updated user club_id for player: " + player.getName() + " from club " + oldClubId + " to " + newClubId);
+                    }
+                    return player;
+                }, transferred -> {
+                    if (transferred == null) {
+                        player.setClubId(oldClubId);
+                        request.setStatus(oldStatus);
+                        request.setDestinationClubId(oldDestinationClubId);
+                        request.setCompletedDate(oldCompletedDate);
+                        showError("The transfer could not be completed. Nothing was changed.");
+                        return;
+                    }
 
-                    if (AppState.currentUser != null && AppState.currentUser.getPlayerId() != null && 
+                    if (AppState.currentUser != null && AppState.currentUser.getPlayerId() != null &&
                         AppState.currentUser.getPlayerId().equals(player.getId())) {
-                        AppState.currentUser.setClubId(currentUser.getClubId());
-                        System.out.println("✓ Updated current user's club_id in AppState");
+                        AppState.currentUser.setClubId(newClubId);
+                        LOG.info("✓ Updated current user's club_id in AppState");
                     }
-                }
-                
 
-                AppState.refreshPlayers();
-                
-                showSuccess("Transfer completed successfully!");
-                loadMarketPlayers();
+                    // AppState and the market pick the move up from the committed changes
+                    showSuccess("Transfer completed successfully!");
+                });
             }
         });
     }
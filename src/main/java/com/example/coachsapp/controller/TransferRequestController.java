@@ -1,9 +1,13 @@
 package com.example.coachsapp.controller;
 
-import com.example.coachsapp.db.DatabaseService;
+import com.example.coachsapp.db.ChangeEvent;
+import com.example.coachsapp.db.Page;
 import com.example.coachsapp.db.TransferRequestRepository;
 import com.example.coachsapp.model.*;
 import com.example.coachsapp.util.AppState;
+import com.example.coachsapp.util.FxTasks;
+import com.example.coachsapp.util.Log;
+import com.example.coachsapp.util.PagedLoader;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
@@ -22,6 +26,8 @@ import java.util.Optional;
 
 public class TransferRequestController {
 
+    private static final Log LOG = Log.get(TransferRequestController.class);
+
     @FXML
     private VBox playerSection;
 
@@ -68,25 +74,19 @@ public class TransferRequestController {
     private TableColumn<TransferRequest, Void> actionCol;
 
     private ObservableList<TransferRequest> transferRequests = FXCollections.observableArrayList();
-    private DatabaseService dbService;
-    private TransferRequestRepository transferRequestRepo;
+    private PagedLoader<TransferRequest> pager;
 
     @FXML
     public void initialize() {
-        System.out.println("\n========== TRANSFER REQUEST CONTROLLER INITIALIZED ==========");
+        LOG.debug("Initializing transfer requests screen");
         User currentUser = AppState.currentUser;
         if (currentUser != null) {
-            System.out.println("Current User: " + currentUser.getUsername());
-            System.out.println("User Role: " + currentUser.getRole());
-            System.out.println("User Club ID: " + currentUser.getClubId());
-            System.out.println("User Player ID: " + currentUser.getPlayerId());
+            LOG.debug(() -> "Current user: " + currentUser.getUsername() + ", role: " + currentUser.getRole()
+                    + ", club ID: " + currentUser.getClubId() + ", player ID: " + currentUser.getPlayerId());
         } else {
-            System.out.println("ERROR: No current user found!");
+            LOG.error("✗ No current user found");
         }
         
-        dbService = DatabaseService.getInstance();
-        transferRequestRepo = dbService.getTransferRequestRepository();
-
 
         playerNameCol.setCellValueFactory(new PropertyValueFactory<>("playerName"));
         sourceClubCol.setCellValueFactory(new PropertyValueFactory<>("sourceClubName"));
@@ -111,13 +111,20 @@ public class TransferRequestController {
         setupActionColumn();
 
         requestsTable.setItems(transferRequests);
+        pager = new PagedLoader<>(requestsTable, Page.DEFAULT_SIZE,
+                (db, after, size) -> db.getTransferRequestRepository().findPage(after, size),
+                firstPage -> {
+                    requestsTable.setPlaceholder(new Label("No transfer requests"));
+                    transferRequests.setAll(firstPage);
+                    LOG.debug(() -> "[ADMIN] Loaded first page of " + firstPage.size() + " transfer requests");
+                },
+                transferRequests::addAll);
 
 
         setupUIForRole();
         loadTransferRequests();
+        FxTasks.onChange(TransferRequest.class, this::onRequestChange);
         
-        System.out.println("Transfer requests loaded: " + transferRequests.size());
-        System.out.println("============================================================\n");
     }
 
     private void setupUIForRole() {
@@ -177,64 +184,119 @@ public class TransferRequestController {
     }
 
     private void loadClubsForPlayer() {
-        List<Club> allClubs = dbService.getClubRepository().findAll();
         User currentUser = AppState.currentUser;
 
-        List<Club> availableClubs = allClubs.stream()
-                .filter(club -> !club.getId().equals(currentUser.getClubId()))
-                .toList();
+        FxTasks.load(db -> db.getClubRepository().findAll(), allClubs -> {
+            List<Club> availableClubs = allClubs.stream()
+                    .filter(club -> !club.getId().equals(currentUser.getClubId()))
+                    .toList();
 
-        if (destinationClubCombo != null) {
-            destinationClubCombo.setItems(FXCollections.observableArrayList(availableClubs));
-        }
+            if (destinationClubCombo != null) {
+                destinationClubCombo.setItems(FXCollections.observableArrayList(availableClubs));
+            }
+        });
     }
 
     private void loadTransferRequests() {
-        System.out.println("\n========== LOADING TRANSFER REQUESTS ==========");
+        LOG.debug("Loading transfer requests");
         User currentUser = AppState.currentUser;
         if (currentUser == null) {
-            System.out.println("ERROR: Current user is null!");
+            LOG.error("✗ Current user is null");
+            return;
+        }
+
+        requestsTable.setPlaceholder(new ProgressIndicator());
+        if (currentUser.getRole() == Role.SYSTEM_ADMIN || currentUser.getRole() == Role.CLUB_OWNER) {
+            // Every request in the league; page through them as the admin scrolls
+            pager.reload();
             return;
         }
+        FxTasks.load(db -> findRequestsFor(db.getTransferRequestRepository(), currentUser), requests -> {
+            requestsTable.setPlaceholder(new Label("No transfer requests"));
+            transferRequests.setAll(requests);
+
+            LOG.debug(() -> "Transfer requests added to table: " + transferRequests.size());
+        });
+    }
 
+    /**
+     * Patch the one row a committed change touched instead of reloading the table.
+     * The row is read back by id for the player and club names the event does not carry.
+     */
+    private void onRequestChange(ChangeEvent<TransferRequest> event) {
+        if (event.type() == ChangeEvent.Type.DELETE) {
+            transferRequests.removeIf(row -> row.getId() != null && row.getId() == event.id());
+            return;
+        }
+        User currentUser = AppState.currentUser;
+        if (currentUser == null || !isListedFor(event.entity(), currentUser)) {
+            return;
+        }
+        FxTasks.load(db -> db.getTransferRequestRepository().findById(event.id()), stored -> {
+            if (stored == null) {
+                return;
+            }
+            for (int i = 0; i < transferRequests.size(); i++) {
+                if (transferRequests.get(i).getId() != null && transferRequests.get(i).getId() == event.id()) {
+                    transferRequests.set(i, stored);
+                    return;
+                }
+            }
+            if (event.type() == ChangeEvent.Type.INSERT) {
+                // Newest first, like the queries
+                transferRequests.add(0, stored);
+            }
+        });
+    }
+
+    /**
+     * Whether {@link #findRequestsFor} would list the request for this user.
+     */
+    private static boolean isListedFor(TransferRequest request, User currentUser) {
+        switch (currentUser.getRole()) {
+            case SYSTEM_ADMIN:
+            case CLUB_OWNER:
+                return true;
+            case PLAYER:
+                return request.getPlayerId() != null && request.getPlayerId().equals(currentUser.getPlayerId());
+            case CLUB_MANAGER:
+                return currentUser.getClubId() != null && currentUser.getClubId().equals(request.getSourceClubId());
+            default:
+                return false;
+        }
+    }
+
+    private List<TransferRequest> findRequestsFor(TransferRequestRepository transferRequestRepo, User currentUser) {
         List<TransferRequest> requests;
         switch (currentUser.getRole()) {
             case PLAYER:
                 requests = transferRequestRepo.findByPlayerId(currentUser.getPlayerId());
-                System.out.println("[PLAYER] Loaded " + requests.size() + " transfer requests");
+                LOG.debug(() -> "[PLAYER] Loaded " + requests.size() + " transfer requests");
                 break;
             case CLUB_MANAGER:
 
                 Integer clubId = currentUser.getClubId();
-                System.out.println("[MANAGER] Club ID: " + clubId);
+                LOG.debug(() -> "[MANAGER] Club ID: " + clubId);
                 if (clubId == null) {
-                    System.out.println("ERROR: Manager's club ID is NULL!");
+                    LOG.error("✗ Manager's club ID is null");
                     requests = List.of();
                 } else {
                     requests = transferRequestRepo.findBySourceClubId(clubId);
-                    System.out.println("[MANAGER] Loaded " + requests.size() + " transfer requests for club " + clubId);
-                    for (TransferRequest req : requests) {
-                        System.out.println("  - ID: " + req.getId() + ", Player: " + req.getPlayerName() + 
-                            ", Status: " + req.getStatus() + ", Fee: $" + req.getTransferFee() + "M");
+                    LOG.debug(() -> "[MANAGER] Loaded " + requests.size() + " transfer requests for club " + clubId);
+                    if (LOG.isEnabled(Log.Level.DEBUG)) {
+                        for (TransferRequest req : requests) {
+                            LOG.debug("  - ID: " + req.getId() + ", Player: " + req.getPlayerName() +
+                                ", Status: " + req.getStatus() + ", Fee: $" + req.getTransferFee() + "M");
+                        }
                     }
                 }
                 break;
-            case SYSTEM_ADMIN:
-            case CLUB_OWNER:
-                requests = transferRequestRepo.findAll();
-                System.out.println("[ADMIN] Loaded " + requests.size() + " transfer requests");
-                break;
             default:
                 requests = List.of();
-                System.out.println("Unknown role: " + currentUser.getRole());
+                LOG.warn("⚠ Unknown role: " + currentUser.getRole());
         }
 
-        transferRequests.clear();
-        transferRequests.addAll(requests);
-        
-        System.out.println("Transfer requests added to table: " + transferRequests.size());
-        System.out.println("Table items count: " + requestsTable.getItems().size());
-        System.out.println("================================================\n");
+        return requests;
     }
 
     private void setupActionColumn() {
@@ -267,7 +329,7 @@ public class TransferRequestController {
                     if (currentUser != null && currentUser.getRole() == Role.CLUB_MANAGER) {
 
                         if (request.getSourceClubId().equals(currentUser.getClubId())) {
-                            System.out.println("[DEBUG] Showing buttons for request - Player: " + request.getPlayerName() + ", Status: " + request.getStatus());
+                            LOG.debug(() -> "Showing buttons for request - Player: " + request.getPlayerName() + ", Status: " + request.getStatus());
                             if (request.getStatus() == TransferRequest.TransferStatus.PENDING_APPROVAL) {
                                 setGraphic(pendingBox);
                             } else if (request.getStatus() == TransferRequest.TransferStatus.IN_MARKET) {
@@ -277,7 +339,7 @@ public class TransferRequestController {
                                 setGraphic(null);
                             }
                         } else {
-                            System.out.println("[DEBUG] Request not from manager's club - Player: " + request.getPlayerName() + ", SourceClub: " + request.getSourceClubId() + ", ManagerClub: " + currentUser.getClubId());
+                            LOG.debug(() -> "Request not from manager's club - Player: " + request.getPlayerName() + ", SourceClub: " + request.getSourceClubId() + ", ManagerClub: " + currentUser.getClubId());
                             setGraphic(null);
                         }
                     } else if (currentUser != null && currentUser.getRole() == Role.SYSTEM_ADMIN) {
@@ -297,29 +359,17 @@ public class TransferRequestController {
 
     @FXML
     public void handleSubmitTransferRequest() {
-        System.out.println("\n========== SUBMITTING TRANSFER REQUEST ==========");
+        LOG.debug("Submitting transfer request");
         User currentUser = AppState.currentUser;
         if (currentUser == null || currentUser.getPlayerId() == null) {
-            System.out.println("ERROR: Current user or player ID is null");
+            LOG.error("✗ Current user or player ID is null");
             statusLabel.setText("Error: Player not found");
             statusLabel.setStyle("-fx-text-fill: red;");
             return;
         }
         
-        System.out.println("Player ID: " + currentUser.getPlayerId());
-        System.out.println("Player Club ID: " + currentUser.getClubId());
-
-        List<TransferRequest> existing = transferRequestRepo.findByPlayerId(currentUser.getPlayerId());
-        System.out.println("Existing requests for player: " + existing.size());
-        boolean hasPending = existing.stream()
-                .anyMatch(r -> r.getStatus() == TransferRequest.TransferStatus.PENDING_APPROVAL || 
-                              r.getStatus() == TransferRequest.TransferStatus.IN_MARKET);
-        
-        if (hasPending) {
-            System.out.println("Player already has a pending request");
-            showError("You already have a pending transfer request. Cancel it first before submitting a new one.");
-            return;
-        }
+        LOG.debug(() -> "Player ID: " + currentUser.getPlayerId());
+        LOG.debug(() -> "Player Club ID: " + currentUser.getClubId());
 
         String requestType = destinationTypeCombo != null ? destinationTypeCombo.getValue() : null;
         if (requestType == null) {
@@ -337,9 +387,8 @@ public class TransferRequestController {
                 return;
             }
             destinationClubId = club.getId();
-            System.out.println("Target Club ID: " + destinationClubId);
         } else {
-            System.out.println("Request type: General Market (no specific club)");
+            LOG.debug("Request type: General Market (no specific club)");
         }
 
 
@@ -352,28 +401,44 @@ public class TransferRequestController {
         request.setStatus(TransferRequest.TransferStatus.PENDING_APPROVAL);
         request.setTransferFee(0.0);
         
-        System.out.println("Creating request - Player: " + currentUser.getPlayerId() + ", Source Club: " + currentUser.getClubId() + ", Dest Club: " + destinationClubId);
-
-        TransferRequest saved = transferRequestRepo.save(request);
-        if (saved != null && saved.getId() != null) {
-            System.out.println("Transfer request saved successfully with ID: " + saved.getId());
-        } else {
-            System.out.println("ERROR: Failed to save transfer request!");
-        }
-        System.out.println("====================================================\n");
+        LOG.debug(() -> "Creating request - Player: " + request.getPlayerId() + ", Source Club: " + request.getSourceClubId() + ", Dest Club: " + request.getDestinationClubId());
+
+        FxTasks.save(db -> {
+            TransferRequestRepository transferRequestRepo = db.getTransferRequestRepository();
+            List<TransferRequest> existing = transferRequestRepo.findByPlayerId(currentUser.getPlayerId());
+            LOG.debug(() -> "Existing requests for player: " + existing.size());
+            boolean hasPending = existing.stream()
+                    .anyMatch(r -> r.getStatus() == TransferRequest.TransferStatus.PENDING_APPROVAL || 
+                                  r.getStatus() == TransferRequest.TransferStatus.IN_MARKET);
+            if (hasPending) {
+                LOG.info("Player already has a pending request");
+                return false;
+            }
 
-        statusLabel.setText("Transfer request submitted! Waiting for manager approval.");
-        statusLabel.setStyle("-fx-text-fill: green;");
+            TransferRequest saved = transferRequestRepo.save(request);
+            if (saved != null && saved.getId() != null) {
+                LOG.info("Transfer request saved successfully with ID: " + saved.getId());
+            } else {
+                LOG.error("✗ Failed to save transfer request");
+            }
+            return true;
+        }, submitted -> {
+            if (!submitted) {
+                showError("You already have a pending transfer request. Cancel it first before submitting a new one.");
+                return;
+            }
 
-        if (destinationTypeCombo != null) destinationTypeCombo.setValue("General Market");
-        if (destinationClubCombo != null) {
-            destinationClubCombo.setValue(null);
-            destinationClubCombo.setVisible(false);
-            destinationClubCombo.setManaged(false);
-        }
-        if (remarksArea != null) remarksArea.clear();
+            statusLabel.setText("Transfer request submitted! Waiting for manager approval.");
+            statusLabel.setStyle("-fx-text-fill: green;");
 
-        loadTransferRequests();
+            if (destinationTypeCombo != null) destinationTypeCombo.setValue("General Market");
+            if (destinationClubCombo != null) {
+                destinationClubCombo.setValue(null);
+                destinationClubCombo.setVisible(false);
+                destinationClubCombo.setManaged(false);
+            }
+            if (remarksArea != null) remarksArea.clear();
+        });
     }
 
     private void handleApproveAndSetFee(TransferRequest request) {
@@ -396,11 +461,15 @@ public class TransferRequestController {
                 request.setTransferFee(fee);
                 request.setStatus(TransferRequest.TransferStatus.IN_MARKET);
                 request.setApprovedBySourceDate(LocalDateTime.now());
-                transferRequestRepo.save(request);
-                
-                showSuccess(String.format("Transfer approved! %s is now available in the transfer market for $%.2fM", 
-                    request.getPlayerName(), fee));
-                loadTransferRequests();
+                FxTasks.save(db -> db.getTransferRequestRepository().save(request), saved -> {
+                    if (saved == null) {
+                        showError("Failed to approve the transfer request");
+                        loadTransferRequests();
+                        return;
+                    }
+                    showSuccess(String.format("Transfer approved! %s is now available in the transfer market for $%.2fM", 
+                        request.getPlayerName(), fee));
+                });
             } catch (NumberFormatException e) {
                 showError("Please enter a valid number");
             }
@@ -418,10 +487,14 @@ public class TransferRequestController {
         confirmation.showAndWait().ifPresent(response -> {
             if (response == ButtonType.OK) {
                 request.setStatus(TransferRequest.TransferStatus.CANCELLED);
-                transferRequestRepo.save(request);
-
-                showSuccess("Transfer request cancelled");
-                loadTransferRequests();
+                FxTasks.save(db -> db.getTransferRequestRepository().save(request), saved -> {
+                    if (saved == null) {
+                        showError("Failed to cancel the transfer request");
+                        loadTransferRequests();
+                        return;
+                    }
+                    showSuccess("Transfer request cancelled");
+                });
             }
         });
     }
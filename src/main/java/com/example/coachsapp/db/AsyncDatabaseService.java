@@ -0,0 +1,136 @@
+package com.example.coachsapp.db;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Asynchronous facade over DatabaseService.
+ * Work runs on virtual threads, at most as many at once as the pool has
+ * connections, and results come back as CompletableFutures. Streamed reads keep
+ * a reader while they wait for the FX thread, so they have a budget of their own,
+ * half the readers (at least one), and other work gets the rest. With two or
+ * more readers, open streams never hold every reader. UI code should go through
+ * {@link com.example.coachsapp.util.FxTasks}, which hands results back to the
+ * JavaFX Application Thread.
+ */
+public class AsyncDatabaseService {
+
+    private static AsyncDatabaseService instance;
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final Semaphore streamPermits;
+    private volatile CompletableFuture<?> gate = CompletableFuture.completedFuture(null);
+
+    private AsyncDatabaseService() {
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("db-async-", 0).factory());
+        // One writer plus the readers, less those set aside for streams; more in-flight
+        // work would only queue on the pool. Read from configuration so creating this
+        // service does not open the database.
+        int readers = DatabaseConnection.configuredReaders();
+        int streams = Math.max(1, readers / 2);
+        this.streamPermits = new Semaphore(streams);
+        this.permits = new Semaphore(Math.max(1, readers + 1 - streams));
+    }
+
+    public static synchronized AsyncDatabaseService getInstance() {
+        if (instance == null) {
+            instance = new AsyncDatabaseService();
+        }
+        return instance;
+    }
+
+    /**
+     * Run a read in the background. Cancelling the returned future interrupts
+     * the worker if it has not finished.
+     */
+    public <T> CompletableFuture<T> query(Function<DatabaseService, T> query) {
+        return query(query, permits);
+    }
+
+    /**
+     * Run a read that keeps its connection while it waits on another thread, such
+     * as a stream handing rows to the FX thread. These run from their own budget,
+     * so at most half the readers are held this way and other reads go on.
+     */
+    public <T> CompletableFuture<T> stream(Function<DatabaseService, T> query) {
+        return query(query, streamPermits);
+    }
+
+    private <T> CompletableFuture<T> query(Function<DatabaseService, T> query, Semaphore budget) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> task = executor.submit(() -> execute(query, result, budget));
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) {
+                task.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Run a write in the background. Writes are never interrupted: once the
+     * worker has started, the change is committed even if the caller cancels.
+     */
+    public <T> CompletableFuture<T> update(Function<DatabaseService, T> update) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        executor.submit(() -> execute(update, result, permits));
+        return result;
+    }
+
+    /**
+     * Hold all work until the given future completes, successfully or not.
+     * Used at startup so nothing queries tables that are still being created.
+     */
+    public void holdUntil(CompletableFuture<?> ready) {
+        this.gate = ready;
+    }
+
+    /**
+     * Stop accepting work and wait briefly for running work to finish.
+     */
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private <T> void execute(Function<DatabaseService, T> work, CompletableFuture<T> result, Semaphore budget) {
+        if (result.isDone()) {
+            return;
+        }
+        try {
+            awaitGate();
+            budget.acquire();
+        } catch (InterruptedException e) {
+            result.cancel(false);
+            return;
+        }
+        try {
+            if (!result.isDone()) {
+                result.complete(work.apply(DatabaseService.getInstance()));
+            }
+        } catch (Throwable t) {
+            result.completeExceptionally(t);
+        } finally {
+            budget.release();
+        }
+    }
+
+    private void awaitGate() throws InterruptedException {
+        try {
+            gate.get();
+        } catch (ExecutionException | CancellationException e) {
+            // Startup failed; let the work run and report its own errors
+        }
+    }
+}
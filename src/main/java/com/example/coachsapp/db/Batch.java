@@ -0,0 +1,64 @@
+package com.example.coachsapp.db;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Helpers for the repositories' saveAll/updateAll methods.
+ * Rows are bound into one prepared statement and sent with executeBatch every
+ * {@link #CHUNK} rows, inside the caller's transaction.
+ */
+final class Batch {
+
+    static final int CHUNK = 1000;
+
+    /**
+     * Binds one item's values to the statement.
+     */
+    @FunctionalInterface
+    interface Binder<T> {
+        void bind(PreparedStatement pstmt, T item) throws SQLException;
+    }
+
+    private Batch() {
+    }
+
+    /**
+     * Add every item to the statement's batch and execute it. Returns the number of rows affected.
+     */
+    static <T> int execute(PreparedStatement pstmt, List<T> items, Binder<T> binder) throws SQLException {
+        int affected = 0;
+        try {
+            for (int i = 0; i < items.size(); i++) {
+                binder.bind(pstmt, items.get(i));
+                pstmt.addBatch();
+                if ((i + 1) % CHUNK == 0 || i == items.size() - 1) {
+                    for (int count : pstmt.executeBatch()) {
+                        affected += count == Statement.SUCCESS_NO_INFO ? 1 : Math.max(count, 0);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            pstmt.clearBatch();
+            throw e;
+        }
+        return affected;
+    }
+
+    /**
+     * Id of the first row of an insert batch that just ran. The batch runs in one
+     * transaction on the only writer connection, so an AUTOINCREMENT table hands
+     * its rows consecutive ids ending at last_insert_rowid().
+     */
+    static int firstInsertedId(Connection connection, int rows) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT last_insert_rowid()")) {
+            rs.next();
+            return rs.getInt(1) - rows + 1;
+        }
+    }
+}
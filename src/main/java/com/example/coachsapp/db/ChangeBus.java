@@ -0,0 +1,117 @@
+package com.example.coachsapp.db;
+
+import com.example.coachsapp.util.Log;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * In-process bus for committed row changes.
+ * The repositories publish an event after each insert, update or delete has
+ * committed, so subscribers (AppState, open screens) can patch what they hold
+ * instead of reloading it. Writes made inside {@link DatabaseService#inTransaction}
+ * are held back and published together once the transaction commits, and dropped
+ * if it rolls back.
+ */
+public class ChangeBus {
+
+    private static final Log LOG = Log.get(ChangeBus.class);
+
+    private static ChangeBus instance;
+
+    private final Map<Class<?>, List<Subscriber<?>>> subscribers = new ConcurrentHashMap<>();
+    // Events of the transaction running on this thread, published when it commits
+    private final ThreadLocal<List<ChangeEvent<?>>> deferred = new ThreadLocal<>();
+
+    private record Subscriber<T>(Executor executor, Consumer<ChangeEvent<T>> listener) {
+    }
+
+    /**
+     * Work whose events are deferred; see {@link #deferring}.
+     */
+    @FunctionalInterface
+    interface Deferred<T> {
+        T run() throws SQLException;
+    }
+
+    private ChangeBus() {
+    }
+
+    public static synchronized ChangeBus getInstance() {
+        if (instance == null) {
+            instance = new ChangeBus();
+        }
+        return instance;
+    }
+
+    /**
+     * Deliver changes to entities of the given type on the executor (e.g. the FX
+     * thread). Returns an action that unsubscribes.
+     */
+    public <T> Runnable subscribe(Class<T> entityType, Executor executor, Consumer<ChangeEvent<T>> listener) {
+        Subscriber<T> subscriber = new Subscriber<>(executor, listener);
+        List<Subscriber<?>> list = subscribers.computeIfAbsent(entityType, type -> new CopyOnWriteArrayList<>());
+        list.add(subscriber);
+        return () -> list.remove(subscriber);
+    }
+
+    /**
+     * Publish a committed change, or hold it back if this thread is inside a transaction.
+     */
+    void publish(ChangeEvent<?> event) {
+        List<ChangeEvent<?>> pending = deferred.get();
+        if (pending != null) {
+            pending.add(event);
+        } else {
+            deliver(event);
+        }
+    }
+
+    void publishAll(List<ChangeEvent<?>> events) {
+        for (ChangeEvent<?> event : events) {
+            deliver(event);
+        }
+    }
+
+    /**
+     * Run the work collecting the events published on this thread into events
+     * instead of delivering them. Inside an outer deferral the events join the
+     * outer one and events stays empty.
+     */
+    <T> T deferring(List<ChangeEvent<?>> events, Deferred<T> work) throws SQLException {
+        if (deferred.get() != null) {
+            return work.run();
+        }
+        deferred.set(events);
+        try {
+            return work.run();
+        } finally {
+            deferred.remove();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> void deliver(ChangeEvent<T> event) {
+        List<Subscriber<?>> list = subscribers.get(event.entityType());
+        if (list == null) {
+            return;
+        }
+        for (Subscriber<?> subscriber : list) {
+            Subscriber<T> typed = (Subscriber<T>) subscriber;
+            typed.executor().execute(() -> {
+                try {
+                    typed.listener().accept(event);
+                } catch (RuntimeException e) {
+                    LOG.error("✗ Change listener failed for " + event.type() + " " +
+                            event.entityType().getSimpleName() + " " + event.id() + ": " + e.getMessage());
+                }
+            });
+        }
+    }
+}
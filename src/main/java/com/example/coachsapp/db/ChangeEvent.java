@@ -0,0 +1,22 @@
+package com.example.coachsapp.db;
+
+/**
+ * A committed change to one row, published on the {@link ChangeBus}.
+ * entity is the object that was written (null for deletes, which only know the id).
+ */
+public record ChangeEvent<T>(Type type, Class<T> entityType, int id, T entity) {
+
+    public enum Type { INSERT, UPDATE, DELETE }
+
+    static <T> ChangeEvent<T> inserted(Class<T> entityType, int id, T entity) {
+        return new ChangeEvent<>(Type.INSERT, entityType, id, entity);
+    }
+
+    static <T> ChangeEvent<T> updated(Class<T> entityType, int id, T entity) {
+        return new ChangeEvent<>(Type.UPDATE, entityType, id, entity);
+    }
+
+    static <T> ChangeEvent<T> deleted(Class<T> entityType, int id) {
+        return new ChangeEvent<>(Type.DELETE, entityType, id, null);
+    }
+}
@@ -1,68 +1,119 @@
 package com.example.coachsapp.db;
 
 import com.example.coachsapp.model.Club;
+import com.example.coachsapp.util.Log;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 
 public class ClubRepository {
 
+    private static final Log LOG = Log.get(ClubRepository.class);
+
 
     public Club save(Club club) {
         if (club.getClubName() == null || club.getClubName().isEmpty()) {
-            System.err.println("✗ Club name cannot be null or empty");
+            LOG.error("✗ Club name cannot be null or empty");
             return null;
         }
 
 
         Club existing = findByName(club.getClubName());
         if (existing != null) {
-            System.err.println("✗ Club already exists: " + club.getClubName() + " (ID: " + existing.getId() + ")");
+            LOG.error("✗ Club already exists: " + club.getClubName() + " (ID: " + existing.getId() + ")");
             return null;
         }
 
         String sql = "INSERT INTO clubs (name) VALUES (?)";
-        Connection connection = DatabaseConnection.getInstance().getConnection();
-        
-        if (connection == null) {
-            System.err.println("✗ Database connection is null");
-            return null;
-        }
-        
-        try (PreparedStatement pstmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            pstmt.setString(1, club.getClubName());
-            int affectedRows = pstmt.executeUpdate();
+        try {
+            Club saved = DatabaseConnection.getInstance().write(connection -> {
+                try (PreparedStatement pstmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                    pstmt.setString(1, club.getClubName());
+                    int affectedRows = pstmt.executeUpdate();
             
-            if (affectedRows == 0) {
-                System.err.println("✗ No rows affected when saving club");
-                return null;
-            }
+                    if (affectedRows == 0) {
+                        LOG.error("✗ No rows affected when saving club");
+                        return null;
+                    }
 
-            ResultSet generatedKeys = pstmt.getGeneratedKeys();
-            if (generatedKeys.next()) {
-                club.setId(generatedKeys.getInt(1));
-                System.out.println("✓ Club saved: " + club.getClubName() + " (ID: " + club.getId() + ")");
-                return club;
-            } else {
-                System.err.println("✗ No generated key returned");
+                    ResultSet generatedKeys = pstmt.getGeneratedKeys();
+                    if (generatedKeys.next()) {
+                        club.setId(generatedKeys.getInt(1));
+                        LOG.info("✓ Club saved: " + club.getClubName() + " (ID: " + club.getId() + ")");
+                        return club;
+                    } else {
+                        LOG.error("✗ No generated key returned");
+                    }
+                }
+                return null;
+            });
+            if (saved != null) {
+                ChangeBus.getInstance().publish(ChangeEvent.inserted(Club.class, saved.getId(), saved));
             }
+            return saved;
         } catch (SQLException e) {
             if (e.getMessage().contains("UNIQUE constraint failed")) {
-                System.err.println("✗ Club name already exists: " + club.getClubName());
+                LOG.error("✗ Club name already exists: " + club.getClubName());
             } else {
-                System.err.println("✗ Error saving club: " + e.getMessage());
-                e.printStackTrace();
+                LOG.error("✗ Error saving club: " + e.getMessage(), e);
             }
         }
         return null;
     }
 
 
+    /**
+     * Insert many clubs in one transaction with JDBC batching. Returns the clubs with
+     * their generated ids set, or an empty list if nothing was saved (for example a
+     * name that already exists, which rolls back the whole batch).
+     */
+    public List<Club> saveAll(List<Club> clubs) {
+        if (clubs.isEmpty()) {
+            return clubs;
+        }
+        for (Club club : clubs) {
+            if (club.getClubName() == null || club.getClubName().isEmpty()) {
+                LOG.error("✗ Club name cannot be null or empty; batch not saved");
+                return Collections.emptyList();
+            }
+        }
+
+        String sql = "INSERT INTO clubs (name) VALUES (?)";
+        try {
+            List<Club> saved = DatabaseConnection.getInstance().writeInTransaction(connection -> {
+                try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+                    int inserted = Batch.execute(pstmt, clubs, (stmt, club) -> stmt.setString(1, club.getClubName()));
+                    if (inserted != clubs.size()) {
+                        throw new SQLException("Inserted " + inserted + " of " + clubs.size() + " clubs");
+                    }
+                }
+                int id = Batch.firstInsertedId(connection, clubs.size());
+                for (Club club : clubs) {
+                    club.setId(id++);
+                }
+                LOG.info("✓ Clubs saved: " + clubs.size());
+                return clubs;
+            });
+            for (Club club : saved) {
+                ChangeBus.getInstance().publish(ChangeEvent.inserted(Club.class, club.getId(), club));
+            }
+            return saved;
+        } catch (SQLException e) {
+            if (e.getMessage().contains("UNIQUE constraint failed")) {
+                LOG.error("✗ Club name already exists; batch not saved");
+            } else {
+                LOG.error("✗ Error saving clubs: " + e.getMessage());
+            }
+        }
+        return Collections.emptyList();
+    }
+
     public Club findById(int id) {
         String sql = "SELECT id, name, created_at FROM clubs WHERE id = ?";
-        Connection connection = DatabaseConnection.getInstance().getConnection();
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = DatabaseConnection.getInstance().getReadConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setInt(1, id);
             ResultSet rs = pstmt.executeQuery();
 
@@ -72,7 +123,7 @@ public class ClubRepository {
                 return club;
             }
         } catch (SQLException e) {
-            System.err.println("✗ Error finding club: " + e.getMessage());
+            LOG.error("✗ Error finding club: " + e.getMessage());
         }
         return null;
     }
@@ -80,8 +131,8 @@ public class ClubRepository {
 
     public Club findByName(String name) {
         String sql = "SELECT id, name, created_at FROM clubs WHERE name = ?";
-        Connection connection = DatabaseConnection.getInstance().getConnection();
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = DatabaseConnection.getInstance().getReadConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setString(1, name);
             ResultSet rs = pstmt.executeQuery();
 
@@ -91,7 +142,7 @@ public class ClubRepository {
                 return club;
             }
         } catch (SQLException e) {
-            System.err.println("✗ Error finding club: " + e.getMessage());
+            LOG.error("✗ Error finding club: " + e.getMessage());
         }
         return null;
     }
@@ -100,8 +151,8 @@ public class ClubRepository {
     public List<Club> findAll() {
         List<Club> clubs = new ArrayList<>();
         String sql = "SELECT id, name, created_at FROM clubs ORDER BY name";
-        Connection connection = DatabaseConnection.getInstance().getConnection();
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = DatabaseConnection.getInstance().getReadConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             ResultSet rs = pstmt.executeQuery();
 
             while (rs.next()) {
@@ -110,42 +161,107 @@ public class ClubRepository {
                 clubs.add(club);
             }
         } catch (SQLException e) {
-            System.err.println("✗ Error retrieving clubs: " + e.getMessage());
+            LOG.error("✗ Error retrieving clubs: " + e.getMessage());
         }
         return clubs;
     }
 
+    /**
+     * One page of all clubs by name; pass null for the first page.
+     */
+    public Page<Club> findPage(Page.Cursor after, int size) throws SQLException {
+        List<Club> clubs = new ArrayList<>();
+        String sql = Page.seek("SELECT id, name, created_at FROM clubs", "name", "id", false, after);
+        try (Connection connection = DatabaseConnection.getInstance().getReadConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            Page.bind(pstmt, after, size);
+            ResultSet rs = pstmt.executeQuery();
+
+            while (rs.next()) {
+                Club club = new Club(rs.getString("name"));
+                club.setId(rs.getInt("id"));
+                clubs.add(club);
+            }
+        }
+        return Page.of(clubs, size, c -> new Page.Cursor(c.getClubName(), c.getId()));
+    }
+
 
     public boolean update(Club club) {
         String sql = "UPDATE clubs SET name = ? WHERE id = ?";
-        Connection connection = DatabaseConnection.getInstance().getConnection();
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            pstmt.setString(1, club.getClubName());
-            pstmt.setInt(2, club.getId());
-            int affectedRows = pstmt.executeUpdate();
-            if (affectedRows > 0) {
-                System.out.println("✓ Club updated: " + club.getClubName());
-                return true;
+        try {
+            boolean updated = DatabaseConnection.getInstance().write(connection -> {
+                try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+                    pstmt.setString(1, club.getClubName());
+                    pstmt.setInt(2, club.getId());
+                    int affectedRows = pstmt.executeUpdate();
+                    if (affectedRows > 0) {
+                        LOG.info("✓ Club updated: " + club.getClubName());
+                        return true;
+                    }
+                }
+                return false;
+            });
+            if (updated) {
+                ChangeBus.getInstance().publish(ChangeEvent.updated(Club.class, club.getId(), club));
             }
+            return updated;
         } catch (SQLException e) {
-            System.err.println("✗ Error updating club: " + e.getMessage());
+            LOG.error("✗ Error updating club: " + e.getMessage());
         }
         return false;
     }
 
 
+    /**
+     * Rename many clubs in one transaction with JDBC batching. Returns the number of rows updated.
+     */
+    public int updateAll(List<Club> clubs) {
+        if (clubs.isEmpty()) {
+            return 0;
+        }
+        String sql = "UPDATE clubs SET name = ? WHERE id = ?";
+        try {
+            int updated = DatabaseConnection.getInstance().writeInTransaction(connection -> {
+                try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+                    int rows = Batch.execute(pstmt, clubs, (stmt, club) -> {
+                        stmt.setString(1, club.getClubName());
+                        stmt.setInt(2, club.getId());
+                    });
+                    LOG.info("✓ Clubs updated: " + rows);
+                    return rows;
+                }
+            });
+            for (Club club : clubs) {
+                ChangeBus.getInstance().publish(ChangeEvent.updated(Club.class, club.getId(), club));
+            }
+            return updated;
+        } catch (SQLException e) {
+            LOG.error("✗ Error updating clubs: " + e.getMessage());
+        }
+        return 0;
+    }
+
     public boolean delete(int id) {
         String sql = "DELETE FROM clubs WHERE id = ?";
-        Connection connection = DatabaseConnection.getInstance().getConnection();
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            pstmt.setInt(1, id);
-            int affectedRows = pstmt.executeUpdate();
-            if (affectedRows > 0) {
-                System.out.println("✓ Club deleted (ID: " + id + ")");
-                return true;
+        try {
+            boolean deleted = DatabaseConnection.getInstance().write(connection -> {
+                try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+                    pstmt.setInt(1, id);
+                    int affectedRows = pstmt.executeUpdate();
+                    if (affectedRows > 0) {
+                        LOG.info("✓ Club deleted (ID: " + id + ")");
+                        return true;
+                    }
+                }
+                return false;
+            });
+            if (deleted) {
+                ChangeBus.getInstance().publish(ChangeEvent.deleted(Club.class, id));
             }
+            return deleted;
         } catch (SQLException e) {
-            System.err.println("✗ Error deleting club: " + e.getMessage());
+            LOG.error("✗ Error deleting club: " + e.getMessage());
         }
         return false;
     }
@@ -153,14 +269,14 @@ public class ClubRepository {
 
     public int count() {
         String sql = "SELECT COUNT(*) FROM clubs";
-        Connection connection = DatabaseConnection.getInstance().getConnection();
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = DatabaseConnection.getInstance().getReadConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             ResultSet rs = pstmt.executeQuery();
             if (rs.next()) {
                 return rs.getInt(1);
             }
         } catch (SQLException e) {
-            System.err.println("✗ Error counting clubs: " + e.getMessage());
+            LOG.error("✗ Error counting clubs: " + e.getMessage());
         }
         return 0;
     }
@@ -0,0 +1,25 @@
+package com.example.coachsapp.db;
+
+import com.example.coachsapp.model.Position;
+
+import java.util.Map;
+
+/**
+ * A club's counters from club_stats. Transfers out are the club's own players
+ * (listed or sold); transfers in are players it bought.
+ */
+public record ClubStats(int clubId, int players, Map<Position, Integer> playersByPosition, int injured, int managers,
+                        int pendingRegistrations, int transfersInMarket, int transfersCompletedOut,
+                        int transfersCompletedIn) {
+
+    /**
+     * A club with nothing counted yet.
+     */
+    public static ClubStats empty(int clubId) {
+        return new ClubStats(clubId, 0, Map.of(), 0, 0, 0, 0, 0, 0);
+    }
+
+    public int playersAt(Position position) {
+        return playersByPosition.getOrDefault(position, 0);
+    }
+}
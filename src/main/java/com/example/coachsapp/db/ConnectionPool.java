@@ -0,0 +1,528 @@
+package com.example.coachsapp.db;
+
+import com.example.coachsapp.util.Log;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Bounded SQLite connection pool with one dedicated writer and N readers.
+ * Connections are handed out as leases: closing a lease returns the physical
+ * connection to the pool instead of closing the database handle.
+ * Leases are thread-confined and re-entrant, so a repository method that calls
+ * another repository on the same thread reuses the connection it already holds.
+ * A lease must be closed on the thread that took it; closing it anywhere else
+ * throws and leaves the lease with its owner, as the owner's next lease would
+ * otherwise reuse a connection the pool has handed to someone else.
+ * Each physical connection keeps a {@link StatementCache}; prepareStatement on a
+ * lease borrows from it.
+ */
+public class ConnectionPool {
+
+    private static final Log LOG = Log.get(ConnectionPool.class);
+
+    private static final long ACQUIRE_TIMEOUT_MS = 10_000;
+    private static final long VALIDATE_AFTER_IDLE_MS = 30_000;
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final String url;
+    private final StorageMode mode;
+    private final int statementCacheSize;
+    private final Slot writer;
+    private final Semaphore writerPermit = new Semaphore(1, true);
+    private final List<Slot> readers = new ArrayList<>();
+    private final BlockingQueue<Slot> idleReaders;
+    private final ThreadLocal<Slot> heldWriter = new ThreadLocal<>();
+    private final ThreadLocal<Slot> heldReader = new ThreadLocal<>();
+    private final Metrics metrics = new Metrics();
+    private volatile boolean closed;
+    private volatile Consumer<String> statementObserver;
+    private volatile StatementProfiler profiler;
+
+    public ConnectionPool(String url, int readerCount, StorageMode mode, int statementCacheSize) {
+        if (readerCount < 1) {
+            throw new IllegalArgumentException("readerCount must be at least 1");
+        }
+        this.url = url;
+        this.mode = mode;
+        this.statementCacheSize = statementCacheSize;
+        this.writer = new Slot("writer", false);
+        this.idleReaders = new ArrayBlockingQueue<>(readerCount);
+        for (int i = 0; i < readerCount; i++) {
+            Slot reader = new Slot("reader-" + i, true);
+            readers.add(reader);
+            idleReaders.add(reader);
+        }
+    }
+
+    /**
+     * Lease the writer connection. Blocks while another thread holds it.
+     */
+    public Connection acquireWriter() throws SQLException {
+        ensureOpen();
+        Slot held = heldWriter.get();
+        if (held != null) {
+            return held.lease();
+        }
+
+        long start = System.nanoTime();
+        try {
+            if (!writerPermit.tryAcquire(ACQUIRE_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                metrics.timeouts.incrementAndGet();
+                throw new SQLException("Timed out waiting for the writer connection");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for the writer connection", e);
+        }
+        metrics.recordWait(System.nanoTime() - start);
+
+        try {
+            writer.checkOut();
+        } catch (SQLException e) {
+            writerPermit.release();
+            throw e;
+        }
+        heldWriter.set(writer);
+        return writer.lease();
+    }
+
+    /**
+     * Lease a reader connection. A thread that already holds the writer gets
+     * the writer back so it can see its own uncommitted changes.
+     */
+    public Connection acquireReader() throws SQLException {
+        ensureOpen();
+        Slot held = heldWriter.get();
+        if (held == null) {
+            held = heldReader.get();
+        }
+        if (held != null) {
+            return held.lease();
+        }
+
+        long start = System.nanoTime();
+        Slot reader;
+        try {
+            reader = idleReaders.poll(ACQUIRE_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a reader connection", e);
+        }
+        if (reader == null) {
+            metrics.timeouts.incrementAndGet();
+            throw new SQLException("Timed out waiting for a reader connection");
+        }
+        metrics.recordWait(System.nanoTime() - start);
+
+        try {
+            reader.checkOut();
+        } catch (SQLException e) {
+            idleReaders.add(reader);
+            throw e;
+        }
+        heldReader.set(reader);
+        return reader.lease();
+    }
+
+    /**
+     * True when the calling thread currently holds the writer lease.
+     */
+    public boolean holdsWriter() {
+        return heldWriter.get() != null;
+    }
+
+    /**
+     * Validate every idle connection and reopen the ones that fail.
+     * Returns the number of connections that had to be replaced.
+     */
+    public int healthCheck() {
+        int replaced = 0;
+        if (writerPermit.tryAcquire()) {
+            try {
+                if (writer.revalidate()) replaced++;
+            } finally {
+                writerPermit.release();
+            }
+        }
+        List<Slot> drained = new ArrayList<>();
+        idleReaders.drainTo(drained);
+        for (Slot reader : drained) {
+            if (reader.revalidate()) replaced++;
+            idleReaders.add(reader);
+        }
+        return replaced;
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    public int getReaderCount() {
+        return readers.size();
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public StorageMode getMode() {
+        return mode;
+    }
+
+    public int getStatementCacheSize() {
+        return statementCacheSize;
+    }
+
+    /**
+     * Be told the SQL of every statement prepared through a lease (null to stop).
+     * Used by tests such as QueryPlanTest.
+     */
+    void setStatementObserver(Consumer<String> observer) {
+        this.statementObserver = observer;
+    }
+
+    /**
+     * Time every statement prepared from now on (null to stop). See {@link StatementProfiler}.
+     */
+    void setProfiler(StatementProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    public StatementProfiler getProfiler() {
+        return profiler;
+    }
+
+    /**
+     * Close every physical connection. Outstanding leases become unusable.
+     */
+    public void close() {
+        closed = true;
+        writer.closePhysical();
+        for (Slot reader : readers) {
+            reader.closePhysical();
+        }
+    }
+
+    private void ensureOpen() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+    }
+
+    private void release(Slot slot) {
+        if (slot == writer) {
+            heldWriter.remove();
+            writerPermit.release();
+        } else {
+            heldReader.remove();
+            idleReaders.add(slot);
+        }
+    }
+
+    /**
+     * Open a physical connection and apply the storage mode's pragmas.
+     * Connections are opened lazily on first lease.
+     */
+    private Connection open(boolean reader) throws SQLException {
+        Properties properties = new Properties();
+        if (!reader) {
+            // Writer transactions take the write lock at BEGIN, so SQLITE_BUSY shows up
+            // there instead of halfway through a transaction's statements
+            properties.setProperty("transaction_mode", "IMMEDIATE");
+        }
+        Connection connection = DriverManager.getConnection(url, properties);
+        try {
+            mode.configure(connection, reader);
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+        connection.setAutoCommit(true);
+        return connection;
+    }
+
+    /**
+     * One physical connection plus the bookkeeping for its current owner.
+     */
+    private final class Slot {
+        private final String name;
+        private final boolean reader;
+        private Connection physical;
+        private StatementCache statements;
+        private int holdCount;
+        private volatile Thread owner;
+        private long checkedOutAt;
+        private long lastReturnedAt = System.nanoTime();
+
+        Slot(String name, boolean reader) {
+            this.name = name;
+            this.reader = reader;
+        }
+
+        void checkOut() throws SQLException {
+            long idleMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lastReturnedAt);
+            if (physical == null) {
+                attach(open(reader));
+            } else if (physical.isClosed()
+                    || (idleMs > VALIDATE_AFTER_IDLE_MS && !physical.isValid(VALIDATION_TIMEOUT_SECONDS))) {
+                reopen();
+            }
+            owner = Thread.currentThread();
+            checkedOutAt = System.nanoTime();
+        }
+
+        Connection lease() {
+            holdCount++;
+            metrics.leases.incrementAndGet();
+            return (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    new Lease(this));
+        }
+
+        void returnLease() {
+            if (--holdCount > 0) {
+                return;
+            }
+            try {
+                if (!physical.getAutoCommit()) {
+                    physical.rollback();
+                    physical.setAutoCommit(true);
+                }
+            } catch (SQLException e) {
+                LOG.error("✗ Resetting " + name + " connection failed: " + e.getMessage());
+                closePhysical();
+            }
+            metrics.recordLease(System.nanoTime() - checkedOutAt);
+            lastReturnedAt = System.nanoTime();
+            owner = null;
+            release(this);
+        }
+
+        boolean revalidate() {
+            try {
+                if (physical == null
+                        || (!physical.isClosed() && physical.isValid(VALIDATION_TIMEOUT_SECONDS))) {
+                    return false;
+                }
+                reopen();
+                return true;
+            } catch (SQLException e) {
+                LOG.error("✗ Health check failed for " + name + " connection: " + e.getMessage());
+                return false;
+            }
+        }
+
+        private void reopen() throws SQLException {
+            closePhysical();
+            attach(open(reader));
+            metrics.reconnects.incrementAndGet();
+            LOG.info("✓ Database connection re-established (" + name + ")");
+        }
+
+        private void attach(Connection connection) {
+            physical = connection;
+            statements = statementCacheSize > 0
+                    ? new StatementCache(connection, statementCacheSize, metrics)
+                    : null;
+        }
+
+        /**
+         * Prepare through the statement cache when it is enabled.
+         */
+        PreparedStatement prepare(String sql, int autoGeneratedKeys) throws SQLException {
+            Consumer<String> observer = statementObserver;
+            if (observer != null) {
+                observer.accept(sql);
+            }
+            PreparedStatement statement;
+            if (statements == null) {
+                statement = autoGeneratedKeys == Statement.NO_GENERATED_KEYS
+                        ? physical.prepareStatement(sql)
+                        : physical.prepareStatement(sql, autoGeneratedKeys);
+            } else {
+                statement = statements.borrow(sql, autoGeneratedKeys);
+            }
+            StatementProfiler timing = profiler;
+            if (timing != null) {
+                return timing.wrap(statement, sql, physical);
+            }
+            return StatementProfiler.isTracing() ? StatementProfiler.trace(statement, sql) : statement;
+        }
+
+        void closePhysical() {
+            if (physical == null) return;
+            if (statements != null) {
+                statements.clear();
+                statements = null;
+            }
+            try {
+                physical.close();
+            } catch (SQLException e) {
+                LOG.error("✗ Error closing " + name + " connection: " + e.getMessage());
+            }
+            physical = null;
+        }
+    }
+
+    /**
+     * Proxy handler for a single lease. close() hands the slot back,
+     * every other call goes to the physical connection.
+     */
+    private static final class Lease implements InvocationHandler {
+        private final Slot slot;
+        private boolean returned;
+
+        Lease(Slot slot) {
+            this.slot = slot;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!returned) {
+                        Thread owner = slot.owner;
+                        if (owner != Thread.currentThread()) {
+                            throw new SQLException("Connection lease on " + slot.name + " taken by thread "
+                                    + owner.getName() + " cannot be closed by " + Thread.currentThread().getName());
+                        }
+                        returned = true;
+                        slot.returnLease();
+                    }
+                    return null;
+                case "isClosed":
+                    return returned || slot.physical == null || slot.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Lease[" + slot.name + (returned ? ", returned]" : "]");
+                default:
+                    break;
+            }
+            if (returned) {
+                throw new SQLException("Connection lease already returned to the pool");
+            }
+            if (method.getName().equals("prepareStatement") && args.length <= 2
+                    && (args.length == 1 || args[1] instanceof Integer)) {
+                int autoGeneratedKeys = args.length == 1 ? Statement.NO_GENERATED_KEYS : (Integer) args[1];
+                return slot.prepare((String) args[0], autoGeneratedKeys);
+            }
+            try {
+                return method.invoke(slot.physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+
+    /**
+     * Pool wait and lease-time counters.
+     */
+    public static final class Metrics {
+        private final AtomicLong leases = new AtomicLong();
+        private final AtomicLong acquisitions = new AtomicLong();
+        private final AtomicLong totalWaitNanos = new AtomicLong();
+        private final AtomicLong maxWaitNanos = new AtomicLong();
+        private final AtomicLong returns = new AtomicLong();
+        private final AtomicLong totalLeaseNanos = new AtomicLong();
+        private final AtomicLong maxLeaseNanos = new AtomicLong();
+        private final AtomicLong timeouts = new AtomicLong();
+        private final AtomicLong reconnects = new AtomicLong();
+        final AtomicLong statementHits = new AtomicLong();
+        final AtomicLong statementMisses = new AtomicLong();
+        final AtomicLong statementEvictions = new AtomicLong();
+
+        void recordWait(long nanos) {
+            acquisitions.incrementAndGet();
+            totalWaitNanos.addAndGet(nanos);
+            maxWaitNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        void recordLease(long nanos) {
+            returns.incrementAndGet();
+            totalLeaseNanos.addAndGet(nanos);
+            maxLeaseNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        public long getLeases() {
+            return leases.get();
+        }
+
+        public long getAcquisitions() {
+            return acquisitions.get();
+        }
+
+        public double getAverageWaitMillis() {
+            long count = acquisitions.get();
+            return count == 0 ? 0 : totalWaitNanos.get() / 1_000_000.0 / count;
+        }
+
+        public double getMaxWaitMillis() {
+            return maxWaitNanos.get() / 1_000_000.0;
+        }
+
+        public double getAverageLeaseMillis() {
+            long count = returns.get();
+            return count == 0 ? 0 : totalLeaseNanos.get() / 1_000_000.0 / count;
+        }
+
+        public double getMaxLeaseMillis() {
+            return maxLeaseNanos.get() / 1_000_000.0;
+        }
+
+        public long getTimeouts() {
+            return timeouts.get();
+        }
+
+        public long getReconnects() {
+            return reconnects.get();
+        }
+
+        public long getStatementHits() {
+            return statementHits.get();
+        }
+
+        public long getStatementMisses() {
+            return statementMisses.get();
+        }
+
+        public long getStatementEvictions() {
+            return statementEvictions.get();
+        }
+
+        public double getStatementHitRatio() {
+            long total = statementHits.get() + statementMisses.get();
+            return total == 0 ? 0 : (double) statementHits.get() / total;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("leases=%d, acquisitions=%d, avgWait=%.3fms, maxWait=%.3fms, " +
+                            "avgLease=%.3fms, maxLease=%.3fms, timeouts=%d, reconnects=%d, " +
+                            "stmtHits=%d, stmtMisses=%d, stmtEvictions=%d",
+                    getLeases(), getAcquisitions(), getAverageWaitMillis(), getMaxWaitMillis(),
+                    getAverageLeaseMillis(), getMaxLeaseMillis(), getTimeouts(), getReconnects(),
+                    getStatementHits(), getStatementMisses(), getStatementEvictions());
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.coachsapp.db;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Base for the typed query builders ({@link PlayerCriteria}, {@link ManagerCriteria},
+ * {@link TransferRequestCriteria}, {@link RegistrationRequestCriteria}).
+ * Each filter adds one parameterized condition, and the repository's find method
+ * compiles them into a single SELECT: conditions ANDed, an ORDER BY that ends with
+ * the id so the order is stable, and an optional LIMIT. Passing null to a filter
+ * leaves it off. Club, position and status filters are backed by indexes; age,
+ * injury and text narrow down whatever those select.
+ */
+public abstract class Criteria<C extends Criteria<C>> {
+
+    private final List<String> conditions = new ArrayList<>();
+    private final List<Object> params = new ArrayList<>();
+    private String orderBy;
+    private Integer limit;
+
+    Criteria(String defaultOrderBy) {
+        this.orderBy = defaultOrderBy;
+    }
+
+    abstract C self();
+
+    /**
+     * At most this many rows.
+     */
+    public C limit(int rows) {
+        this.limit = rows;
+        return self();
+    }
+
+    C where(String condition, Object... values) {
+        conditions.add(condition);
+        params.addAll(Arrays.asList(values));
+        return self();
+    }
+
+    C orderBy(String column, boolean descending, String idColumn) {
+        String direction = descending ? " DESC" : "";
+        this.orderBy = column + direction + ", " + idColumn + direction;
+        return self();
+    }
+
+    /**
+     * LIKE pattern matching the text anywhere, with LIKE's wildcards escaped.
+     * Use with {@code LIKE ? ESCAPE '\'}.
+     */
+    static String contains(String text) {
+        return "%" + text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+    }
+
+    static boolean isBlank(String text) {
+        return text == null || text.isBlank();
+    }
+
+    String toSql(String select) {
+        StringBuilder sql = new StringBuilder(select);
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        sql.append(" ORDER BY ").append(orderBy);
+        if (limit != null) {
+            sql.append(" LIMIT ?");
+        }
+        return sql.toString();
+    }
+
+    void bind(PreparedStatement pstmt) throws SQLException {
+        int index = 1;
+        for (Object param : params) {
+            pstmt.setObject(index++, param);
+        }
+        if (limit != null) {
+            pstmt.setInt(index, limit);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + conditions + params + " ORDER BY " + orderBy
+                + (limit != null ? " LIMIT " + limit : "");
+    }
+}
@@ -1,29 +1,67 @@
 package com.example.coachsapp.db;
 
+import com.example.coachsapp.util.Log;
+
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.sql.Statement;
 
-
+/**
+ * Entry point to the SQLite connection pool.
+ * Repositories lease connections with try-with-resources; closing a lease
+ * returns it to the pool and never closes the underlying database handle.
+ */
 public class DatabaseConnection {
 
-    private static final String DATABASE_URL = "jdbc:sqlite:coaches_app.db";
+    private static final Log LOG = Log.get(DatabaseConnection.class);
+
+    private static final String DEFAULT_URL = "jdbc:sqlite:coaches_app.db";
+    private static final int DEFAULT_READERS = 4;
+    private static final int DEFAULT_STATEMENT_CACHE_SIZE = 64;
     private static DatabaseConnection instance;
-    private Connection connection;
+    private ConnectionPool pool;
+    private WriteQueue writeQueue;
 
     private DatabaseConnection() {
         try {
             Class.forName("org.sqlite.JDBC");
-            this.connection = DriverManager.getConnection(DATABASE_URL);
-            this.connection.setAutoCommit(true);
-            System.out.println("✓ Database connected: " + DATABASE_URL);
+            String url = configuredUrl();
+            int readers = configuredReaders();
+            StorageMode mode = StorageMode.fromSystemProperty();
+            int statementCacheSize = Integer.getInteger("coachsapp.db.statementCache", DEFAULT_STATEMENT_CACHE_SIZE);
+            this.pool = new ConnectionPool(url, readers, mode, statementCacheSize);
+            StatementProfiler profiler = StatementProfiler.fromSystemProperties();
+            if (profiler != null) {
+                pool.setProfiler(profiler);
+                LOG.info("✓ Statement profiling on");
+            }
+
+            // Open the writer first so the journal mode is switched before any reader attaches
+            try (Connection ignored = pool.acquireWriter()) {
+                LOG.info("✓ Database connected: " + url + " (" + mode + ", 1 writer, " + readers + " readers)");
+            }
+            if (mode == StorageMode.WAL) {
+                this.writeQueue = new WriteQueue(pool);
+            }
         } catch (ClassNotFoundException | SQLException e) {
-            System.err.println("✗ Database connection failed: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("✗ Database connection failed: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * The JDBC URL, read when the connection is created so that tests can point it at a temp file.
+     */
+    static String configuredUrl() {
+        return System.getProperty("coachsapp.db.url", DEFAULT_URL);
+    }
+
+    /**
+     * Reader connections the pool is (or will be) opened with.
+     */
+    static int configuredReaders() {
+        return Integer.getInteger("coachsapp.db.readers", DEFAULT_READERS);
+    }
+
     public static synchronized DatabaseConnection getInstance() {
         if (instance == null) {
             instance = new DatabaseConnection();
@@ -31,76 +69,108 @@ public class DatabaseConnection {
         return instance;
     }
 
-    public Connection getConnection() {
-        try {
-            if (connection == null || connection.isClosed()) {
-                connection = DriverManager.getConnection(DATABASE_URL);
-                connection.setAutoCommit(true);
-                System.out.println("✓ Database connection re-established");
-            }
-        } catch (SQLException e) {
-            System.err.println("✗ Connection error: " + e.getMessage());
-            e.printStackTrace();
+    /**
+     * Close the connection if one was created; never opens one.
+     */
+    static synchronized void closeIfOpen() {
+        if (instance != null) {
+            instance.closeConnection();
         }
-        return connection;
     }
 
-    public void initializeDatabase() {
-        Statement statement = null;
-        try {
-            statement = connection.createStatement();
-            System.out.println("\n=== Initializing Database Schema ===");
-
-            statement.execute("CREATE TABLE IF NOT EXISTS clubs (id INTEGER PRIMARY KEY AUTOINCREMENT, name TEXT NOT NULL UNIQUE, created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
-            System.out.println("✓ Clubs table created/verified");
+    /**
+     * Lease the writer connection. Use for INSERT/UPDATE/DELETE and DDL.
+     */
+    public Connection getConnection() throws SQLException {
+        return pool.acquireWriter();
+    }
 
-            statement.execute("CREATE TABLE IF NOT EXISTS managers (id INTEGER PRIMARY KEY AUTOINCREMENT, name TEXT NOT NULL, age INTEGER, club_id INTEGER NOT NULL UNIQUE, created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, FOREIGN KEY (club_id) REFERENCES clubs(id) ON DELETE CASCADE)");
-            System.out.println("✓ Managers table created/verified");
+    /**
+     * Lease a reader connection. Use for SELECT-only work.
+     */
+    public Connection getReadConnection() throws SQLException {
+        return pool.acquireReader();
+    }
 
-            statement.execute("CREATE TABLE IF NOT EXISTS players (id INTEGER PRIMARY KEY AUTOINCREMENT, name TEXT NOT NULL, age INTEGER NOT NULL, jersey_number INTEGER NOT NULL, position TEXT NOT NULL, injured BOOLEAN DEFAULT 0, club_id INTEGER, created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, FOREIGN KEY (club_id) REFERENCES clubs(id) ON DELETE SET NULL)");
-            System.out.println("✓ Players table created/verified");
+    /**
+     * Run INSERT/UPDATE/DELETE work. In WAL mode it is handed to the single
+     * writer thread and group-committed; otherwise it runs here on the writer
+     * connection with autocommit.
+     */
+    public <T> T write(SqlWork<T> work) throws SQLException {
+        if (writeQueue == null || pool.holdsWriter()) {
+            try (Connection connection = getConnection()) {
+                return work.run(connection);
+            }
+        }
+        return writeQueue.submit(work);
+    }
 
-            // Add club_view column to players table if it doesn't exist
+    /**
+     * Run write work as one transaction. Inside a write queue batch or an open
+     * transaction it joins that transaction; otherwise it commits on its own,
+     * and rolls back if the work throws.
+     */
+    public <T> T writeInTransaction(SqlWork<T> work) throws SQLException {
+        return write(connection -> {
+            if (!connection.getAutoCommit()) {
+                return work.run(connection);
+            }
+            connection.setAutoCommit(false);
             try {
-                statement.execute("ALTER TABLE players ADD COLUMN club_view TEXT");
-                System.out.println("✓ Added column 'club_view' to players table");
-            } catch (SQLException ignored) {
-                // Column already exists; ignore
+                T result = work.run(connection);
+                connection.commit();
+                return result;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
             }
+        });
+    }
 
-            statement.execute("CREATE TABLE IF NOT EXISTS transfer_history (id INTEGER PRIMARY KEY AUTOINCREMENT, player_id INTEGER NOT NULL, from_club_id INTEGER, to_club_id INTEGER, transfer_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP, FOREIGN KEY (player_id) REFERENCES players(id), FOREIGN KEY (from_club_id) REFERENCES clubs(id), FOREIGN KEY (to_club_id) REFERENCES clubs(id))");
-            System.out.println("✓ Transfer History table created/verified");
+    public ConnectionPool getPool() {
+        return pool;
+    }
 
-            System.out.println("✓ Database schema initialized successfully\n");
-        } catch (SQLException e) {
-            System.err.println("✗ Database initialization error: " + e.getMessage());
-            e.printStackTrace();
-        } finally {
-            if (statement != null) {
-                try {
-                    statement.close();
-                } catch (SQLException e) {
-                    // Ignore
-                }
-            }
-        }
+    public WriteQueue getWriteQueue() {
+        return writeQueue;
+    }
+
+    /**
+     * Bring the schema up to date. See {@link DatabaseMigration}.
+     */
+    public void initializeDatabase() {
+        DatabaseMigration.migrate();
     }
 
     public void closeConnection() {
-        try {
-            if (connection != null && !connection.isClosed()) {
-                connection.close();
-                System.out.println("✓ Database connection closed");
+        if (writeQueue != null) {
+            writeQueue.shutdown();
+            LOG.info(String.format("✓ Write queue stats: writes=%d, failed=%d, commits=%d, avgBatch=%.2f",
+                    writeQueue.getWrites(), writeQueue.getFailedWrites(),
+                    writeQueue.getCommits(), writeQueue.getAverageBatchSize()));
+        }
+        if (pool != null) {
+            LOG.info("✓ Database pool stats: " + pool.getMetrics());
+            StatementProfiler profiler = pool.getProfiler();
+            if (profiler != null) {
+                profiler.printSummary();
+                profiler.close();
             }
-        } catch (SQLException e) {
-            System.err.println("✗ Error closing connection: " + e.getMessage());
+            pool.close();
+            LOG.info("✓ Database connection closed");
         }
     }
 
     public void dropAllTables() {
-        Statement statement = null;
-        try {
-            statement = connection.createStatement();
+        try (Connection connection = getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS search_index");
+            statement.execute("DROP TABLE IF EXISTS club_stats");
+            statement.execute("DROP TABLE IF EXISTS league_stats");
+            statement.execute("DROP TABLE IF EXISTS game_plans");
             statement.execute("DROP TABLE IF EXISTS transfer_requests");
             statement.execute("DROP TABLE IF EXISTS transfer_history");
             statement.execute("DROP TABLE IF EXISTS users");
@@ -108,17 +178,10 @@ public class DatabaseConnection {
             statement.execute("DROP TABLE IF EXISTS players");
             statement.execute("DROP TABLE IF EXISTS managers");
             statement.execute("DROP TABLE IF EXISTS clubs");
-            System.out.println("✓ All tables dropped");
+            statement.execute("PRAGMA user_version = 0");
+            LOG.info("✓ All tables dropped");
         } catch (SQLException e) {
-            System.err.println("✗ Error dropping tables: " + e.getMessage());
-        } finally {
-            if (statement != null) {
-                try {
-                    statement.close();
-                } catch (SQLException e) {
-                    // Ignore
-                }
-            }
+            LOG.error("✗ Error dropping tables: " + e.getMessage());
         }
     }
 }
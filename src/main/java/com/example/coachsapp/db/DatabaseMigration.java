@@ -1,40 +1,592 @@
 package com.example.coachsapp.db;
 
+import com.example.coachsapp.model.Position;
+import com.example.coachsapp.model.RegistrationRequest.RequestStatus;
+import com.example.coachsapp.model.Role;
+import com.example.coachsapp.model.TransferRequest.TransferStatus;
+import com.example.coachsapp.util.Log;
+
 import java.sql.*;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.function.ToIntFunction;
 
 /**
- * Database migration utility to update the schema
+ * Ordered schema migrations keyed on PRAGMA user_version.
+ * Each migration runs once, in its own transaction, and bumps user_version when
+ * it commits; once the schema is current a startup only reads the version.
+ * Databases created before versioning report version 0 and go through the same
+ * steps, which is why the column additions look before they alter.
  */
 public class DatabaseMigration {
-    
-    public static void migrateToVersion2() {
-        System.out.println("=== Running Database Migration ===");
-        Connection connection = DatabaseConnection.getInstance().getConnection();
-        
+
+    private static final Log LOG = Log.get(DatabaseMigration.class);
+
+    /**
+     * One schema step. Runs inside the migration's transaction.
+     */
+    @FunctionalInterface
+    private interface Step {
+        void apply(Connection connection) throws SQLException;
+    }
+
+    private record Migration(int version, String description, Step step) {
+    }
+
+    private static final List<Migration> MIGRATIONS = List.of(
+            new Migration(1, "baseline tables", DatabaseMigration::createTables),
+            new Migration(2, "columns added to pre-versioned databases", DatabaseMigration::addLateColumns),
+            new Migration(3, "indexes for the hot filters", DatabaseMigration::createIndexes),
+            new Migration(4, "indexes for the list screen filters", DatabaseMigration::createFilterIndexes),
+            new Migration(5, "indexes for paging the lists in sort order", DatabaseMigration::createPageIndexes),
+            new Migration(6, "integer timestamps, enum codes and flags", DatabaseMigration::encodeColumns),
+            new Migration(7, "full-text search index", DatabaseMigration::createSearchIndex),
+            new Migration(8, "trigger-maintained club and league counters", DatabaseMigration::createStatsTables),
+            new Migration(9, "timestamps as epoch milliseconds in UTC", DatabaseMigration::timestampsToUtc)
+    );
+
+    /**
+     * Bring the schema up to the latest version. Returns the version the database is at afterwards.
+     */
+    public static synchronized int migrate() {
+        int version = 0;
+        try (Connection connection = DatabaseConnection.getInstance().getConnection()) {
+            version = userVersion(connection);
+            if (version >= latestVersion()) {
+                LOG.info("✓ Database schema is current (version " + version + ")");
+                return version;
+            }
+            LOG.info("Migrating database schema from version " + version);
+            for (Migration migration : MIGRATIONS) {
+                if (migration.version() <= version) {
+                    continue;
+                }
+                apply(connection, migration);
+                version = migration.version();
+                LOG.info("✓ Version " + version + ": " + migration.description());
+            }
+            LOG.info("✓ Database schema migrated to version " + version);
+        } catch (SQLException e) {
+            LOG.error("✗ Migration failed at version " + version + ": " + e.getMessage(), e);
+        }
+        return version;
+    }
+
+    public static int latestVersion() {
+        return MIGRATIONS.get(MIGRATIONS.size() - 1).version();
+    }
+
+    private static void apply(Connection connection, Migration migration) throws SQLException {
+        connection.setAutoCommit(false);
         try {
-            // Check if age column exists
-            DatabaseMetaData metaData = connection.getMetaData();
-            ResultSet columns = metaData.getColumns(null, null, "managers", "age");
-            
-            if (!columns.next()) {
-                // Age column doesn't exist, add it
-                Statement statement = connection.createStatement();
-                statement.execute("ALTER TABLE managers ADD COLUMN age INTEGER");
-                System.out.println("✓ Added 'age' column to managers table");
-            } else {
-                System.out.println("✓ 'age' column already exists in managers table");
-            }
-            columns.close();
-            
+            migration.step().apply(connection);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("PRAGMA user_version = " + migration.version());
+            }
+            connection.commit();
         } catch (SQLException e) {
-            System.err.println("✗ Migration failed: " + e.getMessage());
-            e.printStackTrace();
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    private static int userVersion(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("PRAGMA user_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    private static void createTables(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS clubs (id INTEGER PRIMARY KEY AUTOINCREMENT, name TEXT NOT NULL UNIQUE, created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
+            statement.execute("CREATE TABLE IF NOT EXISTS managers (id INTEGER PRIMARY KEY AUTOINCREMENT, name TEXT NOT NULL, age INTEGER, club_id INTEGER NOT NULL UNIQUE, created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, FOREIGN KEY (club_id) REFERENCES clubs(id) ON DELETE CASCADE)");
+            statement.execute("CREATE TABLE IF NOT EXISTS players (id INTEGER PRIMARY KEY AUTOINCREMENT, name TEXT NOT NULL, age INTEGER NOT NULL, jersey_number INTEGER NOT NULL, position TEXT NOT NULL, injured BOOLEAN DEFAULT 0, club_id INTEGER, club_view TEXT, created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, FOREIGN KEY (club_id) REFERENCES clubs(id) ON DELETE SET NULL)");
+            statement.execute("CREATE TABLE IF NOT EXISTS transfer_history (id INTEGER PRIMARY KEY AUTOINCREMENT, player_id INTEGER NOT NULL, from_club_id INTEGER, to_club_id INTEGER, transfer_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP, FOREIGN KEY (player_id) REFERENCES players(id), FOREIGN KEY (from_club_id) REFERENCES clubs(id), FOREIGN KEY (to_club_id) REFERENCES clubs(id))");
+            statement.execute("""
+                CREATE TABLE IF NOT EXISTS users (
+                    id INTEGER PRIMARY KEY AUTOINCREMENT,
+                    username TEXT NOT NULL UNIQUE,
+                    password TEXT NOT NULL,
+                    role TEXT NOT NULL,
+                    club_id INTEGER,
+                    player_id INTEGER,
+                    manager_id INTEGER,
+                    FOREIGN KEY (club_id) REFERENCES clubs(id),
+                    FOREIGN KEY (player_id) REFERENCES players(id),
+                    FOREIGN KEY (manager_id) REFERENCES managers(id)
+                )
+            """);
+            statement.execute("""
+                CREATE TABLE IF NOT EXISTS transfer_requests (
+                    id INTEGER PRIMARY KEY AUTOINCREMENT,
+                    player_id INTEGER NOT NULL,
+                    source_club_id INTEGER NOT NULL,
+                    destination_club_id INTEGER,
+                    status TEXT NOT NULL,
+                    transfer_fee REAL DEFAULT 0.0,
+                    request_date TEXT NOT NULL,
+                    approved_by_source_date TEXT,
+                    completed_date TEXT,
+                    remarks TEXT,
+                    FOREIGN KEY (player_id) REFERENCES players(id),
+                    FOREIGN KEY (source_club_id) REFERENCES clubs(id),
+                    FOREIGN KEY (destination_club_id) REFERENCES clubs(id)
+                )
+            """);
+            statement.execute("""
+                CREATE TABLE IF NOT EXISTS registration_requests (
+                    id INTEGER PRIMARY KEY AUTOINCREMENT,
+                    username TEXT NOT NULL UNIQUE,
+                    password TEXT NOT NULL,
+                    full_name TEXT NOT NULL,
+                    requested_role TEXT NOT NULL,
+                    club_id INTEGER NOT NULL,
+                    age INTEGER,
+                    position TEXT,
+                    status TEXT NOT NULL,
+                    request_date TEXT NOT NULL,
+                    approved_date TEXT,
+                    remarks TEXT,
+                    FOREIGN KEY (club_id) REFERENCES clubs(id)
+                )
+            """);
+            statement.execute("CREATE TABLE IF NOT EXISTS game_plans (" +
+                    "id INTEGER PRIMARY KEY AUTOINCREMENT, " +
+                    "manager_id INTEGER NOT NULL, " +
+                    "club_id INTEGER NOT NULL, " +
+                    "name TEXT NOT NULL, " +
+                    "goalkeeper_id INTEGER, " +
+                    "defender1_id INTEGER, " +
+                    "defender2_id INTEGER, " +
+                    "midfielder1_id INTEGER, " +
+                    "midfielder2_id INTEGER, " +
+                    "forward_id INTEGER, " +
+                    "created_at TEXT NOT NULL, " +
+                    "updated_at TEXT NOT NULL, " +
+                    "FOREIGN KEY (manager_id) REFERENCES managers(id) ON DELETE CASCADE, " +
+                    "FOREIGN KEY (club_id) REFERENCES clubs(id) ON DELETE CASCADE, " +
+                    "FOREIGN KEY (goalkeeper_id) REFERENCES players(id) ON DELETE SET NULL, " +
+                    "FOREIGN KEY (defender1_id) REFERENCES players(id) ON DELETE SET NULL, " +
+                    "FOREIGN KEY (defender2_id) REFERENCES players(id) ON DELETE SET NULL, " +
+                    "FOREIGN KEY (midfielder1_id) REFERENCES players(id) ON DELETE SET NULL, " +
+                    "FOREIGN KEY (midfielder2_id) REFERENCES players(id) ON DELETE SET NULL, " +
+                    "FOREIGN KEY (forward_id) REFERENCES players(id) ON DELETE SET NULL" +
+                    ")");
+        }
+    }
+
+    /**
+     * Columns that older databases were created without. The baseline already has them,
+     * so on a fresh database every check finds the column and nothing is altered.
+     */
+    private static void addLateColumns(Connection connection) throws SQLException {
+        addColumnIfMissing(connection, "players", "club_view", "TEXT");
+        addColumnIfMissing(connection, "managers", "age", "INTEGER");
+        addColumnIfMissing(connection, "transfer_requests", "transfer_fee", "REAL DEFAULT 0.0");
+        addColumnIfMissing(connection, "registration_requests", "age", "INTEGER");
+        addColumnIfMissing(connection, "registration_requests", "position", "TEXT");
+    }
+
+    private static void createIndexes(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE INDEX IF NOT EXISTS idx_players_club_id ON players(club_id)");
+            statement.execute("CREATE INDEX IF NOT EXISTS idx_users_player_id ON users(player_id)");
+            statement.execute("CREATE INDEX IF NOT EXISTS idx_transfer_requests_status ON transfer_requests(status)");
+            statement.execute("CREATE INDEX IF NOT EXISTS idx_transfer_requests_source_club_id ON transfer_requests(source_club_id)");
+            statement.execute("CREATE INDEX IF NOT EXISTS idx_transfer_requests_destination_club_id ON transfer_requests(destination_club_id)");
+            statement.execute("CREATE INDEX IF NOT EXISTS idx_transfer_requests_player_id ON transfer_requests(player_id)");
+            // Plan lists filter by manager or club and sort newest first
+            statement.execute("CREATE INDEX IF NOT EXISTS idx_game_plans_manager_id ON game_plans(manager_id, updated_at)");
+            statement.execute("CREATE INDEX IF NOT EXISTS idx_game_plans_club_id ON game_plans(club_id, updated_at)");
+            statement.execute("CREATE INDEX IF NOT EXISTS idx_registration_requests_status ON registration_requests(status)");
+        }
+    }
+
+    /**
+     * Player lists filter by position alone and sort by name; registration requests filter by club.
+     */
+    private static void createFilterIndexes(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE INDEX IF NOT EXISTS idx_players_position ON players(position, name)");
+            statement.execute("CREATE INDEX IF NOT EXISTS idx_registration_requests_club_id ON registration_requests(club_id)");
+        }
+    }
+
+    /**
+     * Keyset pages seek on (sort key, id); the rowid rides along in every index, so
+     * indexing the sort key alone serves both the seek and the ORDER BY.
+     */
+    private static void createPageIndexes(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE INDEX IF NOT EXISTS idx_players_name ON players(name)");
+            statement.execute("CREATE INDEX IF NOT EXISTS idx_managers_name ON managers(name)");
+            statement.execute("CREATE INDEX IF NOT EXISTS idx_transfer_requests_request_date ON transfer_requests(request_date)");
+            statement.execute("CREATE INDEX IF NOT EXISTS idx_registration_requests_request_date ON registration_requests(request_date)");
+        }
+    }
+
+    /**
+     * Store timestamps as integer milliseconds, enums as their codes and flags
+     * as 0/1, each checked by a CHECK constraint. SQLite cannot change
+     * a column's type in place, so each table is rebuilt: create the new layout, copy
+     * the rows across converting as they go, swap the tables and recreate the indexes.
+     * It all happens in the migration's transaction, so a row that doesn't convert
+     * rolls the whole step back and the old tables stay as they were. The old text
+     * timestamps were local wall times and are read here as UTC, so this step
+     * stores local time encoded as if it were UTC; version 9 turns that into real
+     * epoch milliseconds.
+     */
+    private static void encodeColumns(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("PRAGMA foreign_keys")) {
+            // Dropping a referenced table with foreign keys on would cascade into its children
+            if (rs.next() && rs.getInt(1) != 0) {
+                throw new SQLException("Foreign keys must be off to rebuild tables");
+            }
+        }
+
+        rebuild(connection, "players",
+                "id INTEGER PRIMARY KEY AUTOINCREMENT, name TEXT NOT NULL, age INTEGER NOT NULL, " +
+                "jersey_number INTEGER NOT NULL, " +
+                "position INTEGER NOT NULL CHECK (" + codeCheck("position", Position.values(), Position::getCode) + "), " +
+                "injured INTEGER NOT NULL DEFAULT 0 CHECK (injured IN (0, 1)), club_id INTEGER, club_view TEXT, " +
+                "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+                "FOREIGN KEY (club_id) REFERENCES clubs(id) ON DELETE SET NULL",
+                "id, name, age, jersey_number, position, injured, club_id, club_view, created_at, updated_at",
+                "id, name, age, jersey_number, " + codeOf("position", Position.values(), Position::getCode) + ", " +
+                "CASE WHEN injured IN (1, '1', 'true', 'TRUE') THEN 1 ELSE 0 END, club_id, club_view, created_at, updated_at");
+
+        rebuild(connection, "users",
+                "id INTEGER PRIMARY KEY AUTOINCREMENT, username TEXT NOT NULL UNIQUE, password TEXT NOT NULL, " +
+                "role INTEGER NOT NULL CHECK (" + codeCheck("role", Role.values(), Role::getCode) + "), " +
+                "club_id INTEGER, player_id INTEGER, manager_id INTEGER, " +
+                "FOREIGN KEY (club_id) REFERENCES clubs(id), FOREIGN KEY (player_id) REFERENCES players(id), " +
+                "FOREIGN KEY (manager_id) REFERENCES managers(id)",
+                "id, username, password, role, club_id, player_id, manager_id",
+                "id, username, password, " + codeOf("role", Role.values(), Role::getCode) + ", club_id, player_id, manager_id");
+
+        rebuild(connection, "transfer_requests",
+                "id INTEGER PRIMARY KEY AUTOINCREMENT, player_id INTEGER NOT NULL, source_club_id INTEGER NOT NULL, " +
+                "destination_club_id INTEGER, " +
+                "status INTEGER NOT NULL CHECK (" + codeCheck("status", TransferStatus.values(), TransferStatus::getCode) + "), " +
+                "transfer_fee REAL DEFAULT 0.0, request_date INTEGER NOT NULL, approved_by_source_date INTEGER, " +
+                "completed_date INTEGER, remarks TEXT, " +
+                "FOREIGN KEY (player_id) REFERENCES players(id), FOREIGN KEY (source_club_id) REFERENCES clubs(id), " +
+                "FOREIGN KEY (destination_club_id) REFERENCES clubs(id)",
+                "id, player_id, source_club_id, destination_club_id, status, transfer_fee, request_date, " +
+                "approved_by_source_date, completed_date, remarks",
+                "id, player_id, source_club_id, destination_club_id, " +
+                codeOf("status", TransferStatus.values(), TransferStatus::getCode) + ", transfer_fee, " +
+                Timestamps.fromIsoText("request_date") + ", " + Timestamps.fromIsoText("approved_by_source_date") + ", " +
+                Timestamps.fromIsoText("completed_date") + ", remarks");
+
+        rebuild(connection, "registration_requests",
+                "id INTEGER PRIMARY KEY AUTOINCREMENT, username TEXT NOT NULL UNIQUE, password TEXT NOT NULL, " +
+                "full_name TEXT NOT NULL, " +
+                "requested_role INTEGER NOT NULL CHECK (" + codeCheck("requested_role", Role.values(), Role::getCode) + "), " +
+                "club_id INTEGER NOT NULL, age INTEGER, " +
+                "position INTEGER CHECK (" + codeCheck("position", Position.values(), Position::getCode) + "), " +
+                "status INTEGER NOT NULL CHECK (" + codeCheck("status", RequestStatus.values(), RequestStatus::getCode) + "), " +
+                "request_date INTEGER NOT NULL, approved_date INTEGER, remarks TEXT, " +
+                "FOREIGN KEY (club_id) REFERENCES clubs(id)",
+                "id, username, password, full_name, requested_role, club_id, age, position, status, request_date, " +
+                "approved_date, remarks",
+                "id, username, password, full_name, " + codeOf("requested_role", Role.values(), Role::getCode) + ", " +
+                "club_id, age, " + codeOf("position", Position.values(), Position::getCode) + ", " +
+                codeOf("status", RequestStatus.values(), RequestStatus::getCode) + ", " +
+                Timestamps.fromIsoText("request_date") + ", " + Timestamps.fromIsoText("approved_date") + ", remarks");
+
+        rebuild(connection, "game_plans",
+                "id INTEGER PRIMARY KEY AUTOINCREMENT, manager_id INTEGER NOT NULL, club_id INTEGER NOT NULL, " +
+                "name TEXT NOT NULL, goalkeeper_id INTEGER, defender1_id INTEGER, defender2_id INTEGER, " +
+                "midfielder1_id INTEGER, midfielder2_id INTEGER, forward_id INTEGER, " +
+                "created_at INTEGER NOT NULL, updated_at INTEGER NOT NULL, " +
+                "FOREIGN KEY (manager_id) REFERENCES managers(id) ON DELETE CASCADE, " +
+                "FOREIGN KEY (club_id) REFERENCES clubs(id) ON DELETE CASCADE, " +
+                "FOREIGN KEY (goalkeeper_id) REFERENCES players(id) ON DELETE SET NULL, " +
+                "FOREIGN KEY (defender1_id) REFERENCES players(id) ON DELETE SET NULL, " +
+                "FOREIGN KEY (defender2_id) REFERENCES players(id) ON DELETE SET NULL, " +
+                "FOREIGN KEY (midfielder1_id) REFERENCES players(id) ON DELETE SET NULL, " +
+                "FOREIGN KEY (midfielder2_id) REFERENCES players(id) ON DELETE SET NULL, " +
+                "FOREIGN KEY (forward_id) REFERENCES players(id) ON DELETE SET NULL",
+                "id, manager_id, club_id, name, goalkeeper_id, defender1_id, defender2_id, midfielder1_id, " +
+                "midfielder2_id, forward_id, created_at, updated_at",
+                "id, manager_id, club_id, name, goalkeeper_id, defender1_id, defender2_id, midfielder1_id, " +
+                "midfielder2_id, forward_id, " + Timestamps.fromIsoText("created_at") + ", " +
+                Timestamps.fromIsoText("updated_at"));
+    }
+
+    /**
+     * The FTS5 table behind {@link SearchRepository}, filled from the existing rows
+     * and kept in step by triggers on each searched table. Prefix indexes on two and
+     * three characters make the short prefixes typed into the search box cheap.
+     */
+    private static void createSearchIndex(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE VIRTUAL TABLE IF NOT EXISTS search_index USING fts5(title, body, " +
+                    "tokenize = 'unicode61 remove_diacritics 2', prefix = '2 3')");
+        }
+        indexTable(connection, "players", SearchResult.Kind.PLAYER, "name, club_view",
+                "new.name", "coalesce(new.club_view, '')");
+        indexTable(connection, "clubs", SearchResult.Kind.CLUB, "name", "new.name", "''");
+        indexTable(connection, "managers", SearchResult.Kind.MANAGER, "name", "new.name", "''");
+        indexTable(connection, "transfer_requests", SearchResult.Kind.TRANSFER_REQUEST, "player_id, remarks",
+                "coalesce((SELECT name FROM players WHERE id = new.player_id), '')", "coalesce(new.remarks, '')");
+        indexTable(connection, "registration_requests", SearchResult.Kind.REGISTRATION_REQUEST,
+                "full_name, username, remarks", "new.full_name", "new.username || ' ' || coalesce(new.remarks, '')");
+
+        try (Statement statement = connection.createStatement()) {
+            // Transfer requests are titled with the player's name; follow renames
+            statement.execute("CREATE TRIGGER IF NOT EXISTS players_search_rename AFTER UPDATE OF name ON players BEGIN " +
+                    "UPDATE search_index SET title = new.name WHERE rowid IN (SELECT id * " + SearchRepository.KINDS +
+                    " + " + SearchResult.Kind.TRANSFER_REQUEST.getCode() +
+                    " FROM transfer_requests WHERE player_id = new.id); END");
         }
-        
-        System.out.println("=== Migration Complete ===\n");
     }
-    
+
+    /**
+     * Index a table's rows in search_index and add the insert, update and delete
+     * triggers that keep them there. title and body are SQL over the row as new.*;
+     * the update trigger only fires when one of the watched columns changes.
+     */
+    private static void indexTable(Connection connection, String table, SearchResult.Kind kind,
+                                   String watchedColumns, String title, String body) throws SQLException {
+        String rowid = "%s.id * " + SearchRepository.KINDS + " + " + kind.getCode();
+        String insert = "INSERT INTO search_index (rowid, title, body) VALUES (" + rowid.formatted("new") + ", " +
+                title + ", " + body + ");";
+        String delete = "DELETE FROM search_index WHERE rowid = " + rowid.formatted("old") + ";";
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO search_index (rowid, title, body) SELECT " + rowid.formatted("src") + ", " +
+                    title.replace("new.", "src.") + ", " + body.replace("new.", "src.") + " FROM " + table + " src");
+            statement.execute("CREATE TRIGGER IF NOT EXISTS " + table + "_search_insert AFTER INSERT ON " + table +
+                    " BEGIN " + insert + " END");
+            statement.execute("CREATE TRIGGER IF NOT EXISTS " + table + "_search_update AFTER UPDATE OF " +
+                    watchedColumns + " ON " + table + " BEGIN " + delete + " " + insert + " END");
+            statement.execute("CREATE TRIGGER IF NOT EXISTS " + table + "_search_delete AFTER DELETE ON " + table +
+                    " BEGIN " + delete + " END");
+        }
+    }
+
+    /**
+     * One counter in club_stats (clubColumn names the row's club) or league_stats
+     * (clubColumn is null): how many rows of the table satisfy the condition. The
+     * condition is SQL over the row as %1$s.*, e.g. "%1$s.injured = 1".
+     */
+    private record Counter(String column, String table, String clubColumn, String condition) {
+    }
+
+    private static List<Counter> statsCounters() {
+        String pending = "%1$s.status = " + RequestStatus.PENDING.getCode();
+        String inMarket = "%1$s.status = " + TransferStatus.IN_MARKET.getCode();
+        String completed = "%1$s.status = " + TransferStatus.COMPLETED.getCode();
+        List<Counter> counters = new ArrayList<>();
+        counters.add(new Counter("players", "players", "club_id", "1"));
+        for (Position position : Position.values()) {
+            counters.add(new Counter(StatsRepository.positionColumn(position), "players", "club_id",
+                    "%1$s.position = " + position.getCode()));
+        }
+        counters.add(new Counter("injured", "players", "club_id", "%1$s.injured = 1"));
+        counters.add(new Counter("managers", "managers", "club_id", "1"));
+        counters.add(new Counter("pending_registrations", "registration_requests", "club_id", pending));
+        counters.add(new Counter("transfers_in_market", "transfer_requests", "source_club_id", inMarket));
+        counters.add(new Counter("transfers_completed_out", "transfer_requests", "source_club_id", completed));
+        counters.add(new Counter("transfers_completed_in", "transfer_requests", "destination_club_id", completed));
+
+        counters.add(new Counter("clubs", "clubs", null, "1"));
+        counters.add(new Counter("players", "players", null, "1"));
+        counters.add(new Counter("injured", "players", null, "%1$s.injured = 1"));
+        counters.add(new Counter("managers", "managers", null, "1"));
+        counters.add(new Counter("pending_registrations", "registration_requests", null, pending));
+        counters.add(new Counter("transfers_in_market", "transfer_requests", null, inMarket));
+        counters.add(new Counter("transfers_completed", "transfer_requests", null, completed));
+        return counters;
+    }
+
+    /**
+     * club_stats (one row per club) and league_stats (a single row) hold the counts
+     * the dashboard and club screens show, so reading them is one row lookup instead
+     * of COUNT(*) over the tables. Triggers on the counted tables add a row's
+     * contribution when it is inserted, take it away when it is deleted and do both
+     * when a counted column changes, inside the writing transaction.
+     */
+    private static void createStatsTables(Connection connection) throws SQLException {
+        List<Counter> counters = statsCounters();
+        StringJoiner clubColumns = new StringJoiner(", ", "club_id INTEGER PRIMARY KEY, ", "");
+        StringJoiner leagueColumns = new StringJoiner(", ", "id INTEGER PRIMARY KEY CHECK (id = 1), ", "");
+        for (Counter counter : counters) {
+            (counter.clubColumn() != null ? clubColumns : leagueColumns)
+                    .add(counter.column() + " INTEGER NOT NULL DEFAULT 0");
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS club_stats (" + clubColumns + ")");
+            statement.execute("CREATE TABLE IF NOT EXISTS league_stats (" + leagueColumns + ")");
+            statement.execute("INSERT OR IGNORE INTO club_stats (club_id) SELECT id FROM clubs");
+            statement.execute("INSERT OR IGNORE INTO league_stats (id) VALUES (1)");
+            for (Counter counter : counters) {
+                String where = counter.condition().formatted(counter.table());
+                if (counter.clubColumn() != null) {
+                    where += " AND " + counter.table() + "." + counter.clubColumn() + " = club_stats.club_id";
+                }
+                statement.execute("UPDATE " + (counter.clubColumn() != null ? "club_stats" : "league_stats") +
+                        " SET " + counter.column() + " = (SELECT COUNT(*) FROM " + counter.table() + " WHERE " +
+                        where + ")");
+            }
+
+            statement.execute("CREATE TRIGGER IF NOT EXISTS clubs_stats_row_insert AFTER INSERT ON clubs BEGIN " +
+                    "INSERT OR IGNORE INTO club_stats (club_id) VALUES (new.id); END");
+            statement.execute("CREATE TRIGGER IF NOT EXISTS clubs_stats_row_delete AFTER DELETE ON clubs BEGIN " +
+                    "DELETE FROM club_stats WHERE club_id = old.id; END");
+        }
+
+        countTable(connection, counters, "clubs");
+        countTable(connection, counters, "players", "club_id", "position", "injured");
+        countTable(connection, counters, "managers", "club_id");
+        countTable(connection, counters, "registration_requests", "club_id", "status");
+        countTable(connection, counters, "transfer_requests", "source_club_id", "destination_club_id", "status");
+    }
+
+    /**
+     * Turn the timestamps version 6 wrote (local wall time encoded as if it were
+     * UTC) into real epoch milliseconds; see {@link Timestamps}.
+     */
+    private static void timestampsToUtc(Connection connection) throws SQLException {
+        Map<String, List<String>> columns = new LinkedHashMap<>();
+        columns.put("transfer_requests", List.of("request_date", "approved_by_source_date", "completed_date"));
+        columns.put("registration_requests", List.of("request_date", "approved_date"));
+        columns.put("game_plans", List.of("created_at", "updated_at"));
+        try (Statement statement = connection.createStatement()) {
+            for (Map.Entry<String, List<String>> table : columns.entrySet()) {
+                StringJoiner assignments = new StringJoiner(", ");
+                for (String column : table.getValue()) {
+                    assignments.add(column + " = " + Timestamps.fromLocalMillis(column));
+                }
+                statement.executeUpdate("UPDATE " + table.getKey() + " SET " + assignments);
+            }
+        }
+    }
+
+    /**
+     * The insert, delete and update triggers keeping the table's counters current.
+     * The update trigger fires only when one of the counted columns changes.
+     */
+    private static void countTable(Connection connection, List<Counter> counters, String table,
+                                   String... countedColumns) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            String added = applyCounters(counters, table, "new", "+");
+            String removed = applyCounters(counters, table, "old", "-");
+            statement.execute("CREATE TRIGGER IF NOT EXISTS " + table + "_stats_insert AFTER INSERT ON " + table +
+                    " BEGIN " + added + " END");
+            statement.execute("CREATE TRIGGER IF NOT EXISTS " + table + "_stats_delete AFTER DELETE ON " + table +
+                    " BEGIN " + removed + " END");
+            if (countedColumns.length > 0) {
+                statement.execute("CREATE TRIGGER IF NOT EXISTS " + table + "_stats_update AFTER UPDATE OF " +
+                        String.join(", ", countedColumns) + " ON " + table + " BEGIN " + removed + " " + added + " END");
+            }
+        }
+    }
+
+    /**
+     * One UPDATE per stats row the table's counters touch, adding or subtracting the row's contribution.
+     */
+    private static String applyCounters(List<Counter> counters, String table, String row, String sign) {
+        Map<String, StringJoiner> updates = new LinkedHashMap<>();
+        for (Counter counter : counters) {
+            if (!counter.table().equals(table)) {
+                continue;
+            }
+            String target = counter.clubColumn() != null
+                    ? "club_stats WHERE club_id = " + row + "." + counter.clubColumn()
+                    : "league_stats WHERE id = 1";
+            updates.computeIfAbsent(target, key -> new StringJoiner(", "))
+                   .add(counter.column() + " = " + counter.column() + " " + sign + " (" +
+                        counter.condition().formatted(row) + ")");
+        }
+        StringBuilder sql = new StringBuilder();
+        updates.forEach((target, sets) -> {
+            int where = target.indexOf(" WHERE ");
+            sql.append("UPDATE ").append(target, 0, where).append(" SET ").append(sets)
+               .append(target.substring(where)).append("; ");
+        });
+        return sql.toString().strip();
+    }
+
+    /**
+     * Replace a table with one of the given layout, copying its rows through the
+     * select expressions. Its indexes, triggers and AUTOINCREMENT counter carry over.
+     */
+    private static void rebuild(Connection connection, String table, String columnDefinitions,
+                                String columns, String selectExpressions) throws SQLException {
+        List<String> schema = new ArrayList<>();
+        Long sequence = null;
+        try (Statement statement = connection.createStatement()) {
+            try (ResultSet rs = statement.executeQuery("SELECT sql FROM sqlite_master WHERE type IN ('index', 'trigger') " +
+                    "AND tbl_name = '" + table + "' AND sql IS NOT NULL")) {
+                while (rs.next()) {
+                    schema.add(rs.getString(1));
+                }
+            }
+            try (ResultSet rs = statement.executeQuery("SELECT seq FROM sqlite_sequence WHERE name = '" + table + "'")) {
+                if (rs.next()) {
+                    sequence = rs.getLong(1);
+                }
+            }
+
+            statement.execute("CREATE TABLE " + table + "_new (" + columnDefinitions + ")");
+            statement.execute("INSERT INTO " + table + "_new (" + columns + ") SELECT " + selectExpressions +
+                    " FROM " + table);
+            statement.execute("DROP TABLE " + table);
+            statement.execute("ALTER TABLE " + table + "_new RENAME TO " + table);
+            for (String sql : schema) {
+                statement.execute(sql);
+            }
+            if (sequence != null) {
+                statement.execute("UPDATE sqlite_sequence SET seq = MAX(seq, " + sequence + ") WHERE name = '" + table + "'");
+            }
+        }
+    }
+
+    /**
+     * SQL mapping an enum-name text column to the enum's codes; unknown names become NULL.
+     */
+    private static <E extends Enum<E>> String codeOf(String column, E[] values, ToIntFunction<E> code) {
+        StringBuilder sql = new StringBuilder("CASE ").append(column);
+        for (E value : values) {
+            sql.append(" WHEN '").append(value.name()).append("' THEN ").append(code.applyAsInt(value));
+        }
+        return sql.append(" END").toString();
+    }
+
+    private static <E extends Enum<E>> String codeCheck(String column, E[] values, ToIntFunction<E> code) {
+        StringJoiner codes = new StringJoiner(", ", column + " IN (", ")");
+        for (E value : values) {
+            codes.add(String.valueOf(code.applyAsInt(value)));
+        }
+        return codes.toString();
+    }
+
+    private static void addColumnIfMissing(Connection connection, String table, String column, String type)
+            throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            try (ResultSet columns = statement.executeQuery("PRAGMA table_info(" + table + ")")) {
+                while (columns.next()) {
+                    if (column.equalsIgnoreCase(columns.getString("name"))) {
+                        return;
+                    }
+                }
+            }
+            statement.execute("ALTER TABLE " + table + " ADD COLUMN " + column + " " + type);
+            LOG.info("✓ Added column '" + column + "' to " + table + " table");
+        }
+    }
+
     public static void main(String[] args) {
-        migrateToVersion2();
+        migrate();
     }
 }
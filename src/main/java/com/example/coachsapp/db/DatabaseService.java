@@ -2,7 +2,13 @@ package com.example.coachsapp.db;
 
 import com.example.coachsapp.model.Manager;
 import com.example.coachsapp.model.Player;
+import com.example.coachsapp.util.Log;
+import com.example.coachsapp.util.Metrics;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Database initialization and data loading service
@@ -10,7 +16,21 @@ import java.util.List;
  */
 public class DatabaseService {
 
-    private static DatabaseService instance;
+    private static final Log LOG = Log.get(DatabaseService.class);
+
+    private static final int SQLITE_BUSY = 5;
+    private static final int SQLITE_LOCKED = 6;
+    private static final int MAX_BUSY_RETRIES = 5;
+    private static final long BUSY_BACKOFF_MS = 50;
+
+    private static final Metrics.Timer TRANSACTION_TIME = Metrics.getInstance().timer(
+            "coachsapp_db_transaction_seconds", "inTransaction units, retries included");
+    private static final Metrics.Counter TRANSACTION_RETRIES = Metrics.getInstance().counter(
+            "coachsapp_db_transaction_retries_total", "Transactions run again because SQLite was busy");
+    private static final Metrics.Counter TRANSACTION_FAILURES = Metrics.getInstance().counter(
+            "coachsapp_db_transaction_failures_total", "Transactions rolled back");
+
+    private static volatile DatabaseService instance;
     private DatabaseConnection dbConnection;
     private PlayerRepository playerRepository;
     private ManagerRepository managerRepository;
@@ -19,6 +39,9 @@ public class DatabaseService {
     private TransferRequestRepository transferRequestRepository;
     private RegistrationRequestRepository registrationRequestRepository;
     private GamePlanRepository gamePlanRepository;
+    private SearchRepository searchRepository;
+    private StatsRepository statsRepository;
+    private DiagnosticsRepository diagnosticsRepository;
 
     /**
      * Private constructor for singleton pattern
@@ -32,9 +55,13 @@ public class DatabaseService {
         this.transferRequestRepository = new TransferRequestRepository();
         this.registrationRequestRepository = new RegistrationRequestRepository();
         this.gamePlanRepository = new GamePlanRepository();
+        this.searchRepository = new SearchRepository();
+        this.statsRepository = new StatsRepository();
+        this.diagnosticsRepository = new DiagnosticsRepository();
 
         // Initialize database schema
         this.dbConnection.initializeDatabase();
+        registerMetrics();
     }
 
     /**
@@ -47,6 +74,22 @@ public class DatabaseService {
         return instance;
     }
 
+    /**
+     * The service if it has finished starting, else null. Unlike getInstance this
+     * never opens the database or runs migrations, so monitoring can call it at any time.
+     */
+    public static DatabaseService getInstanceIfCreated() {
+        return instance;
+    }
+
+    /**
+     * Close the database if it was opened, even when startup failed part way.
+     * Opens nothing; called when the app exits.
+     */
+    public static void closeIfOpen() {
+        DatabaseConnection.closeIfOpen();
+    }
+
     /**
      * Get player repository
      */
@@ -96,6 +139,121 @@ public class DatabaseService {
         return gamePlanRepository;
     }
 
+    /**
+     * Get full-text search repository
+     */
+    public SearchRepository getSearchRepository() {
+        return searchRepository;
+    }
+
+    /**
+     * Get trigger-maintained statistics repository
+     */
+    public StatsRepository getStatsRepository() {
+        return statsRepository;
+    }
+
+    /**
+     * Get storage diagnostics repository
+     */
+    public DiagnosticsRepository getDiagnosticsRepository() {
+        return diagnosticsRepository;
+    }
+
+    /**
+     * Database figures for the metrics endpoint. Gauges and counters here are
+     * read from the pool and the database when scraped.
+     */
+    private void registerMetrics() {
+        Metrics metrics = Metrics.getInstance();
+        ConnectionPool.Metrics pool = dbConnection.getPool().getMetrics();
+        metrics.gauges("coachsapp_db_rows", "Rows per table", "table", diagnosticsRepository::countRows);
+        metrics.gauges("coachsapp_db_pages", "SQLite page_count and freelist_count", "kind", () -> {
+            Map<String, Long> pages = new LinkedHashMap<>();
+            Map<String, String> pragmas = diagnosticsRepository.readPragmas();
+            pages.put("page_count", Long.parseLong(pragmas.getOrDefault("page_count", "0")));
+            pages.put("freelist_count", Long.parseLong(pragmas.getOrDefault("freelist_count", "0")));
+            return pages;
+        });
+        metrics.counter("coachsapp_db_statement_cache_hits_total", "Statements reused from the cache",
+                pool::getStatementHits);
+        metrics.counter("coachsapp_db_statement_cache_misses_total", "Statements prepared because the cache had none",
+                pool::getStatementMisses);
+        metrics.counter("coachsapp_db_statement_cache_evictions_total", "Statements evicted from the cache",
+                pool::getStatementEvictions);
+        metrics.gauge("coachsapp_db_statement_cache_hit_ratio", "Statement cache hits over lookups",
+                pool::getStatementHitRatio);
+        metrics.counter("coachsapp_db_pool_leases_total", "Connections leased from the pool", pool::getLeases);
+        metrics.counter("coachsapp_db_pool_timeouts_total", "Lease requests that timed out", pool::getTimeouts);
+        metrics.gauge("coachsapp_db_pool_wait_seconds_avg", "Average wait for a connection",
+                () -> pool.getAverageWaitMillis() / 1_000);
+        WriteQueue queue = dbConnection.getWriteQueue();
+        if (queue != null) {
+            metrics.counter("coachsapp_db_write_queue_commits_total", "Group commits", queue::getCommits);
+            metrics.counter("coachsapp_db_write_queue_writes_total", "Writes submitted", queue::getWrites);
+            metrics.gauge("coachsapp_db_write_queue_batch_size_avg", "Writes per commit", queue::getAverageBatchSize);
+        }
+    }
+
+    /**
+     * Run several repository calls as one transaction on the writer connection, so
+     * a user action commits once and leaves nothing behind if any step fails.
+     * Repository methods report failure by returning null or false; the work should
+     * check those and throw to roll back. If SQLite reports the database busy or
+     * locked, the whole unit is run again with backoff, so the work must not rely on
+     * changes an earlier attempt made to its objects. A unit started inside another
+     * one joins the outer transaction, and the outer unit owns the retries.
+     */
+    public <T> T inTransaction(UnitOfWork<T> work) throws SQLException {
+        boolean nested = dbConnection.getPool().holdsWriter();
+        ChangeBus changeBus = ChangeBus.getInstance();
+        long start = System.nanoTime();
+        for (int attempt = 1; ; attempt++) {
+            List<ChangeEvent<?>> events = new ArrayList<>();
+            try {
+                T result = dbConnection.writeInTransaction(connection -> changeBus.deferring(events, () -> work.run(this)));
+                // Committed; a nested unit's events went to the outer unit instead
+                changeBus.publishAll(events);
+                if (!nested) {
+                    TRANSACTION_TIME.recordSince(start);
+                }
+                return result;
+            } catch (SQLException e) {
+                if (nested || attempt > MAX_BUSY_RETRIES || !isBusy(e)) {
+                    if (!nested) {
+                        TRANSACTION_FAILURES.increment();
+                    }
+                    throw e;
+                }
+                TRANSACTION_RETRIES.increment();
+                LOG.warn("⚠ Database busy, retrying transaction (attempt " + (attempt + 1) + ")");
+                try {
+                    Thread.sleep(BUSY_BACKOFF_MS * attempt);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private static boolean isBusy(SQLException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sql) {
+                // The driver reports extended result codes in some versions; the low byte is the primary code
+                int code = sql.getErrorCode() & 0xff;
+                if (code == SQLITE_BUSY || code == SQLITE_LOCKED) {
+                    return true;
+                }
+            }
+            String message = cause.getMessage();
+            if (message != null && (message.contains("SQLITE_BUSY") || message.contains("SQLITE_LOCKED"))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Load all managers and their players from database
      */
@@ -121,11 +279,27 @@ public class DatabaseService {
      * Print database statistics
      */
     public void printStatistics() {
-        System.out.println("\n=== Database Statistics ===");
-        System.out.println("Total Clubs: " + clubRepository.count());
-        System.out.println("Total Managers: " + managerRepository.count());
-        System.out.println("Total Players: " + playerRepository.count());
-        System.out.println("========================\n");
+        LOG.info("Database statistics:");
+        LeagueStats stats = statsRepository.getLeagueStats();
+        LOG.info("Total Clubs: " + stats.clubs());
+        LOG.info("Total Managers: " + stats.managers());
+        LOG.info("Total Players: " + stats.players());
+        StatementProfiler profiler = dbConnection.getPool().getProfiler();
+        if (profiler != null) {
+            profiler.printSummary();
+        }
+    }
+
+    /**
+     * The statement profile so far, one line per statement shape; says how to
+     * turn profiling on when it is off. Served at /profile by the metrics endpoint.
+     */
+    public String getStatementProfile() {
+        StatementProfiler profiler = dbConnection.getPool().getProfiler();
+        if (profiler == null) {
+            return "Statement profiling is off; start with -Dcoachsapp.db.profile=true\n";
+        }
+        return profiler.summary() + "\n";
     }
 
     /**
@@ -0,0 +1,108 @@
+package com.example.coachsapp.db;
+
+import com.example.coachsapp.util.Log;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Storage figures for monitoring and support: SQLite's page and freelist
+ * counts and row counts per table. Clubs, players and managers come from the
+ * trigger-maintained league_stats row; the other tables are counted.
+ */
+public class DiagnosticsRepository {
+
+    private static final Log LOG = Log.get(DiagnosticsRepository.class);
+
+    private static final List<String> COUNTED_TABLES = List.of(
+            "users", "game_plans", "transfer_requests", "registration_requests", "transfer_history");
+    private static final List<String> PRAGMAS = List.of(
+            "page_size", "page_count", "freelist_count", "journal_mode", "user_version");
+
+    /**
+     * Rows per table, keyed by table name.
+     */
+    public Map<String, Long> countRows() {
+        Map<String, Long> rows = new LinkedHashMap<>();
+        LeagueStats league = DatabaseService.getInstance().getStatsRepository().getLeagueStats();
+        rows.put("clubs", (long) league.clubs());
+        rows.put("players", (long) league.players());
+        rows.put("managers", (long) league.managers());
+        try (Connection connection = DatabaseConnection.getInstance().getReadConnection()) {
+            for (String table : COUNTED_TABLES) {
+                try (PreparedStatement pstmt = connection.prepareStatement("SELECT COUNT(*) FROM " + table);
+                     ResultSet rs = pstmt.executeQuery()) {
+                    rows.put(table, rs.next() ? rs.getLong(1) : 0);
+                }
+            }
+        } catch (SQLException e) {
+            LOG.error("✗ Error counting rows: " + e.getMessage());
+        }
+        return rows;
+    }
+
+    /**
+     * page_size, page_count, freelist_count, journal_mode and user_version.
+     */
+    public Map<String, String> readPragmas() {
+        Map<String, String> values = new LinkedHashMap<>();
+        try (Connection connection = DatabaseConnection.getInstance().getReadConnection()) {
+            for (String pragma : PRAGMAS) {
+                try (PreparedStatement pstmt = connection.prepareStatement("PRAGMA " + pragma);
+                     ResultSet rs = pstmt.executeQuery()) {
+                    values.put(pragma, rs.next() ? rs.getString(1) : "");
+                }
+            }
+        } catch (SQLException e) {
+            LOG.error("✗ Error reading database pragmas: " + e.getMessage());
+        }
+        return values;
+    }
+
+    /**
+     * Everything above plus pool, write queue and statement figures, as text.
+     */
+    public String dump() {
+        StringBuilder out = new StringBuilder();
+        out.append("Coaches App diagnostics, ").append(LocalDateTime.now()).append('\n');
+
+        Map<String, String> pragmas = readPragmas();
+        out.append("\nDatabase\n");
+        pragmas.forEach((name, value) -> out.append(String.format(Locale.ROOT, "  %-16s %s%n", name, value)));
+        try {
+            long pageSize = Long.parseLong(pragmas.getOrDefault("page_size", "0"));
+            long pages = Long.parseLong(pragmas.getOrDefault("page_count", "0"));
+            long free = Long.parseLong(pragmas.getOrDefault("freelist_count", "0"));
+            out.append(String.format(Locale.ROOT, "  %-16s %d bytes, %.1f%% free pages%n", "file size",
+                    pageSize * pages, pages == 0 ? 0 : 100.0 * free / pages));
+        } catch (NumberFormatException e) {
+            // A pragma could not be read; the lines above show which
+        }
+
+        out.append("\nRows\n");
+        countRows().forEach((table, count) -> out.append(String.format(Locale.ROOT, "  %-24s %d%n", table, count)));
+
+        DatabaseConnection connection = DatabaseConnection.getInstance();
+        ConnectionPool pool = connection.getPool();
+        out.append("\nConnection pool (").append(pool.getMode()).append(")\n  ").append(pool.getMetrics()).append('\n');
+        out.append(String.format(Locale.ROOT, "  statement cache hit ratio %.3f%n",
+                pool.getMetrics().getStatementHitRatio()));
+        WriteQueue queue = connection.getWriteQueue();
+        if (queue != null) {
+            out.append(String.format(Locale.ROOT, "\nWrite queue%n  writes=%d, failed=%d, commits=%d, avgBatch=%.2f%n",
+                    queue.getWrites(), queue.getFailedWrites(), queue.getCommits(), queue.getAverageBatchSize()));
+        }
+        StatementProfiler profiler = pool.getProfiler();
+        if (profiler != null) {
+            out.append("\nStatement profile\n").append(profiler.summary()).append('\n');
+        }
+        return out.toString();
+    }
+}
@@ -2,105 +2,99 @@ package com.example.coachsapp.db;
 
 import com.example.coachsapp.model.GamePlan;
 import com.example.coachsapp.model.Player;
+import com.example.coachsapp.util.Log;
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Repository for GamePlan database operations
  */
 public class GamePlanRepository {
 
+    private static final Log LOG = Log.get(GamePlanRepository.class);
+
+    /**
+     * How much of a game plan to load.
+     * FULL joins the six lineup players into the same query; LAZY loads only the
+     * plan row (name, IDs, timestamps) for list views, and {@link #hydrate} fills
+     * in the players later.
+     */
+    public enum Hydration { FULL, LAZY }
+
+    private static final String[] SLOT_ALIASES = {"gk", "d1", "d2", "m1", "m2", "fw"};
+    private static final String[] SLOT_COLUMNS = {"goalkeeper_id", "defender1_id", "defender2_id",
+                                                  "midfielder1_id", "midfielder2_id", "forward_id"};
+    private static final String SELECT_LAZY = "SELECT " + GamePlanRow.COLUMNS + " FROM game_plans gp";
+    private static final String SELECT_FULL = buildFullSelect();
+
     private PlayerRepository playerRepository;
 
     public GamePlanRepository() {
         this.playerRepository = new PlayerRepository();
-        createTable();
-    }
-
-    /**
-     * Create the game_plans table if it doesn't exist
-     */
-    public void createTable() {
-        Connection connection = DatabaseConnection.getInstance().getConnection();
-        String sql = "CREATE TABLE IF NOT EXISTS game_plans (" +
-                     "id INTEGER PRIMARY KEY AUTOINCREMENT, " +
-                     "manager_id INTEGER NOT NULL, " +
-                     "club_id INTEGER NOT NULL, " +
-                     "name TEXT NOT NULL, " +
-                     "goalkeeper_id INTEGER, " +
-                     "defender1_id INTEGER, " +
-                     "defender2_id INTEGER, " +
-                     "midfielder1_id INTEGER, " +
-                     "midfielder2_id INTEGER, " +
-                     "forward_id INTEGER, " +
-                     "created_at TEXT NOT NULL, " +
-                     "updated_at TEXT NOT NULL, " +
-                     "FOREIGN KEY (manager_id) REFERENCES managers(id) ON DELETE CASCADE, " +
-                     "FOREIGN KEY (club_id) REFERENCES clubs(id) ON DELETE CASCADE, " +
-                     "FOREIGN KEY (goalkeeper_id) REFERENCES players(id) ON DELETE SET NULL, " +
-                     "FOREIGN KEY (defender1_id) REFERENCES players(id) ON DELETE SET NULL, " +
-                     "FOREIGN KEY (defender2_id) REFERENCES players(id) ON DELETE SET NULL, " +
-                     "FOREIGN KEY (midfielder1_id) REFERENCES players(id) ON DELETE SET NULL, " +
-                     "FOREIGN KEY (midfielder2_id) REFERENCES players(id) ON DELETE SET NULL, " +
-                     "FOREIGN KEY (forward_id) REFERENCES players(id) ON DELETE SET NULL" +
-                     ")";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            pstmt.executeUpdate();
-            System.out.println("✓ game_plans table created/verified");
-        } catch (SQLException e) {
-            System.err.println("✗ Error creating game_plans table: " + e.getMessage());
-        }
     }
 
     /**
      * Save a new game plan or update existing one
      */
     public GamePlan save(GamePlan gamePlan) {
-        Connection connection = DatabaseConnection.getInstance().getConnection();
-        
         if (gamePlan.getId() == null) {
             // Insert new game plan
             String sql = "INSERT INTO game_plans (manager_id, club_id, name, goalkeeper_id, " +
                         "defender1_id, defender2_id, midfielder1_id, midfielder2_id, forward_id, " +
                         "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
-            try (PreparedStatement pstmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-                pstmt.setInt(1, gamePlan.getManagerId());
-                pstmt.setInt(2, gamePlan.getClubId());
-                pstmt.setString(3, gamePlan.getName());
-                setPlayerIds(pstmt, gamePlan);
-                pstmt.setString(10, LocalDateTime.now().toString());
-                pstmt.setString(11, LocalDateTime.now().toString());
+            try {
+                return DatabaseConnection.getInstance().write(connection -> {
+                    try (PreparedStatement pstmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                        pstmt.setInt(1, gamePlan.getManagerId());
+                        pstmt.setInt(2, gamePlan.getClubId());
+                        pstmt.setString(3, gamePlan.getName());
+                        setPlayerIds(pstmt, gamePlan);
+                        LocalDateTime now = LocalDateTime.now();
+                        Timestamps.set(pstmt, 10, now);
+                        Timestamps.set(pstmt, 11, now);
 
-                pstmt.executeUpdate();
-                ResultSet generatedKeys = pstmt.getGeneratedKeys();
-                if (generatedKeys.next()) {
-                    gamePlan.setId(generatedKeys.getInt(1));
-                    System.out.println("✓ Game plan saved: " + gamePlan.getName());
-                    return gamePlan;
-                }
+                        pstmt.executeUpdate();
+                        ResultSet generatedKeys = pstmt.getGeneratedKeys();
+                        if (generatedKeys.next()) {
+                            gamePlan.setId(generatedKeys.getInt(1));
+                            LOG.info("✓ Game plan saved: " + gamePlan.getName());
+                            return gamePlan;
+                        }
+                    }
+                    return null;
+                });
             } catch (SQLException e) {
-                System.err.println("✗ Error saving game plan: " + e.getMessage());
+                LOG.error("✗ Error saving game plan: " + e.getMessage());
             }
         } else {
             // Update existing game plan
             String sql = "UPDATE game_plans SET name = ?, goalkeeper_id = ?, defender1_id = ?, " +
                         "defender2_id = ?, midfielder1_id = ?, midfielder2_id = ?, forward_id = ?, " +
                         "updated_at = ? WHERE id = ?";
-            try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-                pstmt.setString(1, gamePlan.getName());
-                setPlayerIds(pstmt, gamePlan);
-                pstmt.setString(8, LocalDateTime.now().toString());
-                pstmt.setInt(9, gamePlan.getId());
+            try {
+                return DatabaseConnection.getInstance().write(connection -> {
+                    try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+                        pstmt.setString(1, gamePlan.getName());
+                        setPlayerIds(pstmt, gamePlan);
+                        Timestamps.set(pstmt, 8, LocalDateTime.now());
+                        pstmt.setInt(9, gamePlan.getId());
 
-                int rowsAffected = pstmt.executeUpdate();
-                if (rowsAffected > 0) {
-                    System.out.println("✓ Game plan updated: " + gamePlan.getName());
-                    return gamePlan;
-                }
+                        int rowsAffected = pstmt.executeUpdate();
+                        if (rowsAffected > 0) {
+                            LOG.info("✓ Game plan updated: " + gamePlan.getName());
+                            return gamePlan;
+                        }
+                    }
+                    return null;
+                });
             } catch (SQLException e) {
-                System.err.println("✗ Error updating game plan: " + e.getMessage());
+                LOG.error("✗ Error updating game plan: " + e.getMessage());
             }
         }
         return null;
@@ -135,17 +129,21 @@ public class GamePlanRepository {
      * Find game plan by ID with all player details
      */
     public GamePlan findById(int id) {
-        Connection connection = DatabaseConnection.getInstance().getConnection();
-        String sql = "SELECT * FROM game_plans WHERE id = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        return findById(id, Hydration.FULL);
+    }
+
+    public GamePlan findById(int id, Hydration hydration) {
+        String sql = selectFor(hydration) + " WHERE gp.id = ?";
+        try (Connection connection = DatabaseConnection.getInstance().getReadConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setInt(1, id);
             ResultSet rs = pstmt.executeQuery();
 
             if (rs.next()) {
-                return mapResultSetToGamePlan(rs);
+                return mapResultSetToGamePlan(rs, hydration);
             }
         } catch (SQLException e) {
-            System.err.println("✗ Error finding game plan: " + e.getMessage());
+            LOG.error("✗ Error finding game plan: " + e.getMessage());
         }
         return null;
     }
@@ -154,38 +152,73 @@ public class GamePlanRepository {
      * Find all game plans for a specific manager
      */
     public List<GamePlan> findByManagerId(int managerId) {
-        Connection connection = DatabaseConnection.getInstance().getConnection();
-        List<GamePlan> gamePlans = new ArrayList<>();
-        String sql = "SELECT * FROM game_plans WHERE manager_id = ? ORDER BY updated_at DESC";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            pstmt.setInt(1, managerId);
-            ResultSet rs = pstmt.executeQuery();
+        return findByManagerId(managerId, Hydration.FULL);
+    }
 
-            while (rs.next()) {
-                gamePlans.add(mapResultSetToGamePlan(rs));
-            }
-        } catch (SQLException e) {
-            System.err.println("✗ Error retrieving game plans: " + e.getMessage());
-        }
-        return gamePlans;
+    public List<GamePlan> findByManagerId(int managerId, Hydration hydration) {
+        String sql = selectFor(hydration) + " WHERE gp.manager_id = ? ORDER BY gp.updated_at DESC";
+        return findAll(sql, managerId, hydration);
     }
 
     /**
      * Find all game plans for a specific club
      */
     public List<GamePlan> findByClubId(int clubId) {
-        Connection connection = DatabaseConnection.getInstance().getConnection();
+        return findByClubId(clubId, Hydration.FULL);
+    }
+
+    public List<GamePlan> findByClubId(int clubId, Hydration hydration) {
+        String sql = selectFor(hydration) + " WHERE gp.club_id = ? ORDER BY gp.updated_at DESC";
+        return findAll(sql, clubId, hydration);
+    }
+
+    /**
+     * Load the players of lazily loaded game plans with a single IN (...) query
+     * across all of them. Plans whose players are already loaded are skipped.
+     */
+    public void hydrate(List<GamePlan> gamePlans) {
+        Set<Integer> ids = new LinkedHashSet<>();
+        List<GamePlan> pending = new ArrayList<>();
+        for (GamePlan gamePlan : gamePlans) {
+            if (isHydrated(gamePlan)) {
+                continue;
+            }
+            pending.add(gamePlan);
+            for (Integer id : playerIds(gamePlan)) {
+                if (id != null) ids.add(id);
+            }
+        }
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        Map<Integer, Player> players = playerRepository.findByIds(ids);
+        for (GamePlan gamePlan : pending) {
+            if (gamePlan.getGoalkeeperId() != null) gamePlan.setGoalkeeper(players.get(gamePlan.getGoalkeeperId()));
+            if (gamePlan.getDefender1Id() != null) gamePlan.setDefender1(players.get(gamePlan.getDefender1Id()));
+            if (gamePlan.getDefender2Id() != null) gamePlan.setDefender2(players.get(gamePlan.getDefender2Id()));
+            if (gamePlan.getMidfielder1Id() != null) gamePlan.setMidfielder1(players.get(gamePlan.getMidfielder1Id()));
+            if (gamePlan.getMidfielder2Id() != null) gamePlan.setMidfielder2(players.get(gamePlan.getMidfielder2Id()));
+            if (gamePlan.getForwardId() != null) gamePlan.setForward(players.get(gamePlan.getForwardId()));
+        }
+    }
+
+    public void hydrate(GamePlan gamePlan) {
+        hydrate(List.of(gamePlan));
+    }
+
+    private List<GamePlan> findAll(String sql, int key, Hydration hydration) {
         List<GamePlan> gamePlans = new ArrayList<>();
-        String sql = "SELECT * FROM game_plans WHERE club_id = ? ORDER BY updated_at DESC";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            pstmt.setInt(1, clubId);
+        try (Connection connection = DatabaseConnection.getInstance().getReadConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setInt(1, key);
             ResultSet rs = pstmt.executeQuery();
 
             while (rs.next()) {
-                gamePlans.add(mapResultSetToGamePlan(rs));
+                gamePlans.add(mapResultSetToGamePlan(rs, hydration));
             }
         } catch (SQLException e) {
-            System.err.println("✗ Error retrieving game plans: " + e.getMessage());
+            LOG.error("✗ Error retrieving game plans: " + e.getMessage());
         }
         return gamePlans;
     }
@@ -194,68 +227,73 @@ public class GamePlanRepository {
      * Delete a game plan by ID
      */
     public boolean delete(int id) {
-        Connection connection = DatabaseConnection.getInstance().getConnection();
         String sql = "DELETE FROM game_plans WHERE id = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            pstmt.setInt(1, id);
-            int rowsAffected = pstmt.executeUpdate();
-            if (rowsAffected > 0) {
-                System.out.println("✓ Game plan deleted (ID: " + id + ")");
-                return true;
-            }
+        try {
+            return DatabaseConnection.getInstance().write(connection -> {
+                try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+                    pstmt.setInt(1, id);
+                    int rowsAffected = pstmt.executeUpdate();
+                    if (rowsAffected > 0) {
+                        LOG.info("✓ Game plan deleted (ID: " + id + ")");
+                        return true;
+                    }
+                }
+                return false;
+            });
         } catch (SQLException e) {
-            System.err.println("✗ Error deleting game plan: " + e.getMessage());
+            LOG.error("✗ Error deleting game plan: " + e.getMessage());
         }
         return false;
     }
 
     /**
-     * Map ResultSet to GamePlan object
+     * Map ResultSet to GamePlan object. FULL rows carry the six joined players after the plan's columns.
      */
-    private GamePlan mapResultSetToGamePlan(ResultSet rs) throws SQLException {
-        GamePlan gamePlan = new GamePlan();
-        gamePlan.setId(rs.getInt("id"));
-        gamePlan.setManagerId(rs.getInt("manager_id"));
-        gamePlan.setClubId(rs.getInt("club_id"));
-        gamePlan.setName(rs.getString("name"));
-
-        // Load player IDs
-        Integer gkId = getIntOrNull(rs, "goalkeeper_id");
-        Integer def1Id = getIntOrNull(rs, "defender1_id");
-        Integer def2Id = getIntOrNull(rs, "defender2_id");
-        Integer mid1Id = getIntOrNull(rs, "midfielder1_id");
-        Integer mid2Id = getIntOrNull(rs, "midfielder2_id");
-        Integer fwdId = getIntOrNull(rs, "forward_id");
-
-        gamePlan.setGoalkeeperId(gkId);
-        gamePlan.setDefender1Id(def1Id);
-        gamePlan.setDefender2Id(def2Id);
-        gamePlan.setMidfielder1Id(mid1Id);
-        gamePlan.setMidfielder2Id(mid2Id);
-        gamePlan.setForwardId(fwdId);
-
-        // Load actual player objects
-        if (gkId != null) gamePlan.setGoalkeeper(playerRepository.findById(gkId));
-        if (def1Id != null) gamePlan.setDefender1(playerRepository.findById(def1Id));
-        if (def2Id != null) gamePlan.setDefender2(playerRepository.findById(def2Id));
-        if (mid1Id != null) gamePlan.setMidfielder1(playerRepository.findById(mid1Id));
-        if (mid2Id != null) gamePlan.setMidfielder2(playerRepository.findById(mid2Id));
-        if (fwdId != null) gamePlan.setForward(playerRepository.findById(fwdId));
-
-        // Parse timestamps
-        String createdAt = rs.getString("created_at");
-        String updatedAt = rs.getString("updated_at");
-        if (createdAt != null) gamePlan.setCreatedAt(LocalDateTime.parse(createdAt));
-        if (updatedAt != null) gamePlan.setUpdatedAt(LocalDateTime.parse(updatedAt));
-
+    private GamePlan mapResultSetToGamePlan(ResultSet rs, Hydration hydration) throws SQLException {
+        GamePlan gamePlan = GamePlanRow.read(rs).toGamePlan();
+        if (hydration == Hydration.FULL) {
+            int first = GamePlanRow.WIDTH + 1;
+            gamePlan.setGoalkeeper(PlayerRow.readPlayer(rs, first));
+            gamePlan.setDefender1(PlayerRow.readPlayer(rs, first + PlayerRow.WIDTH));
+            gamePlan.setDefender2(PlayerRow.readPlayer(rs, first + 2 * PlayerRow.WIDTH));
+            gamePlan.setMidfielder1(PlayerRow.readPlayer(rs, first + 3 * PlayerRow.WIDTH));
+            gamePlan.setMidfielder2(PlayerRow.readPlayer(rs, first + 4 * PlayerRow.WIDTH));
+            gamePlan.setForward(PlayerRow.readPlayer(rs, first + 5 * PlayerRow.WIDTH));
+        }
         return gamePlan;
     }
 
+    private static String selectFor(Hydration hydration) {
+        return hydration == Hydration.FULL ? SELECT_FULL : SELECT_LAZY;
+    }
+
     /**
-     * Helper method to get Integer or null from ResultSet
+     * SELECT over game_plans with one LEFT JOIN per lineup slot; each slot's
+     * player columns follow the plan's, in slot order.
      */
-    private Integer getIntOrNull(ResultSet rs, String columnName) throws SQLException {
-        int value = rs.getInt(columnName);
-        return rs.wasNull() ? null : value;
+    private static String buildFullSelect() {
+        StringBuilder columns = new StringBuilder("SELECT ").append(GamePlanRow.COLUMNS);
+        StringBuilder joins = new StringBuilder(" FROM game_plans gp");
+        for (int i = 0; i < SLOT_ALIASES.length; i++) {
+            String alias = SLOT_ALIASES[i];
+            columns.append(", ").append(PlayerRow.columns(alias));
+            joins.append(" LEFT JOIN players ").append(alias)
+                 .append(" ON ").append(alias).append(".id = gp.").append(SLOT_COLUMNS[i]);
+        }
+        return columns.append(joins).toString();
+    }
+
+    private static boolean isHydrated(GamePlan gamePlan) {
+        return (gamePlan.getGoalkeeperId() == null || gamePlan.getGoalkeeper() != null)
+            && (gamePlan.getDefender1Id() == null || gamePlan.getDefender1() != null)
+            && (gamePlan.getDefender2Id() == null || gamePlan.getDefender2() != null)
+            && (gamePlan.getMidfielder1Id() == null || gamePlan.getMidfielder1() != null)
+            && (gamePlan.getMidfielder2Id() == null || gamePlan.getMidfielder2() != null)
+            && (gamePlan.getForwardId() == null || gamePlan.getForward() != null);
+    }
+
+    private static List<Integer> playerIds(GamePlan gamePlan) {
+        return Arrays.asList(gamePlan.getGoalkeeperId(), gamePlan.getDefender1Id(), gamePlan.getDefender2Id(),
+                gamePlan.getMidfielder1Id(), gamePlan.getMidfielder2Id(), gamePlan.getForwardId());
     }
 }
@@ -0,0 +1,53 @@
+package com.example.coachsapp.db;
+
+import com.example.coachsapp.model.GamePlan;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+/**
+ * A game_plans row: the plan and its six lineup player ids, without the players.
+ */
+record GamePlanRow(int id, int managerId, int clubId, String name, Integer goalkeeperId, Integer defender1Id,
+                   Integer defender2Id, Integer midfielder1Id, Integer midfielder2Id, Integer forwardId,
+                   LocalDateTime createdAt, LocalDateTime updatedAt) {
+
+    private static final String[] NAMES = {"id", "manager_id", "club_id", "name", "goalkeeper_id", "defender1_id",
+                                           "defender2_id", "midfielder1_id", "midfielder2_id", "forward_id",
+                                           "created_at", "updated_at"};
+    static final String COLUMNS = Rows.columns("gp", NAMES);
+    static final int WIDTH = NAMES.length;
+
+    static GamePlanRow read(ResultSet rs) throws SQLException {
+        return new GamePlanRow(rs.getInt(1),
+                rs.getInt(2),
+                rs.getInt(3),
+                rs.getString(4),
+                Rows.getInteger(rs, 5),
+                Rows.getInteger(rs, 6),
+                Rows.getInteger(rs, 7),
+                Rows.getInteger(rs, 8),
+                Rows.getInteger(rs, 9),
+                Rows.getInteger(rs, 10),
+                Timestamps.get(rs, 11),
+                Timestamps.get(rs, 12));
+    }
+
+    GamePlan toGamePlan() {
+        GamePlan gamePlan = new GamePlan();
+        gamePlan.setId(id);
+        gamePlan.setManagerId(managerId);
+        gamePlan.setClubId(clubId);
+        gamePlan.setName(name);
+        gamePlan.setGoalkeeperId(goalkeeperId);
+        gamePlan.setDefender1Id(defender1Id);
+        gamePlan.setDefender2Id(defender2Id);
+        gamePlan.setMidfielder1Id(midfielder1Id);
+        gamePlan.setMidfielder2Id(midfielder2Id);
+        gamePlan.setForwardId(forwardId);
+        gamePlan.setCreatedAt(createdAt);
+        gamePlan.setUpdatedAt(updatedAt);
+        return gamePlan;
+    }
+}
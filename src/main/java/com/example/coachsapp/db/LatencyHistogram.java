@@ -0,0 +1,92 @@
+package com.example.coachsapp.db;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-size latency histogram in the style of HdrHistogram.
+ * Values in microseconds fall into power-of-two ranges, each split into 32
+ * linear sub-buckets, so a percentile is off by at most 1/32 of its value and
+ * memory stays the same however many values are recorded. Recording is
+ * lock-free and safe from any thread.
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // Range 0 holds 0-31us one per bucket; range r holds [2^(r+4), 2^(r+5)). The last ends past 19 hours.
+    private static final int RANGES = 33;
+
+    private final AtomicLongArray counts = new AtomicLongArray(RANGES * SUB_BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalMicros = new LongAdder();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    void record(long nanos) {
+        long micros = Math.max(0, nanos / 1_000);
+        counts.incrementAndGet(indexOf(micros));
+        count.increment();
+        totalMicros.add(micros);
+        maxMicros.accumulateAndGet(micros, Math::max);
+    }
+
+    long getCount() {
+        return count.sum();
+    }
+
+    double getTotalMillis() {
+        return totalMicros.sum() / 1_000.0;
+    }
+
+    double getMeanMillis() {
+        long n = count.sum();
+        return n == 0 ? 0 : totalMicros.sum() / 1_000.0 / n;
+    }
+
+    double getMaxMillis() {
+        return maxMicros.get() / 1_000.0;
+    }
+
+    /**
+     * The latency at or below which the given percentage of recordings fall,
+     * reported as the top of its bucket like HdrHistogram does.
+     */
+    double getPercentileMillis(double percentile) {
+        long n = count.sum();
+        if (n == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(percentile / 100.0 * n));
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return Math.min(highestEquivalent(i), maxMicros.get()) / 1_000.0;
+            }
+        }
+        return getMaxMillis();
+    }
+
+    private static int indexOf(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) micros;
+        }
+        int topBit = 63 - Long.numberOfLeadingZeros(micros);
+        int range = topBit - SUB_BUCKET_BITS + 1;
+        if (range >= RANGES) {
+            return RANGES * SUB_BUCKETS - 1;
+        }
+        int subBucket = (int) (micros >>> (range - 1)) - SUB_BUCKETS;
+        return range * SUB_BUCKETS + subBucket;
+    }
+
+    private static long highestEquivalent(int index) {
+        int range = index / SUB_BUCKETS;
+        int subBucket = index % SUB_BUCKETS;
+        if (range == 0) {
+            return subBucket;
+        }
+        return ((long) (SUB_BUCKETS + subBucket + 1) << (range - 1)) - 1;
+    }
+}
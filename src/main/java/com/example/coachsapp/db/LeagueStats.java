@@ -0,0 +1,8 @@
+package com.example.coachsapp.db;
+
+/**
+ * The league-wide counters from league_stats.
+ */
+public record LeagueStats(int clubs, int players, int managers, int injured, int pendingRegistrations,
+                          int transfersInMarket, int transfersCompleted) {
+}
@@ -0,0 +1,51 @@
+package com.example.coachsapp.db;
+
+/**
+ * Filters for {@link ManagerRepository#find}.
+ */
+public class ManagerCriteria extends Criteria<ManagerCriteria> {
+
+    public enum Sort {
+        NAME("m.name"), AGE("m.age"), CLUB("c.name");
+
+        private final String column;
+
+        Sort(String column) {
+            this.column = column;
+        }
+    }
+
+    public ManagerCriteria() {
+        super("m.name, m.id");
+    }
+
+    @Override
+    ManagerCriteria self() {
+        return this;
+    }
+
+    public ManagerCriteria club(Integer clubId) {
+        return clubId == null ? this : where("m.club_id = ?", clubId);
+    }
+
+    /**
+     * Age within the bounds, inclusive. Either bound may be null.
+     */
+    public ManagerCriteria ageBetween(Integer min, Integer max) {
+        if (min != null) {
+            where("m.age >= ?", min);
+        }
+        return max == null ? this : where("m.age <= ?", max);
+    }
+
+    /**
+     * Name containing the text, ignoring case.
+     */
+    public ManagerCriteria text(String text) {
+        return isBlank(text) ? this : where("m.name LIKE ? ESCAPE '\\'", contains(text.strip()));
+    }
+
+    public ManagerCriteria sortBy(Sort sort, boolean descending) {
+        return orderBy(sort.column, descending, "m.id");
+    }
+}
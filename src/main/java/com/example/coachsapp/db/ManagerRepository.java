@@ -2,6 +2,7 @@ package com.example.coachsapp.db;
 
 import com.example.coachsapp.model.Manager;
 import com.example.coachsapp.model.Club;
+import com.example.coachsapp.util.Log;
 import java.sql.*;
 import java.sql.Types;
 import java.util.ArrayList;
@@ -13,6 +14,8 @@ import java.util.List;
  */
 public class ManagerRepository {
 
+    private static final Log LOG = Log.get(ManagerRepository.class);
+
     private ClubRepository clubRepository;
 
     public ManagerRepository() {
@@ -24,7 +27,7 @@ public class ManagerRepository {
      */
     public Manager save(Manager manager) {
         if (manager.getName() == null || manager.getName().isEmpty()) {
-            System.err.println("✗ Manager name cannot be null or empty");
+            LOG.error("✗ Manager name cannot be null or empty");
             return null;
         }
 
@@ -39,25 +42,33 @@ public class ManagerRepository {
         }
 
         String sql = "INSERT INTO managers (name, age, club_id) VALUES (?, ?, ?)";
-        Connection connection = DatabaseConnection.getInstance().getConnection();
-        try (PreparedStatement pstmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            pstmt.setString(1, manager.getName());
-            if (manager.getAge() != null) {
-                pstmt.setInt(2, manager.getAge());
-            } else {
-                pstmt.setNull(2, Types.INTEGER);
-            }
-            pstmt.setInt(3, club.getId());
-            pstmt.executeUpdate();
-
-            ResultSet generatedKeys = pstmt.getGeneratedKeys();
-            if (generatedKeys.next()) {
-                manager.setId(generatedKeys.getInt(1));
-                System.out.println("✓ Manager saved: " + manager.getName() + " @ " + club.getClubName() + " (ID: " + manager.getId() + ")");
-                return manager;
+        try {
+            Manager saved = DatabaseConnection.getInstance().write(connection -> {
+                try (PreparedStatement pstmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                    pstmt.setString(1, manager.getName());
+                    if (manager.getAge() != null) {
+                        pstmt.setInt(2, manager.getAge());
+                    } else {
+                        pstmt.setNull(2, Types.INTEGER);
+                    }
+                    pstmt.setInt(3, club.getId());
+                    pstmt.executeUpdate();
+
+                    ResultSet generatedKeys = pstmt.getGeneratedKeys();
+                    if (generatedKeys.next()) {
+                        manager.setId(generatedKeys.getInt(1));
+                        LOG.info("✓ Manager saved: " + manager.getName() + " @ " + club.getClubName() + " (ID: " + manager.getId() + ")");
+                        return manager;
+                    }
+                }
+                return null;
+            });
+            if (saved != null) {
+                ChangeBus.getInstance().publish(ChangeEvent.inserted(Manager.class, saved.getId(), saved));
             }
+            return saved;
         } catch (SQLException e) {
-            System.err.println("✗ Error saving manager: " + e.getMessage());
+            LOG.error("✗ Error saving manager: " + e.getMessage());
         }
         return null;
     }
@@ -68,24 +79,16 @@ public class ManagerRepository {
     public Manager findById(int id) {
         String sql = "SELECT m.id, m.name, m.age, m.club_id, c.name as club_name FROM managers m " +
                      "JOIN clubs c ON m.club_id = c.id WHERE m.id = ?";
-        Connection connection = DatabaseConnection.getInstance().getConnection();
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = DatabaseConnection.getInstance().getReadConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setInt(1, id);
             ResultSet rs = pstmt.executeQuery();
 
             if (rs.next()) {
-                Club club = new Club(rs.getString("club_name"));
-                club.setId(rs.getInt("club_id"));
-                Manager manager = new Manager(rs.getString("name"), club);
-                manager.setId(rs.getInt("id"));
-                int age = rs.getInt("age");
-                if (!rs.wasNull()) {
-                    manager.setAge(age);
-                }
-                return manager;
+                return mapResultSetToManager(rs);
             }
         } catch (SQLException e) {
-            System.err.println("✗ Error finding manager: " + e.getMessage());
+            LOG.error("✗ Error finding manager: " + e.getMessage());
         }
         return null;
     }
@@ -97,23 +100,55 @@ public class ManagerRepository {
         List<Manager> managers = new ArrayList<>();
         String sql = "SELECT m.id, m.name, m.age, m.club_id, c.name as club_name FROM managers m " +
                      "JOIN clubs c ON m.club_id = c.id ORDER BY m.name";
-        Connection connection = DatabaseConnection.getInstance().getConnection();
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = DatabaseConnection.getInstance().getReadConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             ResultSet rs = pstmt.executeQuery();
 
             while (rs.next()) {
-                Club club = new Club(rs.getString("club_name"));
-                club.setId(rs.getInt("club_id"));
-                Manager manager = new Manager(rs.getString("name"), club);
-                manager.setId(rs.getInt("id"));
-                int age = rs.getInt("age");
-                if (!rs.wasNull()) {
-                    manager.setAge(age);
-                }
-                managers.add(manager);
+                managers.add(mapResultSetToManager(rs));
+            }
+        } catch (SQLException e) {
+            LOG.error("✗ Error retrieving managers: " + e.getMessage());
+        }
+        return managers;
+    }
+
+    /**
+     * One page of all managers by name; pass null for the first page.
+     */
+    public Page<Manager> findPage(Page.Cursor after, int size) throws SQLException {
+        List<Manager> managers = new ArrayList<>();
+        String sql = Page.seek("SELECT m.id, m.name, m.age, m.club_id, c.name as club_name FROM managers m " +
+                               "JOIN clubs c ON m.club_id = c.id", "m.name", "m.id", false, after);
+        try (Connection connection = DatabaseConnection.getInstance().getReadConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            Page.bind(pstmt, after, size);
+            ResultSet rs = pstmt.executeQuery();
+
+            while (rs.next()) {
+                managers.add(mapResultSetToManager(rs));
+            }
+        }
+        return Page.of(managers, size, m -> new Page.Cursor(m.getName(), m.getId()));
+    }
+
+    /**
+     * Managers matching the criteria, filtered and sorted by SQLite in one query.
+     */
+    public List<Manager> find(ManagerCriteria criteria) {
+        List<Manager> managers = new ArrayList<>();
+        String sql = criteria.toSql("SELECT m.id, m.name, m.age, m.club_id, c.name as club_name FROM managers m " +
+                                    "JOIN clubs c ON m.club_id = c.id");
+        try (Connection connection = DatabaseConnection.getInstance().getReadConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            criteria.bind(pstmt);
+            ResultSet rs = pstmt.executeQuery();
+
+            while (rs.next()) {
+                managers.add(mapResultSetToManager(rs));
             }
         } catch (SQLException e) {
-            System.err.println("✗ Error retrieving managers: " + e.getMessage());
+            LOG.error("✗ Error finding managers: " + e.getMessage());
         }
         return managers;
     }
@@ -123,18 +158,26 @@ public class ManagerRepository {
      */
     public boolean update(Manager manager) {
         String sql = "UPDATE managers SET name = ?, club_id = ? WHERE id = ?";
-        Connection connection = DatabaseConnection.getInstance().getConnection();
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            pstmt.setString(1, manager.getName());
-            pstmt.setInt(2, manager.getClub().getId());
-            pstmt.setInt(3, manager.getId());
-            int affectedRows = pstmt.executeUpdate();
-            if (affectedRows > 0) {
-                System.out.println("✓ Manager updated: " + manager.getName());
-                return true;
+        try {
+            boolean updated = DatabaseConnection.getInstance().write(connection -> {
+                try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+                    pstmt.setString(1, manager.getName());
+                    pstmt.setInt(2, manager.getClub().getId());
+                    pstmt.setInt(3, manager.getId());
+                    int affectedRows = pstmt.executeUpdate();
+                    if (affectedRows > 0) {
+                        LOG.info("✓ Manager updated: " + manager.getName());
+                        return true;
+                    }
+                }
+                return false;
+            });
+            if (updated) {
+                ChangeBus.getInstance().publish(ChangeEvent.updated(Manager.class, manager.getId(), manager));
             }
+            return updated;
         } catch (SQLException e) {
-            System.err.println("✗ Error updating manager: " + e.getMessage());
+            LOG.error("✗ Error updating manager: " + e.getMessage());
         }
         return false;
     }
@@ -143,17 +186,25 @@ public class ManagerRepository {
      * Delete manager by ID
      */
     public boolean delete(int id) {
-        String sql = "DELETE FROM managerss WHERE id = ?";
-        Connection connection = DatabaseConnection.getInstance().getConnection();
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            pstmt.setInt(1, id);
-            int affectedRows = pstmt.executeUpdate();
-            if (affectedRows > 0) {
-                System.out.println("✓ Manager deleted (ID: " + id + ")");
-                return true;
+        String sql = "DELETE FROM managers WHERE id = ?";
+        try {
+            boolean deleted = DatabaseConnection.getInstance().write(connection -> {
+                try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+                    pstmt.setInt(1, id);
+                    int affectedRows = pstmt.executeUpdate();
+                    if (affectedRows > 0) {
+                        LOG.info("✓ Manager deleted (ID: " + id + ")");
+                        return true;
+                    }
+                }
+                return false;
+            });
+            if (deleted) {
+                ChangeBus.getInstance().publish(ChangeEvent.deleted(Manager.class, id));
             }
+            return deleted;
         } catch (SQLException e) {
-            System.err.println("✗ Error deleting manager: " + e.getMessage());
+            LOG.error("✗ Error deleting manager: " + e.getMessage());
         }
         return false;
     }
@@ -163,16 +214,30 @@ public class ManagerRepository {
      */
     public int count() {
         String sql = "SELECT COUNT(*) FROM managers";
-        Connection connection = DatabaseConnection.getInstance().getConnection();
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = DatabaseConnection.getInstance().getReadConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             ResultSet rs = pstmt.executeQuery();
             if (rs.next()) {
                 return rs.getInt(1);
             }
         } catch (SQLException e) {
-            System.err.println("✗ Error counting managers: " + e.getMessage());
+            LOG.error("✗ Error counting managers: " + e.getMessage());
         }
         return 0;
     }
-}
 
+    /**
+     * Map a manager row joined with its club's name
+     */
+    private Manager mapResultSetToManager(ResultSet rs) throws SQLException {
+        Club club = new Club(rs.getString("club_name"));
+        club.setId(rs.getInt("club_id"));
+        Manager manager = new Manager(rs.getString("name"), club);
+        manager.setId(rs.getInt("id"));
+        int age = rs.getInt("age");
+        if (!rs.wasNull()) {
+            manager.setAge(age);
+        }
+        return manager;
+    }
+}
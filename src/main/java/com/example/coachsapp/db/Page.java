@@ -0,0 +1,68 @@
+package com.example.coachsapp.db;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated list.
+ * The next page is sought from the last row's (sort key, id) instead of skipped
+ * to with OFFSET, so with an index on the sort key every page costs the same no
+ * matter how deep it is. Pass {@link #next()} back to the same findPage method
+ * for the following page; it is null on the last page. Unlike the list methods,
+ * findPage throws SQLException when the query fails, so a failure is never taken
+ * for the end of the list.
+ */
+public record Page<T>(List<T> items, Page.Cursor next) {
+
+    public static final int DEFAULT_SIZE = 100;
+
+    /**
+     * Where a page ends: the sort key and id of its last row.
+     */
+    public record Cursor(Object key, int id) {
+    }
+
+    public boolean hasMore() {
+        return next != null;
+    }
+
+    /**
+     * The page query: the select, then a seek past the cursor if there is one, then
+     * ORDER BY sort key and id in the same direction, fetching one row more than
+     * the page so the page knows whether another follows.
+     */
+    static String seek(String select, String keyColumn, String idColumn, boolean descending, Cursor after) {
+        String direction = descending ? " DESC" : "";
+        StringBuilder sql = new StringBuilder(select);
+        if (after != null) {
+            sql.append(" WHERE (").append(keyColumn).append(", ").append(idColumn).append(")")
+               .append(descending ? " < " : " > ").append("(?, ?)");
+        }
+        sql.append(" ORDER BY ").append(keyColumn).append(direction).append(", ").append(idColumn).append(direction)
+           .append(" LIMIT ?");
+        return sql.toString();
+    }
+
+    static void bind(PreparedStatement pstmt, Cursor after, int size) throws SQLException {
+        int index = 1;
+        if (after != null) {
+            pstmt.setObject(index++, after.key());
+            pstmt.setInt(index++, after.id());
+        }
+        pstmt.setInt(index, size + 1);
+    }
+
+    /**
+     * Cut the rows read by a {@link #seek} query down to the page.
+     */
+    static <T> Page<T> of(List<T> rows, int size, Function<T, Cursor> cursorOf) {
+        if (rows.size() <= size) {
+            return new Page<>(rows, null);
+        }
+        List<T> items = new ArrayList<>(rows.subList(0, size));
+        return new Page<>(items, cursorOf.apply(items.get(size - 1)));
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.coachsapp.db;
+
+import com.example.coachsapp.model.Position;
+
+/**
+ * Filters for {@link PlayerRepository#find}.
+ */
+public class PlayerCriteria extends Criteria<PlayerCriteria> {
+
+    public enum Sort {
+        NAME("p.name"), AGE("p.age"), JERSEY("p.jersey_number");
+
+        private final String column;
+
+        Sort(String column) {
+            this.column = column;
+        }
+    }
+
+    public PlayerCriteria() {
+        super("p.name, p.id");
+    }
+
+    @Override
+    PlayerCriteria self() {
+        return this;
+    }
+
+    public PlayerCriteria club(Integer clubId) {
+        return clubId == null ? this : where("p.club_id = ?", clubId);
+    }
+
+    public PlayerCriteria position(Position position) {
+        return position == null ? this : where("p.position = ?", position.getCode());
+    }
+
+    public PlayerCriteria injured(Boolean injured) {
+        return injured == null ? this : where("p.injured = ?", injured);
+    }
+
+    /**
+     * Age within the bounds, inclusive. Either bound may be null.
+     */
+    public PlayerCriteria ageBetween(Integer min, Integer max) {
+        if (min != null) {
+            where("p.age >= ?", min);
+        }
+        return max == null ? this : where("p.age <= ?", max);
+    }
+
+    /**
+     * Name containing the text, ignoring case.
+     */
+    public PlayerCriteria text(String text) {
+        return isBlank(text) ? this : where("p.name LIKE ? ESCAPE '\\'", contains(text.strip()));
+    }
+
+    public PlayerCriteria sortBy(Sort sort, boolean descending) {
+        return orderBy(sort.column, descending, "p.id");
+    }
+}
@@ -3,9 +3,17 @@ package com.example.coachsapp.db;
 import com.example.coachsapp.model.Player;
 import com.example.coachsapp.model.Position;
 import com.example.coachsapp.model.Club;
+import com.example.coachsapp.util.Log;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Data Access Object (DAO) for Player operations
@@ -13,6 +21,10 @@ import java.util.List;
  */
 public class PlayerRepository {
 
+    private static final Log LOG = Log.get(PlayerRepository.class);
+
+    private static final String SELECT = "SELECT " + PlayerRow.columns("p") + " FROM players p";
+
     private ClubRepository clubRepository;
 
     public PlayerRepository() {
@@ -23,53 +35,107 @@ public class PlayerRepository {
      * Save a new player to database
      */
     public Player save(Player player) {
-        Connection connection = DatabaseConnection.getInstance().getConnection();
         if (player.getName() == null || player.getName().isEmpty()) {
-            System.err.println("✗ Player name cannot be null or empty");
+            LOG.error("✗ Player name cannot be null or empty");
             return null;
         }
 
         String sql = "INSERT INTO players (name, age, jersey_number, position, injured, club_id, club_view) " +
                      "VALUES (?, ?, ?, ?, ?, ?, ?)";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            pstmt.setString(1, player.getName());
-            pstmt.setInt(2, player.getAge());
-            pstmt.setInt(3, player.getJersey());
-            pstmt.setString(4, player.getPosition().toString());
-            pstmt.setBoolean(5, player.isInjured());
-            pstmt.setObject(6, player.getClubId(), Types.INTEGER);
-
-            // Determine club_view snapshot
-            String clubView = null;
-            if (player.getClubId() != null) {
-                Club c = clubRepository.findById(player.getClubId());
-                if (c != null) clubView = c.getClubName();
-            }
-            pstmt.setString(7, clubView);
+        try {
+            Player saved = DatabaseConnection.getInstance().write(connection -> {
+                try (PreparedStatement pstmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                    pstmt.setString(1, player.getName());
+                    pstmt.setInt(2, player.getAge());
+                    pstmt.setInt(3, player.getJersey());
+                    pstmt.setInt(4, player.getPosition().getCode());
+                    pstmt.setBoolean(5, player.isInjured());
+                    pstmt.setObject(6, player.getClubId(), Types.INTEGER);
+
+                    // Determine club_view snapshot
+                    String clubView = null;
+                    if (player.getClubId() != null) {
+                        Club c = clubRepository.findById(player.getClubId());
+                        if (c != null) clubView = c.getClubName();
+                    }
+                    pstmt.setString(7, clubView);
 
-            pstmt.executeUpdate();
+                    pstmt.executeUpdate();
 
-            ResultSet generatedKeys = pstmt.getGeneratedKeys();
-            if (generatedKeys.next()) {
-                player.setId(generatedKeys.getInt(1));
-                player.setClubView(clubView);
-                System.out.println("✓ Player saved: " + player.getName() + " - #" + player.getJersey() +
-                                 " (" + player.getPosition() + ") (ID: " + player.getId() + ")");
-                return player;
+                    ResultSet generatedKeys = pstmt.getGeneratedKeys();
+                    if (generatedKeys.next()) {
+                        player.setId(generatedKeys.getInt(1));
+                        player.setClubView(clubView);
+                        LOG.info("✓ Player saved: " + player.getName() + " - #" + player.getJersey() +
+                                         " (" + player.getPosition() + ") (ID: " + player.getId() + ")");
+                        return player;
+                    }
+                }
+                return null;
+            });
+            if (saved != null) {
+                ChangeBus.getInstance().publish(ChangeEvent.inserted(Player.class, saved.getId(), saved));
             }
+            return saved;
         } catch (SQLException e) {
-            System.err.println("✗ Error saving player: " + e.getMessage());
+            LOG.error("✗ Error saving player: " + e.getMessage());
         }
         return null;
     }
 
+    /**
+     * Insert many players in one transaction with JDBC batching.
+     * Club names for club_view are looked up once for the whole batch. Returns the
+     * players with their generated ids set, or an empty list if nothing was saved.
+     */
+    public List<Player> saveAll(List<Player> players) {
+        if (players.isEmpty()) {
+            return players;
+        }
+        for (Player player : players) {
+            if (player.getName() == null || player.getName().isEmpty()) {
+                LOG.error("✗ Player name cannot be null or empty; batch not saved");
+                return Collections.emptyList();
+            }
+        }
+
+        String sql = "INSERT INTO players (name, age, jersey_number, position, injured, club_id, club_view) " +
+                     "VALUES (?, ?, ?, ?, ?, ?, ?)";
+        try {
+            List<Player> saved = DatabaseConnection.getInstance().writeInTransaction(connection -> {
+                Map<Integer, String> clubNames = findClubNames(connection, players);
+                try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+                    int inserted = Batch.execute(pstmt, players,
+                            (stmt, player) -> bindPlayer(stmt, player, clubNames.get(player.getClubId())));
+                    if (inserted != players.size()) {
+                        throw new SQLException("Inserted " + inserted + " of " + players.size() + " players");
+                    }
+                }
+                int id = Batch.firstInsertedId(connection, players.size());
+                for (Player player : players) {
+                    player.setId(id++);
+                    player.setClubView(clubNames.get(player.getClubId()));
+                }
+                LOG.info("✓ Players saved: " + players.size());
+                return players;
+            });
+            for (Player player : saved) {
+                ChangeBus.getInstance().publish(ChangeEvent.inserted(Player.class, player.getId(), player));
+            }
+            return saved;
+        } catch (SQLException e) {
+            LOG.error("✗ Error saving players: " + e.getMessage());
+        }
+        return Collections.emptyList();
+    }
+
     /**
      * Find player by ID
      */
     public Player findById(int id) {
-        Connection connection = DatabaseConnection.getInstance().getConnection();
-        String sql = "SELECT id, name, age, jersey_number, position, injured, club_id, club_view FROM players WHERE id = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        String sql = SELECT + " WHERE p.id = ?";
+        try (Connection connection = DatabaseConnection.getInstance().getReadConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setInt(1, id);
             ResultSet rs = pstmt.executeQuery();
 
@@ -77,7 +143,7 @@ public class PlayerRepository {
                 return mapResultSetToPlayer(rs);
             }
         } catch (SQLException e) {
-            System.err.println("✗ Error finding player: " + e.getMessage());
+            LOG.error("✗ Error finding player: " + e.getMessage());
         }
         return null;
     }
@@ -86,30 +152,47 @@ public class PlayerRepository {
      * Get all players
      */
     public List<Player> findAll() {
-        Connection connection = DatabaseConnection.getInstance().getConnection();
         List<Player> players = new ArrayList<>();
-        String sql = "SELECT id, name, age, jersey_number, position, injured, club_id, club_view FROM players ORDER BY name";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        String sql = SELECT + " ORDER BY p.name";
+        try (Connection connection = DatabaseConnection.getInstance().getReadConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             ResultSet rs = pstmt.executeQuery();
 
             while (rs.next()) {
                 players.add(mapResultSetToPlayer(rs));
             }
         } catch (SQLException e) {
-            System.err.println("✗ Error retrieving players: " + e.getMessage());
+            LOG.error("✗ Error retrieving players: " + e.getMessage());
         }
         return players;
     }
 
+    /**
+     * One page of all players by name; pass null for the first page.
+     */
+    public Page<Player> findPage(Page.Cursor after, int size) throws SQLException {
+        List<Player> players = new ArrayList<>();
+        String sql = Page.seek(SELECT, "p.name", "p.id", false, after);
+        try (Connection connection = DatabaseConnection.getInstance().getReadConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            Page.bind(pstmt, after, size);
+            ResultSet rs = pstmt.executeQuery();
+
+            while (rs.next()) {
+                players.add(mapResultSetToPlayer(rs));
+            }
+        }
+        return Page.of(players, size, p -> new Page.Cursor(p.getName(), p.getId()));
+    }
+
     /**
      * Get all players by club ID
      */
     public List<Player> findByClubId(int clubId) {
-        Connection connection = DatabaseConnection.getInstance().getConnection();
         List<Player> players = new ArrayList<>();
-        String sql = "SELECT id, name, age, jersey_number, position, injured, club_id, club_view FROM players " +
-                     "WHERE club_id = ? ORDER BY name";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        String sql = SELECT + " WHERE p.club_id = ? ORDER BY p.name";
+        try (Connection connection = DatabaseConnection.getInstance().getReadConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setInt(1, clubId);
             ResultSet rs = pstmt.executeQuery();
 
@@ -117,97 +200,210 @@ public class PlayerRepository {
                 players.add(mapResultSetToPlayer(rs));
             }
         } catch (SQLException e) {
-            System.err.println("✗ Error retrieving players by club: " + e.getMessage());
+            LOG.error("✗ Error retrieving players by club: " + e.getMessage());
+        }
+        return players;
+    }
+
+    /**
+     * Players matching the criteria, filtered and sorted by SQLite in one query.
+     */
+    public List<Player> find(PlayerCriteria criteria) {
+        List<Player> players = new ArrayList<>();
+        String sql = criteria.toSql(SELECT);
+        try (Connection connection = DatabaseConnection.getInstance().getReadConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            criteria.bind(pstmt);
+            ResultSet rs = pstmt.executeQuery();
+
+            while (rs.next()) {
+                players.add(mapResultSetToPlayer(rs));
+            }
+        } catch (SQLException e) {
+            LOG.error("✗ Error finding players: " + e.getMessage());
+        }
+        return players;
+    }
+
+    /**
+     * Players matching the criteria as a lazy stream, mapped as they are read.
+     * Close it on the thread that opened it; see {@link RowStream}.
+     */
+    public Stream<Player> stream(PlayerCriteria criteria) {
+        String sql = criteria.toSql(SELECT);
+        return RowStream.open(sql, criteria::bind, this::mapResultSetToPlayer, "players");
+    }
+
+    /**
+     * Load several players with one IN (...) query, keyed by ID.
+     * IDs that don't exist are simply missing from the map.
+     */
+    public Map<Integer, Player> findByIds(Collection<Integer> ids) {
+        Map<Integer, Player> players = new HashMap<>();
+        if (ids.isEmpty()) {
+            return players;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        String sql = SELECT + " WHERE p.id IN (" + placeholders + ")";
+        try (Connection connection = DatabaseConnection.getInstance().getReadConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            int index = 1;
+            for (Integer id : ids) {
+                pstmt.setInt(index++, id);
+            }
+            ResultSet rs = pstmt.executeQuery();
+
+            while (rs.next()) {
+                Player player = mapResultSetToPlayer(rs);
+                players.put(player.getId(), player);
+            }
+        } catch (SQLException e) {
+            LOG.error("✗ Error retrieving players by ID: " + e.getMessage());
         }
         return players;
     }
 
 
     public boolean update(Player player) {
-        Connection connection = DatabaseConnection.getInstance().getConnection();
         String sql = "UPDATE players SET name = ?, age = ?, jersey_number = ?, position = ?, injured = ?, " +
                      "club_id = ?, club_view = ?, updated_at = CURRENT_TIMESTAMP WHERE id = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            pstmt.setString(1, player.getName());
-            pstmt.setInt(2, player.getAge());
-            pstmt.setInt(3, player.getJersey());
-            pstmt.setString(4, player.getPosition().toString());
-            pstmt.setBoolean(5, player.isInjured());
-            pstmt.setObject(6, player.getClubId(), Types.INTEGER);
+        try {
+            boolean updated = DatabaseConnection.getInstance().write(connection -> {
+                try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+                    pstmt.setString(1, player.getName());
+                    pstmt.setInt(2, player.getAge());
+                    pstmt.setInt(3, player.getJersey());
+                    pstmt.setInt(4, player.getPosition().getCode());
+                    pstmt.setBoolean(5, player.isInjured());
+                    pstmt.setObject(6, player.getClubId(), Types.INTEGER);
 
           
-            String clubView = null;
-            if (player.getClubId() != null) {
-                Club c = clubRepository.findById(player.getClubId());
-                if (c != null) clubView = c.getClubName();
-            }
-            pstmt.setString(7, clubView);
-            pstmt.setInt(8, player.getId());
+                    String clubView = null;
+                    if (player.getClubId() != null) {
+                        Club c = clubRepository.findById(player.getClubId());
+                        if (c != null) clubView = c.getClubName();
+                    }
+                    pstmt.setString(7, clubView);
+                    pstmt.setInt(8, player.getId());
 
-            int affectedRows = pstmt.executeUpdate();
-            if (affectedRows > 0) {
-                System.out.println("✓ Player updated: " + player.getName());
-                return true;
+                    int affectedRows = pstmt.executeUpdate();
+                    if (affectedRows > 0) {
+                        player.setClubView(clubView);
+                        LOG.info("✓ Player updated: " + player.getName());
+                        return true;
+                    }
+                }
+                return false;
+            });
+            if (updated) {
+                ChangeBus.getInstance().publish(ChangeEvent.updated(Player.class, player.getId(), player));
             }
+            return updated;
         } catch (SQLException e) {
-            System.err.println("✗ Error updating player: " + e.getMessage());
+            LOG.error("✗ Error updating player: " + e.getMessage());
         }
         return false;
     }
 
  
-    public boolean delete(int id) {
-        Connection connection = DatabaseConnection.getInstance().getConnection();
-        
-        if (connection == null) {
-            System.err.println("✗ Database connection is null when trying to delete player");
-            return false;
+    /**
+     * Update many players in one transaction with JDBC batching. Returns the number of rows updated.
+     */
+    public int updateAll(List<Player> players) {
+        if (players.isEmpty()) {
+            return 0;
         }
-        
+        String sql = "UPDATE players SET name = ?, age = ?, jersey_number = ?, position = ?, injured = ?, " +
+                     "club_id = ?, club_view = ?, updated_at = CURRENT_TIMESTAMP WHERE id = ?";
         try {
-            if (connection.isClosed()) {
-                System.err.println("✗ Database connection is closed when trying to delete player");
-                return false;
+            int updated = DatabaseConnection.getInstance().writeInTransaction(connection -> {
+                Map<Integer, String> clubNames = findClubNames(connection, players);
+                int rows;
+                try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+                    rows = Batch.execute(pstmt, players, (stmt, player) -> {
+                        bindPlayer(stmt, player, clubNames.get(player.getClubId()));
+                        stmt.setInt(8, player.getId());
+                    });
+                }
+                for (Player player : players) {
+                    player.setClubView(clubNames.get(player.getClubId()));
+                }
+                LOG.info("✓ Players updated: " + rows);
+                return rows;
+            });
+            for (Player player : players) {
+                ChangeBus.getInstance().publish(ChangeEvent.updated(Player.class, player.getId(), player));
             }
+            return updated;
         } catch (SQLException e) {
-            System.err.println("✗ Error checking connection status: " + e.getMessage());
-            return false;
+            LOG.error("✗ Error updating players: " + e.getMessage());
         }
-        
-        String sql = "DELETE FROM playerss WHERE id = ?";
+        return 0;
+    }
+
+    private static void bindPlayer(PreparedStatement pstmt, Player player, String clubView) throws SQLException {
+        pstmt.setString(1, player.getName());
+        pstmt.setInt(2, player.getAge());
+        pstmt.setInt(3, player.getJersey());
+        pstmt.setInt(4, player.getPosition().getCode());
+        pstmt.setBoolean(5, player.isInjured());
+        pstmt.setObject(6, player.getClubId(), Types.INTEGER);
+        pstmt.setString(7, clubView);
+    }
+
+    /**
+     * Names of the clubs the players belong to, in one query on the given connection
+     * so clubs written earlier in the same transaction are seen.
+     */
+    private static Map<Integer, String> findClubNames(Connection connection, List<Player> players) throws SQLException {
+        Set<Integer> clubIds = new HashSet<>();
+        for (Player player : players) {
+            if (player.getClubId() != null) {
+                clubIds.add(player.getClubId());
+            }
+        }
+        Map<Integer, String> names = new HashMap<>();
+        if (clubIds.isEmpty()) {
+            return names;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(clubIds.size(), "?"));
+        String sql = "SELECT id, name FROM clubs WHERE id IN (" + placeholders + ")";
         try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            pstmt.setInt(1, id);
-            System.out.println("=== DELETE OPERATION ===");
-            System.out.println("Attempting to delete player with ID: " + id);
-            System.out.println("Connection AutoCommit: " + connection.getAutoCommit());
-            
-            int affectedRows = pstmt.executeUpdate();
-            System.out.println("Affected rows: " + affectedRows);
-            
-            // Explicitly commit if not in autocommit mode
-            if (!connection.getAutoCommit()) {
-                connection.commit();
-                System.out.println("Changes committed to database");
+            int index = 1;
+            for (Integer clubId : clubIds) {
+                pstmt.setInt(index++, clubId);
             }
-            
-            if (affectedRows > 0) {
-                System.out.println("✓ Player deleted from database (ID: " + id + ")");
-                System.out.println("========================");
-                return true;
-            } else {
-                System.err.println("✗ No player found with ID: " + id + " in database");
-                System.out.println("========================");
+            ResultSet rs = pstmt.executeQuery();
+            while (rs.next()) {
+                names.put(rs.getInt("id"), rs.getString("name"));
             }
-        } catch (SQLException e) {
-            System.err.println("✗ Error deleting player: " + e.getMessage());
-            e.printStackTrace();
-            try {
-                if (!connection.getAutoCommit()) {
-                    connection.rollback();
+        }
+        return names;
+    }
+
+    public boolean delete(int id) {
+        String sql = "DELETE FROM players WHERE id = ?";
+        try {
+            boolean deleted = DatabaseConnection.getInstance().write(connection -> {
+                try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+                    pstmt.setInt(1, id);
+                    int affectedRows = pstmt.executeUpdate();
+                    LOG.debug(() -> "Delete player " + id + ": " + affectedRows + " rows affected");
+                    if (affectedRows > 0) {
+                        LOG.info("✓ Player deleted from database (ID: " + id + ")");
+                        return true;
+                    } else {
+                        LOG.warn("⚠ No player found with ID: " + id + " in database");
+                    }
                 }
-            } catch (SQLException rollbackEx) {
-                System.err.println("✗ Error during rollback: " + rollbackEx.getMessage());
+                return false;
+            });
+            if (deleted) {
+                ChangeBus.getInstance().publish(ChangeEvent.deleted(Player.class, id));
             }
+            return deleted;
+        } catch (SQLException e) {
+            LOG.error("✗ Error deleting player: " + e.getMessage(), e);
         }
         return false;
     }
@@ -216,46 +412,20 @@ public class PlayerRepository {
      * Get total number of players
      */
     public int count() {
-        Connection connection = DatabaseConnection.getInstance().getConnection();
         String sql = "SELECT COUNT(*) FROM players";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = DatabaseConnection.getInstance().getReadConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             ResultSet rs = pstmt.executeQuery();
             if (rs.next()) {
                 return rs.getInt(1);
             }
         } catch (SQLException e) {
-            System.err.println("✗ Error counting players: " + e.getMessage());
+            LOG.error("✗ Error counting players: " + e.getMessage());
         }
         return 0;
     }
 
-    /**
-     * Helper method to map ResultSet to Player object
-     */
     private Player mapResultSetToPlayer(ResultSet rs) throws SQLException {
-        Player player = new Player(
-            rs.getString("name"),
-            rs.getInt("age"),
-            rs.getInt("jersey_number"),
-            Position.valueOf(rs.getString("position")),
-            rs.getBoolean("injured")
-        );
-        player.setId(rs.getInt("id"));
-        int clubId = rs.getInt("club_id");
-        if (rs.wasNull()) {
-            player.setClubId(null);
-        } else {
-            player.setClubId(clubId);
-        }
-        try {
-            String clubView = rs.getString("club_view");
-            if (!rs.wasNull()) {
-                player.setClubView(clubView);
-            }
-        } catch (SQLException ignore) {
-            // older DBs may not have column; ignore
-        }
-        return player;
+        return PlayerRow.read(rs, 1).toPlayer();
     }
 }
-
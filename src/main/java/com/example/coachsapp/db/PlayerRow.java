@@ -0,0 +1,56 @@
+package com.example.coachsapp.db;
+
+import com.example.coachsapp.model.Player;
+import com.example.coachsapp.model.Position;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * A players row. Joins select {@link #columns} for each player they carry and
+ * read it from wherever those columns start in the row.
+ */
+record PlayerRow(int id, String name, int age, int jerseyNumber, Position position, boolean injured,
+                 Integer clubId, String clubView) {
+
+    private static final String[] NAMES = {"id", "name", "age", "jersey_number", "position", "injured",
+                                           "club_id", "club_view"};
+    static final int WIDTH = NAMES.length;
+
+    static String columns(String alias) {
+        return Rows.columns(alias, NAMES);
+    }
+
+    /**
+     * Read the player whose columns start at first; null when its id is NULL (an empty LEFT JOIN).
+     */
+    static PlayerRow read(ResultSet rs, int first) throws SQLException {
+        int id = rs.getInt(first);
+        if (rs.wasNull()) {
+            return null;
+        }
+        return new PlayerRow(id,
+                rs.getString(first + 1),
+                rs.getInt(first + 2),
+                rs.getInt(first + 3),
+                Position.fromCode(rs.getInt(first + 4)),
+                rs.getBoolean(first + 5),
+                Rows.getInteger(rs, first + 6),
+                rs.getString(first + 7));
+    }
+
+    static Player readPlayer(ResultSet rs, int first) throws SQLException {
+        PlayerRow row = read(rs, first);
+        return row != null ? row.toPlayer() : null;
+    }
+
+    Player toPlayer() {
+        Player player = new Player(name, age, jerseyNumber, position, injured);
+        player.setId(id);
+        player.setClubId(clubId);
+        if (clubView != null) {
+            player.setClubView(clubView);
+        }
+        return player;
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.coachsapp.db;
+
+import com.example.coachsapp.model.Position;
+import com.example.coachsapp.model.RegistrationRequest.RequestStatus;
+import com.example.coachsapp.model.Role;
+
+/**
+ * Filters for {@link RegistrationRequestRepository#find}. Newest requests first unless sorted otherwise.
+ */
+public class RegistrationRequestCriteria extends Criteria<RegistrationRequestCriteria> {
+
+    public enum Sort {
+        REQUEST_DATE("rr.request_date"), USERNAME("rr.username"), CLUB("c.name");
+
+        private final String column;
+
+        Sort(String column) {
+            this.column = column;
+        }
+    }
+
+    public RegistrationRequestCriteria() {
+        super("rr.request_date DESC, rr.id DESC");
+    }
+
+    @Override
+    RegistrationRequestCriteria self() {
+        return this;
+    }
+
+    public RegistrationRequestCriteria status(RequestStatus status) {
+        return status == null ? this : where("rr.status = ?", status.getCode());
+    }
+
+    public RegistrationRequestCriteria club(Integer clubId) {
+        return clubId == null ? this : where("rr.club_id = ?", clubId);
+    }
+
+    public RegistrationRequestCriteria role(Role role) {
+        return role == null ? this : where("rr.requested_role = ?", role.getCode());
+    }
+
+    public RegistrationRequestCriteria position(Position position) {
+        return position == null ? this : where("rr.position = ?", position.getCode());
+    }
+
+    /**
+     * Age within the bounds, inclusive. Either bound may be null.
+     */
+    public RegistrationRequestCriteria ageBetween(Integer min, Integer max) {
+        if (min != null) {
+            where("rr.age >= ?", min);
+        }
+        return max == null ? this : where("rr.age <= ?", max);
+    }
+
+    /**
+     * Username or full name containing the text, ignoring case.
+     */
+    public RegistrationRequestCriteria text(String text) {
+        if (isBlank(text)) {
+            return this;
+        }
+        String pattern = contains(text.strip());
+        return where("(rr.username LIKE ? ESCAPE '\\' OR rr.full_name LIKE ? ESCAPE '\\')", pattern, pattern);
+    }
+
+    public RegistrationRequestCriteria sortBy(Sort sort, boolean descending) {
+        return orderBy(sort.column, descending, "rr.id");
+    }
+}
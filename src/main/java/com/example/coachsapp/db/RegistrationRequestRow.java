@@ -0,0 +1,71 @@
+package com.example.coachsapp.db;
+
+import com.example.coachsapp.model.Position;
+import com.example.coachsapp.model.RegistrationRequest;
+import com.example.coachsapp.model.RegistrationRequest.RequestStatus;
+import com.example.coachsapp.model.Role;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+/**
+ * A registration_requests row with the club name from {@link #FROM}'s join.
+ */
+record RegistrationRequestRow(int id, String username, String password, String fullName, Role requestedRole,
+                              int clubId, Integer age, Position position, RequestStatus status,
+                              LocalDateTime requestDate, LocalDateTime approvedDate, String remarks,
+                              String clubName) {
+
+    private static final String[] NAMES = {"id", "username", "password", "full_name", "requested_role", "club_id",
+                                           "age", "position", "status", "request_date", "approved_date", "remarks"};
+    // The name from the join, after the table's own columns
+    private static final String[] JOINED = {"c.name"};
+    static final String COLUMNS = Rows.columns("rr", NAMES) + ", " + String.join(", ", JOINED);
+    static final int WIDTH = NAMES.length + JOINED.length;
+    static final String FROM = """
+             FROM registration_requests rr
+            JOIN clubs c ON rr.club_id = c.id
+        """;
+
+    static RegistrationRequestRow read(ResultSet rs) throws SQLException {
+        Integer position = Rows.getInteger(rs, 8);
+        return new RegistrationRequestRow(rs.getInt(1),
+                rs.getString(2),
+                rs.getString(3),
+                rs.getString(4),
+                Role.fromCode(rs.getInt(5)),
+                rs.getInt(6),
+                Rows.getInteger(rs, 7),
+                position != null ? Position.fromCode(position) : null,
+                RequestStatus.fromCode(rs.getInt(9)),
+                Timestamps.get(rs, 10),
+                Timestamps.get(rs, 11),
+                rs.getString(12),
+                rs.getString(13));
+    }
+
+    RegistrationRequest toRegistrationRequest() {
+        RegistrationRequest request = new RegistrationRequest();
+        request.setId(id);
+        request.setUsername(username);
+        request.setPassword(password);
+        request.setFullName(fullName);
+        request.setRequestedRole(requestedRole);
+        request.setClubId(clubId);
+        request.setClubName(clubName);
+        if (age != null) {
+            request.setAge(age);
+        }
+        if (position != null) {
+            request.setPosition(position.name());
+        }
+        request.setStatus(status);
+        if (requestDate != null) {
+            request.setRequestDate(requestDate);
+        }
+        request.setApprovedDate(approvedDate);
+        request.setRemarks(remarks);
+        return request;
+    }
+}
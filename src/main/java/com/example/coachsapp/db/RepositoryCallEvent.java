@@ -0,0 +1,45 @@
+package com.example.coachsapp.db;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event for one statement run by a repository method. The
+ * event's duration runs from execution until its rows are read or the
+ * statement closes, so it includes what the caller does between rows;
+ * databaseTime is the part spent in the driver.
+ */
+@Name("com.example.coachsapp.RepositoryCall")
+@Label("Repository Call")
+@Category({"Coaches App", "Database"})
+@StackTrace(false)
+final class RepositoryCallEvent extends Event {
+
+    @Label("Method")
+    @Description("Repository method that prepared the statement")
+    String method;
+
+    @Label("SQL")
+    String sql;
+
+    @Label("Rows")
+    @Description("Rows read or changed")
+    long rows;
+
+    @Label("Database Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long databaseTime;
+
+    /**
+     * Whether a running recording wants these events. Statements are only
+     * wrapped for them while this is true.
+     */
+    static boolean isRecording() {
+        return new RepositoryCallEvent().isEnabled();
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.coachsapp.db;
+
+import com.example.coachsapp.util.Log;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Query results as a lazy Stream.
+ * The statement runs when the stream is opened, and each row is mapped only when
+ * it is pulled, so nothing holds the whole result. Closing the stream closes the
+ * result set and gives the connection back. Connection leases belong to the
+ * thread that took them: open, read and close the stream on one thread, in
+ * try-with-resources.
+ */
+final class RowStream {
+
+    private static final Log LOG = Log.get(RowStream.class);
+
+    @FunctionalInterface
+    interface Parameters {
+        void bind(PreparedStatement pstmt) throws SQLException;
+    }
+
+    @FunctionalInterface
+    interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+
+    private RowStream() {
+    }
+
+    /**
+     * Run the query and stream its rows. If the query fails the error is printed
+     * and the stream is empty, like the list methods returning an empty list.
+     */
+    static <T> Stream<T> open(String sql, Parameters parameters, RowMapper<T> mapper, String what) {
+        Connection connection = null;
+        PreparedStatement pstmt = null;
+        ResultSet rs;
+        try {
+            connection = DatabaseConnection.getInstance().getReadConnection();
+            pstmt = connection.prepareStatement(sql);
+            parameters.bind(pstmt);
+            rs = pstmt.executeQuery();
+        } catch (SQLException e) {
+            LOG.error("✗ Error streaming " + what + ": " + e.getMessage());
+            close(null, pstmt, connection);
+            return Stream.empty();
+        }
+
+        ResultSet rows = rs;
+        PreparedStatement statement = pstmt;
+        Connection lease = connection;
+        Spliterator<T> spliterator = new Spliterators.AbstractSpliterator<T>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                try {
+                    if (!rows.next()) {
+                        return false;
+                    }
+                    action.accept(mapper.map(rows));
+                    return true;
+                } catch (SQLException e) {
+                    LOG.error("✗ Error streaming " + what + ": " + e.getMessage());
+                    return false;
+                }
+            }
+        };
+        return StreamSupport.stream(spliterator, false).onClose(() -> close(rows, statement, lease));
+    }
+
+    private static void close(ResultSet rs, PreparedStatement pstmt, Connection connection) {
+        try (connection; pstmt; rs) {
+            // try-with-resources closes them in reverse order
+        } catch (SQLException e) {
+            LOG.error("✗ Error closing result stream: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.coachsapp.db;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.StringJoiner;
+
+/**
+ * Helpers for the row records ({@link PlayerRow}, {@link UserRow}, ...).
+ * Each record lists its columns once and reads them back by position, so a
+ * query selects exactly those columns in that order and the mapper never looks
+ * a column up by label.
+ */
+final class Rows {
+
+    private Rows() {
+    }
+
+    /**
+     * The column list for a SELECT, each column qualified with the table alias.
+     */
+    static String columns(String alias, String... names) {
+        StringJoiner columns = new StringJoiner(", ");
+        for (String name : names) {
+            columns.add(alias + "." + name);
+        }
+        return columns.toString();
+    }
+
+    static Integer getInteger(ResultSet rs, int index) throws SQLException {
+        int value = rs.getInt(index);
+        return rs.wasNull() ? null : value;
+    }
+}
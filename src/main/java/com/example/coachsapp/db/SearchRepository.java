@@ -0,0 +1,87 @@
+package com.example.coachsapp.db;
+
+import com.example.coachsapp.util.Log;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * Full-text search over players, clubs, managers and the transfer and registration
+ * requests, backed by the search_index FTS5 table that triggers keep in step with
+ * those tables (see {@link DatabaseMigration}). Each row of the index has a title
+ * (a name) and a body (club, remarks); its rowid is the source id times
+ * {@link #KINDS} plus the {@link SearchResult.Kind} code.
+ */
+public class SearchRepository {
+
+    private static final Log LOG = Log.get(SearchRepository.class);
+
+    static final int KINDS = 8;
+
+    // Titles count ten times as much as bodies when ranking
+    private static final String RANK = "bm25(search_index, 10.0, 1.0)";
+
+    /**
+     * The best matches for the text, best first. Every word must match, and each
+     * word of two or more letters also matches as a prefix ("mes" finds "Messi").
+     * Only the given kinds are returned.
+     */
+    public List<SearchResult> search(String text, Set<SearchResult.Kind> kinds, int limit) {
+        String match = matchQuery(text);
+        if (match == null || kinds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        String sql = "SELECT rowid, title, snippet(search_index, -1, '[', ']', '…', 10) FROM search_index " +
+                     "WHERE search_index MATCH ? AND rowid % " + KINDS + " IN (" +
+                     String.join(", ", Collections.nCopies(kinds.size(), "?")) + ") " +
+                     "ORDER BY " + RANK + " LIMIT ?";
+
+        List<SearchResult> results = new ArrayList<>();
+        try (Connection connection = DatabaseConnection.getInstance().getReadConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            int index = 1;
+            pstmt.setString(index++, match);
+            for (SearchResult.Kind kind : kinds) {
+                pstmt.setInt(index++, kind.getCode());
+            }
+            pstmt.setInt(index, limit);
+            ResultSet rs = pstmt.executeQuery();
+
+            while (rs.next()) {
+                long rowid = rs.getLong(1);
+                results.add(new SearchResult(SearchResult.Kind.fromCode((int) (rowid % KINDS)),
+                        (int) (rowid / KINDS), rs.getString(2), rs.getString(3)));
+            }
+        } catch (SQLException e) {
+            LOG.error("✗ Error searching: " + e.getMessage());
+        }
+        return results;
+    }
+
+    /**
+     * The FTS5 query for what the user typed: each word quoted, so punctuation and
+     * FTS operators are taken literally, and ANDed. Single letters match whole
+     * words only, since a one-letter prefix matches most of the index. Null when
+     * there are no words.
+     */
+    static String matchQuery(String text) {
+        if (text == null) {
+            return null;
+        }
+        StringJoiner query = new StringJoiner(" ");
+        for (String word : text.split("[^\\p{L}\\p{N}]+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            query.add("\"" + word + "\"" + (word.length() >= 2 ? "*" : ""));
+        }
+        return query.length() > 0 ? query.toString() : null;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.coachsapp.db;
+
+/**
+ * One hit from {@link SearchRepository#search}: what was found, its id in its own
+ * table, its title and a snippet of the text that matched with the terms in [brackets].
+ */
+public record SearchResult(Kind kind, int id, String title, String snippet) {
+
+    /**
+     * What a hit points at. The code is stored in the search index's rowid, so it
+     * must never change.
+     */
+    public enum Kind {
+        PLAYER(0, "Player"),
+        CLUB(1, "Club"),
+        MANAGER(2, "Manager"),
+        TRANSFER_REQUEST(3, "Transfer Request"),
+        REGISTRATION_REQUEST(4, "Registration Request");
+
+        private static final Kind[] BY_CODE = new Kind[values().length];
+
+        static {
+            for (Kind value : values()) {
+                BY_CODE[value.code] = value;
+            }
+        }
+
+        private final int code;
+        private final String displayName;
+
+        Kind(int code, String displayName) {
+            this.code = code;
+            this.displayName = displayName;
+        }
+
+        public int getCode() {
+            return code;
+        }
+
+        public static Kind fromCode(int code) {
+            return BY_CODE[code];
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+    }
+}
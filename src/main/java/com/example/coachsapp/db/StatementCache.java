@@ -0,0 +1,197 @@
+package com.example.coachsapp.db;
+
+import com.example.coachsapp.util.Log;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * LRU cache of prepared statements for one physical connection, keyed by SQL text.
+ * Statements are lent out as proxies: closing one resets it and puts it back
+ * instead of finalizing it, so repositories keep their try-with-resources blocks
+ * and SQLite only parses and plans each statement once per connection.
+ * Like the connection it belongs to, a cache is only used by one thread at a time.
+ */
+final class StatementCache {
+
+    private static final Log LOG = Log.get(StatementCache.class);
+
+    private final Connection physical;
+    private final int capacity;
+    private final ConnectionPool.Metrics metrics;
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    StatementCache(Connection physical, int capacity, ConnectionPool.Metrics metrics) {
+        this.physical = physical;
+        this.capacity = capacity;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Borrow a statement for the SQL text. If the same statement is already
+     * borrowed further up the call stack, a throwaway statement is prepared instead.
+     */
+    PreparedStatement borrow(String sql, int autoGeneratedKeys) throws SQLException {
+        Key key = new Key(sql, autoGeneratedKeys);
+        Entry entry = entries.get(key);
+        if (entry != null && !entry.borrowed) {
+            metrics.statementHits.incrementAndGet();
+            return entry.lend();
+        }
+
+        metrics.statementMisses.incrementAndGet();
+        PreparedStatement statement = autoGeneratedKeys == Statement.NO_GENERATED_KEYS
+                ? physical.prepareStatement(sql)
+                : physical.prepareStatement(sql, autoGeneratedKeys);
+        if (entry != null) {
+            return statement;
+        }
+        entry = new Entry(key, statement);
+        entries.put(key, entry);
+        evictOverflow();
+        return entry.lend();
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * Close every cached statement. Called before the physical connection closes.
+     */
+    void clear() {
+        for (Entry entry : entries.values()) {
+            entry.closeQuietly();
+        }
+        entries.clear();
+    }
+
+    private void evictOverflow() {
+        Iterator<Entry> eldestFirst = entries.values().iterator();
+        while (entries.size() > capacity && eldestFirst.hasNext()) {
+            Entry entry = eldestFirst.next();
+            if (entry.borrowed) {
+                continue;
+            }
+            eldestFirst.remove();
+            entry.closeQuietly();
+            metrics.statementEvictions.incrementAndGet();
+        }
+    }
+
+    private void discard(Entry entry) {
+        entries.remove(entry.key, entry);
+        entry.closeQuietly();
+    }
+
+    private record Key(String sql, int autoGeneratedKeys) {
+    }
+
+    /**
+     * One cached statement and the result sets opened through its current borrower.
+     */
+    private final class Entry {
+        private final Key key;
+        private final PreparedStatement statement;
+        private final List<ResultSet> openResults = new ArrayList<>();
+        private boolean borrowed;
+
+        Entry(Key key, PreparedStatement statement) {
+            this.key = key;
+            this.statement = statement;
+        }
+
+        PreparedStatement lend() {
+            borrowed = true;
+            return (PreparedStatement) Proxy.newProxyInstance(
+                    PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class},
+                    new Borrow(this));
+        }
+
+        /**
+         * Close open result sets and clear bindings and any unsent batch so the
+         * statement is reset and no longer pins a read snapshot.
+         */
+        void giveBack() {
+            borrowed = false;
+            try {
+                for (ResultSet rs : openResults) {
+                    rs.close();
+                }
+                openResults.clear();
+                statement.clearParameters();
+                statement.clearBatch();
+            } catch (SQLException e) {
+                LOG.error("✗ Resetting cached statement failed: " + e.getMessage());
+                discard(this);
+            }
+        }
+
+        void closeQuietly() {
+            try {
+                statement.close();
+            } catch (SQLException ignored) {
+                // The connection is going away or the statement is already broken
+            }
+        }
+    }
+
+    /**
+     * Proxy handler for one borrow of a cached statement.
+     */
+    private static final class Borrow implements InvocationHandler {
+        private final Entry entry;
+        private boolean returned;
+
+        Borrow(Entry entry) {
+            this.entry = entry;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!returned) {
+                        returned = true;
+                        entry.giveBack();
+                    }
+                    return null;
+                case "isClosed":
+                    return returned || entry.statement.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "CachedStatement[" + entry.key.sql().strip() + "]";
+                default:
+                    break;
+            }
+            if (returned) {
+                throw new SQLException("Statement already returned to the cache");
+            }
+            Object result;
+            try {
+                result = method.invoke(entry.statement, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+            if (result instanceof ResultSet rs) {
+                entry.openResults.add(rs);
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,505 @@
+package com.example.coachsapp.db;
+
+import com.example.coachsapp.util.Log;
+import com.example.coachsapp.util.Metrics;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Per-statement timings for everything prepared through the connection pool.
+ * When enabled, ConnectionPool wraps each prepared statement in a proxy that
+ * times its executions, counts the rows they return or change, and files them
+ * under the statement's SQL shape and the repository method that prepared it.
+ * A query's time is the time spent executing it plus the time spent stepping
+ * its rows, not the time the caller takes over each row. Executions slower than
+ * the threshold go to the slow-query log with their bind values and query plan.
+ * Disabled (the default) the pool gets no profiler and statements are not wrapped,
+ * unless a flight recording wants {@link RepositoryCallEvent}s or the metrics
+ * endpoint is on; the same proxy emits those events and feeds the per-method
+ * query metrics, whether or not the profiler is on.
+ *
+ * Enable with -Dcoachsapp.db.profile=true; -Dcoachsapp.db.slowQueryMs (default 50)
+ * and -Dcoachsapp.db.slowQueryLog (default slow-queries.log) tune the log. The
+ * summary is logged when the app closes and served at /profile by MetricsServer.
+ */
+public class StatementProfiler {
+
+    private static final Log LOG = Log.get(StatementProfiler.class);
+
+    private static final long DEFAULT_SLOW_QUERY_MS = 50;
+    private static final String DEFAULT_SLOW_QUERY_LOG = "slow-queries.log";
+    private static final int MAX_BIND_LENGTH = 80;
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern PLACEHOLDER_LIST = Pattern.compile("\\?(\\s*,\\s*\\?)+");
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])\\d+(\\.\\d+)?(?![\\w.])");
+    // Classes between a repository and the driver; the caller is the first frame outside them
+    private static final Set<String> PLUMBING = Set.of(
+            ConnectionPool.class.getName(), StatementCache.class.getName(), StatementProfiler.class.getName(),
+            DatabaseConnection.class.getName(), WriteQueue.class.getName(), RowStream.class.getName(),
+            Batch.class.getName(), Rows.class.getName());
+    private static final StackWalker STACK = StackWalker.getInstance();
+
+    private final long slowNanos;
+    private final Path slowQueryLog;
+    private final Map<String, String> shapes = new ConcurrentHashMap<>();
+    private final Map<String, Shape> stats = new ConcurrentHashMap<>();
+    private final LongAdder slowQueries = new LongAdder();
+    private BufferedWriter slowWriter;
+
+    /**
+     * Timings for one SQL shape prepared by one caller.
+     */
+    private static final class Shape {
+        private final String sql;
+        private final String caller;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder rows = new LongAdder();
+
+        Shape(String sql, String caller) {
+            this.sql = sql;
+            this.caller = caller;
+        }
+    }
+
+    public StatementProfiler(long slowQueryMillis, Path slowQueryLog) {
+        this.slowNanos = TimeUnit.MILLISECONDS.toNanos(slowQueryMillis);
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    /**
+     * The profiler the system properties ask for, or null if profiling is off.
+     */
+    static StatementProfiler fromSystemProperties() {
+        if (!Boolean.getBoolean("coachsapp.db.profile")) {
+            return null;
+        }
+        long slowMs = Long.getLong("coachsapp.db.slowQueryMs", DEFAULT_SLOW_QUERY_MS);
+        Path log = Path.of(System.getProperty("coachsapp.db.slowQueryLog", DEFAULT_SLOW_QUERY_LOG));
+        return new StatementProfiler(slowMs, log);
+    }
+
+    /**
+     * Wrap a statement prepared on the physical connection. Called on the thread holding the lease.
+     */
+    PreparedStatement wrap(PreparedStatement statement, String sql, Connection physical) {
+        String shape = shapes.computeIfAbsent(sql, StatementProfiler::shapeOf);
+        String caller = callerOf();
+        Shape entry = stats.computeIfAbsent(caller + "\n" + shape, key -> new Shape(shape, caller));
+        return proxy(new Profiled(this, statement, sql, caller, entry, physical));
+    }
+
+    /**
+     * Whether statements should be wrapped even with the profiler off: the
+     * metrics endpoint is on or a recording wants repository call events.
+     */
+    static boolean isTracing() {
+        return Metrics.isEnabled() || RepositoryCallEvent.isRecording();
+    }
+
+    /**
+     * Wrap a statement only for {@link RepositoryCallEvent}s and query metrics,
+     * for when the profiler is off.
+     */
+    static PreparedStatement trace(PreparedStatement statement, String sql) {
+        return proxy(new Profiled(null, statement, sql, callerOf(), null, null));
+    }
+
+    private static PreparedStatement proxy(Profiled handler) {
+        return (PreparedStatement) Proxy.newProxyInstance(
+                PreparedStatement.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class},
+                handler);
+    }
+
+    /**
+     * One line per statement shape, slowest total first: calls, rows, latency
+     * percentiles in milliseconds, the repository method and the SQL.
+     */
+    public String summary() {
+        List<Shape> shapesByTime = new ArrayList<>(stats.values());
+        shapesByTime.removeIf(shape -> shape.latency.getCount() == 0);
+        shapesByTime.sort(Comparator.comparingDouble((Shape shape) -> shape.latency.getTotalMillis()).reversed());
+
+        StringBuilder out = new StringBuilder();
+        out.append(String.format(Locale.ROOT, "%-10s %8s %10s %9s %9s %9s %9s %9s  %s%n",
+                "total ms", "calls", "rows", "mean", "p50", "p95", "p99", "max", "caller / sql"));
+        for (Shape shape : shapesByTime) {
+            LatencyHistogram latency = shape.latency;
+            out.append(String.format(Locale.ROOT, "%-10.1f %8d %10d %9.3f %9.3f %9.3f %9.3f %9.3f  %s%n",
+                    latency.getTotalMillis(), latency.getCount(), shape.rows.sum(), latency.getMeanMillis(),
+                    latency.getPercentileMillis(50), latency.getPercentileMillis(95),
+                    latency.getPercentileMillis(99), latency.getMaxMillis(), shape.caller));
+            out.append(String.format(Locale.ROOT, "%-10s %s%n", "", shape.sql));
+        }
+        out.append(shapesByTime.size()).append(" statement shapes, ").append(slowQueries.sum())
+           .append(" slow executions logged to ").append(slowQueryLog);
+        return out.toString();
+    }
+
+    public void printSummary() {
+        LOG.info(() -> "Statement profile:\n" + summary());
+    }
+
+    /**
+     * Flush and close the slow-query log. Later slow executions reopen it.
+     */
+    public synchronized void close() {
+        if (slowWriter == null) {
+            return;
+        }
+        try {
+            slowWriter.close();
+        } catch (IOException e) {
+            LOG.error("✗ Error closing slow-query log: " + e.getMessage());
+        }
+        slowWriter = null;
+    }
+
+    /**
+     * Binds are only copied for executions that go to the slow-query log.
+     */
+    private void record(Shape shape, long nanos, long rows, String sql, Supplier<Object[]> binds,
+                        Connection physical) {
+        shape.latency.record(nanos);
+        shape.rows.add(rows);
+        if (nanos >= slowNanos) {
+            slowQueries.increment();
+            Object[] values = binds.get();
+            logSlow(shape, nanos, rows, sql, values, explain(sql, values, physical));
+        }
+    }
+
+    private synchronized void logSlow(Shape shape, long nanos, long rows, String sql, Object[] binds, String plan) {
+        try {
+            if (slowWriter == null) {
+                slowWriter = Files.newBufferedWriter(slowQueryLog, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            slowWriter.write(String.format(Locale.ROOT, "%s %.3f ms, %d rows, %s%n", LocalDateTime.now(),
+                    nanos / 1_000_000.0, rows, shape.caller));
+            slowWriter.write("  sql:   " + WHITESPACE.matcher(sql.strip()).replaceAll(" ") + "\n");
+            slowWriter.write("  binds: " + describeBinds(sql, binds) + "\n");
+            slowWriter.write("  plan:  " + plan + "\n");
+            slowWriter.flush();
+        } catch (IOException e) {
+            LOG.error("✗ Error writing slow-query log: " + e.getMessage());
+        }
+    }
+
+    /**
+     * EXPLAIN QUERY PLAN for the statement with the binds it ran with, prepared
+     * straight on the physical connection so it is neither cached nor profiled.
+     */
+    private static String explain(String sql, Object[] binds, Connection physical) {
+        List<String> steps = new ArrayList<>();
+        try (PreparedStatement pstmt = physical.prepareStatement("EXPLAIN QUERY PLAN " + sql)) {
+            for (int i = 0; i < binds.length; i++) {
+                pstmt.setObject(i + 1, binds[i]);
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    steps.add(rs.getString("detail"));
+                }
+            }
+        } catch (SQLException e) {
+            return "(not available: " + e.getMessage() + ")";
+        }
+        return steps.isEmpty() ? "(none)" : String.join("; ", steps);
+    }
+
+    private static String describeBinds(String sql, Object[] binds) {
+        if (sql.toLowerCase(Locale.ROOT).contains("password")) {
+            return "(redacted: statement touches passwords)";
+        }
+        List<String> values = new ArrayList<>();
+        for (Object value : binds) {
+            String text = value instanceof String s ? "'" + s + "'" : String.valueOf(value);
+            values.add(text.length() > MAX_BIND_LENGTH ? text.substring(0, MAX_BIND_LENGTH) + "..." : text);
+        }
+        return values.toString();
+    }
+
+    /**
+     * The SQL with whitespace collapsed, literals replaced by ? and IN lists of
+     * any length folded into one, so statements that differ only in those share
+     * a line in the summary.
+     */
+    static String shapeOf(String sql) {
+        String shape = WHITESPACE.matcher(sql.strip()).replaceAll(" ");
+        shape = STRING_LITERAL.matcher(shape).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        return PLACEHOLDER_LIST.matcher(shape).replaceAll("?, ...");
+    }
+
+    /**
+     * Class.method of the first frame outside the pool plumbing, with lambdas
+     * named after the method that declared them (PlayerRepository.save, not lambda$save$0).
+     */
+    private static String callerOf() {
+        return STACK.walk(frames -> frames
+                .filter(frame -> !PLUMBING.contains(frame.getClassName())
+                        && !frame.getClassName().startsWith("java.")
+                        && !frame.getClassName().startsWith("jdk.")
+                        && !frame.getClassName().startsWith("com.sun.proxy."))
+                .findFirst()
+                .map(frame -> {
+                    String className = frame.getClassName();
+                    className = className.substring(className.lastIndexOf('.') + 1);
+                    int nested = className.indexOf('$');
+                    if (nested > 0) {
+                        className = className.substring(0, nested);
+                    }
+                    String method = frame.getMethodName();
+                    if (method.startsWith("lambda$")) {
+                        String[] parts = method.split("\\$");
+                        method = parts.length > 1 ? parts[1] : method;
+                    }
+                    return className + "." + method;
+                })
+                .orElse("unknown"));
+    }
+
+    /**
+     * Proxy handler for one wrapped statement. It keeps the binds set on it and
+     * the query whose rows are still being read, which is recorded when the rows
+     * run out, the result set or statement closes, or the statement runs again.
+     * Without a profiler it only emits flight recorder events and metrics.
+     * Used by one thread at a time, like the lease it came from.
+     */
+    private static final class Profiled implements InvocationHandler {
+        private final StatementProfiler profiler;
+        private final PreparedStatement target;
+        private final String sql;
+        private final String caller;
+        private final Shape shape;
+        private final Connection physical;
+        private Object[] binds = new Object[8];
+        private int bindCount;
+        private Object[] queryBinds;
+        private long queryNanos;
+        private long queryRows;
+        private RepositoryCallEvent event;
+        private final Metrics.Timer queryTime;
+        private final Metrics.Counter queryRowCount;
+
+        Profiled(StatementProfiler profiler, PreparedStatement target, String sql, String caller, Shape shape,
+                 Connection physical) {
+            this.profiler = profiler;
+            this.target = target;
+            this.sql = sql;
+            this.caller = caller;
+            this.shape = shape;
+            this.physical = physical;
+            if (Metrics.isEnabled()) {
+                Metrics metrics = Metrics.getInstance();
+                queryTime = metrics.timer("coachsapp_db_query_seconds",
+                        "Statement executions by repository method, time in the driver", "method", caller);
+                queryRowCount = metrics.counter("coachsapp_db_query_rows_total",
+                        "Rows read or changed by repository method", "method", caller);
+            } else {
+                queryTime = null;
+                queryRowCount = null;
+            }
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "ProfiledStatement[" + target + "]";
+                case "close":
+                    finishQuery();
+                    break;
+                case "clearParameters":
+                    Arrays.fill(binds, null);
+                    bindCount = 0;
+                    break;
+                case "executeQuery": {
+                    finishQuery();
+                    beginEvent();
+                    long start = System.nanoTime();
+                    ResultSet rs = (ResultSet) invokeOn(target, method, args);
+                    queryNanos = System.nanoTime() - start;
+                    queryRows = 0;
+                    queryBinds = boundValues();
+                    return wrapResults(rs);
+                }
+                case "execute": {
+                    finishQuery();
+                    beginEvent();
+                    long start = System.nanoTime();
+                    boolean hasResults = (Boolean) invokeOn(target, method, args);
+                    long elapsed = System.nanoTime() - start;
+                    if (hasResults) {
+                        queryBinds = boundValues();
+                        queryNanos = elapsed;
+                        queryRows = 0;
+                    } else {
+                        record(elapsed, Math.max(0, target.getUpdateCount()), this::boundValues);
+                    }
+                    return hasResults;
+                }
+                case "getResultSet": {
+                    ResultSet rs = (ResultSet) invokeOn(target, method, args);
+                    return rs == null || queryBinds == null ? rs : wrapResults(rs);
+                }
+                case "executeUpdate":
+                case "executeLargeUpdate":
+                case "executeBatch":
+                case "executeLargeBatch": {
+                    finishQuery();
+                    beginEvent();
+                    long start = System.nanoTime();
+                    Object result = invokeOn(target, method, args);
+                    record(System.nanoTime() - start, rowsChanged(result), this::boundValues);
+                    return result;
+                }
+                default:
+                    if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                        bind(index, name.equals("setNull") ? null : args[1]);
+                    }
+                    break;
+            }
+            return invokeOn(target, method, args);
+        }
+
+        private void bind(int index, Object value) {
+            if (index >= binds.length) {
+                binds = Arrays.copyOf(binds, Math.max(index + 1, binds.length * 2));
+            }
+            binds[index] = value;
+            bindCount = Math.max(bindCount, index);
+        }
+
+        /**
+         * The values bound so far, in parameter order.
+         */
+        private Object[] boundValues() {
+            return Arrays.copyOfRange(binds, 1, bindCount + 1);
+        }
+
+        private void finishQuery() {
+            if (queryBinds == null) {
+                return;
+            }
+            Object[] ran = queryBinds;
+            queryBinds = null;
+            record(queryNanos, queryRows, () -> ran);
+        }
+
+        private void beginEvent() {
+            RepositoryCallEvent started = new RepositoryCallEvent();
+            if (started.isEnabled()) {
+                started.begin();
+                event = started;
+            }
+        }
+
+        private void record(long nanos, long rows, Supplier<Object[]> binds) {
+            if (profiler != null) {
+                profiler.record(shape, nanos, rows, sql, binds, physical);
+            }
+            if (queryTime != null) {
+                queryTime.record(nanos);
+                queryRowCount.add(rows);
+            }
+            RepositoryCallEvent finished = event;
+            event = null;
+            if (finished != null && finished.shouldCommit()) {
+                finished.method = caller;
+                finished.sql = sql;
+                finished.rows = rows;
+                finished.databaseTime = nanos;
+                finished.commit();
+            }
+        }
+
+        private ResultSet wrapResults(ResultSet rs) {
+            return (ResultSet) Proxy.newProxyInstance(
+                    ResultSet.class.getClassLoader(),
+                    new Class<?>[]{ResultSet.class},
+                    (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "next": {
+                                long start = System.nanoTime();
+                                boolean more = (Boolean) invokeOn(rs, method, args);
+                                queryNanos += System.nanoTime() - start;
+                                if (more) {
+                                    queryRows++;
+                                } else {
+                                    finishQuery();
+                                }
+                                return more;
+                            }
+                            case "close":
+                                finishQuery();
+                                break;
+                            case "equals":
+                                return proxy == args[0];
+                            case "hashCode":
+                                return System.identityHashCode(proxy);
+                            default:
+                                break;
+                        }
+                        return invokeOn(rs, method, args);
+                    });
+        }
+    }
+
+    private static Object invokeOn(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private static long rowsChanged(Object result) {
+        if (result instanceof Number count) {
+            return Math.max(0, count.longValue());
+        }
+        long rows = 0;
+        if (result instanceof int[] counts) {
+            for (int count : counts) {
+                rows += Math.max(0, count);
+            }
+        } else if (result instanceof long[] counts) {
+            for (long count : counts) {
+                rows += Math.max(0, count);
+            }
+        }
+        return rows;
+    }
+}
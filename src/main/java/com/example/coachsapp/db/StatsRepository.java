@@ -0,0 +1,103 @@
+package com.example.coachsapp.db;
+
+import com.example.coachsapp.model.Position;
+import com.example.coachsapp.util.Log;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads the counters that triggers keep in club_stats and league_stats
+ * (see {@link DatabaseMigration}). Each read is a primary key lookup, however
+ * many players, requests and transfers the league has.
+ */
+public class StatsRepository {
+
+    private static final Log LOG = Log.get(StatsRepository.class);
+
+    private static final String CLUB_COLUMNS = clubColumns();
+
+    /**
+     * The club_stats column counting a position's players, e.g. "forwards".
+     */
+    static String positionColumn(Position position) {
+        return position.name().toLowerCase(Locale.ROOT) + "s";
+    }
+
+    public LeagueStats getLeagueStats() {
+        String sql = "SELECT clubs, players, managers, injured, pending_registrations, transfers_in_market, " +
+                     "transfers_completed FROM league_stats WHERE id = 1";
+        try (Connection connection = DatabaseConnection.getInstance().getReadConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            ResultSet rs = pstmt.executeQuery();
+            if (rs.next()) {
+                return new LeagueStats(rs.getInt(1), rs.getInt(2), rs.getInt(3), rs.getInt(4), rs.getInt(5),
+                        rs.getInt(6), rs.getInt(7));
+            }
+        } catch (SQLException e) {
+            LOG.error("✗ Error reading league statistics: " + e.getMessage());
+        }
+        return new LeagueStats(0, 0, 0, 0, 0, 0, 0);
+    }
+
+    public ClubStats findByClubId(int clubId) {
+        String sql = "SELECT " + CLUB_COLUMNS + " FROM club_stats WHERE club_id = ?";
+        try (Connection connection = DatabaseConnection.getInstance().getReadConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setInt(1, clubId);
+            ResultSet rs = pstmt.executeQuery();
+            if (rs.next()) {
+                return mapClubStats(rs);
+            }
+        } catch (SQLException e) {
+            LOG.error("✗ Error reading club statistics: " + e.getMessage());
+        }
+        return ClubStats.empty(clubId);
+    }
+
+    /**
+     * Every club's counters keyed by club ID: one row per club, no counting.
+     */
+    public Map<Integer, ClubStats> findAllClubStats() {
+        Map<Integer, ClubStats> stats = new HashMap<>();
+        String sql = "SELECT " + CLUB_COLUMNS + " FROM club_stats";
+        try (Connection connection = DatabaseConnection.getInstance().getReadConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            ResultSet rs = pstmt.executeQuery();
+            while (rs.next()) {
+                ClubStats club = mapClubStats(rs);
+                stats.put(club.clubId(), club);
+            }
+        } catch (SQLException e) {
+            LOG.error("✗ Error reading club statistics: " + e.getMessage());
+        }
+        return stats;
+    }
+
+    private static String clubColumns() {
+        StringBuilder columns = new StringBuilder("club_id, players");
+        for (Position position : Position.values()) {
+            columns.append(", ").append(positionColumn(position));
+        }
+        return columns.append(", injured, managers, pending_registrations, transfers_in_market, ")
+                      .append("transfers_completed_out, transfers_completed_in").toString();
+    }
+
+    private static ClubStats mapClubStats(ResultSet rs) throws SQLException {
+        int index = 1;
+        int clubId = rs.getInt(index++);
+        int players = rs.getInt(index++);
+        Map<Position, Integer> byPosition = new EnumMap<>(Position.class);
+        for (Position position : Position.values()) {
+            byPosition.put(position, rs.getInt(index++));
+        }
+        return new ClubStats(clubId, players, byPosition, rs.getInt(index++), rs.getInt(index++),
+                rs.getInt(index++), rs.getInt(index++), rs.getInt(index++), rs.getInt(index));
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.coachsapp.db;
+
+import com.example.coachsapp.util.Log;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * How coaches_app.db is opened.
+ * Selected with -Dcoachsapp.db.mode=wal|rollback (default: wal).
+ */
+public enum StorageMode {
+
+    /**
+     * SQLite's default rollback journal with autocommitted writes on the caller's thread.
+     */
+    ROLLBACK,
+
+    /**
+     * Write-ahead log with tuned pragmas. Readers are query-only and run in
+     * parallel with the writer; writes go through the single-writer queue and
+     * are group-committed.
+     */
+    WAL;
+
+    private static final Log LOG = Log.get(StorageMode.class);
+
+    private static final int BUSY_TIMEOUT_MS = 5000;
+    private static final int CACHE_SIZE_KIB = 16 * 1024;
+    private static final long MMAP_SIZE_BYTES = 256L * 1024 * 1024;
+
+    public static StorageMode fromSystemProperty() {
+        String value = System.getProperty("coachsapp.db.mode", "wal");
+        return value.equalsIgnoreCase("rollback") ? ROLLBACK : WAL;
+    }
+
+    /**
+     * Apply the per-connection pragmas for this mode to a freshly opened connection.
+     */
+    void configure(Connection connection, boolean reader) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("PRAGMA busy_timeout = " + BUSY_TIMEOUT_MS);
+            if (this == ROLLBACK) {
+                if (!reader) {
+                    // A file once opened in WAL mode stays in it until switched back
+                    switchJournal(statement, "DELETE");
+                }
+                return;
+            }
+            if (!reader) {
+                // journal_mode is persistent in the file; the writer switches it once
+                switchJournal(statement, "WAL");
+            }
+            statement.execute("PRAGMA synchronous = NORMAL");
+            statement.execute("PRAGMA cache_size = -" + CACHE_SIZE_KIB);
+            statement.execute("PRAGMA mmap_size = " + MMAP_SIZE_BYTES);
+            statement.execute("PRAGMA temp_store = MEMORY");
+            if (reader) {
+                statement.execute("PRAGMA query_only = ON");
+            }
+        }
+    }
+
+    /**
+     * Set the journal mode. SQLite answers with the mode now in effect; leaving
+     * WAL fails while another connection has the file open.
+     */
+    private static void switchJournal(Statement statement, String journalMode) throws SQLException {
+        try (ResultSet rs = statement.executeQuery("PRAGMA journal_mode = " + journalMode)) {
+            String actual = rs.next() ? rs.getString(1) : null;
+            if (!journalMode.equalsIgnoreCase(actual)) {
+                LOG.warn("⚠ Could not set journal_mode to " + journalMode + ", it is " + actual);
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.coachsapp.db;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Timestamps are stored as epoch milliseconds in INTEGER columns, reading the
+ * LocalDateTime in the system time zone, so the values compare directly with
+ * SQLite's unixepoch() and mean the same to any other reader. Reading one back
+ * is arithmetic, with no text to parse, and comparisons and index entries are
+ * plain integers.
+ */
+final class Timestamps {
+
+    private Timestamps() {
+    }
+
+    static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    static LocalDateTime fromMillis(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+
+    static void set(PreparedStatement pstmt, int index, LocalDateTime time) throws SQLException {
+        if (time == null) {
+            pstmt.setNull(index, Types.INTEGER);
+        } else {
+            pstmt.setLong(index, toMillis(time));
+        }
+    }
+
+    static LocalDateTime get(ResultSet rs, String column) throws SQLException {
+        long millis = rs.getLong(column);
+        return rs.wasNull() ? null : fromMillis(millis);
+    }
+
+    static LocalDateTime get(ResultSet rs, int index) throws SQLException {
+        long millis = rs.getLong(index);
+        return rs.wasNull() ? null : fromMillis(millis);
+    }
+
+    /**
+     * SQL that turns an ISO-8601 text column into milliseconds, for migrating old rows.
+     * SQLite reads the text as UTC, so this gives the local wall time encoded as if
+     * it were UTC; {@link #fromLocalMillis} turns that into real epoch milliseconds.
+     */
+    static String fromIsoText(String column) {
+        return "CAST(strftime('%s', " + column + ") AS INTEGER) * 1000 + " +
+               "CAST(substr(strftime('%f', " + column + "), 4) AS INTEGER)";
+    }
+
+    /**
+     * SQL that turns milliseconds holding the local wall time as if it were UTC
+     * (what schema version 6 stored) into epoch milliseconds, using the time zone
+     * of the machine that runs the migration.
+     */
+    static String fromLocalMillis(String column) {
+        return "CAST(strftime('%s', " + column + " / 1000, 'unixepoch', 'utc') AS INTEGER) * 1000 + " +
+               column + " % 1000";
+    }
+}
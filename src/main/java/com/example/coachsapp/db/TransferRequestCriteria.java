@@ -0,0 +1,82 @@
+package com.example.coachsapp.db;
+
+import com.example.coachsapp.model.Position;
+import com.example.coachsapp.model.TransferRequest.TransferStatus;
+
+/**
+ * Filters for {@link TransferRequestRepository#find}. Newest requests first unless sorted otherwise.
+ */
+public class TransferRequestCriteria extends Criteria<TransferRequestCriteria> {
+
+    public enum Sort {
+        REQUEST_DATE("tr.request_date"), TRANSFER_FEE("tr.transfer_fee"), PLAYER_NAME("p.name");
+
+        private final String column;
+
+        Sort(String column) {
+            this.column = column;
+        }
+    }
+
+    public TransferRequestCriteria() {
+        super("tr.request_date DESC, tr.id DESC");
+    }
+
+    @Override
+    TransferRequestCriteria self() {
+        return this;
+    }
+
+    public TransferRequestCriteria status(TransferStatus status) {
+        return status == null ? this : where("tr.status = ?", status.getCode());
+    }
+
+    /**
+     * Requests where the club is the seller or the buyer.
+     */
+    public TransferRequestCriteria club(Integer clubId) {
+        return clubId == null ? this
+                : where("(tr.source_club_id = ? OR tr.destination_club_id = ?)", clubId, clubId);
+    }
+
+    public TransferRequestCriteria sourceClub(Integer clubId) {
+        return clubId == null ? this : where("tr.source_club_id = ?", clubId);
+    }
+
+    public TransferRequestCriteria destinationClub(Integer clubId) {
+        return clubId == null ? this : where("tr.destination_club_id = ?", clubId);
+    }
+
+    public TransferRequestCriteria player(Integer playerId) {
+        return playerId == null ? this : where("tr.player_id = ?", playerId);
+    }
+
+    public TransferRequestCriteria position(Position position) {
+        return position == null ? this : where("p.position = ?", position.getCode());
+    }
+
+    public TransferRequestCriteria injured(Boolean injured) {
+        return injured == null ? this : where("p.injured = ?", injured);
+    }
+
+    /**
+     * Player age within the bounds, inclusive. Either bound may be null.
+     */
+    public TransferRequestCriteria ageBetween(Integer min, Integer max) {
+        if (min != null) {
+            where("p.age >= ?", min);
+        }
+        return max == null ? this : where("p.age <= ?", max);
+    }
+
+    /**
+     * Player name containing the text, ignoring case.
+     */
+    public TransferRequestCriteria text(String text) {
+        return isBlank(text) ? this : where("p.name LIKE ? ESCAPE '\\'", contains(text.strip()));
+    }
+
+    public TransferRequestCriteria sortBy(Sort sort, boolean descending) {
+        return orderBy(sort.column, descending, "tr.id");
+    }
+}
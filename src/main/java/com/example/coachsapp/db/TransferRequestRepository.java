@@ -1,69 +1,25 @@
 package com.example.coachsapp.db;
 
+import com.example.coachsapp.model.Position;
 import com.example.coachsapp.model.TransferRequest;
 import com.example.coachsapp.model.TransferRequest.TransferStatus;
+import com.example.coachsapp.util.Log;
 
 import java.sql.*;
-import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 public class TransferRequestRepository {
-    
-    public void createTable() {
-        String sql = """
-            CREATE TABLE IF NOT EXISTS transfer_requests (
-                id INTEGER PRIMARY KEY AUTOINCREMENT,
-                player_id INTEGER NOT NULL,
-                source_club_id INTEGER NOT NULL,
-                destination_club_id INTEGER,
-                status TEXT NOT NULL,
-                transfer_fee REAL DEFAULT 0.0,
-                request_date TEXT NOT NULL,
-                approved_by_source_date TEXT,
-                completed_date TEXT,
-                remarks TEXT,
-                FOREIGN KEY (player_id) REFERENCES players(id),
-                FOREIGN KEY (source_club_id) REFERENCES clubs(id),
-                FOREIGN KEY (destination_club_id) REFERENCES clubs(id)
-            )
-        """;
-        
-        try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             Statement stmt = conn.createStatement()) {
-            stmt.execute(sql);
-            System.out.println("✓ Transfer requests table created/verified");
-            migrateAddTransferFee();
-        } catch (SQLException e) {
-            System.err.println("Error creating transfer_requests table: " + e.getMessage());
-            e.printStackTrace();
-        }
-    }
 
-    public void migrateAddTransferFee() {
-        try (Connection conn = DatabaseConnection.getInstance().getConnection()) {
-            DatabaseMetaData metaData = conn.getMetaData();
-            ResultSet columns = metaData.getColumns(null, null, "transfer_requests", "transfer_fee");
-            
-            if (!columns.next()) {
-                try (Statement stmt = conn.createStatement()) {
-                    stmt.execute("ALTER TABLE transfer_requests ADD COLUMN transfer_fee REAL DEFAULT 0.0");
-                    System.out.println("✓ Added transfer_fee column to transfer_requests table");
-                }
-            }
-            
-            // Also make destination_club_id nullable for general market requests
-            ResultSet destClubColumn = metaData.getColumns(null, null, "transfer_requests", "destination_club_id");
-            if (destClubColumn.next()) {
-                int nullable = destClubColumn.getInt("NULLABLE");
-                if (nullable == DatabaseMetaData.columnNoNulls) {
-                    System.out.println("Note: destination_club_id nullability cannot be changed in SQLite. Recreate table if needed.");
-                }
-            }
-        } catch (SQLException e) {
-            System.err.println("Error migrating transfer_requests table: " + e.getMessage());
-        }
-    }
+    private static final Log LOG = Log.get(TransferRequestRepository.class);
+
+    private static final String SELECT = "SELECT " + TransferRequestRow.COLUMNS + TransferRequestRow.FROM;
+    /**
+     * Market and criteria queries carry the whole player so the screens never look players up one by one.
+     */
+    private static final String SELECT_WITH_PLAYER = "SELECT " + TransferRequestRow.COLUMNS + ", " +
+            PlayerRow.columns("p") + TransferRequestRow.FROM;
 
     public TransferRequest save(TransferRequest request) {
         if (request.getId() == null) {
@@ -76,27 +32,32 @@ public class TransferRequestRepository {
     private TransferRequest insert(TransferRequest request) {
         String sql = "INSERT INTO transfer_requests (player_id, source_club_id, destination_club_id, status, transfer_fee, request_date, approved_by_source_date, completed_date, remarks) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
         
-        try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        try {
+            TransferRequest saved = DatabaseConnection.getInstance().write(conn -> {
+                try (PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             
-            pstmt.setInt(1, request.getPlayerId());
-            pstmt.setInt(2, request.getSourceClubId());
-            pstmt.setObject(3, request.getDestinationClubId(), Types.INTEGER);
-            pstmt.setString(4, request.getStatus().name());
-            pstmt.setDouble(5, request.getTransferFee() != null ? request.getTransferFee() : 0.0);
-            pstmt.setString(6, request.getRequestDate().toString());
-            pstmt.setString(7, request.getApprovedBySourceDate() != null ? request.getApprovedBySourceDate().toString() : null);
-            pstmt.setString(8, request.getCompletedDate() != null ? request.getCompletedDate().toString() : null);
-            pstmt.setString(9, request.getRemarks());
+                    pstmt.setInt(1, request.getPlayerId());
+                    pstmt.setInt(2, request.getSourceClubId());
+                    pstmt.setObject(3, request.getDestinationClubId(), Types.INTEGER);
+                    pstmt.setInt(4, request.getStatus().getCode());
+                    pstmt.setDouble(5, request.getTransferFee() != null ? request.getTransferFee() : 0.0);
+                    Timestamps.set(pstmt, 6, request.getRequestDate());
+                    Timestamps.set(pstmt, 7, request.getApprovedBySourceDate());
+                    Timestamps.set(pstmt, 8, request.getCompletedDate());
+                    pstmt.setString(9, request.getRemarks());
             
-            pstmt.executeUpdate();
-            ResultSet rs = pstmt.getGeneratedKeys();
-            if (rs.next()) {
-                request.setId(rs.getInt(1));
-            }
-            return request;
+                    pstmt.executeUpdate();
+                    ResultSet rs = pstmt.getGeneratedKeys();
+                    if (rs.next()) {
+                        request.setId(rs.getInt(1));
+                    }
+                    return request;
+                }
+            });
+            ChangeBus.getInstance().publish(ChangeEvent.inserted(TransferRequest.class, saved.getId(), saved));
+            return saved;
         } catch (SQLException e) {
-            System.err.println("Error inserting transfer request: " + e.getMessage());
+            LOG.error("Error inserting transfer request: " + e.getMessage());
         }
         return null;
     }
@@ -104,99 +65,139 @@ public class TransferRequestRepository {
     private TransferRequest update(TransferRequest request) {
         String sql = "UPDATE transfer_requests SET player_id = ?, source_club_id = ?, destination_club_id = ?, status = ?, transfer_fee = ?, request_date = ?, approved_by_source_date = ?, completed_date = ?, remarks = ? WHERE id = ?";
         
-        try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try {
+            TransferRequest saved = DatabaseConnection.getInstance().write(conn -> {
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
-            pstmt.setInt(1, request.getPlayerId());
-            pstmt.setInt(2, request.getSourceClubId());
-            pstmt.setObject(3, request.getDestinationClubId(), Types.INTEGER);
-            pstmt.setString(4, request.getStatus().name());
-            pstmt.setDouble(5, request.getTransferFee() != null ? request.getTransferFee() : 0.0);
-            pstmt.setString(6, request.getRequestDate().toString());
-            pstmt.setString(7, request.getApprovedBySourceDate() != null ? request.getApprovedBySourceDate().toString() : null);
-            pstmt.setString(8, request.getCompletedDate() != null ? request.getCompletedDate().toString() : null);
-            pstmt.setString(9, request.getRemarks());
-            pstmt.setInt(10, request.getId());
+                    pstmt.setInt(1, request.getPlayerId());
+                    pstmt.setInt(2, request.getSourceClubId());
+                    pstmt.setObject(3, request.getDestinationClubId(), Types.INTEGER);
+                    pstmt.setInt(4, request.getStatus().getCode());
+                    pstmt.setDouble(5, request.getTransferFee() != null ? request.getTransferFee() : 0.0);
+                    Timestamps.set(pstmt, 6, request.getRequestDate());
+                    Timestamps.set(pstmt, 7, request.getApprovedBySourceDate());
+                    Timestamps.set(pstmt, 8, request.getCompletedDate());
+                    pstmt.setString(9, request.getRemarks());
+                    pstmt.setInt(10, request.getId());
             
-            pstmt.executeUpdate();
-            return request;
+                    pstmt.executeUpdate();
+                    return request;
+                }
+            });
+            ChangeBus.getInstance().publish(ChangeEvent.updated(TransferRequest.class, saved.getId(), saved));
+            return saved;
         } catch (SQLException e) {
-            System.err.println("Error updating transfer request: " + e.getMessage());
+            LOG.error("Error updating transfer request: " + e.getMessage());
         }
         return null;
     }
 
     public List<TransferRequest> findAll() {
         List<TransferRequest> requests = new ArrayList<>();
-        String sql = """
-            SELECT tr.*, 
-                   p.name as player_name,
-                   sc.name as source_club_name,
-                   dc.name as destination_club_name
-            FROM transfer_requests tr
-            JOIN players p ON tr.player_id = p.id
-            JOIN clubs sc ON tr.source_club_id = sc.id
-            LEFT JOIN clubs dc ON tr.destination_club_id = dc.id
-            ORDER BY tr.request_date DESC
-        """;
+        String sql = SELECT + " ORDER BY tr.request_date DESC";
         
-        try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+        try (Connection conn = DatabaseConnection.getInstance().getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
             
             while (rs.next()) {
                 requests.add(extractTransferRequestFromResultSet(rs));
             }
         } catch (SQLException e) {
-            System.err.println("Error finding all transfer requests: " + e.getMessage());
+            LOG.error("Error finding all transfer requests: " + e.getMessage());
         }
         return requests;
     }
 
+    /**
+     * One page of all requests, newest first; pass null for the first page.
+     */
+    public Page<TransferRequest> findPage(Page.Cursor after, int size) throws SQLException {
+        List<TransferRequest> requests = new ArrayList<>();
+        String sql = Page.seek(SELECT, "tr.request_date", "tr.id", true, after);
+
+        try (Connection conn = DatabaseConnection.getInstance().getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            Page.bind(stmt, after, size);
+            ResultSet rs = stmt.executeQuery();
+
+            while (rs.next()) {
+                requests.add(extractTransferRequestFromResultSet(rs));
+            }
+        }
+        return Page.of(requests, size, r -> new Page.Cursor(Timestamps.toMillis(r.getRequestDate()), r.getId()));
+    }
+
+    /**
+     * Market listings with the listed player attached, in one query.
+     * The player's position, age, jersey and injury status come from the same
+     * JOIN, so the market screen never looks players up one by one.
+     */
     public List<TransferRequest> findInMarket() {
+        return findInMarket(null);
+    }
+
+    /**
+     * Market listings for one position (null for all positions).
+     */
+    public List<TransferRequest> findInMarket(Position position) {
         List<TransferRequest> requests = new ArrayList<>();
-        String sql = """
-            SELECT tr.*, 
-                   p.name as player_name,
-                   sc.name as source_club_name,
-                   dc.name as destination_club_name
-            FROM transfer_requests tr
-            JOIN players p ON tr.player_id = p.id
-            JOIN clubs sc ON tr.source_club_id = sc.id
-            LEFT JOIN clubs dc ON tr.destination_club_id = dc.id
-            WHERE tr.status = 'IN_MARKET'
-            ORDER BY tr.request_date DESC
-        """;
+        String sql = SELECT_WITH_PLAYER + " WHERE tr.status = ? AND (? IS NULL OR p.position = ?) " +
+                     "ORDER BY tr.request_date DESC";
         
-        try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+        try (Connection conn = DatabaseConnection.getInstance().getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            Integer positionCode = position != null ? position.getCode() : null;
+            stmt.setInt(1, TransferStatus.IN_MARKET.getCode());
+            stmt.setObject(2, positionCode, Types.INTEGER);
+            stmt.setObject(3, positionCode, Types.INTEGER);
+            ResultSet rs = stmt.executeQuery();
             
             while (rs.next()) {
-                requests.add(extractTransferRequestFromResultSet(rs));
+                requests.add(extractWithPlayer(rs));
             }
         } catch (SQLException e) {
-            System.err.println("Error finding market transfer requests: " + e.getMessage());
+            LOG.error("Error finding market transfer requests: " + e.getMessage());
         }
         return requests;
     }
 
+    /**
+     * Requests matching the criteria, filtered and sorted by SQLite in one query,
+     * each with its player attached.
+     */
+    public List<TransferRequest> find(TransferRequestCriteria criteria) {
+        List<TransferRequest> requests = new ArrayList<>();
+        String sql = criteria.toSql(SELECT_WITH_PLAYER);
+
+        try (Connection conn = DatabaseConnection.getInstance().getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            criteria.bind(stmt);
+            ResultSet rs = stmt.executeQuery();
+
+            while (rs.next()) {
+                requests.add(extractWithPlayer(rs));
+            }
+        } catch (SQLException e) {
+            LOG.error("Error finding transfer requests: " + e.getMessage());
+        }
+        return requests;
+    }
+
+    /**
+     * Requests matching the criteria as a lazy stream, each with its player attached.
+     * Close it on the thread that opened it; see {@link RowStream}.
+     */
+    public Stream<TransferRequest> stream(TransferRequestCriteria criteria) {
+        String sql = criteria.toSql(SELECT_WITH_PLAYER);
+        return RowStream.open(sql, criteria::bind, TransferRequestRepository::extractWithPlayer, "transfer requests");
+    }
+
     public List<TransferRequest> findBySourceClubId(Integer clubId) {
         List<TransferRequest> requests = new ArrayList<>();
-        String sql = """
-            SELECT tr.*, 
-                   p.name as player_name,
-                   sc.name as source_club_name,
-                   dc.name as destination_club_name
-            FROM transfer_requests tr
-            JOIN players p ON tr.player_id = p.id
-            JOIN clubs sc ON tr.source_club_id = sc.id
-            LEFT JOIN clubs dc ON tr.destination_club_id = dc.id
-            WHERE tr.source_club_id = ?
-            ORDER BY tr.request_date DESC
-        """;
+        String sql = SELECT + " WHERE tr.source_club_id = ? ORDER BY tr.request_date DESC";
         
-        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+        try (Connection conn = DatabaseConnection.getInstance().getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setInt(1, clubId);
@@ -206,27 +207,16 @@ public class TransferRequestRepository {
                 requests.add(extractTransferRequestFromResultSet(rs));
             }
         } catch (SQLException e) {
-            System.err.println("Error finding transfer requests by source club: " + e.getMessage());
+            LOG.error("Error finding transfer requests by source club: " + e.getMessage());
         }
         return requests;
     }
 
     public List<TransferRequest> findByDestinationClubId(Integer clubId) {
         List<TransferRequest> requests = new ArrayList<>();
-        String sql = """
-            SELECT tr.*, 
-                   p.name as player_name,
-                   sc.name as source_club_name,
-                   dc.name as destination_club_name
-            FROM transfer_requests tr
-            JOIN players p ON tr.player_id = p.id
-            JOIN clubs sc ON tr.source_club_id = sc.id
-            LEFT JOIN clubs dc ON tr.destination_club_id = dc.id
-            WHERE tr.destination_club_id = ?
-            ORDER BY tr.request_date DESC
-        """;
+        String sql = SELECT + " WHERE tr.destination_club_id = ? ORDER BY tr.request_date DESC";
         
-        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+        try (Connection conn = DatabaseConnection.getInstance().getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setInt(1, clubId);
@@ -236,27 +226,16 @@ public class TransferRequestRepository {
                 requests.add(extractTransferRequestFromResultSet(rs));
             }
         } catch (SQLException e) {
-            System.err.println("Error finding transfer requests by destination club: " + e.getMessage());
+            LOG.error("Error finding transfer requests by destination club: " + e.getMessage());
         }
         return requests;
     }
 
     public List<TransferRequest> findByPlayerId(Integer playerId) {
         List<TransferRequest> requests = new ArrayList<>();
-        String sql = """
-            SELECT tr.*, 
-                   p.name as player_name,
-                   sc.name as source_club_name,
-                   dc.name as destination_club_name
-            FROM transfer_requests tr
-            JOIN players p ON tr.player_id = p.id
-            JOIN clubs sc ON tr.source_club_id = sc.id
-            LEFT JOIN clubs dc ON tr.destination_club_id = dc.id
-            WHERE tr.player_id = ?
-            ORDER BY tr.request_date DESC
-        """;
+        String sql = SELECT + " WHERE tr.player_id = ? ORDER BY tr.request_date DESC";
         
-        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+        try (Connection conn = DatabaseConnection.getInstance().getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setInt(1, playerId);
@@ -266,25 +245,15 @@ public class TransferRequestRepository {
                 requests.add(extractTransferRequestFromResultSet(rs));
             }
         } catch (SQLException e) {
-            System.err.println("Error finding transfer requests by player: " + e.getMessage());
+            LOG.error("Error finding transfer requests by player: " + e.getMessage());
         }
         return requests;
     }
 
     public TransferRequest findById(Integer id) {
-        String sql = """
-            SELECT tr.*, 
-                   p.name as player_name,
-                   sc.name as source_club_name,
-                   dc.name as destination_club_name
-            FROM transfer_requests tr
-            JOIN players p ON tr.player_id = p.id
-            JOIN clubs sc ON tr.source_club_id = sc.id
-            LEFT JOIN clubs dc ON tr.destination_club_id = dc.id
-            WHERE tr.id = ?
-        """;
+        String sql = SELECT + " WHERE tr.id = ?";
         
-        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+        try (Connection conn = DatabaseConnection.getInstance().getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setInt(1, id);
@@ -294,7 +263,7 @@ public class TransferRequestRepository {
                 return extractTransferRequestFromResultSet(rs);
             }
         } catch (SQLException e) {
-            System.err.println("Error finding transfer request by id: " + e.getMessage());
+            LOG.error("Error finding transfer request by id: " + e.getMessage());
         }
         return null;
     }
@@ -302,51 +271,32 @@ public class TransferRequestRepository {
     public void delete(Integer id) {
         String sql = "DELETE FROM transfer_requests WHERE id = ?";
         
-        try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try {
+            int deleted = DatabaseConnection.getInstance().write(conn -> {
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
-            pstmt.setInt(1, id);
-            pstmt.executeUpdate();
+                    pstmt.setInt(1, id);
+                    return pstmt.executeUpdate();
+                }
+            });
+            if (deleted > 0) {
+                ChangeBus.getInstance().publish(ChangeEvent.deleted(TransferRequest.class, id));
+            }
         } catch (SQLException e) {
-            System.err.println("Error deleting transfer request: " + e.getMessage());
+            LOG.error("Error deleting transfer request: " + e.getMessage());
         }
     }
 
-    private TransferRequest extractTransferRequestFromResultSet(ResultSet rs) throws SQLException {
-        TransferRequest request = new TransferRequest();
-        request.setId(rs.getInt("id"));
-        request.setPlayerId(rs.getInt("player_id"));
-        request.setSourceClubId(rs.getInt("source_club_id"));
-        
-        Object destClubId = rs.getObject("destination_club_id");
-        request.setDestinationClubId(destClubId != null ? (Integer) destClubId : null);
-        
-        request.setStatus(TransferStatus.valueOf(rs.getString("status")));
-        request.setTransferFee(rs.getDouble("transfer_fee"));
-        
-        String requestDate = rs.getString("request_date");
-        if (requestDate != null) {
-            request.setRequestDate(LocalDateTime.parse(requestDate));
-        }
-        
-        String approvedBySourceDate = rs.getString("approved_by_source_date");
-        if (approvedBySourceDate != null) {
-            request.setApprovedBySourceDate(LocalDateTime.parse(approvedBySourceDate));
-        }
-        
-        String completedDate = rs.getString("completed_date");
-        if (completedDate != null) {
-            request.setCompletedDate(LocalDateTime.parse(completedDate));
-        }
-        
-        request.setRemarks(rs.getString("remarks"));
-        
-        // Set display names
-        request.setPlayerName(rs.getString("player_name"));
-        request.setSourceClubName(rs.getString("source_club_name"));
-        String destClubName = rs.getString("destination_club_name");
-        request.setDestinationClubName(destClubName != null ? destClubName : "General Market");
-        
+    private static TransferRequest extractTransferRequestFromResultSet(ResultSet rs) throws SQLException {
+        return TransferRequestRow.read(rs).toTransferRequest();
+    }
+
+    /**
+     * A {@link #SELECT_WITH_PLAYER} row: the request, then the listed player's columns.
+     */
+    private static TransferRequest extractWithPlayer(ResultSet rs) throws SQLException {
+        TransferRequest request = extractTransferRequestFromResultSet(rs);
+        request.setPlayer(PlayerRow.readPlayer(rs, TransferRequestRow.WIDTH + 1));
         return request;
     }
 }
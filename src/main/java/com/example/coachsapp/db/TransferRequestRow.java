@@ -0,0 +1,67 @@
+package com.example.coachsapp.db;
+
+import com.example.coachsapp.model.TransferRequest;
+import com.example.coachsapp.model.TransferRequest.TransferStatus;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+/**
+ * A transfer_requests row with the player and club names from {@link #FROM}'s joins.
+ */
+record TransferRequestRow(int id, int playerId, int sourceClubId, Integer destinationClubId,
+                          TransferStatus status, double transferFee, LocalDateTime requestDate,
+                          LocalDateTime approvedBySourceDate, LocalDateTime completedDate, String remarks,
+                          String playerName, String sourceClubName, String destinationClubName) {
+
+    private static final String[] NAMES = {"id", "player_id", "source_club_id", "destination_club_id", "status",
+                                           "transfer_fee", "request_date", "approved_by_source_date",
+                                           "completed_date", "remarks"};
+    // The names from the joins, after the table's own columns
+    private static final String[] JOINED = {"p.name", "sc.name", "dc.name"};
+    static final String COLUMNS = Rows.columns("tr", NAMES) + ", " + String.join(", ", JOINED);
+    static final int WIDTH = NAMES.length + JOINED.length;
+    static final String FROM = """
+             FROM transfer_requests tr
+            JOIN players p ON tr.player_id = p.id
+            JOIN clubs sc ON tr.source_club_id = sc.id
+            LEFT JOIN clubs dc ON tr.destination_club_id = dc.id
+        """;
+
+    static TransferRequestRow read(ResultSet rs) throws SQLException {
+        return new TransferRequestRow(rs.getInt(1),
+                rs.getInt(2),
+                rs.getInt(3),
+                Rows.getInteger(rs, 4),
+                TransferStatus.fromCode(rs.getInt(5)),
+                rs.getDouble(6),
+                Timestamps.get(rs, 7),
+                Timestamps.get(rs, 8),
+                Timestamps.get(rs, 9),
+                rs.getString(10),
+                rs.getString(11),
+                rs.getString(12),
+                rs.getString(13));
+    }
+
+    TransferRequest toTransferRequest() {
+        TransferRequest request = new TransferRequest();
+        request.setId(id);
+        request.setPlayerId(playerId);
+        request.setSourceClubId(sourceClubId);
+        request.setDestinationClubId(destinationClubId);
+        request.setStatus(status);
+        request.setTransferFee(transferFee);
+        if (requestDate != null) {
+            request.setRequestDate(requestDate);
+        }
+        request.setApprovedBySourceDate(approvedBySourceDate);
+        request.setCompletedDate(completedDate);
+        request.setRemarks(remarks);
+        request.setPlayerName(playerName);
+        request.setSourceClubName(sourceClubName);
+        request.setDestinationClubName(destinationClubName != null ? destinationClubName : "General Market");
+        return request;
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.coachsapp.db;
+
+import java.sql.SQLException;
+
+/**
+ * Repository calls that commit together; see {@link DatabaseService#inTransaction}.
+ * Throw to roll the whole unit back.
+ */
+@FunctionalInterface
+public interface UnitOfWork<T> {
+    T run(DatabaseService db) throws SQLException;
+}
@@ -2,41 +2,23 @@ package com.example.coachsapp.db;
 
 import com.example.coachsapp.model.Role;
 import com.example.coachsapp.model.User;
+import com.example.coachsapp.util.Log;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 public class UserRepository {
-    
-    public void createTable() {
-        String sql = """
-            CREATE TABLE IF NOT EXISTS users (
-                id INTEGER PRIMARY KEY AUTOINCREMENT,
-                username TEXT NOT NULL UNIQUE,
-                password TEXT NOT NULL,
-                role TEXT NOT NULL,
-                club_id INTEGER,
-                player_id INTEGER,
-                manager_id INTEGER,
-                FOREIGN KEY (club_id) REFERENCES clubs(id),
-                FOREIGN KEY (player_id) REFERENCES players(id),
-                FOREIGN KEY (manager_id) REFERENCES managers(id)
-            )
-        """;
-        
-        try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             Statement stmt = conn.createStatement()) {
-            stmt.execute(sql);
-        } catch (SQLException e) {
-            System.err.println("Error creating users table: " + e.getMessage());
-        }
-    }
+
+    private static final Log LOG = Log.get(UserRepository.class);
+
+    private static final String SELECT = "SELECT " + UserRow.COLUMNS + " FROM users u";
 
     public User authenticate(String username, String password) {
-        String sql = "SELECT * FROM users WHERE username = ? AND password = ?";
+        String sql = SELECT + " WHERE u.username = ? AND u.password = ?";
         
-        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+        try (Connection conn = DatabaseConnection.getInstance().getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setString(1, username);
@@ -47,7 +29,7 @@ public class UserRepository {
                 return extractUserFromResultSet(rs);
             }
         } catch (SQLException e) {
-            System.err.println("Error authenticating user: " + e.getMessage());
+            LOG.error("Error authenticating user: " + e.getMessage());
         }
         return null;
     }
@@ -63,24 +45,27 @@ public class UserRepository {
     private User insert(User user) {
         String sql = "INSERT INTO users (username, password, role, club_id, player_id, manager_id) VALUES (?, ?, ?, ?, ?, ?)";
         
-        try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        try {
+            return DatabaseConnection.getInstance().write(conn -> {
+                try (PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             
-            pstmt.setString(1, user.getUsername());
-            pstmt.setString(2, user.getPassword());
-            pstmt.setString(3, user.getRole().name());
-            pstmt.setObject(4, user.getClubId());
-            pstmt.setObject(5, user.getPlayerId());
-            pstmt.setObject(6, user.getManagerId());
+                    pstmt.setString(1, user.getUsername());
+                    pstmt.setString(2, user.getPassword());
+                    pstmt.setInt(3, user.getRole().getCode());
+                    pstmt.setObject(4, user.getClubId());
+                    pstmt.setObject(5, user.getPlayerId());
+                    pstmt.setObject(6, user.getManagerId());
             
-            pstmt.executeUpdate();
-            ResultSet rs = pstmt.getGeneratedKeys();
-            if (rs.next()) {
-                user.setId(rs.getInt(1));
-            }
-            return user;
+                    pstmt.executeUpdate();
+                    ResultSet rs = pstmt.getGeneratedKeys();
+                    if (rs.next()) {
+                        user.setId(rs.getInt(1));
+                    }
+                    return user;
+                }
+            });
         } catch (SQLException e) {
-            System.err.println("Error inserting user: " + e.getMessage());
+            LOG.error("Error inserting user: " + e.getMessage());
         }
         return null;
     }
@@ -88,46 +73,112 @@ public class UserRepository {
     private User update(User user) {
         String sql = "UPDATE users SET username = ?, password = ?, role = ?, club_id = ?, player_id = ?, manager_id = ? WHERE id = ?";
         
-        try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try {
+            return DatabaseConnection.getInstance().write(conn -> {
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
-            pstmt.setString(1, user.getUsername());
-            pstmt.setString(2, user.getPassword());
-            pstmt.setString(3, user.getRole().name());
-            pstmt.setObject(4, user.getClubId());
-            pstmt.setObject(5, user.getPlayerId());
-            pstmt.setObject(6, user.getManagerId());
-            pstmt.setInt(7, user.getId());
+                    pstmt.setString(1, user.getUsername());
+                    pstmt.setString(2, user.getPassword());
+                    pstmt.setInt(3, user.getRole().getCode());
+                    pstmt.setObject(4, user.getClubId());
+                    pstmt.setObject(5, user.getPlayerId());
+                    pstmt.setObject(6, user.getManagerId());
+                    pstmt.setInt(7, user.getId());
             
-            pstmt.executeUpdate();
-            return user;
+                    pstmt.executeUpdate();
+                    return user;
+                }
+            });
         } catch (SQLException e) {
-            System.err.println("Error updating user: " + e.getMessage());
+            LOG.error("Error updating user: " + e.getMessage());
         }
         return null;
     }
 
+    /**
+     * Insert many users in one transaction with JDBC batching. Returns the users with
+     * their generated ids set, or an empty list if nothing was saved.
+     */
+    public List<User> saveAll(List<User> users) {
+        if (users.isEmpty()) {
+            return users;
+        }
+        String sql = "INSERT INTO users (username, password, role, club_id, player_id, manager_id) VALUES (?, ?, ?, ?, ?, ?)";
+
+        try {
+            return DatabaseConnection.getInstance().writeInTransaction(conn -> {
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    int inserted = Batch.execute(pstmt, users, UserRepository::bindUser);
+                    if (inserted != users.size()) {
+                        throw new SQLException("Inserted " + inserted + " of " + users.size() + " users");
+                    }
+                }
+                int id = Batch.firstInsertedId(conn, users.size());
+                for (User user : users) {
+                    user.setId(id++);
+                }
+                return users;
+            });
+        } catch (SQLException e) {
+            LOG.error("Error inserting users: " + e.getMessage());
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * Update many users in one transaction with JDBC batching. Returns the number of rows updated.
+     */
+    public int updateAll(List<User> users) {
+        if (users.isEmpty()) {
+            return 0;
+        }
+        String sql = "UPDATE users SET username = ?, password = ?, role = ?, club_id = ?, player_id = ?, manager_id = ? WHERE id = ?";
+
+        try {
+            return DatabaseConnection.getInstance().writeInTransaction(conn -> {
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    return Batch.execute(pstmt, users, (stmt, user) -> {
+                        bindUser(stmt, user);
+                        stmt.setInt(7, user.getId());
+                    });
+                }
+            });
+        } catch (SQLException e) {
+            LOG.error("Error updating users: " + e.getMessage());
+        }
+        return 0;
+    }
+
+    private static void bindUser(PreparedStatement pstmt, User user) throws SQLException {
+        pstmt.setString(1, user.getUsername());
+        pstmt.setString(2, user.getPassword());
+        pstmt.setInt(3, user.getRole().getCode());
+        pstmt.setObject(4, user.getClubId());
+        pstmt.setObject(5, user.getPlayerId());
+        pstmt.setObject(6, user.getManagerId());
+    }
+
     public List<User> findAll() {
         List<User> users = new ArrayList<>();
-        String sql = "SELECT * FROM users";
+        String sql = SELECT;
         
-        try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+        try (Connection conn = DatabaseConnection.getInstance().getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
             
             while (rs.next()) {
                 users.add(extractUserFromResultSet(rs));
             }
         } catch (SQLException e) {
-            System.err.println("Error finding all users: " + e.getMessage());
+            LOG.error("Error finding all users: " + e.getMessage());
         }
         return users;
     }
 
     public User findById(Integer id) {
-        String sql = "SELECT * FROM users WHERE id = ?";
+        String sql = SELECT + " WHERE u.id = ?";
         
-        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+        try (Connection conn = DatabaseConnection.getInstance().getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setInt(1, id);
@@ -137,15 +188,15 @@ public class UserRepository {
                 return extractUserFromResultSet(rs);
             }
         } catch (SQLException e) {
-            System.err.println("Error finding user by id: " + e.getMessage());
+            LOG.error("Error finding user by id: " + e.getMessage());
         }
         return null;
     }
 
     public User findByUsername(String username) {
-        String sql = "SELECT * FROM users WHERE username = ?";
+        String sql = SELECT + " WHERE u.username = ?";
         
-        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+        try (Connection conn = DatabaseConnection.getInstance().getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setString(1, username);
@@ -155,7 +206,7 @@ public class UserRepository {
                 return extractUserFromResultSet(rs);
             }
         } catch (SQLException e) {
-            System.err.println("Error finding user by username: " + e.getMessage());
+            LOG.error("Error finding user by username: " + e.getMessage());
         }
         return null;
     }
@@ -163,9 +214,9 @@ public class UserRepository {
     public User findByPlayerId(Integer playerId) {
         if (playerId == null) return null;
         
-        String sql = "SELECT * FROM users WHERE player_id = ?";
+        String sql = SELECT + " WHERE u.player_id = ?";
         
-        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+        try (Connection conn = DatabaseConnection.getInstance().getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setInt(1, playerId);
@@ -175,7 +226,7 @@ public class UserRepository {
                 return extractUserFromResultSet(rs);
             }
         } catch (SQLException e) {
-            System.err.println("Error finding user by player_id: " + e.getMessage());
+            LOG.error("Error finding user by player_id: " + e.getMessage());
         }
         return null;
     }
@@ -183,32 +234,21 @@ public class UserRepository {
     public void delete(Integer id) {
         String sql = "DELETE FROM users WHERE id = ?";
         
-        try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try {
+            DatabaseConnection.getInstance().write(conn -> {
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
-            pstmt.setInt(1, id);
-            pstmt.executeUpdate();
+                    pstmt.setInt(1, id);
+                    pstmt.executeUpdate();
+                }
+                return null;
+            });
         } catch (SQLException e) {
-            System.err.println("Error deleting user: " + e.getMessage());
+            LOG.error("Error deleting user: " + e.getMessage());
         }
     }
 
     private User extractUserFromResultSet(ResultSet rs) throws SQLException {
-        User user = new User();
-        user.setId(rs.getInt("id"));
-        user.setUsername(rs.getString("username"));
-        user.setPassword(rs.getString("password"));
-        user.setRole(Role.valueOf(rs.getString("role")));
-        
-        Integer clubId = (Integer) rs.getObject("club_id");
-        user.setClubId(clubId);
-        
-        Integer playerId = (Integer) rs.getObject("player_id");
-        user.setPlayerId(playerId);
-        
-        Integer managerId = (Integer) rs.getObject("manager_id");
-        user.setManagerId(managerId);
-        
-        return user;
+        return UserRow.read(rs).toUser();
     }
 }
@@ -0,0 +1,33 @@
+package com.example.coachsapp.db;
+
+import com.example.coachsapp.model.Role;
+import com.example.coachsapp.model.User;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * A users row.
+ */
+record UserRow(int id, String username, String password, Role role, Integer clubId, Integer playerId,
+               Integer managerId) {
+
+    private static final String[] NAMES = {"id", "username", "password", "role", "club_id", "player_id",
+                                           "manager_id"};
+    static final String COLUMNS = Rows.columns("u", NAMES);
+    static final int WIDTH = NAMES.length;
+
+    static UserRow read(ResultSet rs) throws SQLException {
+        return new UserRow(rs.getInt(1),
+                rs.getString(2),
+                rs.getString(3),
+                Role.fromCode(rs.getInt(4)),
+                Rows.getInteger(rs, 5),
+                Rows.getInteger(rs, 6),
+                Rows.getInteger(rs, 7));
+    }
+
+    User toUser() {
+        return new User(id, username, password, role, clubId, playerId, managerId);
+    }
+}
@@ -1,17 +1,20 @@
 package com.example.coachsapp.db;
 
 import com.example.coachsapp.model.*;
+import com.example.coachsapp.util.Log;
 
 import java.util.List;
 
 public class UserSeeder {
 
+    private static final Log LOG = Log.get(UserSeeder.class);
+
     public static void seedDefaultUsers(DatabaseService dbService) {
         UserRepository userRepo = dbService.getUserRepository();
         
         List<User> existingUsers = userRepo.findAll();
         if (!existingUsers.isEmpty()) {
-            System.out.println("✓ Users already exist, skipping seed");
+            LOG.info("✓ Users already exist, skipping seed");
             return;
         }
 
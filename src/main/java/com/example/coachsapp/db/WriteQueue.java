@@ -0,0 +1,217 @@
+package com.example.coachsapp.db;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Single writer thread for WAL mode.
+ * Callers submit write work and block until it is committed. The writer drains
+ * whatever is queued, runs each item under its own savepoint and commits the
+ * whole batch once, so concurrent writers share one fsync.
+ */
+public class WriteQueue {
+
+    private static final int MAX_BATCH = 64;
+
+    private final ConnectionPool pool;
+    private final BlockingQueue<Task<?>> pending = new LinkedBlockingQueue<>();
+    private final Thread writerThread;
+    private volatile boolean running = true;
+
+    private final AtomicLong commits = new AtomicLong();
+    private final AtomicLong writes = new AtomicLong();
+    private final AtomicLong failedWrites = new AtomicLong();
+
+    public WriteQueue(ConnectionPool pool) {
+        this.pool = pool;
+        this.writerThread = new Thread(this::runLoop, "sqlite-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    /**
+     * Run the work on the writer thread and wait for its batch to commit.
+     */
+    public <T> T submit(SqlWork<T> work) throws SQLException {
+        if (Thread.currentThread() == writerThread) {
+            // Nested write from inside a batch: it joins the running transaction
+            try (Connection connection = pool.acquireWriter()) {
+                return work.run(connection);
+            }
+        }
+        if (!running) {
+            throw new SQLException("Write queue is shut down");
+        }
+
+        Task<T> task = new Task<>(work);
+        pending.add(task);
+        if (!running && pending.remove(task)) {
+            // Shut down between the check above and the add; the writer may already be gone
+            throw new SQLException("Write queue is shut down");
+        }
+        try {
+            return task.future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for write to commit", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException sqlException) {
+                throw sqlException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new SQLException(cause);
+        }
+    }
+
+    /**
+     * Stop accepting work, commit what is already queued and stop the thread.
+     * Work still queued when the thread stops fails with an SQLException.
+     */
+    public void shutdown() {
+        running = false;
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public long getCommits() {
+        return commits.get();
+    }
+
+    public long getWrites() {
+        return writes.get();
+    }
+
+    public long getFailedWrites() {
+        return failedWrites.get();
+    }
+
+    public double getAverageBatchSize() {
+        long count = commits.get();
+        return count == 0 ? 0 : (double) writes.get() / count;
+    }
+
+    private void runLoop() {
+        List<Task<?>> batch = new ArrayList<>(MAX_BATCH);
+        while (running || !pending.isEmpty()) {
+            Task<?> first;
+            try {
+                first = pending.poll(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                continue;
+            }
+            if (first == null) {
+                continue;
+            }
+            batch.add(first);
+            pending.drainTo(batch, MAX_BATCH - 1);
+            try {
+                commitBatch(batch);
+            } catch (Throwable e) {
+                // Never leave a caller blocked in submit() on a task the loop gave up on
+                for (Task<?> task : batch) {
+                    task.future.completeExceptionally(e);
+                }
+            }
+            batch.clear();
+        }
+        SQLException stopped = new SQLException("Write queue is shut down");
+        Task<?> left;
+        while ((left = pending.poll()) != null) {
+            failedWrites.incrementAndGet();
+            left.future.completeExceptionally(stopped);
+        }
+    }
+
+    private void commitBatch(List<Task<?>> batch) {
+        try (Connection connection = pool.acquireWriter()) {
+            connection.setAutoCommit(false);
+            for (Task<?> task : batch) {
+                Savepoint savepoint = connection.setSavepoint();
+                try {
+                    task.execute(connection);
+                    connection.releaseSavepoint(savepoint);
+                } catch (Throwable e) {
+                    connection.rollback(savepoint);
+                    task.failure = e;
+                }
+            }
+            try {
+                connection.commit();
+            } catch (SQLException e) {
+                // Don't hand the writer back to the pool with the batch still open
+                rollbackQuietly(connection, e);
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            for (Task<?> task : batch) {
+                if (task.failure == null) {
+                    task.failure = e;
+                }
+            }
+        }
+
+        commits.incrementAndGet();
+        for (Task<?> task : batch) {
+            if (task.failure != null) {
+                failedWrites.incrementAndGet();
+            } else {
+                writes.incrementAndGet();
+            }
+            task.complete();
+        }
+    }
+
+    private static void rollbackQuietly(Connection connection, SQLException cause) {
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            cause.addSuppressed(e);
+        }
+    }
+
+    /**
+     * One queued write and its outcome.
+     */
+    private static final class Task<T> {
+        private final SqlWork<T> work;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private T result;
+        private Throwable failure;
+
+        Task(SqlWork<T> work) {
+            this.work = work;
+        }
+
+        void execute(Connection connection) throws SQLException {
+            result = work.run(connection);
+        }
+
+        void complete() {
+            if (failure != null) {
+                future.completeExceptionally(failure);
+            } else {
+                future.complete(result);
+            }
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.example.coachsapp.model.Club;
 import com.example.coachsapp.model.Player;
 import com.example.coachsapp.model.Position;
 import com.example.coachsapp.util.AppState;
+import com.example.coachsapp.util.Log;
 import javafx.geometry.Insets;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
@@ -15,6 +16,8 @@ import javafx.collections.FXCollections;
 
 public class AddPlayerDialog {
 
+    private static final Log LOG = Log.get(AddPlayerDialog.class);
+
     private Player result = null;
 
     public Player showDialog(Stage parentStage) {
@@ -92,7 +95,7 @@ public class AddPlayerDialog {
                 result = new Player(name, age, jersey, position, injured);
                 result.setClubId(selectedClub.getId());
 
-                System.out.println("✓ Player Created (dialog): " + name + " @ " + selectedClub.getClubName());
+                LOG.info("✓ Player Created (dialog): " + name + " @ " + selectedClub.getClubName());
                 dialog.close();
             } catch (NumberFormatException e) {
                 showError("Age and Jersey must be valid numbers");
@@ -6,6 +6,7 @@ import com.example.coachsapp.model.Position;
 import com.example.coachsapp.model.Role;
 import com.example.coachsapp.model.User;
 import com.example.coachsapp.util.AppState;
+import com.example.coachsapp.util.Log;
 import javafx.geometry.Insets;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
@@ -17,6 +18,8 @@ import javafx.collections.FXCollections;
 
 public class EditPlayerDialog {
 
+    private static final Log LOG = Log.get(EditPlayerDialog.class);
+
     private Player result = null;
     private Player originalPlayer;
 
@@ -66,22 +69,19 @@ public class EditPlayerDialog {
             if (originalPlayer.getClubView() != null && !originalPlayer.getClubView().isEmpty()) {
                 clubName = originalPlayer.getClubView();
             } else if (originalPlayer.getClubId() != null) {
-                clubName = AppState.clubs.stream()
-                    .filter(c -> c.getId() != null && c.getId().equals(originalPlayer.getClubId()))
-                    .map(Club::getClubName)
-                    .findFirst()
-                    .orElse("Unknown Club");
+                String name = AppState.findClubName(originalPlayer.getClubId());
+                if (name != null) {
+                    clubName = name;
+                }
             }
             clubDisplayLabel = new Label(clubName);
             clubDisplayLabel.setStyle("-fx-font-size: 16px; -fx-font-weight: bold; -fx-text-fill: #888;");
         } else {
             if (!AppState.clubs.isEmpty()) {
                 clubCombo.setItems(FXCollections.observableArrayList(AppState.clubs));
-                if (originalPlayer.getClubId() != null) {
-                    AppState.clubs.stream()
-                        .filter(c -> c.getId() != null && c.getId().equals(originalPlayer.getClubId()))
-                        .findFirst()
-                        .ifPresent(clubCombo::setValue);
+                Club currentClub = AppState.findClub(originalPlayer.getClubId());
+                if (currentClub != null) {
+                    clubCombo.setValue(currentClub);
                 }
             } else {
                 var clubsFromManagers = AppState.managers.stream().map(m -> m.getClub()).distinct().toList();
@@ -136,7 +136,7 @@ public class EditPlayerDialog {
 
                 result = originalPlayer;
                 String clubInfo = isManager ? originalPlayer.getClubView() : selectedClub.getClubName();
-                System.out.println("✓ Player Updated (dialog): " + name + " @ " + clubInfo);
+                LOG.info("✓ Player Updated (dialog): " + name + " @ " + clubInfo);
                 dialog.close();
             } catch (NumberFormatException e) {
                 showError("Jersey must be a valid number");
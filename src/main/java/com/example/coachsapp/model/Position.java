@@ -1,10 +1,33 @@
 package com.example.coachsapp.model;
 
 public enum Position {
-    FORWARD,
-    MIDFIELDER,
-    DEFENDER,
-    GOALKEEPER
-}
+    FORWARD(0),
+    MIDFIELDER(1),
+    DEFENDER(2),
+    GOALKEEPER(3);
+
+    private static final Position[] BY_CODE = new Position[values().length];
+
+    static {
+        for (Position position : values()) {
+            BY_CODE[position.code] = position;
+        }
+    }
 
+    private final int code;
 
+    Position(int code) {
+        this.code = code;
+    }
+
+    /**
+     * Code stored in the database. Codes are permanent: add new ones, never renumber.
+     */
+    public int getCode() {
+        return code;
+    }
+
+    public static Position fromCode(int code) {
+        return BY_CODE[code];
+    }
+}
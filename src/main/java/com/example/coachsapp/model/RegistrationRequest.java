@@ -18,16 +18,37 @@ public class RegistrationRequest {
     private String remarks;
 
     public enum RequestStatus {
-        PENDING("Pending Admin Approval"),
-        APPROVED("Approved"),
-        REJECTED("Rejected");
+        PENDING(0, "Pending Admin Approval"),
+        APPROVED(1, "Approved"),
+        REJECTED(2, "Rejected");
 
+        private static final RequestStatus[] BY_CODE = new RequestStatus[values().length];
+
+        static {
+            for (RequestStatus value : values()) {
+                BY_CODE[value.code] = value;
+            }
+        }
+
+        private final int code;
         private final String displayName;
 
-        RequestStatus(String displayName) {
+        RequestStatus(int code, String displayName) {
+            this.code = code;
             this.displayName = displayName;
         }
 
+        /**
+         * Code stored in the database. Codes are permanent: add new ones, never renumber.
+         */
+        public int getCode() {
+            return code;
+        }
+
+        public static RequestStatus fromCode(int code) {
+            return BY_CODE[code];
+        }
+
         public String getDisplayName() {
             return displayName;
         }
@@ -2,17 +2,38 @@ package com.example.coachsapp.model;
 
 public enum Role
 {
-    SYSTEM_ADMIN("System Admin"),
-    CLUB_OWNER("Club Owner"),
-    CLUB_MANAGER("Club Manager"),
-    PLAYER("Player");
+    SYSTEM_ADMIN(0, "System Admin"),
+    CLUB_OWNER(1, "Club Owner"),
+    CLUB_MANAGER(2, "Club Manager"),
+    PLAYER(3, "Player");
 
+    private static final Role[] BY_CODE = new Role[values().length];
+
+    static {
+        for (Role value : values()) {
+            BY_CODE[value.code] = value;
+        }
+    }
+
+    private final int code;
     private final String displayName;
 
-    Role(String displayName) {
+    Role(int code, String displayName) {
+        this.code = code;
         this.displayName = displayName;
     }
 
+    /**
+     * Code stored in the database. Codes are permanent: add new ones, never renumber.
+     */
+    public int getCode() {
+        return code;
+    }
+
+    public static Role fromCode(int code) {
+        return BY_CODE[code];
+    }
+
     public String getDisplayName() {
         return displayName;
     }
@@ -18,18 +18,42 @@ public class TransferRequest {
     private String sourceClubName;
     private String destinationClubName;
 
+    // Listed player, loaded with market listings
+    private Player player;
+
     public enum TransferStatus {
-        PENDING_APPROVAL("Pending - Awaiting Manager Approval"),
-        IN_MARKET("Available in Transfer Market"),
-        COMPLETED("Transfer Completed"),
-        CANCELLED("Transfer Cancelled");
+        PENDING_APPROVAL(0, "Pending - Awaiting Manager Approval"),
+        IN_MARKET(1, "Available in Transfer Market"),
+        COMPLETED(2, "Transfer Completed"),
+        CANCELLED(3, "Transfer Cancelled");
+
+        private static final TransferStatus[] BY_CODE = new TransferStatus[values().length];
+
+        static {
+            for (TransferStatus value : values()) {
+                BY_CODE[value.code] = value;
+            }
+        }
 
+        private final int code;
         private final String displayName;
 
-        TransferStatus(String displayName) {
+        TransferStatus(int code, String displayName) {
+            this.code = code;
             this.displayName = displayName;
         }
 
+        /**
+         * Code stored in the database. Codes are permanent: add new ones, never renumber.
+         */
+        public int getCode() {
+            return code;
+        }
+
+        public static TransferStatus fromCode(int code) {
+            return BY_CODE[code];
+        }
+
         public String getDisplayName() {
             return displayName;
         }
@@ -151,6 +175,14 @@ public class TransferRequest {
         this.destinationClubName = destinationClubName;
     }
 
+    public Player getPlayer() {
+        return player;
+    }
+
+    public void setPlayer(Player player) {
+        this.player = player;
+    }
+
     @Override
     public String toString() {
         return "TransferRequest{" +
@@ -1,11 +1,14 @@
 package com.example.coachsapp.util;
 
+import com.example.coachsapp.db.ChangeBus;
+import com.example.coachsapp.db.ChangeEvent;
 import com.example.coachsapp.model.*;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 public class AppState {
     public static ObservableList<Manager> managers = FXCollections.observableArrayList();
@@ -16,6 +19,18 @@ public class AppState {
 
     public static User currentUser = null;
 
+    // Indexes over the lists above, kept in sync by list listeners
+    private static final EntityIndex<Club> clubIndex = new EntityIndex<>(clubs, Club::getId);
+    private static final EntityIndex<Player> playerIndex = new EntityIndex<>(players, Player::getId);
+    private static final EntityIndex<Manager> managerIndex = new EntityIndex<>(managers, Manager::getId);
+    private static final EntityIndex.Grouping<String, Club> clubsByName = clubIndex.groupBy(Club::getClubName);
+    private static final EntityIndex.Grouping<Integer, Player> playersByClub = playerIndex.groupBy(Player::getClubId);
+    private static final EntityIndex.Grouping<Position, Player> playersByPosition = playerIndex.groupBy(Player::getPosition);
+    private static final EntityIndex.Grouping<Integer, Manager> managersByClub =
+            managerIndex.groupBy(m -> m.getClub() != null ? m.getClub().getId() : null);
+
+    private static boolean listening;
+
     private static Player selectedPlayer;
 
     private static Manager selectedManager;
@@ -36,12 +51,199 @@ public class AppState {
         selectedManager = manager;
     }
 
-    public static void refreshPlayers() {
-        players.clear();
-        for (Manager manager : managers) {
-            if (manager.getClub() != null && manager.getClub().getPlayers() != null) {
-                players.addAll(manager.getClub().getPlayers());
+    public static Club findClub(Integer id) {
+        return clubIndex.get(id);
+    }
+
+    /**
+     * Name of the club with the given id, or null if it is not loaded.
+     */
+    public static String findClubName(Integer clubId) {
+        Club club = clubIndex.get(clubId);
+        return club != null ? club.getClubName() : null;
+    }
+
+    public static Club findClubByName(String name) {
+        List<Club> matches = clubsByName.get(name);
+        return matches.isEmpty() ? null : matches.get(0);
+    }
+
+    public static Player findPlayer(Integer id) {
+        return playerIndex.get(id);
+    }
+
+    public static Manager findManager(Integer id) {
+        return managerIndex.get(id);
+    }
+
+    /**
+     * Players of a club, as a read-only live view. Copy it before changing the list.
+     */
+    public static List<Player> getPlayersByClub(Integer clubId) {
+        return playersByClub.get(clubId);
+    }
+
+    public static List<Player> getPlayersByPosition(Position position) {
+        return playersByPosition.get(position);
+    }
+
+    public static List<Manager> getManagersByClub(Integer clubId) {
+        return managersByClub.get(clubId);
+    }
+
+    /**
+     * Swap freshly queried players for the instances in {@link #players}, so edits
+     * made through the result show up everywhere. Rows not loaded yet are kept as they are.
+     */
+    public static List<Player> sharedPlayers(List<Player> loaded) {
+        List<Player> shared = new ArrayList<>(loaded.size());
+        for (Player player : loaded) {
+            Player known = playerIndex.get(player.getId());
+            shared.add(known != null ? known : player);
+        }
+        return shared;
+    }
+
+    /**
+     * Same as {@link #sharedPlayers} for managers.
+     */
+    public static List<Manager> sharedManagers(List<Manager> loaded) {
+        List<Manager> shared = new ArrayList<>(loaded.size());
+        for (Manager manager : loaded) {
+            Manager known = managerIndex.get(manager.getId());
+            shared.add(known != null ? known : manager);
+        }
+        return shared;
+    }
+
+    /**
+     * Update the indexes after a player in {@link #players} was edited in place.
+     */
+    public static void playerChanged(Player player) {
+        playerIndex.reindex(player);
+    }
+
+    /**
+     * Update the indexes after a manager in {@link #managers} was edited in place.
+     */
+    public static void managerChanged(Manager manager) {
+        managerIndex.reindex(manager);
+    }
+
+    /**
+     * Keep the lists in step with committed repository writes from now on: each
+     * insert, update or delete is applied to the one entity it names on the FX
+     * thread, so no screen has to patch AppState or reload it. Called by
+     * StartupLoader once the lists are loaded; later calls do nothing.
+     */
+    public static synchronized void listenForChanges() {
+        if (listening) {
+            return;
+        }
+        listening = true;
+        ChangeBus bus = ChangeBus.getInstance();
+        bus.subscribe(Club.class, FxTasks.FX_THREAD, AppState::applyClubChange);
+        bus.subscribe(Player.class, FxTasks.FX_THREAD, AppState::applyPlayerChange);
+        bus.subscribe(Manager.class, FxTasks.FX_THREAD, AppState::applyManagerChange);
+    }
+
+    private static void applyClubChange(ChangeEvent<Club> event) {
+        Club known = clubIndex.get(event.id());
+        switch (event.type()) {
+            case INSERT, UPDATE -> {
+                Club club = event.entity();
+                if (known == null) {
+                    clubs.add(club);
+                } else {
+                    known.setClubName(club.getClubName());
+                    clubIndex.reindex(known);
+                }
+            }
+            case DELETE -> {
+                if (known != null) {
+                    clubs.remove(known);
+                }
+            }
+        }
+    }
+
+    private static void applyPlayerChange(ChangeEvent<Player> event) {
+        Player known = playerIndex.get(event.id());
+        switch (event.type()) {
+            case INSERT, UPDATE -> {
+                Player player = event.entity();
+                if (known == null) {
+                    players.add(player);
+                    joinClub(player, player.getClubId());
+                    return;
+                }
+                // The edited object is often the shared one itself; the index still has its old club
+                Integer oldClubId = playersByClub.keyOf(known);
+                if (known != player) {
+                    known.setName(player.getName());
+                    known.setAge(player.getAge());
+                    known.setJersey(player.getJersey());
+                    known.setPosition(player.getPosition());
+                    known.setInjured(player.isInjured());
+                    known.setClubId(player.getClubId());
+                    known.setClubView(player.getClubView());
+                }
+                if (!Objects.equals(oldClubId, known.getClubId())) {
+                    leaveClub(known, oldClubId);
+                    joinClub(known, known.getClubId());
+                }
+                playerIndex.reindex(known);
             }
+            case DELETE -> {
+                if (known != null) {
+                    players.remove(known);
+                    leaveClub(known, known.getClubId());
+                }
+            }
+        }
+    }
+
+    private static void applyManagerChange(ChangeEvent<Manager> event) {
+        Manager known = managerIndex.get(event.id());
+        switch (event.type()) {
+            case INSERT, UPDATE -> {
+                Manager manager = event.entity();
+                Club club = manager.getClub() != null ? clubIndex.get(manager.getClub().getId()) : null;
+                Manager target = known != null ? known : manager;
+                if (known != null && known != manager) {
+                    known.setName(manager.getName());
+                    known.setAge(manager.getAge());
+                    known.setClub(manager.getClub());
+                }
+                // Point the manager at the shared club instance, as StartupLoader does
+                if (club != null) {
+                    target.setClub(club);
+                }
+                if (known == null) {
+                    managers.add(manager);
+                } else {
+                    managerIndex.reindex(known);
+                }
+            }
+            case DELETE -> {
+                if (known != null) {
+                    managers.remove(known);
+                }
+            }
+        }
+    }
+
+    private static void joinClub(Player player, Integer clubId) {
+        Club club = clubIndex.get(clubId);
+        if (club != null) {
+            club.addPlayer(player);
+        }
+    }
+
+    private static void leaveClub(Player player, Integer clubId) {
+        Club club = clubIndex.get(clubId);
+        if (club != null) {
+            club.removePlayer(player);
         }
     }
 }
@@ -0,0 +1,205 @@
+package com.example.coachsapp.util;
+
+import javafx.scene.Node;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Region;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Virtualized grid of fixed-size cards.
+ * Items are split into rows of as many cards as fit the width, and the rows are
+ * shown in a ListView, so only the visible rows have nodes. Scrolling and
+ * {@link #setCards} reuse existing cards through {@link Card#update}; nothing is
+ * rebuilt. Styling comes from styles.css (card-grid and the card's own classes).
+ * Filling a row is recorded as a {@link CardRenderEvent} while a flight recording runs.
+ */
+public class CardGrid<T> extends ListView<List<T>> {
+
+    /**
+     * One reusable card. The node is built once and then shown for different items.
+     */
+    public interface Card<T> {
+        Node getNode();
+
+        void update(T item);
+    }
+
+    // Cell padding plus room for the vertical scroll bar
+    private static final double INSETS = 40;
+
+    private final double cardWidth;
+    private final double cardHeight;
+    private final double gap;
+    private final Supplier<Card<T>> cardFactory;
+    private List<T> cards = new ArrayList<>();
+    private int columns = 1;
+
+    public CardGrid(double cardWidth, double cardHeight, double gap, Supplier<Card<T>> cardFactory) {
+        this.cardWidth = cardWidth;
+        this.cardHeight = cardHeight;
+        this.gap = gap;
+        this.cardFactory = cardFactory;
+        getStyleClass().add("card-grid");
+        setFixedCellSize(cardHeight + gap);
+        setFocusTraversable(false);
+        setCellFactory(list -> new RowCell());
+        widthProperty().addListener((obs, oldWidth, newWidth) -> {
+            int fit = columnsFor(newWidth.doubleValue());
+            if (fit != columns) {
+                columns = fit;
+                layoutRows();
+            }
+        });
+    }
+
+    /**
+     * Show these items, reusing the existing cards.
+     */
+    public void setCards(List<T> items) {
+        this.cards = new ArrayList<>(items);
+        layoutRows();
+    }
+
+    /**
+     * Append items after the ones shown, e.g. the next page of a list. Only the
+     * last, partly filled row and the rows after it are rebuilt.
+     */
+    public void addCards(List<T> more) {
+        int firstRow = cards.size() / columns;
+        cards.addAll(more);
+        getItems().remove(Math.min(firstRow, getItems().size()), getItems().size());
+        getItems().addAll(rowsFrom(firstRow * columns));
+    }
+
+    public List<T> getCards() {
+        return cards;
+    }
+
+    /**
+     * Redraw the card of an item that changed in place. Only its row is rebuilt.
+     * Returns false if the item is not shown.
+     */
+    public boolean refreshCard(T item) {
+        int index = indexOf(item);
+        if (index < 0) {
+            return false;
+        }
+        int row = index / columns;
+        getItems().set(row, rowsFrom(row * columns, 1).get(0));
+        return true;
+    }
+
+    /**
+     * Take an item's card out; the rows from its row on close up.
+     */
+    public void removeCard(T item) {
+        int index = indexOf(item);
+        if (index < 0) {
+            return;
+        }
+        cards.remove(index);
+        int firstRow = index / columns;
+        getItems().remove(firstRow, getItems().size());
+        getItems().addAll(rowsFrom(firstRow * columns));
+    }
+
+    private int indexOf(T item) {
+        for (int i = 0; i < cards.size(); i++) {
+            if (cards.get(i) == item) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int columnsFor(double width) {
+        return Math.max(1, (int) ((width - INSETS + gap) / (cardWidth + gap)));
+    }
+
+    private void layoutRows() {
+        getItems().setAll(rowsFrom(0));
+    }
+
+    /**
+     * Rows of cards starting at the given card. Rows are copies, since
+     * {@link #addCards} grows the list they come from.
+     */
+    private List<List<T>> rowsFrom(int first) {
+        return rowsFrom(first, Integer.MAX_VALUE);
+    }
+
+    private List<List<T>> rowsFrom(int first, int maxRows) {
+        List<List<T>> rows = new ArrayList<>(Math.min(maxRows, (cards.size() - first + columns - 1) / columns));
+        for (int start = first; start < cards.size() && rows.size() < maxRows; start += columns) {
+            rows.add(List.copyOf(cards.subList(start, Math.min(start + columns, cards.size()))));
+        }
+        return rows;
+    }
+
+    /**
+     * Card class without the package, e.g. PlayerListController$PlayerCard.
+     */
+    private static String cardName(Card<?> card) {
+        String name = card.getClass().getName();
+        return name.substring(name.lastIndexOf('.') + 1);
+    }
+
+    /**
+     * One row of cards. Cards are created the first time a row needs them and
+     * hidden rather than removed when a shorter row comes along.
+     */
+    private final class RowCell extends ListCell<List<T>> {
+        private final HBox row = new HBox(gap);
+        private final List<Card<T>> rowCards = new ArrayList<>();
+
+        RowCell() {
+            row.getStyleClass().add("card-grid-row");
+        }
+
+        @Override
+        protected void updateItem(List<T> items, boolean empty) {
+            super.updateItem(items, empty);
+            setText(null);
+            if (empty || items == null) {
+                setGraphic(null);
+                return;
+            }
+            CardRenderEvent rendered = new CardRenderEvent();
+            rendered.begin();
+            int built = 0;
+            while (rowCards.size() < items.size()) {
+                Card<T> card = cardFactory.get();
+                built++;
+                if (card.getNode() instanceof Region region) {
+                    region.setMinSize(cardWidth, cardHeight);
+                    region.setPrefSize(cardWidth, cardHeight);
+                    region.setMaxSize(cardWidth, cardHeight);
+                }
+                rowCards.add(card);
+                row.getChildren().add(card.getNode());
+            }
+            for (int i = 0; i < rowCards.size(); i++) {
+                Card<T> card = rowCards.get(i);
+                boolean used = i < items.size();
+                card.getNode().setVisible(used);
+                card.getNode().setManaged(used);
+                if (used) {
+                    card.update(items.get(i));
+                }
+            }
+            setGraphic(row);
+            rendered.end();
+            if (rendered.shouldCommit() && !rowCards.isEmpty()) {
+                rendered.card = cardName(rowCards.get(0));
+                rendered.built = built;
+                rendered.updated = items.size();
+                rendered.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.coachsapp.util;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for one {@link CardGrid} row being filled: cards
+ * created for it plus cards rebound to new items.
+ */
+@Name("com.example.coachsapp.CardRender")
+@Label("Card Render")
+@Category({"Coaches App", "JavaFX"})
+@StackTrace(false)
+final class CardRenderEvent extends Event {
+
+    @Label("Card")
+    @Description("Card class, e.g. PlayerListController$PlayerCard")
+    String card;
+
+    @Label("Cards Built")
+    @Description("Card nodes created for the row")
+    int built;
+
+    @Label("Cards Updated")
+    @Description("Cards rebound to an item")
+    int updated;
+}
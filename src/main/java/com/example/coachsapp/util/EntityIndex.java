@@ -0,0 +1,149 @@
+package com.example.coachsapp.util;
+
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Hash indexes over one of the AppState lists: id to entity, plus any number of
+ * groupings (club to players, position to players, ...).
+ * A list listener keeps them in step with adds and removes. An entity changed in
+ * place, such as a player moving club, has to be passed to {@link #reindex} so its
+ * groupings follow. Like the lists, indexes are only used on the JavaFX thread.
+ */
+public class EntityIndex<E> {
+
+    private final Function<E, Integer> idOf;
+    private final Map<Integer, E> byId = new HashMap<>();
+    private final Map<E, Integer> indexedIds = new IdentityHashMap<>();
+    private final List<Grouping<?, E>> groupings = new ArrayList<>();
+
+    public EntityIndex(ObservableList<E> source, Function<E, Integer> idOf) {
+        this.idOf = idOf;
+        source.forEach(this::add);
+        source.addListener((ListChangeListener<E>) change -> {
+            while (change.next()) {
+                if (change.wasPermutated()) {
+                    continue;
+                }
+                change.getRemoved().forEach(this::remove);
+                change.getAddedSubList().forEach(this::add);
+            }
+        });
+    }
+
+    /**
+     * Add a grouping by the given key. Entities with a null key are grouped under null.
+     */
+    public <K> Grouping<K, E> groupBy(Function<E, K> keyOf) {
+        Grouping<K, E> grouping = new Grouping<>(keyOf);
+        indexedIds.keySet().forEach(grouping::add);
+        groupings.add(grouping);
+        return grouping;
+    }
+
+    public E get(Integer id) {
+        return id == null ? null : byId.get(id);
+    }
+
+    /**
+     * Re-file an entity whose id or grouping keys changed in place.
+     */
+    public void reindex(E entity) {
+        if (indexedIds.containsKey(entity)) {
+            remove(entity);
+            add(entity);
+        }
+    }
+
+    private void add(E entity) {
+        Integer id = idOf.apply(entity);
+        indexedIds.put(entity, id);
+        if (id != null) {
+            byId.put(id, entity);
+        }
+        for (Grouping<?, E> grouping : groupings) {
+            grouping.add(entity);
+        }
+    }
+
+    private void remove(E entity) {
+        if (!indexedIds.containsKey(entity)) {
+            return;
+        }
+        Integer id = indexedIds.remove(entity);
+        // Another copy with the same id may have replaced this one in the list
+        if (id != null && byId.get(id) == entity) {
+            byId.remove(id);
+        }
+        for (Grouping<?, E> grouping : groupings) {
+            grouping.remove(entity);
+        }
+    }
+
+    /**
+     * Entities bucketed by one key, in the order they were added.
+     */
+    public static final class Grouping<K, E> {
+        private final Function<E, K> keyOf;
+        private final Map<K, List<E>> buckets = new HashMap<>();
+        private final Map<E, K> filedUnder = new IdentityHashMap<>();
+
+        private Grouping(Function<E, K> keyOf) {
+            this.keyOf = keyOf;
+        }
+
+        /**
+         * Read-only live view of the entities under a key; empty if there are none.
+         */
+        public List<E> get(K key) {
+            List<E> bucket = buckets.get(key);
+            return bucket == null ? List.of() : Collections.unmodifiableList(bucket);
+        }
+
+        public Set<K> keys() {
+            return Collections.unmodifiableSet(buckets.keySet());
+        }
+
+        /**
+         * The key the entity is filed under, which is its old key until it is reindexed.
+         */
+        public K keyOf(E entity) {
+            return filedUnder.get(entity);
+        }
+
+        private void add(E entity) {
+            K key = keyOf.apply(entity);
+            filedUnder.put(entity, key);
+            buckets.computeIfAbsent(key, k -> new ArrayList<>()).add(entity);
+        }
+
+        private void remove(E entity) {
+            if (!filedUnder.containsKey(entity)) {
+                return;
+            }
+            K key = filedUnder.remove(entity);
+            List<E> bucket = buckets.get(key);
+            if (bucket == null) {
+                return;
+            }
+            for (int i = 0; i < bucket.size(); i++) {
+                if (bucket.get(i) == entity) {
+                    bucket.remove(i);
+                    break;
+                }
+            }
+            if (bucket.isEmpty()) {
+                buckets.remove(key);
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.coachsapp.util;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Optional continuous Flight Recorder recording, so a user who reports a slow
+ * screen can send us a .jfr file. The recording keeps the last maxAge/maxSize
+ * of events on disk, the app's own events (repository calls, scene switches,
+ * card rendering) included, and is dumped to the destination file every few
+ * minutes and on exit, so the file is recent even after a crash.
+ *
+ * Enable with -Dcoachsapp.jfr=true. -Dcoachsapp.jfr.file (default coachsapp.jfr),
+ * -Dcoachsapp.jfr.maxAgeMinutes (30), -Dcoachsapp.jfr.maxSizeMb (100),
+ * -Dcoachsapp.jfr.dumpEveryMinutes (5; 0 dumps only on exit) and
+ * -Dcoachsapp.jfr.settings (default, or profile for more detail) tune it.
+ */
+public final class FlightRecording {
+
+    private static final Log LOG = Log.get(FlightRecording.class);
+
+    private static Recording recording;
+    private static Path destination;
+
+    private FlightRecording() {
+    }
+
+    /**
+     * Start the recording if the system properties ask for one. Safe to call more than once.
+     */
+    public static synchronized void startIfRequested() {
+        if (recording != null || !Boolean.getBoolean("coachsapp.jfr")) {
+            return;
+        }
+        String settings = System.getProperty("coachsapp.jfr.settings", "default");
+        destination = Path.of(System.getProperty("coachsapp.jfr.file", "coachsapp.jfr")).toAbsolutePath();
+        try {
+            Recording continuous = new Recording(Configuration.getConfiguration(settings));
+            continuous.setName("coachsapp");
+            continuous.setToDisk(true);
+            continuous.setMaxAge(Duration.ofMinutes(Long.getLong("coachsapp.jfr.maxAgeMinutes", 30)));
+            continuous.setMaxSize(Long.getLong("coachsapp.jfr.maxSizeMb", 100) * 1024 * 1024);
+            continuous.setDestination(destination);
+            continuous.setDumpOnExit(true);
+            continuous.start();
+            recording = continuous;
+        } catch (IOException | ParseException | IllegalStateException | SecurityException e) {
+            LOG.error("✗ Could not start flight recording: " + e.getMessage());
+            return;
+        }
+
+        long dumpEvery = Long.getLong("coachsapp.jfr.dumpEveryMinutes", 5);
+        if (dumpEvery > 0) {
+            ScheduledExecutorService dumper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "jfr-dump");
+                thread.setDaemon(true);
+                return thread;
+            });
+            dumper.scheduleWithFixedDelay(FlightRecording::dump, dumpEvery, dumpEvery, TimeUnit.MINUTES);
+        }
+        LOG.info("✓ Flight recording on (" + settings + "), dumping to " + destination);
+    }
+
+    /**
+     * Write what the recording holds now to the destination file.
+     * Returns false if there is no recording or the dump failed.
+     */
+    public static synchronized boolean dump() {
+        if (recording == null) {
+            return false;
+        }
+        try {
+            recording.dump(destination);
+            return true;
+        } catch (IOException e) {
+            LOG.error("✗ Error dumping flight recording: " + e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.example.coachsapp.util;
+
+import com.example.coachsapp.db.AsyncDatabaseService;
+import com.example.coachsapp.db.ChangeBus;
+import com.example.coachsapp.db.ChangeEvent;
+import com.example.coachsapp.db.DatabaseService;
+import com.example.coachsapp.db.UnitOfWork;
+import javafx.application.Platform;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Background database work for controllers.
+ * Queries and updates run through AsyncDatabaseService; the callbacks run on the
+ * JavaFX Application Thread. Loads belong to the current scene: SceneSwitcher
+ * cancels them when the user navigates away, and a result that arrives after
+ * that is dropped.
+ */
+public class FxTasks {
+
+    private static final Log LOG = Log.get(FxTasks.class);
+
+    /** Runs callbacks on the JavaFX Application Thread. */
+    public static final Executor FX_THREAD = Platform::runLater;
+
+    /** Rows handed to the FX thread at a time by {@link #stream}. */
+    public static final int STREAM_CHUNK = 50;
+
+    private static final Set<CompletableFuture<?>> sceneTasks = ConcurrentHashMap.newKeySet();
+    private static final List<Runnable> sceneSubscriptions = new ArrayList<>();
+    private static final AtomicLong sceneGeneration = new AtomicLong();
+
+    /**
+     * Load data off the FX thread and hand it to onLoaded on the FX thread.
+     */
+    public static <T> CompletableFuture<Void> load(Function<DatabaseService, T> query, Consumer<T> onLoaded) {
+        return load(query, onLoaded, null);
+    }
+
+    /**
+     * Like {@link #load}, and if the query fails, hand the cause to onFailed on the
+     * FX thread. Neither callback runs if the load is cancelled by navigation.
+     */
+    public static <T> CompletableFuture<Void> load(Function<DatabaseService, T> query, Consumer<T> onLoaded,
+                                                   Consumer<Throwable> onFailed) {
+        CompletableFuture<T> source = AsyncDatabaseService.getInstance().query(query);
+        sceneTasks.add(source);
+        source.whenComplete((value, error) -> sceneTasks.remove(source));
+        return deliver(source, onLoaded, onFailed, true);
+    }
+
+    /**
+     * Read a query's rows off the FX thread and show them as they arrive, STREAM_CHUNK
+     * rows at a time: onFirstChunk gets the first chunk (empty if there are no rows)
+     * and onNextChunk each later one. Only one chunk waits for the FX thread at a
+     * time and the reader pauses until it is shown, so the first rows appear at once
+     * and the chunks in transit stay small however long the result is. Like
+     * {@link #load}, this belongs to the current scene; cancelling the returned
+     * future stops the reader. It completes with the number of rows read. Streams
+     * beyond AsyncDatabaseService's stream budget wait for one to finish.
+     */
+    public static <T> CompletableFuture<Integer> stream(Function<DatabaseService, Stream<T>> query,
+                                                        Consumer<List<T>> onFirstChunk,
+                                                        Consumer<List<T>> onNextChunk) {
+        long generation = sceneGeneration.get();
+        AtomicBoolean stopped = new AtomicBoolean();
+        // Streams wait on the FX thread with a reader held, so they run from their own budget
+        CompletableFuture<Integer> source = AsyncDatabaseService.getInstance().stream(db -> {
+            Semaphore inFlight = new Semaphore(1);
+            int rows = 0;
+            try (Stream<T> stream = query.apply(db)) {
+                Iterator<T> iterator = stream.iterator();
+                List<T> chunk = new ArrayList<>(STREAM_CHUNK);
+                boolean first = true;
+                while (iterator.hasNext() && !stopped.get()) {
+                    chunk.add(iterator.next());
+                    rows++;
+                    if (chunk.size() == STREAM_CHUNK) {
+                        handOver(chunk, first ? onFirstChunk : onNextChunk, inFlight, stopped, generation);
+                        chunk = new ArrayList<>(STREAM_CHUNK);
+                        first = false;
+                    }
+                }
+                if (first || !chunk.isEmpty()) {
+                    handOver(chunk, first ? onFirstChunk : onNextChunk, inFlight, stopped, generation);
+                }
+            }
+            return rows;
+        });
+        sceneTasks.add(source);
+        source.whenComplete((rows, error) -> {
+            sceneTasks.remove(source);
+            if (source.isCancelled()) {
+                stopped.set(true);
+            } else if (error != null) {
+                Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                if (!(cause instanceof CancellationException)) {
+                    LOG.error("✗ Background stream failed: " + cause, cause);
+                }
+            }
+        });
+        return source;
+    }
+
+    /**
+     * Write off the FX thread and hand the result to onSaved on the FX thread.
+     * Writes are not cancelled on navigation and their callback always runs, so
+     * AppState stays in step with the database.
+     */
+    public static <T> CompletableFuture<Void> save(Function<DatabaseService, T> update, Consumer<T> onSaved) {
+        return deliver(AsyncDatabaseService.getInstance().update(update), onSaved, null, false);
+    }
+
+    /**
+     * Run the work as one transaction off the FX thread and hand its result to
+     * onCommitted on the FX thread. If the transaction rolls back, onCommitted gets null.
+     */
+    public static <T> CompletableFuture<Void> transaction(UnitOfWork<T> work, Consumer<T> onCommitted) {
+        return save(db -> {
+            try {
+                return db.inTransaction(work);
+            } catch (SQLException e) {
+                LOG.error("✗ Transaction rolled back: " + e.getMessage());
+                return null;
+            }
+        }, onCommitted);
+    }
+
+    /**
+     * Hand committed changes to entities of the given type to onChange on the FX
+     * thread while the current scene is showing, so a screen can patch the rows it
+     * shows instead of reloading them. AppState has already applied the change
+     * when onChange runs. Call on the FX thread.
+     */
+    public static <T> void onChange(Class<T> entityType, Consumer<ChangeEvent<T>> onChange) {
+        long generation = sceneGeneration.get();
+        sceneSubscriptions.add(ChangeBus.getInstance().subscribe(entityType, FX_THREAD, event -> {
+            if (generation == sceneGeneration.get()) {
+                onChange.accept(event);
+            }
+        }));
+    }
+
+    /**
+     * Cancel every load started for the current scene and end its change
+     * subscriptions. Called by SceneSwitcher.
+     */
+    public static void cancelSceneTasks() {
+        sceneGeneration.incrementAndGet();
+        for (CompletableFuture<?> task : sceneTasks) {
+            task.cancel(true);
+        }
+        sceneTasks.clear();
+        sceneSubscriptions.forEach(Runnable::run);
+        sceneSubscriptions.clear();
+    }
+
+    /**
+     * Queue a chunk for the FX thread once the previous one has been shown.
+     */
+    private static <T> void handOver(List<T> chunk, Consumer<List<T>> callback, Semaphore inFlight,
+                                     AtomicBoolean stopped, long generation) {
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            // Cancelled while waiting for the FX thread
+            stopped.set(true);
+            Thread.currentThread().interrupt();
+            return;
+        }
+        FX_THREAD.execute(() -> {
+            try {
+                if (!stopped.get() && generation == sceneGeneration.get()) {
+                    callback.accept(chunk);
+                }
+            } catch (RuntimeException e) {
+                LOG.error("✗ Error applying streamed rows: " + e.getMessage(), e);
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    private static <T> CompletableFuture<Void> deliver(CompletableFuture<T> source, Consumer<T> callback,
+                                                       Consumer<Throwable> onFailed, boolean sceneScoped) {
+        long generation = sceneGeneration.get();
+        return source.handleAsync((value, error) -> {
+            if (sceneScoped && generation != sceneGeneration.get()) {
+                return null;
+            }
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                if (!(cause instanceof CancellationException)) {
+                    LOG.error("✗ Background " + (sceneScoped ? "load" : "save") + " failed: " + cause, cause);
+                    if (onFailed != null) {
+                        onFailed.accept(cause);
+                    }
+                }
+                return null;
+            }
+            try {
+                callback.accept(value);
+            } catch (RuntimeException e) {
+                LOG.error("✗ Error applying background result: " + e.getMessage(), e);
+            }
+            return null;
+        }, FX_THREAD);
+    }
+}
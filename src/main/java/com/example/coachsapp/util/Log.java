@@ -0,0 +1,328 @@
+package com.example.coachsapp.util;
+
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Levelled logging that keeps console I/O off the calling thread.
+ * A call below the logger's level returns after one comparison; pass a
+ * Supplier when the message is built from values so that it is only built
+ * when it will be written. Messages go into a fixed-size lock-free ring and
+ * a daemon thread writes them out, WARN and ERROR to System.err and the rest
+ * to System.out. The writer sleeps while the ring is empty, and the first
+ * message after that wakes it.
+ *
+ * Back-pressure when the ring is full: DEBUG and INFO messages are dropped and
+ * the count is reported on System.err, so a flood of chatter never slows the
+ * caller. WARN and ERROR are never dropped; the caller wakes the writer and
+ * waits for room, spinning briefly and then parking FULL_BACKOFF_NANOS at a
+ * time. The writer empties the ring in one pass, so the wait lasts about one
+ * console write. Messages logged by the writer thread itself are dropped
+ * instead, as waiting there would never end.
+ *
+ * Levels: -Dcoachsapp.log.level=DEBUG sets the default (INFO), and
+ * -Dcoachsapp.log.level.com.example.coachsapp.db=DEBUG sets it for a package
+ * or class, the longest matching name winning.
+ */
+public final class Log {
+
+    public enum Level { TRACE, DEBUG, INFO, WARN, ERROR, OFF }
+
+    private static final String LEVEL_PROPERTY = "coachsapp.log.level";
+    private static final int CAPACITY = Integer.getInteger("coachsapp.log.buffer", 8192);
+    // Producers wake the writer; the timeout is only a safety net
+    private static final long IDLE_PARK_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final int FULL_SPINS = 100;
+    private static final long FULL_BACKOFF_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HH:mm:ss.SSS")
+            .withZone(ZoneId.systemDefault());
+
+    private static final Map<String, Log> loggers = new ConcurrentHashMap<>();
+    private static final Ring ring = new Ring(CAPACITY);
+    private static final LongAdder dropped = new LongAdder();
+    // Set while the writer is idle, so that only the message that ends the idle spell unparks it
+    private static final AtomicBoolean sleeping = new AtomicBoolean();
+    private static final Thread writer = startWriter();
+
+    private final String name;
+    private final Level level;
+
+    private Log(String name, Level level) {
+        this.name = name;
+        this.level = level;
+    }
+
+    public static Log get(Class<?> owner) {
+        return loggers.computeIfAbsent(owner.getName(), className -> new Log(owner.getSimpleName(), levelFor(className)));
+    }
+
+    public boolean isEnabled(Level messageLevel) {
+        return messageLevel.compareTo(level) >= 0 && messageLevel != Level.OFF;
+    }
+
+    public void debug(String message) {
+        log(Level.DEBUG, message, null);
+    }
+
+    public void debug(Supplier<String> message) {
+        if (isEnabled(Level.DEBUG)) {
+            enqueue(Level.DEBUG, message.get(), null);
+        }
+    }
+
+    public void info(String message) {
+        log(Level.INFO, message, null);
+    }
+
+    public void info(Supplier<String> message) {
+        if (isEnabled(Level.INFO)) {
+            enqueue(Level.INFO, message.get(), null);
+        }
+    }
+
+    public void warn(String message) {
+        log(Level.WARN, message, null);
+    }
+
+    public void warn(String message, Throwable error) {
+        log(Level.WARN, message, error);
+    }
+
+    public void error(String message) {
+        log(Level.ERROR, message, null);
+    }
+
+    public void error(String message, Throwable error) {
+        log(Level.ERROR, message, error);
+    }
+
+    private void log(Level messageLevel, String message, Throwable error) {
+        if (isEnabled(messageLevel)) {
+            enqueue(messageLevel, message, error);
+        }
+    }
+
+    private void enqueue(Level messageLevel, String message, Throwable error) {
+        Entry entry = new Entry(System.currentTimeMillis(), messageLevel, name,
+                Thread.currentThread().getName(), message, error);
+        if (ring.offer(entry)) {
+            wakeWriter();
+            return;
+        }
+        if (messageLevel.compareTo(Level.WARN) < 0 || Thread.currentThread() == writer) {
+            dropped.increment();
+            return;
+        }
+        for (int attempt = 1; !ring.offer(entry); attempt++) {
+            LockSupport.unpark(writer);
+            if (attempt < FULL_SPINS) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(FULL_BACKOFF_NANOS);
+            }
+        }
+        wakeWriter();
+    }
+
+    private static void wakeWriter() {
+        if (sleeping.get() && sleeping.compareAndSet(true, false)) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    /**
+     * Wait until everything logged so far has been written. Called on shutdown;
+     * tools that exit with System.exit should call it first.
+     */
+    public static void flush() {
+        long target = ring.claimed();
+        while (ring.drained() < target && writer.isAlive()) {
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(100_000);
+        }
+    }
+
+    private static Level levelFor(String className) {
+        String name = className;
+        while (true) {
+            String value = System.getProperty(LEVEL_PROPERTY + "." + name);
+            if (value != null) {
+                return parse(value);
+            }
+            int dot = name.lastIndexOf('.');
+            if (dot < 0) {
+                return parse(System.getProperty(LEVEL_PROPERTY, "INFO"));
+            }
+            name = name.substring(0, dot);
+        }
+    }
+
+    private static Level parse(String value) {
+        try {
+            return Level.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            System.err.println("⚠ Unknown log level '" + value + "', using INFO");
+            return Level.INFO;
+        }
+    }
+
+    private static Thread startWriter() {
+        Thread thread = new Thread(Log::drainForever, "log-writer");
+        thread.setDaemon(true);
+        thread.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(Log::flush, "log-flush"));
+        return thread;
+    }
+
+    private static void drainForever() {
+        StringBuilder out = new StringBuilder();
+        StringBuilder err = new StringBuilder();
+        while (true) {
+            Entry entry;
+            while ((entry = ring.poll()) != null) {
+                format(entry, entry.level().compareTo(Level.WARN) >= 0 ? err : out);
+            }
+            long lost = dropped.sumThenReset();
+            if (lost > 0) {
+                err.append("⚠ ").append(lost).append(" log messages dropped, the buffer was full\n");
+            }
+            if (out.isEmpty() && err.isEmpty()) {
+                sleep();
+                continue;
+            }
+            write(out, System.out);
+            write(err, System.err);
+            ring.markDrained();
+        }
+    }
+
+    /**
+     * Park until a producer publishes an entry. The flag goes up before the ring
+     * is checked and producers check it after publishing, so an entry published
+     * in between is either seen here or unparks the writer.
+     */
+    private static void sleep() {
+        sleeping.set(true);
+        if (!ring.hasNext()) {
+            LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+        sleeping.set(false);
+    }
+
+    private static void format(Entry entry, StringBuilder to) {
+        to.append(TIME.format(Instant.ofEpochMilli(entry.time())))
+                .append(' ').append(String.format("%-5s", entry.level()))
+                .append(" [").append(entry.thread()).append("] ")
+                .append(entry.logger()).append(" - ")
+                .append(entry.message()).append('\n');
+        if (entry.error() != null) {
+            StringWriter trace = new StringWriter();
+            entry.error().printStackTrace(new PrintWriter(trace));
+            to.append(trace);
+        }
+    }
+
+    private static void write(StringBuilder text, PrintStream stream) {
+        if (!text.isEmpty()) {
+            stream.print(text);
+            stream.flush();
+            text.setLength(0);
+        }
+    }
+
+    private record Entry(long time, Level level, String logger, String thread, String message, Throwable error) {
+    }
+
+    /**
+     * Bounded multi-producer, single-consumer ring (Vyukov's design). Each slot
+     * carries a sequence number: producers claim a position with one CAS on the
+     * tail and publish the slot by advancing its sequence, so the writer never
+     * sees a half-written entry and no one takes a lock.
+     */
+    private static final class Ring {
+        private final Entry[] entries;
+        private final AtomicLongArray sequences;
+        private final int mask;
+        private final AtomicLong tail = new AtomicLong();
+        private final AtomicLong drained = new AtomicLong();
+        private long head;
+
+        Ring(int requested) {
+            int capacity = Integer.highestOneBit(Math.max(2, requested - 1)) << 1;
+            entries = new Entry[capacity];
+            sequences = new AtomicLongArray(capacity);
+            mask = capacity - 1;
+            for (int i = 0; i < capacity; i++) {
+                sequences.set(i, i);
+            }
+        }
+
+        boolean offer(Entry entry) {
+            long position = tail.get();
+            while (true) {
+                int index = (int) (position & mask);
+                long difference = sequences.get(index) - position;
+                if (difference == 0) {
+                    if (tail.compareAndSet(position, position + 1)) {
+                        entries[index] = entry;
+                        sequences.set(index, position + 1);
+                        return true;
+                    }
+                    position = tail.get();
+                } else if (difference < 0) {
+                    return false;
+                } else {
+                    position = tail.get();
+                }
+            }
+        }
+
+        /**
+         * Next entry, or null if the next slot has not been published yet.
+         * Only the writer thread calls this.
+         */
+        Entry poll() {
+            if (!hasNext()) {
+                return null;
+            }
+            int index = (int) (head & mask);
+            Entry entry = entries[index];
+            entries[index] = null;
+            sequences.set(index, head + mask + 1);
+            head++;
+            return entry;
+        }
+
+        /** Whether the next entry has been published. Only the writer thread calls this. */
+        boolean hasNext() {
+            return sequences.get((int) (head & mask)) == head + 1;
+        }
+
+        long claimed() {
+            return tail.get();
+        }
+
+        long drained() {
+            return drained.get();
+        }
+
+        /** Entries polled so far have reached the streams. */
+        void markDrained() {
+            drained.set(head);
+        }
+    }
+}
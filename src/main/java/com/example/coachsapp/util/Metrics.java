@@ -0,0 +1,265 @@
+package com.example.coachsapp.util;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * In-process metrics: counters, gauges and timers, optionally labelled, that
+ * {@link #scrape} writes in the Prometheus text format for {@link MetricsServer}.
+ * Counters and timers are lock-free and cheap enough to keep always on; gauges
+ * are read only when scraped. Timers are Prometheus histograms in seconds.
+ * Per-statement query timing costs more (every statement is wrapped), so the
+ * pool only does it when {@link #isEnabled} says an endpoint will read it.
+ */
+public final class Metrics {
+
+    private static final boolean ENABLED = System.getProperty(MetricsServer.PORT_PROPERTY) != null;
+    // Upper bounds in seconds, from half a millisecond (a cached lookup) to ten seconds (a hung write)
+    private static final double[] BUCKETS = {0.0005, 0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10};
+    private static final String[] BUCKET_LABELS = bucketLabels();
+
+    private static Metrics instance;
+
+    private final Map<String, Family> families = new ConcurrentHashMap<>();
+
+    private Metrics() {
+        Runtime runtime = Runtime.getRuntime();
+        gauge("coachsapp_jvm_heap_used_bytes", "Heap in use", () -> runtime.totalMemory() - runtime.freeMemory());
+        gauge("coachsapp_jvm_heap_committed_bytes", "Heap reserved from the OS", runtime::totalMemory);
+        gauge("coachsapp_jvm_heap_max_bytes", "Largest heap the JVM will use", runtime::maxMemory);
+    }
+
+    public static synchronized Metrics getInstance() {
+        if (instance == null) {
+            instance = new Metrics();
+        }
+        return instance;
+    }
+
+    /**
+     * Whether the metrics endpoint was asked for (-Dcoachsapp.metrics.port).
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * The counter with this name and labels, created on first use.
+     * Labels are name/value pairs: counter("x_total", "...", "table", "players").
+     */
+    public Counter counter(String name, String help, String... labels) {
+        return (Counter) family(name, help, "counter").children.computeIfAbsent(labelsOf(labels), key -> new Counter());
+    }
+
+    /**
+     * A counter read from the supplier at each scrape, for counts another
+     * class already keeps.
+     */
+    public void counter(String name, String help, LongSupplier value, String... labels) {
+        family(name, help, "counter").children.put(labelsOf(labels), (Sampled) value::getAsLong);
+    }
+
+    public Timer timer(String name, String help, String... labels) {
+        return (Timer) family(name, help, "histogram").children.computeIfAbsent(labelsOf(labels), key -> new Timer());
+    }
+
+    /**
+     * A gauge read from the supplier at each scrape. Registering the same name
+     * and labels again replaces the supplier.
+     */
+    public void gauge(String name, String help, DoubleSupplier value, String... labels) {
+        family(name, help, "gauge").children.put(labelsOf(labels), (Sampled) value::getAsDouble);
+    }
+
+    /**
+     * A gauge with one sample per key of the map the supplier returns, labelled
+     * label=key. For values whose keys are only known when scraped, like row
+     * counts per table.
+     */
+    public void gauges(String name, String help, String label, Supplier<Map<String, ? extends Number>> values) {
+        family(name, help, "gauge").dynamic = () -> {
+            Map<String, Sampled> samples = new LinkedHashMap<>();
+            values.get().forEach((key, value) -> samples.put(labelsOf(new String[]{label, key}), value::doubleValue));
+            return samples;
+        };
+    }
+
+    /**
+     * Every metric in the Prometheus text exposition format (version 0.0.4).
+     */
+    public String scrape() {
+        List<String> names = new ArrayList<>(families.keySet());
+        names.sort(null);
+        StringBuilder out = new StringBuilder();
+        for (String name : names) {
+            Family family = families.get(name);
+            Map<String, Object> children = new TreeMap<>(family.children);
+            if (family.dynamic != null) {
+                try {
+                    children.putAll(family.dynamic.get());
+                } catch (RuntimeException e) {
+                    continue;
+                }
+            }
+            if (children.isEmpty()) {
+                continue;
+            }
+            out.append("# HELP ").append(name).append(' ').append(family.help).append('\n');
+            out.append("# TYPE ").append(name).append(' ').append(family.type).append('\n');
+            children.forEach((labels, metric) -> {
+                if (metric instanceof Timer timer) {
+                    timer.write(out, name, labels);
+                } else if (metric instanceof Counter counter) {
+                    sample(out, name, labels, counter.get());
+                } else if (metric instanceof Sampled gauge) {
+                    double value;
+                    try {
+                        value = gauge.get();
+                    } catch (RuntimeException e) {
+                        return;
+                    }
+                    sample(out, name, labels, value);
+                }
+            });
+        }
+        return out.toString();
+    }
+
+    private static String[] bucketLabels() {
+        String[] labels = new String[BUCKETS.length + 1];
+        for (int i = 0; i < BUCKETS.length; i++) {
+            labels[i] = BigDecimal.valueOf(BUCKETS[i]).stripTrailingZeros().toPlainString();
+        }
+        labels[BUCKETS.length] = "+Inf";
+        return labels;
+    }
+
+    private Family family(String name, String help, String type) {
+        Family family = families.computeIfAbsent(name, key -> new Family(help, type));
+        if (!family.type.equals(type)) {
+            throw new IllegalArgumentException(name + " is already a " + family.type);
+        }
+        return family;
+    }
+
+    /**
+     * Rendered label set, e.g. {table="players"}, or "" for none.
+     */
+    private static String labelsOf(String[] pairs) {
+        if (pairs.length % 2 != 0) {
+            throw new IllegalArgumentException("Labels must be name/value pairs");
+        }
+        if (pairs.length == 0) {
+            return "";
+        }
+        StringBuilder labels = new StringBuilder("{");
+        for (int i = 0; i < pairs.length; i += 2) {
+            if (i > 0) {
+                labels.append(',');
+            }
+            labels.append(pairs[i]).append("=\"").append(escape(pairs[i + 1])).append('"');
+        }
+        return labels.append('}').toString();
+    }
+
+    private static String escape(String value) {
+        return String.valueOf(value).replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static void sample(StringBuilder out, String name, String labels, double value) {
+        out.append(name).append(labels).append(' ').append(format(value)).append('\n');
+    }
+
+    private static String format(double value) {
+        if (value == Math.rint(value) && !Double.isInfinite(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+        return Double.isInfinite(value) ? (value > 0 ? "+Inf" : "-Inf") : String.valueOf(value);
+    }
+
+    private static final class Family {
+        private final String help;
+        private final String type;
+        private final Map<String, Object> children = new ConcurrentHashMap<>();
+        private volatile Supplier<Map<String, Sampled>> dynamic;
+
+        Family(String help, String type) {
+            this.help = help;
+            this.type = type;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Sampled {
+        double get();
+    }
+
+    public static final class Counter {
+        private final LongAdder count = new LongAdder();
+
+        public void increment() {
+            count.increment();
+        }
+
+        public void add(long amount) {
+            count.add(amount);
+        }
+
+        public long get() {
+            return count.sum();
+        }
+    }
+
+    /**
+     * Durations in fixed buckets, with their count and sum.
+     */
+    public static final class Timer {
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS.length + 1);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+
+        public void record(long nanos) {
+            double seconds = nanos / 1e9;
+            int bucket = 0;
+            while (bucket < BUCKETS.length && seconds > BUCKETS[bucket]) {
+                bucket++;
+            }
+            buckets.incrementAndGet(bucket);
+            count.increment();
+            totalNanos.add(Math.max(0, nanos));
+        }
+
+        /**
+         * Record the time since a System.nanoTime() reading.
+         */
+        public void recordSince(long startNanos) {
+            record(System.nanoTime() - startNanos);
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        private void write(StringBuilder out, String name, String labels) {
+            String open = labels.isEmpty() ? "{" : labels.substring(0, labels.length() - 1) + ",";
+            long cumulative = 0;
+            for (int i = 0; i <= BUCKETS.length; i++) {
+                cumulative += buckets.get(i);
+                out.append(name).append("_bucket").append(open).append("le=\"").append(BUCKET_LABELS[i]).append("\"} ")
+                   .append(cumulative).append('\n');
+            }
+            sample(out, name + "_sum", labels, totalNanos.sum() / 1e9);
+            sample(out, name + "_count", labels, count.sum());
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.coachsapp.util;
+
+import com.example.coachsapp.db.DatabaseService;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Optional HTTP endpoint for monitoring, bound to the loopback address only:
+ * GET /metrics returns {@link Metrics#scrape} in the Prometheus text format,
+ * GET /diagnostics a plain-text dump of the database (SQLite page and
+ * freelist counts, row counts, pool and statement cache figures) and
+ * GET /profile the statement profile so far, without waiting for shutdown.
+ *
+ * Enable with -Dcoachsapp.metrics.port=9464.
+ */
+public final class MetricsServer {
+
+    static final String PORT_PROPERTY = "coachsapp.metrics.port";
+    private static final String PROMETHEUS_TEXT = "text/plain; version=0.0.4; charset=utf-8";
+
+    private static final Log LOG = Log.get(MetricsServer.class);
+
+    private static HttpServer server;
+    private static ExecutorService executor;
+
+    private MetricsServer() {
+    }
+
+    /**
+     * Start the endpoint if the system properties ask for one. Safe to call more than once.
+     */
+    public static synchronized void startIfRequested() {
+        Integer port = Integer.getInteger(PORT_PROPERTY);
+        if (server != null || port == null) {
+            return;
+        }
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        } catch (IOException e) {
+            LOG.error("✗ Could not start metrics endpoint on port " + port + ": " + e.getMessage());
+            return;
+        }
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-http");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/metrics", exchange -> respond(exchange, PROMETHEUS_TEXT,
+                () -> Metrics.getInstance().scrape()));
+        server.createContext("/diagnostics", exchange -> respond(exchange, "text/plain; charset=utf-8",
+                () -> ifDatabaseOpen(db -> db.getDiagnosticsRepository().dump())));
+        server.createContext("/profile", exchange -> respond(exchange, "text/plain; charset=utf-8",
+                () -> ifDatabaseOpen(DatabaseService::getStatementProfile)));
+        server.start();
+        LOG.info("✓ Metrics endpoint on http://" + server.getAddress().getHostString() + ":" + port + "/metrics");
+    }
+
+    /**
+     * Stop the endpoint; its dispatcher thread would otherwise keep the JVM alive.
+     */
+    public static synchronized void stop() {
+        if (server == null) {
+            return;
+        }
+        server.stop(0);
+        executor.shutdownNow();
+        server = null;
+    }
+
+    /**
+     * A scrape must not be what opens the database, e.g. before startup has or after it failed.
+     */
+    private static String ifDatabaseOpen(Function<DatabaseService, String> body) {
+        DatabaseService db = DatabaseService.getInstanceIfCreated();
+        return db != null ? body.apply(db) : "Database not open\n";
+    }
+
+    private static void respond(HttpExchange exchange, String contentType, Supplier<String> body) throws IOException {
+        try (exchange) {
+            if (!exchange.getRequestMethod().equals("GET")) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] bytes;
+            int status = 200;
+            try {
+                bytes = body.get().getBytes(StandardCharsets.UTF_8);
+            } catch (RuntimeException e) {
+                LOG.error("✗ Error serving " + exchange.getRequestURI() + ": " + e.getMessage(), e);
+                bytes = ("error: " + e.getMessage() + "\n").getBytes(StandardCharsets.UTF_8);
+                status = 500;
+            }
+            exchange.getResponseHeaders().set("Content-Type", contentType);
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.example.coachsapp.util;
+
+import com.example.coachsapp.db.DatabaseService;
+import com.example.coachsapp.db.Page;
+import javafx.application.Platform;
+import javafx.geometry.Orientation;
+import javafx.scene.Node;
+import javafx.scene.control.Control;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListView;
+import javafx.scene.control.ScrollBar;
+import javafx.scene.control.TableView;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+
+/**
+ * Feeds a table or card grid one keyset page at a time.
+ * {@link #reload} shows the first page; the next one loads in the background
+ * when the user scrolls near the bottom, or straight away while the rows loaded
+ * so far don't fill the view. Opening a screen therefore reads one page however
+ * long the list is. If a page fails to load, the next scroll tries it again; a
+ * first page that fails leaves a warning as the view's placeholder.
+ */
+public class PagedLoader<T> {
+
+    private static final Log LOG = Log.get(PagedLoader.class);
+
+    /**
+     * Reads one page off the FX thread; after is null for the first page.
+     */
+    @FunctionalInterface
+    public interface PageQuery<T> {
+        Page<T> fetch(DatabaseService db, Page.Cursor after, int size) throws SQLException;
+    }
+
+    // Start on the next page once the scroll bar is this far down
+    private static final double PREFETCH_AT = 0.9;
+
+    private final Control view;
+    private final int pageSize;
+    private final PageQuery<T> query;
+    private final Consumer<List<T>> onFirstPage;
+    private final Consumer<List<T>> onNextPage;
+    private ScrollBar scrollBar;
+    private Page.Cursor next;
+    private boolean loading;
+    private boolean shown; // Whether the first page since reload() has been handed over
+    private boolean exhausted = true;
+    private long generation;
+    private long requests;
+    private Node placeholder; // The view's own placeholder while a failure warning replaces it
+
+    /**
+     * @param view        the ListView or TableView showing the list; its scroll bar drives paging
+     * @param onFirstPage replaces what the view shows with the first page
+     * @param onNextPage  appends a later page
+     */
+    public PagedLoader(Control view, int pageSize, PageQuery<T> query,
+                       Consumer<List<T>> onFirstPage, Consumer<List<T>> onNextPage) {
+        this.view = view;
+        this.pageSize = pageSize;
+        this.query = query;
+        this.onFirstPage = onFirstPage;
+        this.onNextPage = onNextPage;
+        view.skinProperty().addListener((obs, oldSkin, newSkin) -> attachScrollBar());
+        attachScrollBar();
+    }
+
+    /**
+     * Drop what is loaded and start again from the first page.
+     */
+    public void reload() {
+        generation++;
+        next = null;
+        loading = false;
+        shown = false;
+        exhausted = false;
+        loadPage();
+    }
+
+    /**
+     * Stop paging and ignore pages still on their way, e.g. when the view switches to a filtered query.
+     */
+    public void stop() {
+        generation++;
+        loading = false;
+        exhausted = true;
+    }
+
+    /**
+     * Whether pages are still to come; false once the last page is shown or paging stopped.
+     */
+    public boolean hasMore() {
+        return !exhausted;
+    }
+
+    private void loadPage() {
+        if (loading || exhausted) {
+            return;
+        }
+        loading = true;
+        long requested = generation;
+        long request = ++requests;
+        boolean first = !shown;
+        Page.Cursor after = next;
+        FxTasks.load(db -> fetch(db, after), page -> {
+            if (requested != generation) {
+                return;
+            }
+            loading = false;
+            shown = true;
+            next = page.next();
+            exhausted = !page.hasMore();
+            restorePlaceholder();
+            (first ? onFirstPage : onNextPage).accept(page.items());
+            // Check again once the new rows are laid out
+            Platform.runLater(this::loadIfNearEnd);
+        }, error -> {
+            if (requested == generation) {
+                showFailure(first);
+            }
+        }).whenComplete((ignored, error) -> {
+            // Failed or cancelled without a page: let the next scroll or reload try again
+            if (request == requests && requested == generation) {
+                loading = false;
+            }
+        });
+    }
+
+    private Page<T> fetch(DatabaseService db, Page.Cursor after) {
+        try {
+            return query.fetch(db, after, pageSize);
+        } catch (SQLException e) {
+            // FxTasks unwraps it and hands the SQLException to the failure callback
+            throw new CompletionException(e);
+        }
+    }
+
+    private void loadIfNearEnd() {
+        if (scrollBar == null || view.getHeight() <= 0) {
+            return;
+        }
+        if (!scrollBar.isVisible() || scrollBar.getValue() >= scrollBar.getMax() * PREFETCH_AT) {
+            loadPage();
+        }
+    }
+
+    private void showFailure(boolean first) {
+        if (!first) {
+            LOG.warn("⚠ Could not load the next page; scrolling will try again");
+            return;
+        }
+        Label warning = new Label("⚠ Could not load the list. Scroll or reopen the screen to try again.");
+        warning.setWrapText(true);
+        if (view instanceof TableView<?> table) {
+            placeholder = placeholder != null ? placeholder : table.getPlaceholder();
+            table.setPlaceholder(warning);
+        } else if (view instanceof ListView<?> list) {
+            placeholder = placeholder != null ? placeholder : list.getPlaceholder();
+            list.setPlaceholder(warning);
+        }
+    }
+
+    private void restorePlaceholder() {
+        if (placeholder == null) {
+            return;
+        }
+        if (view instanceof TableView<?> table) {
+            table.setPlaceholder(placeholder);
+        } else if (view instanceof ListView<?> list) {
+            list.setPlaceholder(placeholder);
+        }
+        placeholder = null;
+    }
+
+    private void attachScrollBar() {
+        for (Node node : view.lookupAll(".scroll-bar")) {
+            if (node instanceof ScrollBar bar && bar.getOrientation() == Orientation.VERTICAL && bar != scrollBar) {
+                scrollBar = bar;
+                bar.valueProperty().addListener((obs, oldValue, newValue) -> loadIfNearEnd());
+                bar.visibleProperty().addListener((obs, wasVisible, visible) -> loadIfNearEnd());
+                return;
+            }
+        }
+    }
+}
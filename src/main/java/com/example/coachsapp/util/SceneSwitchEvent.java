@@ -0,0 +1,26 @@
+package com.example.coachsapp.util;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event for a {@link SceneSwitcher} navigation: loading the
+ * FXML (controller initialize included) and building the scene.
+ */
+@Name("com.example.coachsapp.SceneSwitch")
+@Label("Scene Switch")
+@Category({"Coaches App", "JavaFX"})
+@StackTrace(false)
+final class SceneSwitchEvent extends Event {
+
+    @Label("FXML")
+    String fxml;
+
+    @Label("FXML Load Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long loadTime;
+}
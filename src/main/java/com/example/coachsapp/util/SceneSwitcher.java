@@ -2,6 +2,7 @@ package com.example.coachsapp.util;
 
 import javafx.event.ActionEvent;
 import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
 import javafx.stage.Stage;
@@ -10,6 +11,8 @@ import java.io.IOException;
 
 public class SceneSwitcher {
 
+    private static final Log LOG = Log.get(SceneSwitcher.class);
+
     // Default application dimensions
     private static final double DEFAULT_SCENE_WIDTH = 800;
     private static final double DEFAULT_SCENE_HEIGHT = 600;
@@ -22,13 +25,15 @@ public class SceneSwitcher {
             double currentWidth = stage.getWidth();
             double currentHeight = stage.getHeight();
             
-            FXMLLoader loader = new FXMLLoader(SceneSwitcher.class.getResource("/com/example/coachsapp/" + fxmlName));
-            Scene scene = new Scene(loader.load(), currentWidth, currentHeight);
+            // Background loads of the scene being left are no longer needed
+            FxTasks.cancelSceneTasks();
+
+            Scene scene = buildScene(fxmlName, currentWidth, currentHeight);
 
             stage.setScene(scene);
             stage.show();
         } catch (IOException e) {
-            e.printStackTrace();
+            LOG.error("✗ Error loading " + fxmlName + ": " + e.getMessage(), e);
         }
     }
 
@@ -40,14 +45,62 @@ public class SceneSwitcher {
             double currentWidth = stage.getWidth();
             double currentHeight = stage.getHeight();
             
-            FXMLLoader loader = new FXMLLoader(SceneSwitcher.class.getResource("/com/example/coachsapp/" + fxmlName));
-            Scene scene = new Scene(loader.load(), currentWidth, currentHeight);
+            // Background loads of the scene being left are no longer needed
+            FxTasks.cancelSceneTasks();
+
+            Scene scene = buildScene(fxmlName, currentWidth, currentHeight);
 
             stage.setScene(scene);
             stage.show();
         } catch (IOException e) {
-            e.printStackTrace();
+            LOG.error("✗ Error loading " + fxmlName + ": " + e.getMessage(), e);
         }
     }
-}
 
+    /**
+     * Time the layout part of every pulse in the stage's scenes, the one pulse
+     * phase JavaFX lets us observe, when the metrics endpoint is on.
+     */
+    public static void timePulses(Stage stage) {
+        if (!Metrics.isEnabled()) {
+            return;
+        }
+        Metrics.Timer layout = Metrics.getInstance().timer("coachsapp_fx_pulse_layout_seconds",
+                "CSS and layout pass of each JavaFX pulse");
+        timePulses(stage.getScene(), layout);
+        stage.sceneProperty().addListener((obs, oldScene, newScene) -> timePulses(newScene, layout));
+    }
+
+    private static void timePulses(Scene scene, Metrics.Timer layout) {
+        if (scene == null) {
+            return;
+        }
+        long[] pulseStart = new long[1];
+        scene.addPreLayoutPulseListener(() -> pulseStart[0] = System.nanoTime());
+        scene.addPostLayoutPulseListener(() -> layout.recordSince(pulseStart[0]));
+    }
+
+    /**
+     * Load the FXML and build its scene, recorded as a {@link SceneSwitchEvent}
+     * while a flight recording is running.
+     */
+    private static Scene buildScene(String fxmlName, double width, double height) throws IOException {
+        long start = System.nanoTime();
+        SceneSwitchEvent switched = new SceneSwitchEvent();
+        switched.begin();
+        FXMLLoader loader = new FXMLLoader(SceneSwitcher.class.getResource("/com/example/coachsapp/" + fxmlName));
+        long loadStart = System.nanoTime();
+        Parent root = loader.load();
+        long loadTime = System.nanoTime() - loadStart;
+        Scene scene = new Scene(root, width, height);
+        Metrics.getInstance().timer("coachsapp_scene_switch_seconds", "FXML load and scene build", "fxml", fxmlName)
+                .recordSince(start);
+        switched.end();
+        if (switched.shouldCommit()) {
+            switched.fxml = fxmlName;
+            switched.loadTime = loadTime;
+            switched.commit();
+        }
+        return scene;
+    }
+}
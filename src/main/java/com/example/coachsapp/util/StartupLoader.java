@@ -0,0 +1,139 @@
+package com.example.coachsapp.util;
+
+import com.example.coachsapp.db.AsyncDatabaseService;
+import com.example.coachsapp.db.DatabaseService;
+import com.example.coachsapp.db.UserSeeder;
+import com.example.coachsapp.model.Club;
+import com.example.coachsapp.model.Manager;
+import com.example.coachsapp.model.Player;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Brings the database up and fills AppState while the login screen is already showing.
+ * Schema work runs first; clubs, managers and players then load in parallel, and
+ * the results are linked and published to AppState on the JavaFX thread in one go.
+ * Background database work through AsyncDatabaseService waits until that is done,
+ * so a login never sees half-loaded state.
+ */
+public class StartupLoader {
+
+    private static final Log LOG = Log.get(StartupLoader.class);
+
+    private static final Map<String, Long> phaseTimings = Collections.synchronizedMap(new LinkedHashMap<>());
+    private static CompletableFuture<Void> loaded;
+
+    /**
+     * Start loading in the background. Safe to call more than once.
+     */
+    public static synchronized CompletableFuture<Void> start() {
+        if (loaded != null) {
+            return loaded;
+        }
+        long startedAt = System.nanoTime();
+        Metrics.getInstance().gauges("coachsapp_startup_phase_seconds", "Time spent in each startup phase", "phase",
+                StartupLoader::getPhaseSeconds);
+        ExecutorService executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("startup-", 0).factory());
+
+        // Creating the service runs the schema migrations
+        CompletableFuture<DatabaseService> schema = CompletableFuture.supplyAsync(() ->
+                timed("schema", DatabaseService::getInstance), executor);
+
+        CompletableFuture<List<Club>> clubs = schema.thenApplyAsync(db ->
+                timed("clubs", () -> db.getClubRepository().findAll()), executor);
+        CompletableFuture<List<Manager>> managers = schema.thenApplyAsync(db ->
+                timed("managers", db::loadAllManagers), executor);
+        CompletableFuture<List<Player>> players = schema.thenApplyAsync(db ->
+                timed("players", db::loadAllPlayers), executor);
+        CompletableFuture<Void> seeded = schema.thenAcceptAsync(db ->
+                timed("seed", () -> {
+                    UserSeeder.seedDefaultUsers(db);
+                    return null;
+                }), executor);
+
+        loaded = CompletableFuture.allOf(clubs, managers, players, seeded)
+                .thenRunAsync(() -> timed("publish", () -> {
+                    publish(clubs.join(), managers.join(), players.join());
+                    return null;
+                }), FxTasks.FX_THREAD)
+                .whenComplete((ignored, error) -> {
+                    executor.shutdown();
+                    phaseTimings.put("total", (System.nanoTime() - startedAt) / 1_000_000);
+                    if (error != null) {
+                        LOG.error("✗ Failed to initialize database on startup: " + error.getMessage(), error);
+                    } else {
+                        LOG.info("✓ AppState populated: managers=" + AppState.managers.size() +
+                                ", clubs=" + AppState.clubs.size() + ", players=" + AppState.players.size());
+                    }
+                    LOG.info("✓ Startup phases (ms): " + getPhaseTimings());
+                });
+        AsyncDatabaseService.getInstance().holdUntil(loaded);
+        return loaded;
+    }
+
+    /**
+     * Milliseconds spent in each startup phase, in the order they finished.
+     */
+    public static Map<String, Long> getPhaseTimings() {
+        synchronized (phaseTimings) {
+            return new LinkedHashMap<>(phaseTimings);
+        }
+    }
+
+    /**
+     * The phase timings in seconds, for the startup gauge.
+     */
+    private static Map<String, Double> getPhaseSeconds() {
+        Map<String, Double> seconds = new LinkedHashMap<>();
+        getPhaseTimings().forEach((phase, millis) -> seconds.put(phase, millis / 1_000.0));
+        return seconds;
+    }
+
+    /**
+     * Link players to their clubs, replace the AppState lists and keep them current
+     * from then on. Runs on the FX thread.
+     */
+    private static void publish(List<Club> clubs, List<Manager> managers, List<Player> players) {
+        AppState.clubs.setAll(clubs);
+
+        int unlinked = 0;
+        for (Player player : players) {
+            Club club = AppState.findClub(player.getClubId());
+            if (club != null) {
+                club.addPlayer(player);
+            } else if (player.getClubId() != null) {
+                unlinked++;
+            }
+        }
+        if (unlinked > 0) {
+            LOG.warn("⚠ " + unlinked + " players reference a club that does not exist");
+        }
+
+        // Point managers at the shared club instances so they see the linked squads
+        for (Manager manager : managers) {
+            Club club = manager.getClub() != null ? AppState.findClub(manager.getClub().getId()) : null;
+            if (club != null) {
+                manager.setClub(club);
+            }
+        }
+        AppState.managers.setAll(managers);
+        AppState.players.setAll(players);
+        AppState.listenForChanges();
+    }
+
+    private static <T> T timed(String phase, Supplier<T> work) {
+        long start = System.nanoTime();
+        try {
+            return work.get();
+        } finally {
+            phaseTimings.put(phase, (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+}
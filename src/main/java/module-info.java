@@ -1,5 +1,7 @@
 module com.example.coachsapp {
     requires java.sql;
+    requires jdk.httpserver;
+    requires jdk.jfr;
     requires javafx.controls;
     requires javafx.fxml;
     requires javafx.graphics;
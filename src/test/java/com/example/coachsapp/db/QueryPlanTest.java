@@ -0,0 +1,283 @@
+package com.example.coachsapp.db;
+
+import com.example.coachsapp.model.Club;
+import com.example.coachsapp.model.GamePlan;
+import com.example.coachsapp.model.Manager;
+import com.example.coachsapp.model.Player;
+import com.example.coachsapp.model.Position;
+import com.example.coachsapp.model.RegistrationRequest;
+import com.example.coachsapp.model.RegistrationRequest.RequestStatus;
+import com.example.coachsapp.model.Role;
+import com.example.coachsapp.model.TransferRequest;
+import com.example.coachsapp.model.TransferRequest.TransferStatus;
+import com.example.coachsapp.model.User;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Checks that no repository query does a full table scan where it filters, or
+ * sorts where it should read an index in order.
+ * Migrates a throwaway database, calls every repository method once while
+ * recording the SQL they prepare, then runs EXPLAIN QUERY PLAN on each SELECT,
+ * UPDATE and DELETE, one test per statement. The rules:
+ * - a statement with a WHERE clause may not scan any table; a statement without
+ *   one (a list or count of everything) may scan only the table it lists;
+ * - a statement with a LIMIT (a keyset page or a limited criteria query), or an
+ *   ORDER BY over an unfiltered list, may not sort in a temp B-tree: its order
+ *   has to come from an index, or every page sorts the whole table.
+ * Not caught: a filtered ORDER BY without a LIMIT may sort its matches (they are
+ * few once the index has found them), full-text queries may sort by relevance,
+ * and an index SEARCH is accepted whether or not the index covers the columns
+ * read, so a lookup that goes back to the table for every row still passes.
+ *
+ * The database is opened once per JVM. If another test already opened a different
+ * one, this fails before writing anything rather than fill that database with rows.
+ */
+class QueryPlanTest {
+
+    private static final Pattern WHERE = Pattern.compile("\\bWHERE\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern ORDER_BY = Pattern.compile("\\bORDER\\s+BY\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern LIMIT = Pattern.compile("\\bLIMIT\\b", Pattern.CASE_INSENSITIVE);
+    // A virtual table scan with constraints in its plan string, e.g. FTS5 answering MATCH from its index
+    private static final Pattern VIRTUAL_LOOKUP = Pattern.compile("^SCAN \\S+ VIRTUAL TABLE INDEX \\d+:.+");
+
+    private static Path dbFile;
+    private static Set<String> statements;
+    private static boolean opened;
+
+    @BeforeAll
+    static void recordStatements() throws IOException, SQLException {
+        dbFile = Files.createTempFile("coachsapp-plan", ".db");
+        String url = "jdbc:sqlite:" + dbFile;
+        System.setProperty("coachsapp.db.url", url);
+
+        ConnectionPool pool = DatabaseConnection.getInstance().getPool();
+        assertEquals(url, pool.getUrl(), "Another test opened a different database in this JVM");
+        opened = true;
+        DatabaseService db = DatabaseService.getInstance();
+        statements = Collections.synchronizedSet(new LinkedHashSet<>());
+        pool.setStatementObserver(statements::add);
+        try {
+            exerciseRepositories(db);
+        } finally {
+            pool.setStatementObserver(null);
+        }
+    }
+
+    @AfterAll
+    static void deleteDatabase() {
+        if (opened) {
+            DatabaseService.closeIfOpen();
+        }
+        for (String suffix : new String[]{"", "-wal", "-shm", "-journal"}) {
+            try {
+                Files.deleteIfExists(Path.of(dbFile + suffix));
+            } catch (IOException ignored) {
+                // Temp file; the OS will clean it up
+            }
+        }
+    }
+
+    @TestFactory
+    Stream<DynamicTest> everyQueryUsesAnIndex() {
+        List<String> checked = new ArrayList<>();
+        for (String sql : new ArrayList<>(statements)) {
+            String verb = sql.strip().split("\\s+", 2)[0].toUpperCase(Locale.ROOT);
+            if (verb.equals("SELECT") || verb.equals("UPDATE") || verb.equals("DELETE")) {
+                checked.add(sql);
+            }
+        }
+        assertFalse(checked.isEmpty(), "no repository statements were recorded");
+        return checked.stream().map(sql -> DynamicTest.dynamicTest(oneLine(sql),
+                () -> assertNull(check(sql), () -> oneLine(sql))));
+    }
+
+    /**
+     * Returns why the statement's plan is not acceptable, or null if it is.
+     */
+    private static String check(String sql) {
+        List<String> plan = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement pstmt = conn.prepareStatement("EXPLAIN QUERY PLAN " + sql);
+             ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                plan.add(rs.getString("detail"));
+            }
+        } catch (SQLException e) {
+            return "could not explain: " + e.getMessage();
+        }
+
+        List<String> scans = new ArrayList<>();
+        boolean virtual = false;
+        boolean sorted = false;
+        for (String step : plan) {
+            if (VIRTUAL_LOOKUP.matcher(step).matches()) {
+                virtual = true;
+            } else if (step.startsWith("SCAN ") && !step.startsWith("SCAN CONSTANT ROW")) {
+                scans.add(step);
+            } else if (step.startsWith("USE TEMP B-TREE")) {
+                sorted = true;
+            }
+        }
+        boolean filtered = WHERE.matcher(sql).find();
+        if ((filtered && !scans.isEmpty()) || scans.size() > 1) {
+            return "full table scan, plan: " + String.join("; ", plan);
+        }
+        boolean ordered = LIMIT.matcher(sql).find() || (!filtered && ORDER_BY.matcher(sql).find());
+        if (sorted && ordered && !virtual) {
+            return "sorts instead of reading an index in order, plan: " + String.join("; ", plan);
+        }
+        return null;
+    }
+
+    /**
+     * Call every public repository method once, writes first so the finders have rows to look at.
+     */
+    private static void exerciseRepositories(DatabaseService db) throws SQLException {
+        ClubRepository clubs = db.getClubRepository();
+        PlayerRepository players = db.getPlayerRepository();
+        ManagerRepository managers = db.getManagerRepository();
+        GamePlanRepository gamePlans = db.getGamePlanRepository();
+        UserRepository users = db.getUserRepository();
+        TransferRequestRepository transfers = db.getTransferRequestRepository();
+        RegistrationRequestRepository registrations = db.getRegistrationRequestRepository();
+
+        Club club = clubs.save(new Club("Plan Check FC"));
+        Club rival = clubs.save(new Club("Plan Check United"));
+        clubs.update(club);
+        clubs.updateAll(List.of(club, rival));
+        clubs.findById(club.getId());
+        clubs.findByName(club.getClubName());
+        clubs.findAll();
+        clubs.findPage(clubs.findPage(null, 1).next(), 1);
+        clubs.count();
+
+        List<Player> squad = new ArrayList<>();
+        Position[] positions = Position.values();
+        for (int i = 0; i < 6; i++) {
+            Player player = new Player("Plan Check " + i, 20 + i, i + 1, positions[i % positions.length]);
+            player.setClubId(club.getId());
+            squad.add(players.save(player));
+        }
+        Player player = squad.get(0);
+        players.update(player);
+        players.updateAll(squad);
+        players.findById(player.getId());
+        players.findAll();
+        players.findPage(players.findPage(null, 2).next(), 2);
+        players.findByClubId(club.getId());
+        players.findByIds(List.of(player.getId(), squad.get(1).getId()));
+        players.count();
+        players.find(new PlayerCriteria());
+        players.find(new PlayerCriteria().club(club.getId()).position(player.getPosition()).text("check"));
+        players.find(new PlayerCriteria().position(player.getPosition()).injured(false).ageBetween(18, 40).limit(10));
+
+        Manager manager = managers.save(new Manager("Plan Check Manager", 50, club));
+        managers.update(manager);
+        managers.findById(manager.getId());
+        managers.findAll();
+        managers.findPage(new Page.Cursor(manager.getName(), manager.getId()), 1);
+        managers.findPage(null, 1);
+        managers.count();
+        managers.find(new ManagerCriteria().club(club.getId()));
+
+        GamePlan plan = new GamePlan(manager.getId(), club.getId(), "Plan Check");
+        plan.setGoalkeeperId(squad.get(0).getId());
+        plan.setDefender1Id(squad.get(1).getId());
+        plan.setDefender2Id(squad.get(2).getId());
+        plan.setMidfielder1Id(squad.get(3).getId());
+        plan.setMidfielder2Id(squad.get(4).getId());
+        plan.setForwardId(squad.get(5).getId());
+        gamePlans.save(plan);
+        gamePlans.save(plan);
+        for (GamePlanRepository.Hydration hydration : GamePlanRepository.Hydration.values()) {
+            gamePlans.findById(plan.getId(), hydration);
+            gamePlans.findByManagerId(manager.getId(), hydration);
+            gamePlans.findByClubId(club.getId(), hydration);
+        }
+        gamePlans.hydrate(gamePlans.findByManagerId(manager.getId(), GamePlanRepository.Hydration.LAZY));
+
+        User user = users.save(new User(null, "plan_check", "password", Role.PLAYER, club.getId(), player.getId(), null));
+        users.save(user);
+        users.updateAll(List.of(user));
+        users.authenticate("plan_check", "password");
+        users.findAll();
+        users.findById(user.getId());
+        users.findByUsername("plan_check");
+        users.findByPlayerId(player.getId());
+
+        TransferRequest transfer = new TransferRequest(player.getId(), club.getId(), rival.getId());
+        transfers.save(transfer);
+        transfer.setStatus(TransferStatus.IN_MARKET);
+        transfers.save(transfer);
+        transfers.findAll();
+        transfers.findPage(new Page.Cursor(Timestamps.toMillis(transfer.getRequestDate()), transfer.getId()), 1);
+        transfers.findPage(null, 1);
+        transfers.findInMarket();
+        transfers.findInMarket(player.getPosition());
+        transfers.findBySourceClubId(club.getId());
+        transfers.findByDestinationClubId(rival.getId());
+        transfers.findByPlayerId(player.getId());
+        transfers.findById(transfer.getId());
+        transfers.find(new TransferRequestCriteria().status(TransferStatus.IN_MARKET).position(player.getPosition()));
+        transfers.find(new TransferRequestCriteria().club(club.getId())
+                .sortBy(TransferRequestCriteria.Sort.TRANSFER_FEE, true));
+
+        RegistrationRequest registration = new RegistrationRequest("plan_check_new", "password", "Plan Check",
+                Role.PLAYER, club.getId());
+        registrations.save(registration);
+        registrations.save(registration);
+        registrations.findAll();
+        registrations.findPage(new Page.Cursor(Timestamps.toMillis(registration.getRequestDate()), registration.getId()), 1);
+        registrations.findPage(null, 1);
+        registrations.countByStatus(RequestStatus.PENDING);
+        registrations.findByStatus(RequestStatus.PENDING);
+        registrations.findById(registration.getId());
+        registrations.findByUsername("plan_check_new");
+        registrations.find(new RegistrationRequestCriteria().status(RequestStatus.PENDING).text("plan"));
+        registrations.find(new RegistrationRequestCriteria().club(club.getId()).role(Role.PLAYER));
+
+        StatsRepository stats = db.getStatsRepository();
+        stats.getLeagueStats();
+        stats.findByClubId(club.getId());
+        stats.findAllClubStats();
+        db.getSearchRepository().search("plan che", EnumSet.allOf(SearchResult.Kind.class), 10);
+        db.getDiagnosticsRepository().countRows();
+        db.getDiagnosticsRepository().readPragmas();
+
+        registrations.delete(registration.getId());
+        transfers.delete(transfer.getId());
+        users.delete(user.getId());
+        gamePlans.delete(plan.getId());
+        players.delete(player.getId());
+        managers.delete(manager.getId());
+        clubs.delete(rival.getId());
+    }
+
+    private static String oneLine(String sql) {
+        return sql.strip().replaceAll("\\s+", " ");
+    }
+}
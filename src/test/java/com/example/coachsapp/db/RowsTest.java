@@ -0,0 +1,37 @@
+package com.example.coachsapp.db;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Each row record reads one column per component, so the columns it selects
+ * must line up with its components. A column added on one side only fails here
+ * instead of shifting every index after it.
+ */
+class RowsTest {
+
+    @Test
+    void widthMatchesComponents() {
+        assertEquals(PlayerRow.class.getRecordComponents().length, PlayerRow.WIDTH, "PlayerRow");
+        assertEquals(GamePlanRow.class.getRecordComponents().length, GamePlanRow.WIDTH, "GamePlanRow");
+        assertEquals(TransferRequestRow.class.getRecordComponents().length, TransferRequestRow.WIDTH,
+                "TransferRequestRow");
+        assertEquals(RegistrationRequestRow.class.getRecordComponents().length, RegistrationRequestRow.WIDTH,
+                "RegistrationRequestRow");
+        assertEquals(UserRow.class.getRecordComponents().length, UserRow.WIDTH, "UserRow");
+    }
+
+    @Test
+    void columnsMatchWidth() {
+        assertEquals(PlayerRow.WIDTH, count(PlayerRow.columns("p")), "PlayerRow");
+        assertEquals(GamePlanRow.WIDTH, count(GamePlanRow.COLUMNS), "GamePlanRow");
+        assertEquals(TransferRequestRow.WIDTH, count(TransferRequestRow.COLUMNS), "TransferRequestRow");
+        assertEquals(RegistrationRequestRow.WIDTH, count(RegistrationRequestRow.COLUMNS), "RegistrationRequestRow");
+        assertEquals(UserRow.WIDTH, count(UserRow.COLUMNS), "UserRow");
+    }
+
+    private static int count(String columns) {
+        return columns.split(", ").length;
+    }
+}